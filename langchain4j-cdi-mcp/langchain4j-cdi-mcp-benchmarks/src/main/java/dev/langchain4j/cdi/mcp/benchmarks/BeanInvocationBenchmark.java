@@ -0,0 +1,165 @@
+package dev.langchain4j.cdi.mcp.benchmarks;
+
+import dev.langchain4j.cdi.mcp.server.registry.McpBeanInvoker;
+import dev.langchain4j.cdi.mcp.server.registry.McpToolDescriptor;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.spi.CreationalContext;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.json.Json;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Proxy;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.mcp_java.annotations.tools.Tool;
+import org.mcp_java.annotations.tools.ToolArg;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-call overhead of invoking a tool method: the previous path, which looked the bean up, read the parameters and
+ * their annotations and called {@link Method#invoke} on every call, against a precompiled
+ * {@link dev.langchain4j.cdi.mcp.server.registry.McpInvocationPlan}.
+ *
+ * <p>The {@link BeanManager} is a minimal in-memory stand-in, so bean lookup is cheaper here than in a real container
+ * and the gap is a lower bound.
+ *
+ * <p>Run with {@code java -jar target/benchmarks.jar BeanInvocationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BeanInvocationBenchmark {
+
+    private static final String DEFAULT_NAME = "<<element name>>";
+
+    private BeanManager beanManager;
+    private McpBeanInvoker invoker;
+    private McpToolDescriptor descriptor;
+    private JsonObject arguments;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        beanManager = beanManager(new Calculator());
+        invoker = new McpBeanInvoker();
+        inject(invoker, "beanManager", beanManager);
+        Method method = Calculator.class.getMethod("add", int.class, int.class, String.class);
+        descriptor = McpToolDescriptor.fromMethod(Calculator.class, method);
+        arguments = Json.createObjectBuilder()
+                .add("a", 20)
+                .add("b", 22)
+                .add("label", "sum")
+                .build();
+    }
+
+    @Benchmark
+    public Object reflective() throws Exception {
+        return legacyInvoke(descriptor.getBeanType(), descriptor.getMethod(), arguments);
+    }
+
+    @Benchmark
+    public Object invocationPlan() {
+        return invoker.invoke(1, descriptor.getInvocationPlan(), arguments, null, null);
+    }
+
+    /** The invocation path as it was before invocation plans. */
+    private Object legacyInvoke(Class<?> beanType, Method method, JsonObject args) throws Exception {
+        Bean<?> bean = beanManager.resolve(beanManager.getBeans(beanType));
+        CreationalContext<?> creationalCtx = beanManager.createCreationalContext(bean);
+        try {
+            Object instance = beanManager.getReference(bean, beanType, creationalCtx);
+            Parameter[] params = method.getParameters();
+            Object[] values = new Object[params.length];
+            for (int i = 0; i < params.length; i++) {
+                ToolArg annotation = params[i].getAnnotation(ToolArg.class);
+                String name = annotation != null && !DEFAULT_NAME.equals(annotation.name())
+                        ? annotation.name()
+                        : params[i].getName();
+                values[i] = args.containsKey(name) ? convert(args.get(name), params[i].getType()) : null;
+            }
+            return method.invoke(instance, values);
+        } finally {
+            creationalCtx.release();
+        }
+    }
+
+    private static Object convert(JsonValue value, Class<?> type) {
+        if (type == String.class) {
+            return value instanceof JsonString string ? string.getString() : value.toString();
+        }
+        if (type == int.class || type == Integer.class) {
+            return ((JsonNumber) value).intValue();
+        }
+        if (type == long.class || type == Long.class) {
+            return ((JsonNumber) value).longValue();
+        }
+        if (type == double.class || type == Double.class) {
+            return ((JsonNumber) value).doubleValue();
+        }
+        return value.toString();
+    }
+
+    private static BeanManager beanManager(Object instance) {
+        Bean<?> bean = (Bean<?>) Proxy.newProxyInstance(
+                Bean.class.getClassLoader(),
+                new Class<?>[] {Bean.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getScope" -> ApplicationScoped.class;
+                    case "getBeanClass" -> instance.getClass();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+        CreationalContext<?> creationalContext = (CreationalContext<?>) Proxy.newProxyInstance(
+                CreationalContext.class.getClassLoader(),
+                new Class<?>[] {CreationalContext.class},
+                (proxy, method, args) -> null);
+        Set<Bean<?>> beans = Set.of(bean);
+        return (BeanManager) Proxy.newProxyInstance(
+                BeanManager.class.getClassLoader(),
+                new Class<?>[] {BeanManager.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getBeans" -> beans;
+                    case "resolve" -> bean;
+                    case "createCreationalContext" -> creationalContext;
+                    case "getReference" -> instance;
+                    case "isNormalScope" -> args[0] == ApplicationScoped.class;
+                    default -> null;
+                });
+    }
+
+    private static void inject(Object target, String name, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+
+    public static class Calculator {
+
+        @Tool(description = "Add two numbers")
+        public int add(
+                @ToolArg(description = "First number") int a,
+                @ToolArg(description = "Second number") int b,
+                @ToolArg(description = "Label") String label) {
+            return label.length() + a + b;
+        }
+    }
+}
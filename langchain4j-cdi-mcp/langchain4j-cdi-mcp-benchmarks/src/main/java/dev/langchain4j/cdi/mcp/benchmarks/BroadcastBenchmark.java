@@ -0,0 +1,101 @@
+package dev.langchain4j.cdi.mcp.benchmarks;
+
+import dev.langchain4j.cdi.mcp.server.protocol.JsonRpcNotification;
+import dev.langchain4j.cdi.mcp.server.transport.McpEventStream;
+import dev.langchain4j.cdi.mcp.server.transport.McpNotificationBroadcaster;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Fan-out of one notification by the {@link McpNotificationBroadcaster} of Weld SE to many connected SSE streams,
+ * measured until every stream has received it: encoding once, queueing on each session's outbox, and draining the
+ * outboxes on the task executor.
+ *
+ * <p>Run with {@code java -jar target/benchmarks.jar BroadcastBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BroadcastBenchmark {
+
+    @Param({"1000"})
+    int streamCount;
+
+    private WeldContainer container;
+    private McpNotificationBroadcaster broadcaster;
+    private JsonRpcNotification notification;
+    private final AtomicLong delivered = new AtomicLong();
+    private long expected;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        container = McpContainer.start();
+        broadcaster = container.select(McpNotificationBroadcaster.class).get();
+        for (int i = 0; i < streamCount; i++) {
+            broadcaster.registerStream("session-" + i, new CountingEventStream(delivered));
+        }
+        notification = JsonRpcNotification.resourceUpdated("orders://acme/1234");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        container.shutdown();
+    }
+
+    @Benchmark
+    public void broadcast() {
+        expected += streamCount;
+        broadcaster.broadcast(notification);
+        while (delivered.get() < expected) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /** A connected client that reads every event at once; writes run on the outbox drainers. */
+    static final class CountingEventStream implements McpEventStream {
+
+        private final AtomicLong delivered;
+        private volatile boolean closed;
+
+        CountingEventStream(AtomicLong delivered) {
+            this.delivered = delivered;
+        }
+
+        @Override
+        public void sendMessage(byte[] json) {
+            delivered.incrementAndGet();
+        }
+
+        @Override
+        public void sendComment(String comment) {
+            // Keep-alives are not counted
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package dev.langchain4j.cdi.mcp.benchmarks;
+
+import dev.langchain4j.cdi.mcp.server.registry.McpBeanInvoker;
+import dev.langchain4j.cdi.mcp.server.registry.McpInvocationPlan;
+import dev.langchain4j.cdi.mcp.server.registry.McpToolRegistry;
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import java.util.concurrent.TimeUnit;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Argument binding and invocation by {@link McpBeanInvoker} in Weld SE: a string argument, structured arguments (a
+ * record, an enum and a list) converted from JSON, and a {@code @Dependent} bean created and destroyed on every call.
+ * Unlike {@link BeanInvocationBenchmark}, calls go through the container's client proxies and contexts.
+ *
+ * <p>Run with {@code java -jar target/benchmarks.jar ContainerInvocationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContainerInvocationBenchmark {
+
+    private WeldContainer container;
+    private McpBeanInvoker invoker;
+    private McpInvocationPlan echo;
+    private McpInvocationPlan forecast;
+    private McpInvocationPlan dependentEcho;
+    private JsonObject echoArguments;
+    private JsonObject forecastArguments;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        container = McpContainer.start();
+        invoker = container.select(McpBeanInvoker.class).get();
+        McpToolRegistry tools = container.select(McpToolRegistry.class).get();
+        echo = tools.findTool("echo").orElseThrow().getInvocationPlan();
+        forecast = tools.findTool("forecast").orElseThrow().getInvocationPlan();
+        dependentEcho = tools.findTool("dependentEcho").orElseThrow().getInvocationPlan();
+        echoArguments = Json.createObjectBuilder().add("text", "hello").build();
+        forecastArguments = Json.createObjectBuilder()
+                .add("location", Json.createObjectBuilder().add("city", "Lyon").add("country", "FR"))
+                .add("days", 3)
+                .add("units", "METRIC")
+                .add(
+                        "fields",
+                        Json.createArrayBuilder().add("temperature").add("wind").add("rain"))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        container.shutdown();
+    }
+
+    @Benchmark
+    public Object stringArgument() {
+        return invoker.invoke(1, echo, echoArguments, null, null);
+    }
+
+    @Benchmark
+    public Object structuredArguments() {
+        return invoker.invoke(1, forecast, forecastArguments, null, null);
+    }
+
+    @Benchmark
+    public Object dependentBean() {
+        return invoker.invoke(1, dependentEcho, echoArguments, null, null);
+    }
+}
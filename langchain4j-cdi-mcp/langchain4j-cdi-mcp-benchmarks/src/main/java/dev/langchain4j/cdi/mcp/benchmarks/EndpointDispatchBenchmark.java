@@ -0,0 +1,132 @@
+package dev.langchain4j.cdi.mcp.benchmarks;
+
+import dev.langchain4j.cdi.mcp.server.transport.McpEndpoint;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.jboss.weld.environment.se.WeldContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * One JSON-RPC request through {@link McpEndpoint#handlePost}, for each method the server routes: decoding the body,
+ * session lookup, admission, the method handler and writing the JSON response. {@code tools/call} includes the hop to
+ * the tool executor and back.
+ *
+ * <p>Run with {@code java -jar target/benchmarks.jar EndpointDispatchBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EndpointDispatchBenchmark {
+
+    private static final Map<String, String> PARAMS = Map.of(
+            "ping", "{}",
+            "tools/list", "{}",
+            "tools/call", "{\"name\":\"echo\",\"arguments\":{\"text\":\"hello\"}}",
+            "resources/list", "{}",
+            "resources/read", "{\"uri\":\"orders://acme/1234\"}",
+            "resources/templates/list", "{}",
+            "prompts/list", "{}",
+            "prompts/get", "{\"name\":\"review\",\"arguments\":{\"language\":\"java\",\"code\":\"int x = 1;\"}}",
+            "completion/complete",
+                    "{\"ref\":{\"type\":\"ref/prompt\",\"name\":\"review\"},"
+                            + "\"argument\":{\"name\":\"language\",\"value\":\"ja\"}}");
+
+    @Param({
+        "ping",
+        "tools/list",
+        "tools/call",
+        "resources/list",
+        "resources/read",
+        "resources/templates/list",
+        "prompts/list",
+        "prompts/get",
+        "completion/complete"
+    })
+    String method;
+
+    private WeldContainer container;
+    private McpEndpoint endpoint;
+    private String sessionId;
+    private byte[] body;
+    private OutputStream sink;
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) throws IOException {
+        container = McpContainer.start();
+        endpoint = container.select(McpEndpoint.class).get();
+        sink = new JsonCodecBenchmark.BlackholeOutputStream(blackhole);
+
+        Response initialized = post(
+                "{\"jsonrpc\":\"2.0\",\"id\":0,\"method\":\"initialize\",\"params\":{\"protocolVersion\":\"2025-03-26\","
+                    + "\"capabilities\":{},\"clientInfo\":{\"name\":\"bench\",\"version\":\"1\"}}}",
+                null);
+        sessionId = initialized.getHeaderString("Mcp-Session-Id");
+        post("{\"jsonrpc\":\"2.0\",\"method\":\"notifications/initialized\"}", sessionId);
+
+        body = request(1, method, PARAMS.get(method));
+        // Fails the trial early rather than measuring error responses
+        String response = new String(write(post(body, sessionId)), StandardCharsets.UTF_8);
+        if (!response.contains("\"result\"")) {
+            throw new IllegalStateException(method + " failed: " + response);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        container.shutdown();
+    }
+
+    @Benchmark
+    public void handlePost() throws IOException {
+        Response response = endpoint.handlePost(
+                        new ByteArrayInputStream(body), sessionId, MediaType.APPLICATION_JSON, null, null)
+                .toCompletableFuture()
+                .join();
+        ((StreamingOutput) response.getEntity()).write(sink);
+    }
+
+    private Response post(String json, String session) {
+        return post(json.getBytes(StandardCharsets.UTF_8), session);
+    }
+
+    private Response post(byte[] json, String session) {
+        return endpoint.handlePost(new ByteArrayInputStream(json), session, MediaType.APPLICATION_JSON, null, null)
+                .toCompletableFuture()
+                .join();
+    }
+
+    private static byte[] write(Response response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(out);
+        return out.toByteArray();
+    }
+
+    static byte[] request(Object id, String method, String params) {
+        return ("{\"jsonrpc\":\"2.0\",\"id\":" + id + ",\"method\":\"" + method + "\",\"params\":" + params + "}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,115 @@
+package dev.langchain4j.cdi.mcp.benchmarks;
+
+import dev.langchain4j.cdi.mcp.server.protocol.JsonRpcNotification;
+import dev.langchain4j.cdi.mcp.server.protocol.JsonRpcResponse;
+import dev.langchain4j.cdi.mcp.server.protocol.McpJsonCodec;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+import jakarta.json.bind.JsonbConfig;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.mcp_java.model.content.TextContent;
+import org.mcp_java.model.tool.CallToolResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the shared {@link McpJsonCodec} with the previous approach of building a new {@link Jsonb} for every
+ * message and going through an intermediate {@code String}.
+ *
+ * <p>Run with {@code java -jar target/benchmarks.jar JsonCodecBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+    @Param({"64", "4096"})
+    int payloadSize;
+
+    private McpJsonCodec codec;
+    private JsonRpcResponse toolResponse;
+    private JsonRpcNotification notification;
+    private OutputStream sink;
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) {
+        codec = new McpJsonCodec();
+        String text = "x".repeat(payloadSize);
+        toolResponse = JsonRpcResponse.success(42L, CallToolResult.success(List.of(TextContent.of(text))));
+        notification = JsonRpcNotification.toolsListChanged();
+        sink = new BlackholeOutputStream(blackhole);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        codec.close();
+    }
+
+    @Benchmark
+    public void perCallJsonbResponse() throws Exception {
+        JsonbConfig config = new JsonbConfig().withNullValues(false);
+        try (Jsonb jsonb = JsonbBuilder.create(config)) {
+            String json = jsonb.toJson(toolResponse);
+            sink.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Benchmark
+    public void sharedCodecResponse() {
+        codec.write(toolResponse, sink);
+    }
+
+    @Benchmark
+    public void perCallJsonbSseEvent() throws Exception {
+        JsonbConfig config = new JsonbConfig().withNullValues(false);
+        try (Jsonb jsonb = JsonbBuilder.create(config)) {
+            String payload = "event: message\ndata: " + jsonb.toJson(notification) + "\n\n";
+            sink.write(payload.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Benchmark
+    public void sharedCodecSseEvent() throws IOException {
+        codec.writeSseEvent(notification, sink);
+    }
+
+    /** Consumes written bytes without buffering them, so only encoding cost is measured. */
+    static final class BlackholeOutputStream extends OutputStream {
+
+        private final Blackhole blackhole;
+
+        BlackholeOutputStream(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(int b) {
+            blackhole.consume(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            blackhole.consume(b);
+            blackhole.consume(len);
+        }
+    }
+}
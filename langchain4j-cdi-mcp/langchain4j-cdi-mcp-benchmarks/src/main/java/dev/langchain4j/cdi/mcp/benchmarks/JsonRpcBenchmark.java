@@ -0,0 +1,132 @@
+package dev.langchain4j.cdi.mcp.benchmarks;
+
+import dev.langchain4j.cdi.mcp.server.error.McpErrorCode;
+import dev.langchain4j.cdi.mcp.server.protocol.JsonRpcError;
+import dev.langchain4j.cdi.mcp.server.protocol.JsonRpcMessage;
+import dev.langchain4j.cdi.mcp.server.protocol.JsonRpcPayload;
+import dev.langchain4j.cdi.mcp.server.protocol.JsonRpcRequest;
+import dev.langchain4j.cdi.mcp.server.protocol.JsonRpcResponse;
+import dev.langchain4j.cdi.mcp.server.protocol.McpJsonCodec;
+import dev.langchain4j.cdi.mcp.server.protocol.McpPagination;
+import dev.langchain4j.cdi.mcp.server.registry.McpToolDescriptor;
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import org.mcp_java.annotations.tools.Tool;
+import org.mcp_java.model.tool.ListToolsResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Decoding JSON-RPC messages with the streaming reader of {@link McpJsonCodec}, single and batched, and encoding the
+ * responses the server sends most: a tool list page and an error.
+ *
+ * <p>Run with {@code java -jar target/benchmarks.jar JsonRpcBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonRpcBenchmark {
+
+    private static final int BATCH_SIZE = 16;
+
+    private McpJsonCodec codec;
+    private byte[] toolCall;
+    private byte[] batch;
+    private byte[] clientResponse;
+    private JsonRpcResponse toolList;
+    private JsonRpcResponse error;
+    private OutputStream sink;
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) {
+        codec = new McpJsonCodec();
+        sink = new JsonCodecBenchmark.BlackholeOutputStream(blackhole);
+        toolCall = EndpointDispatchBenchmark.request(
+                42,
+                "tools/call",
+                "{\"name\":\"forecast\",\"arguments\":{\"location\":{\"city\":\"Lyon\",\"country\":\"FR\"},"
+                        + "\"days\":3,\"units\":\"METRIC\",\"fields\":[\"temperature\",\"wind\",\"rain\"]},"
+                        + "\"_meta\":{\"progressToken\":\"p-42\"}}");
+        StringJoiner entries = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            entries.add(new String(toolCall, StandardCharsets.UTF_8).replace("\"id\":42", "\"id\":" + i));
+        }
+        batch = entries.toString().getBytes(StandardCharsets.UTF_8);
+        clientResponse = ("{\"jsonrpc\":\"2.0\",\"id\":\"srv-7\",\"result\":{\"role\":\"assistant\","
+                        + "\"content\":{\"type\":\"text\",\"text\":\"The forecast looks dry.\"},"
+                        + "\"model\":\"bench-model\",\"stopReason\":\"endTurn\"}}")
+                .getBytes(StandardCharsets.UTF_8);
+
+        // A full page, repeating the fixture tools
+        List<org.mcp_java.model.tool.Tool> fixtures = Arrays.stream(McpFixtures.Tools.class.getMethods())
+                .filter(method -> method.isAnnotationPresent(Tool.class))
+                .map(method -> McpToolDescriptor.fromMethod(McpFixtures.Tools.class, method)
+                        .toWireFormat())
+                .toList();
+        List<org.mcp_java.model.tool.Tool> tools = new ArrayList<>();
+        while (tools.size() < McpPagination.DEFAULT_PAGE_SIZE) {
+            tools.add(fixtures.get(tools.size() % fixtures.size()));
+        }
+        toolList = JsonRpcResponse.success(1, new ListToolsResult(tools, null));
+        error = JsonRpcResponse.error(
+                1, new JsonRpcError(McpErrorCode.INVALID_PARAMS.getCode(), "Missing required argument: days", null));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        codec.close();
+    }
+
+    @Benchmark
+    public JsonRpcRequest parseRequest() {
+        return codec.readPayload(new ByteArrayInputStream(toolCall), BATCH_SIZE)
+                .messages()
+                .get(0)
+                .toRequest();
+    }
+
+    @Benchmark
+    public void parseBatch(Blackhole blackhole) {
+        JsonRpcPayload payload = codec.readPayload(new ByteArrayInputStream(batch), BATCH_SIZE);
+        for (JsonRpcMessage message : payload.messages()) {
+            blackhole.consume(message.toRequest());
+        }
+    }
+
+    @Benchmark
+    public JsonRpcMessage parseClientResponse() {
+        return codec.readPayload(new ByteArrayInputStream(clientResponse), BATCH_SIZE)
+                .messages()
+                .get(0);
+    }
+
+    @Benchmark
+    public void writeToolList() {
+        codec.write(toolList, sink);
+    }
+
+    @Benchmark
+    public void writeError() {
+        codec.write(error, sink);
+    }
+}
@@ -0,0 +1,40 @@
+package dev.langchain4j.cdi.mcp.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Main class of {@code benchmarks.jar}. Takes the same arguments as {@link Main}, and always adds the GC profiler, so
+ * that every run reports {@code gc.alloc.rate.norm}, the bytes allocated per operation, next to the throughput.
+ *
+ * <p>Run with {@code java -jar target/benchmarks.jar [benchmark regex] [JMH options]}.
+ */
+public final class McpBenchmarks {
+
+    private McpBenchmarks() {}
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp()
+                || commandLine.shouldList()
+                || commandLine.shouldListWithParams()
+                || commandLine.shouldListProfilers()
+                || commandLine.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        // Given twice, JMH would run the profiler twice
+        boolean gcRequested = commandLine.getProfilers().stream()
+                .anyMatch(profiler ->
+                        profiler.getKlass().equals("gc") || profiler.getKlass().equals(GCProfiler.class.getName()));
+        if (!gcRequested) {
+            options.addProfiler(GCProfiler.class);
+        }
+        new Runner(options.build()).run();
+    }
+}
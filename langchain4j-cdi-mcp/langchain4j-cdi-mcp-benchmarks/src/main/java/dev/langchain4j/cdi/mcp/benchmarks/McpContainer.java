@@ -0,0 +1,37 @@
+package dev.langchain4j.cdi.mcp.benchmarks;
+
+import dev.langchain4j.cdi.mcp.portableextension.McpServerPortableExtension;
+import dev.langchain4j.cdi.mcp.server.api.McpApiFactory;
+import dev.langchain4j.cdi.mcp.server.logging.McpLogger;
+import dev.langchain4j.cdi.mcp.server.protocol.McpJsonCodec;
+import dev.langchain4j.cdi.mcp.server.registry.McpToolRegistry;
+import dev.langchain4j.cdi.mcp.server.transport.McpEndpoint;
+import org.jboss.weld.bootstrap.spi.BeanDiscoveryMode;
+import org.jboss.weld.environment.se.Weld;
+import org.jboss.weld.environment.se.WeldContainer;
+
+/**
+ * Boots the MCP server in Weld SE with the {@link McpFixtures} beans, discovered by the portable extension as in a
+ * Jakarta EE runtime. Classpath scanning is disabled so that the benchmark jar, which bundles every dependency, starts
+ * in a predictable way.
+ */
+final class McpContainer {
+
+    private McpContainer() {}
+
+    static WeldContainer start() {
+        return new Weld("mcp-benchmarks")
+                .disableDiscovery()
+                .setBeanDiscoveryMode(BeanDiscoveryMode.ANNOTATED)
+                .addPackages(
+                        false,
+                        McpApiFactory.class,
+                        McpLogger.class,
+                        McpJsonCodec.class,
+                        McpToolRegistry.class,
+                        McpEndpoint.class)
+                .addBeanClasses(McpFixtures.BEAN_CLASSES)
+                .addExtension(new McpServerPortableExtension())
+                .initialize();
+    }
+}
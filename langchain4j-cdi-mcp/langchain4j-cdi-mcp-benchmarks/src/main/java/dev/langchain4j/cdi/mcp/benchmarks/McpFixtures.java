@@ -0,0 +1,85 @@
+package dev.langchain4j.cdi.mcp.benchmarks;
+
+import dev.langchain4j.cdi.mcp.server.api.Complete;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Dependent;
+import java.util.List;
+import org.mcp_java.annotations.prompts.Prompt;
+import org.mcp_java.annotations.prompts.PromptArg;
+import org.mcp_java.annotations.resources.Resource;
+import org.mcp_java.annotations.resources.ResourceTemplate;
+import org.mcp_java.annotations.tools.Tool;
+import org.mcp_java.annotations.tools.ToolArg;
+
+/** The tools, resources, prompts and completions deployed by {@link McpContainer}. */
+public final class McpFixtures {
+
+    static final Class<?>[] BEAN_CLASSES = {Tools.class, DependentTools.class, Resources.class, Prompts.class};
+
+    private McpFixtures() {}
+
+    public enum Units {
+        METRIC,
+        IMPERIAL
+    }
+
+    public record Location(String city, String country) {}
+
+    @ApplicationScoped
+    public static class Tools {
+
+        @Tool(description = "Echo the given text")
+        public String echo(@ToolArg(description = "Text to echo") String text) {
+            return text;
+        }
+
+        @Tool(description = "Forecast the weather for a location")
+        public String forecast(
+                @ToolArg(description = "Where") Location location,
+                @ToolArg(description = "Number of days") int days,
+                @ToolArg(description = "Unit system") Units units,
+                @ToolArg(description = "Fields to include") List<String> fields) {
+            return location.city() + "," + location.country() + ":" + days + ":" + units + ":" + fields.size();
+        }
+    }
+
+    /** A new instance is created, and destroyed, for every call. */
+    @Dependent
+    public static class DependentTools {
+
+        @Tool(description = "Echo the given text from a dependent bean")
+        public String dependentEcho(@ToolArg(description = "Text to echo") String text) {
+            return text;
+        }
+    }
+
+    @ApplicationScoped
+    public static class Resources {
+
+        @Resource(uri = "config://app", name = "Application Config", description = "Current application configuration")
+        public String config() {
+            return "{\"version\":\"1.0\",\"env\":\"bench\"}";
+        }
+
+        @ResourceTemplate(uriTemplate = "orders://{customer}/{order}", name = "Order", description = "An order")
+        public String order(String customer, String order) {
+            return customer + "/" + order;
+        }
+    }
+
+    @ApplicationScoped
+    public static class Prompts {
+
+        @Prompt(name = "review", description = "Review code in a language")
+        public String review(
+                @PromptArg(name = "language", description = "Programming language") String language,
+                @PromptArg(name = "code", description = "The code to review") String code) {
+            return "Review the following " + language + " code:\n\n" + code;
+        }
+
+        @Complete(prompt = "review", argument = "language", cacheTtlMillis = 0)
+        public List<String> languages() {
+            return List.of("java", "javascript", "kotlin", "python", "rust", "scala");
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package dev.langchain4j.cdi.mcp.benchmarks;
+
+import dev.langchain4j.cdi.mcp.server.protocol.McpEncodedResult;
+import dev.langchain4j.cdi.mcp.server.protocol.McpJsonCodec;
+import dev.langchain4j.cdi.mcp.server.protocol.McpPagination;
+import dev.langchain4j.cdi.mcp.server.registry.McpToolDescriptor;
+import dev.langchain4j.cdi.mcp.server.registry.McpToolRegistry;
+import dev.langchain4j.cdi.mcp.server.schema.JsonSchemaGenerator;
+import jakarta.json.JsonObject;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.mcp_java.model.common.Cursor;
+import org.mcp_java.model.tool.ListToolsResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Paging through a large tool registry as {@code tools/list} does: the first page and the last one, served from the
+ * pages encoded for the current snapshot, and the first page right after a tool is registered, which publishes a new
+ * snapshot and encodes the page again. {@code offsetCursor} is {@link McpPagination#paginate} over a plain list.
+ *
+ * <p>Run with {@code java -jar target/benchmarks.jar PaginationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaginationBenchmark {
+
+    @Param({"1000", "10000"})
+    int toolCount;
+
+    private McpJsonCodec codec;
+    private McpToolRegistry registry;
+    private McpToolDescriptor changing;
+    private String lastPageCursor;
+    private List<McpToolDescriptor> tools;
+    private String middleOffsetCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchMethodException {
+        codec = new McpJsonCodec();
+        registry = new McpToolRegistry();
+        Method method = McpFixtures.Tools.class.getMethod("echo", String.class);
+        JsonObject schema = JsonSchemaGenerator.fromMethod(method);
+        for (int i = 0; i < toolCount; i++) {
+            registry.register(new McpToolDescriptor(
+                    String.format("tool-%05d", i), "Echo the given text", schema, McpFixtures.Tools.class, method));
+        }
+        changing =
+                new McpToolDescriptor("tool-changing", "Echo the given text", schema, McpFixtures.Tools.class, method);
+        int lastOffset = (toolCount - 1) / McpPagination.DEFAULT_PAGE_SIZE * McpPagination.DEFAULT_PAGE_SIZE;
+        lastPageCursor = McpPagination.encodeCursor(registry.snapshot().version(), lastOffset);
+        tools = new ArrayList<>(registry.listTools());
+        middleOffsetCursor = McpPagination.encodeCursor(toolCount / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        codec.close();
+    }
+
+    @Benchmark
+    public McpEncodedResult firstPage() {
+        return page(null);
+    }
+
+    @Benchmark
+    public McpEncodedResult lastPage() {
+        return page(lastPageCursor);
+    }
+
+    @Benchmark
+    public McpEncodedResult firstPageAfterChange() {
+        registry.register(changing);
+        return page(null);
+    }
+
+    @Benchmark
+    public McpPagination.Page<McpToolDescriptor> offsetCursor() {
+        return McpPagination.paginate(tools, middleOffsetCursor);
+    }
+
+    /** The same lookup and encoding as {@code McpEndpoint} for {@code tools/list}. */
+    private McpEncodedResult page(String cursor) {
+        McpPagination.Position position = McpPagination.decodePosition(cursor);
+        return registry.snapshot(position.version())
+                .page(
+                        position.offset(),
+                        McpPagination.DEFAULT_PAGE_SIZE,
+                        codec,
+                        (items, next) -> new ListToolsResult(
+                                items.stream()
+                                        .map(McpToolDescriptor::toWireFormat)
+                                        .toList(),
+                                next != null ? new Cursor(next) : null));
+    }
+}
@@ -0,0 +1,75 @@
+package dev.langchain4j.cdi.mcp.benchmarks;
+
+import dev.langchain4j.cdi.mcp.server.registry.McpResourceRegistry;
+import dev.langchain4j.cdi.mcp.server.registry.McpResourceTemplateDescriptor;
+import dev.langchain4j.cdi.mcp.server.registry.McpResourceTemplateMatch;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of resolving a concrete URI to one of many registered resource templates, for a hit on a segment variable, a
+ * hit on a reserved {@code {+path}} expansion, and a miss.
+ *
+ * <p>Run with {@code java -jar target/benchmarks.jar ResourceTemplateMatchBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResourceTemplateMatchBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    int templateCount;
+
+    private McpResourceRegistry registry;
+    private String segmentUri;
+    private String reservedUri;
+    private String missingUri;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        registry = new McpResourceRegistry();
+        for (int i = 0; i < templateCount; i++) {
+            register("tenant" + i + "://tables/{table}/rows/{id}");
+            register("tenant" + i + "://files/{+path}");
+        }
+        int target = templateCount / 2;
+        segmentUri = "tenant" + target + "://tables/bookings/rows/12345";
+        reservedUri = "tenant" + target + "://files/reports/2024/q3/summary.pdf";
+        missingUri = "tenant" + target + "://queues/bookings";
+    }
+
+    private void register(String uriTemplate) {
+        registry.registerTemplate(
+                new McpResourceTemplateDescriptor(uriTemplate, uriTemplate, "", "text/plain", Object.class, null));
+    }
+
+    @Benchmark
+    public Optional<McpResourceTemplateMatch> segmentVariables() {
+        return registry.matchTemplate(segmentUri);
+    }
+
+    @Benchmark
+    public Optional<McpResourceTemplateMatch> reservedExpansion() {
+        return registry.matchTemplate(reservedUri);
+    }
+
+    @Benchmark
+    public Optional<McpResourceTemplateMatch> noMatch() {
+        return registry.matchTemplate(missingUri);
+    }
+}
@@ -0,0 +1,73 @@
+package dev.langchain4j.cdi.mcp.benchmarks;
+
+import dev.langchain4j.cdi.mcp.server.schema.JsonSchemaGenerator;
+import jakarta.json.JsonObject;
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.mcp_java.annotations.tools.ToolArg;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Input schema generation by {@link JsonSchemaGenerator#fromMethod}, which runs for every tool when the registry is
+ * populated: a single string parameter, and parameters with records, enums, collections, maps, optionals and dates.
+ *
+ * <p>Run with {@code java -jar target/benchmarks.jar SchemaGenerationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchemaGenerationBenchmark {
+
+    private Method simple;
+    private Method structured;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchMethodException {
+        simple = McpFixtures.Tools.class.getMethod("echo", String.class);
+        structured = SchemaGenerationBenchmark.class.getMethod(
+                "search",
+                String.class,
+                Optional.class,
+                Map.class,
+                LocalDate.class,
+                List.class,
+                McpFixtures.Units.class);
+    }
+
+    @Benchmark
+    public JsonObject simpleMethod() {
+        return JsonSchemaGenerator.fromMethod(simple);
+    }
+
+    @Benchmark
+    public JsonObject structuredMethod() {
+        return JsonSchemaGenerator.fromMethod(structured);
+    }
+
+    public String search(
+            @ToolArg(description = "Full-text query") String query,
+            @ToolArg(description = "Maximum number of results") Optional<Integer> limit,
+            @ToolArg(description = "Field filters") Map<String, String> filters,
+            @ToolArg(description = "Only results since this day") LocalDate since,
+            @ToolArg(description = "Places the results are near") List<McpFixtures.Location> near,
+            @ToolArg(description = "Unit system of distances") McpFixtures.Units units) {
+        return query;
+    }
+}
@@ -1,5 +1,6 @@
 package dev.langchain4j.cdi.mcp.buildcompatible;
 
+import dev.langchain4j.cdi.mcp.server.api.Complete;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.build.compatible.spi.BuildCompatibleExtension;
 import jakarta.enterprise.inject.build.compatible.spi.ClassConfig;
@@ -22,6 +23,7 @@ public class McpServerBuildCompatibleExtension implements BuildCompatibleExtensi
     private static final Set<String> detectedResourceBeanClassNames = new HashSet<>();
     private static final Set<String> detectedResourceTemplateBeanClassNames = new HashSet<>();
     private static final Set<String> detectedPromptBeanClassNames = new HashSet<>();
+    private static final Set<String> detectedCompleteBeanClassNames = new HashSet<>();
 
     @SuppressWarnings("unused")
     @Enhancement(types = Object.class, withSubtypes = true)
@@ -47,6 +49,10 @@ public class McpServerBuildCompatibleExtension implements BuildCompatibleExtensi
                 LOGGER.info(() -> "MCP: Detected @Prompt bean: " + clazz.getName());
                 detectedPromptBeanClassNames.add(clazz.getName());
             }
+            if (Arrays.stream(clazz.getMethods()).anyMatch(m -> m.isAnnotationPresent(Complete.class))) {
+                LOGGER.info(() -> "MCP: Detected @Complete bean: " + clazz.getName());
+                detectedCompleteBeanClassNames.add(clazz.getName());
+            }
         } catch (ClassNotFoundException e) {
             // Ignore classes that can't be loaded
         }
@@ -58,7 +64,8 @@ public class McpServerBuildCompatibleExtension implements BuildCompatibleExtensi
         if (detectedToolBeanClassNames.isEmpty()
                 && detectedResourceBeanClassNames.isEmpty()
                 && detectedResourceTemplateBeanClassNames.isEmpty()
-                && detectedPromptBeanClassNames.isEmpty()) {
+                && detectedPromptBeanClassNames.isEmpty()
+                && detectedCompleteBeanClassNames.isEmpty()) {
             LOGGER.info(() -> "MCP: No MCP beans detected during build");
             return;
         }
@@ -83,6 +90,9 @@ public class McpServerBuildCompatibleExtension implements BuildCompatibleExtensi
                         detectedResourceTemplateBeanClassNames.toArray(new String[0]))
                 .withParam(
                         McpToolRegistryPopulatorCreator.PARAM_PROMPT_BEAN_CLASSES,
-                        detectedPromptBeanClassNames.toArray(new String[0]));
+                        detectedPromptBeanClassNames.toArray(new String[0]))
+                .withParam(
+                        McpToolRegistryPopulatorCreator.PARAM_COMPLETE_BEAN_CLASSES,
+                        detectedCompleteBeanClassNames.toArray(new String[0]));
     }
 }
@@ -1,5 +1,8 @@
 package dev.langchain4j.cdi.mcp.buildcompatible;
 
+import dev.langchain4j.cdi.mcp.server.api.Complete;
+import dev.langchain4j.cdi.mcp.server.registry.McpCompletionDescriptor;
+import dev.langchain4j.cdi.mcp.server.registry.McpCompletionRegistry;
 import dev.langchain4j.cdi.mcp.server.registry.McpPromptDescriptor;
 import dev.langchain4j.cdi.mcp.server.registry.McpPromptRegistry;
 import dev.langchain4j.cdi.mcp.server.registry.McpResourceDescriptor;
@@ -23,6 +26,7 @@ public class McpToolRegistryPopulatorCreator implements SyntheticBeanCreator<Mcp
     public static final String PARAM_RESOURCE_BEAN_CLASSES = "resourceBeanClasses";
     public static final String PARAM_RESOURCE_TEMPLATE_BEAN_CLASSES = "resourceTemplateBeanClasses";
     public static final String PARAM_PROMPT_BEAN_CLASSES = "promptBeanClasses";
+    public static final String PARAM_COMPLETE_BEAN_CLASSES = "completeBeanClasses";
 
     @Override
     @SuppressWarnings("java:S1192")
@@ -32,6 +36,8 @@ public class McpToolRegistryPopulatorCreator implements SyntheticBeanCreator<Mcp
                 lookup.select(McpResourceRegistry.class).get();
         McpPromptRegistry promptRegistry =
                 lookup.select(McpPromptRegistry.class).get();
+        McpCompletionRegistry completionRegistry =
+                lookup.select(McpCompletionRegistry.class).get();
 
         registerBeans(params, PARAM_TOOL_BEAN_CLASSES, Tool.class, (beanClass, method) -> {
             McpToolDescriptor descriptor = McpToolDescriptor.fromMethod(beanClass, method);
@@ -60,6 +66,13 @@ public class McpToolRegistryPopulatorCreator implements SyntheticBeanCreator<Mcp
                     () -> "MCP: Registered prompt '" + descriptor.getName() + "' from " + beanClass.getSimpleName());
         });
 
+        registerBeans(params, PARAM_COMPLETE_BEAN_CLASSES, Complete.class, (beanClass, method) -> {
+            McpCompletionDescriptor descriptor = McpCompletionDescriptor.fromMethod(beanClass, method);
+            completionRegistry.register(descriptor);
+            LOGGER.info(() -> "MCP: Registered completion for '" + descriptor.getRefName() + "' argument '"
+                    + descriptor.getArgument() + "' from " + beanClass.getSimpleName());
+        });
+
         LOGGER.info(() -> "MCP: Registered " + toolRegistry.size() + " tool(s), " + resourceRegistry.size()
                 + " resource(s), " + promptRegistry.size() + " prompt(s) via build-compatible extension");
 
@@ -1,5 +1,8 @@
 package dev.langchain4j.cdi.mcp.portableextension;
 
+import dev.langchain4j.cdi.mcp.server.api.Complete;
+import dev.langchain4j.cdi.mcp.server.registry.McpCompletionDescriptor;
+import dev.langchain4j.cdi.mcp.server.registry.McpCompletionRegistry;
 import dev.langchain4j.cdi.mcp.server.registry.McpPromptDescriptor;
 import dev.langchain4j.cdi.mcp.server.registry.McpPromptRegistry;
 import dev.langchain4j.cdi.mcp.server.registry.McpResourceDescriptor;
@@ -42,14 +45,18 @@ public class McpServerPortableExtension implements Extension {
         List<Method> promptMethods = Arrays.stream(beanClass.getMethods())
                 .filter(m -> m.isAnnotationPresent(Prompt.class))
                 .toList();
+        List<Method> completeMethods = Arrays.stream(beanClass.getMethods())
+                .filter(m -> m.isAnnotationPresent(Complete.class))
+                .toList();
 
         if (!toolMethods.isEmpty()
                 || !resourceMethods.isEmpty()
                 || !resourceTemplateMethods.isEmpty()
-                || !promptMethods.isEmpty()) {
+                || !promptMethods.isEmpty()
+                || !completeMethods.isEmpty()) {
             LOGGER.info(() -> "MCP: Detected MCP annotations in " + beanClass.getName());
             candidates.add(new McpToolCandidate(
-                    beanClass, toolMethods, resourceMethods, resourceTemplateMethods, promptMethods));
+                    beanClass, toolMethods, resourceMethods, resourceTemplateMethods, promptMethods, completeMethods));
         }
     }
 
@@ -66,6 +73,8 @@ public class McpServerPortableExtension implements Extension {
                 CDI.current().select(McpResourceRegistry.class).get();
         McpPromptRegistry promptRegistry =
                 CDI.current().select(McpPromptRegistry.class).get();
+        McpCompletionRegistry completionRegistry =
+                CDI.current().select(McpCompletionRegistry.class).get();
 
         for (McpToolCandidate candidate : candidates) {
             for (Method method : candidate.toolMethods()) {
@@ -93,6 +102,13 @@ public class McpServerPortableExtension implements Extension {
                 LOGGER.info(() -> "MCP: Registered prompt '" + descriptor.getName() + "' from "
                         + candidate.beanClass().getSimpleName());
             }
+            for (Method method : candidate.completeMethods()) {
+                McpCompletionDescriptor descriptor = McpCompletionDescriptor.fromMethod(candidate.beanClass(), method);
+                completionRegistry.register(descriptor);
+                LOGGER.info(() -> "MCP: Registered completion for '" + descriptor.getRefName() + "' argument '"
+                        + descriptor.getArgument() + "' from "
+                        + candidate.beanClass().getSimpleName());
+            }
         }
         LOGGER.info(() -> "MCP: Registered " + toolRegistry.size() + " tool(s), " + resourceRegistry.size()
                 + " resource(s), " + promptRegistry.size() + " prompt(s) total");
@@ -8,4 +8,5 @@ record McpToolCandidate(
         List<Method> toolMethods,
         List<Method> resourceMethods,
         List<Method> resourceTemplateMethods,
-        List<Method> promptMethods) {}
+        List<Method> promptMethods,
+        List<Method> completeMethods) {}
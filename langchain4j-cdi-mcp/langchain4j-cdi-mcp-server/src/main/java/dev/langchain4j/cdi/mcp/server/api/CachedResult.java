@@ -0,0 +1,29 @@
+package dev.langchain4j.cdi.mcp.server.api;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caches the results of an idempotent {@code @Tool}, {@code @Resource} or {@code @ResourceTemplate} method. Results are
+ * keyed by the call's arguments, in a canonical form where the order of object members does not matter, and
+ * optionally by session. The least recently used results are evicted beyond {@link #maxEntries()}.
+ *
+ * <p>{@code McpResourceRegistry.notifyResourceUpdated(uri)} drops the cached reads of that URI. Results that are a
+ * {@code CompletionStage}, a {@code Flow.Publisher}, an {@code InputStream} or a {@code ReadableByteChannel} are not
+ * cached, nor are exceptions.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CachedResult {
+
+    /** How long a result is reused. */
+    long ttlMillis() default 60_000;
+
+    /** Maximum number of results kept. */
+    int maxEntries() default 1_000;
+
+    /** Whether each session gets its own results, for methods whose result depends on the caller. */
+    boolean perSession() default false;
+}
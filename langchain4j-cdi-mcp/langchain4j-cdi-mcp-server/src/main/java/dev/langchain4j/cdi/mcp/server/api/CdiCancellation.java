@@ -1,10 +1,17 @@
 package dev.langchain4j.cdi.mcp.server.api;
 
+import dev.langchain4j.cdi.mcp.server.transport.McpCancellationFlag;
 import java.util.Optional;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.mcp_java.server.Cancellation;
 
-/** Implementation of {@link Cancellation} backed by an {@link AtomicBoolean} flag from the request context. */
+/**
+ * Implementation of {@link Cancellation} backed by an {@link AtomicBoolean} flag from the request context. Besides
+ * polling {@link #check()}, a tool can tie its own work to the request with {@link #onCancel(Runnable)} or
+ * {@link #bind(Future)}, for example an outbound {@code HttpClient.sendAsync} call, so it is aborted as soon as the
+ * client cancels.
+ */
 public class CdiCancellation implements Cancellation {
 
     private final AtomicBoolean cancelledFlag;
@@ -17,4 +24,20 @@ public class CdiCancellation implements Cancellation {
     public Result check() {
         return new Result(cancelledFlag.get(), Optional.empty());
     }
+
+    /**
+     * Runs {@code action} when the client cancels the request, or immediately if it already did. Does nothing for a
+     * request that cannot be cancelled.
+     */
+    public void onCancel(Runnable action) {
+        if (cancelledFlag instanceof McpCancellationFlag flag) {
+            flag.onCancel(action);
+        }
+    }
+
+    /** Cancels {@code future}, interrupting it if running, when the client cancels the request. */
+    public <F extends Future<?>> F bind(F future) {
+        onCancel(() -> future.cancel(true));
+        return future;
+    }
 }
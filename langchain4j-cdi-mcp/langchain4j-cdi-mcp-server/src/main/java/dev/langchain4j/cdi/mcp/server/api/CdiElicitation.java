@@ -2,8 +2,10 @@ package dev.langchain4j.cdi.mcp.server.api;
 
 import dev.langchain4j.cdi.mcp.server.transport.McpElicitationManager;
 import dev.langchain4j.cdi.mcp.server.transport.McpSession;
+import java.util.concurrent.CompletionStage;
 import org.mcp_java.server.Elicitation;
 import org.mcp_java.server.ElicitationRequest;
+import org.mcp_java.server.ElicitationResponse;
 
 /** Implementation of {@link Elicitation} that delegates to {@link McpElicitationManager}. */
 public class CdiElicitation implements Elicitation {
@@ -11,11 +13,24 @@ public class CdiElicitation implements Elicitation {
     private final McpSession session;
     private final McpElicitationManager elicitationManager;
     private final String sessionId;
+    private final CdiCancellation cancellation;
 
     public CdiElicitation(McpSession session, McpElicitationManager elicitationManager, String sessionId) {
+        this(session, elicitationManager, sessionId, new CdiCancellation(null));
+    }
+
+    /**
+     * @param cancellation cancellation of the calling request, which withdraws the requests still awaiting an answer
+     */
+    public CdiElicitation(
+            McpSession session,
+            McpElicitationManager elicitationManager,
+            String sessionId,
+            CdiCancellation cancellation) {
         this.session = session;
         this.elicitationManager = elicitationManager;
         this.sessionId = sessionId;
+        this.cancellation = cancellation;
     }
 
     @Override
@@ -25,6 +40,18 @@ public class CdiElicitation implements Elicitation {
 
     @Override
     public ElicitationRequest.Builder requestBuilder() {
-        return new CdiElicitationRequest.CdiBuilder(elicitationManager, sessionId);
+        return new CdiElicitationRequest.CdiBuilder(elicitationManager, sessionId, cancellation);
+    }
+
+    /**
+     * Sends a request built by {@link #requestBuilder()} without blocking the calling thread.
+     *
+     * @see CdiElicitationRequest#sendAsync()
+     */
+    public CompletionStage<ElicitationResponse> sendAsync(ElicitationRequest request) {
+        if (!(request instanceof CdiElicitationRequest cdiRequest)) {
+            throw new IllegalArgumentException("Request was not built by this Elicitation: " + request);
+        }
+        return cdiRequest.sendAsync();
     }
 }
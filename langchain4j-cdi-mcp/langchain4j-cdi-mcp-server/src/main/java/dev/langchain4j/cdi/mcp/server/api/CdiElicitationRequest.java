@@ -5,29 +5,41 @@ import jakarta.json.JsonObject;
 import java.time.Duration;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
 import org.mcp_java.server.ElicitationRequest;
 import org.mcp_java.server.ElicitationResponse;
 
-/** Implementation of {@link ElicitationRequest} that delegates to {@link McpElicitationManager}. */
+/**
+ * Implementation of {@link ElicitationRequest} that delegates to {@link McpElicitationManager}. {@link #sendAsync()}
+ * returns without waiting for the user's answer.
+ */
 public class CdiElicitationRequest implements ElicitationRequest {
 
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+
     private final String message;
     private final Map<String, PrimitiveSchema> requestedSchema;
     private final McpElicitationManager elicitationManager;
     private final String sessionId;
-    private final long timeoutSeconds;
+    private final Duration timeout;
+    private final CdiCancellation cancellation;
 
     CdiElicitationRequest(
             String message,
             Map<String, PrimitiveSchema> requestedSchema,
             McpElicitationManager elicitationManager,
             String sessionId,
-            long timeoutSeconds) {
+            Duration timeout,
+            CdiCancellation cancellation) {
         this.message = message;
         this.requestedSchema = requestedSchema;
         this.elicitationManager = elicitationManager;
         this.sessionId = sessionId;
-        this.timeoutSeconds = timeoutSeconds;
+        this.timeout = timeout;
+        this.cancellation = cancellation;
     }
 
     @Override
@@ -48,29 +60,58 @@ public class CdiElicitationRequest implements ElicitationRequest {
 
     @Override
     public ElicitationResponse sendAndAwait() {
+        CompletableFuture<JsonObject> pending = request();
+        try {
+            return response(pending.get());
+        } catch (InterruptedException e) {
+            // Withdraws the request, so the thread is not left waiting once the tool call is cancelled
+            pending.cancel(true);
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | CancellationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Sends the request without blocking the calling thread.
+     *
+     * @return completes with the client's response; fails when the client does not answer within the timeout or answers
+     *     with an error
+     */
+    public CompletionStage<ElicitationResponse> sendAsync() {
+        return request().thenApply(CdiElicitationRequest::response);
+    }
+
+    /** Sends the request, withdrawn if the calling request is cancelled before the client answers. */
+    private CompletableFuture<JsonObject> request() {
         Map<String, Object> schemaMap = new LinkedHashMap<>();
         if (requestedSchema != null) {
             requestedSchema.forEach((key, schema) -> schemaMap.put(key, schema.asJson()));
         }
 
-        JsonObject result = elicitationManager.createElicitation(sessionId, message, schemaMap, timeoutSeconds);
-        if (result == null) {
-            return null;
-        }
-        return new CdiElicitationResponse(result);
+        return cancellation.bind(elicitationManager
+                .createElicitationAsync(sessionId, message, schemaMap, timeout)
+                .toCompletableFuture());
+    }
+
+    private static ElicitationResponse response(JsonObject result) {
+        return result != null ? new CdiElicitationResponse(result) : null;
     }
 
     static class CdiBuilder implements ElicitationRequest.Builder {
 
         private final McpElicitationManager elicitationManager;
         private final String sessionId;
+        private final CdiCancellation cancellation;
         private String message;
         private final Map<String, PrimitiveSchema> requestedSchema = new LinkedHashMap<>();
-        private long timeoutSeconds = 30;
+        private Duration timeout = DEFAULT_TIMEOUT;
 
-        CdiBuilder(McpElicitationManager elicitationManager, String sessionId) {
+        CdiBuilder(McpElicitationManager elicitationManager, String sessionId, CdiCancellation cancellation) {
             this.elicitationManager = elicitationManager;
             this.sessionId = sessionId;
+            this.cancellation = cancellation;
         }
 
         @Override
@@ -87,14 +128,14 @@ public class CdiElicitationRequest implements ElicitationRequest {
 
         @Override
         public Builder setTimeout(Duration timeout) {
-            this.timeoutSeconds = timeout.toSeconds();
+            this.timeout = timeout;
             return this;
         }
 
         @Override
         public ElicitationRequest build() {
             return new CdiElicitationRequest(
-                    message, Map.copyOf(requestedSchema), elicitationManager, sessionId, timeoutSeconds);
+                    message, Map.copyOf(requestedSchema), elicitationManager, sessionId, timeout, cancellation);
         }
     }
 }
@@ -35,7 +35,7 @@ public class CdiMcpConnection implements McpConnection {
 
     @Override
     public McpLog.LogLevel logLevel() {
-        McpLogLevel level = mcpLogger.getMinimumLevel();
+        McpLogLevel level = mcpLogger.getLevel(session.getId());
         return McpLog.LogLevel.values()[level.ordinal()];
     }
 }
@@ -4,30 +4,46 @@ import dev.langchain4j.cdi.mcp.server.logging.McpLogLevel;
 import dev.langchain4j.cdi.mcp.server.logging.McpLogger;
 import org.mcp_java.server.McpLog;
 
-/** Implementation of {@link McpLog} that delegates to our internal {@link McpLogger}. */
+/**
+ * Implementation of {@link McpLog} that delegates to our internal {@link McpLogger}. Messages go to the session of the
+ * current request, and are only formatted when that session's level lets them through. Without a session they go to
+ * every connected session, and are only formatted when the level of at least one of them lets them through.
+ */
 public class CdiMcpLog implements McpLog {
 
     private final McpLogger mcpLogger;
     private final String loggerName;
+    private final String sessionId;
 
     public CdiMcpLog(McpLogger mcpLogger, String loggerName) {
+        this(mcpLogger, loggerName, null);
+    }
+
+    public CdiMcpLog(McpLogger mcpLogger, String loggerName, String sessionId) {
         this.mcpLogger = mcpLogger;
         this.loggerName = loggerName;
+        this.sessionId = sessionId;
     }
 
     @Override
     public LogLevel level() {
-        return toApiLevel(mcpLogger.getMinimumLevel());
+        return toApiLevel(threshold());
     }
 
     @Override
     public void send(LogLevel level, Object data) {
-        mcpLogger.log(toInternalLevel(level), loggerName, data != null ? data.toString() : "null");
+        McpLogLevel internalLevel = toInternalLevel(level);
+        if (isEnabled(internalLevel)) {
+            log(internalLevel, data != null ? data.toString() : "null");
+        }
     }
 
     @Override
     public void send(LogLevel level, String format, Object... params) {
-        mcpLogger.log(toInternalLevel(level), loggerName, formatMessage(format, params));
+        McpLogLevel internalLevel = toInternalLevel(level);
+        if (isEnabled(internalLevel)) {
+            log(internalLevel, formatMessage(format, params));
+        }
     }
 
     @Override
@@ -47,8 +63,25 @@ public class CdiMcpLog implements McpLog {
 
     @Override
     public void error(Throwable throwable, String format, Object... params) {
-        String message = formatMessage(format, params) + " - " + throwable.getMessage();
-        send(LogLevel.ERROR, message);
+        if (isEnabled(McpLogLevel.error)) {
+            log(McpLogLevel.error, formatMessage(format, params) + " - " + throwable.getMessage());
+        }
+    }
+
+    private McpLogLevel threshold() {
+        return sessionId != null ? mcpLogger.getLevel(sessionId) : mcpLogger.getMinimumLevel();
+    }
+
+    private boolean isEnabled(McpLogLevel level) {
+        return sessionId != null ? level.ordinal() >= threshold().ordinal() : mcpLogger.isEnabled(level);
+    }
+
+    private void log(McpLogLevel level, String message) {
+        if (sessionId != null) {
+            mcpLogger.log(sessionId, level, loggerName, message);
+        } else {
+            mcpLogger.log(level, loggerName, message);
+        }
     }
 
     private static McpLogLevel toInternalLevel(LogLevel level) {
@@ -63,15 +96,17 @@ public class CdiMcpLog implements McpLog {
         if (params == null || params.length == 0) {
             return format;
         }
-        String result = format;
+        // Single pass: copy the text between placeholders and append each parameter in place
+        StringBuilder result = new StringBuilder(format.length() + 16 * params.length);
+        int start = 0;
         for (Object param : params) {
-            int idx = result.indexOf("{}");
-            if (idx >= 0) {
-                result = result.substring(0, idx) + param + result.substring(idx + 2);
-            } else {
+            int idx = format.indexOf("{}", start);
+            if (idx < 0) {
                 break;
             }
+            result.append(format, start, idx).append(param);
+            start = idx + 2;
         }
-        return result;
+        return result.append(format, start, format.length()).toString();
     }
 }
@@ -10,10 +10,17 @@ import org.mcp_java.server.ProgressTracker;
 /** Implementation of {@link Progress} that wraps a progress token and delegates to {@link McpProgressReporter}. */
 public class CdiProgress implements Progress {
 
+    private final String sessionId;
     private final Object rawToken;
     private final McpProgressReporter progressReporter;
 
     public CdiProgress(Object rawToken, McpProgressReporter progressReporter) {
+        this(null, rawToken, progressReporter);
+    }
+
+    /** Creates a progress handle whose notifications are sent only to {@code sessionId}. */
+    public CdiProgress(String sessionId, Object rawToken, McpProgressReporter progressReporter) {
+        this.sessionId = sessionId;
         this.rawToken = rawToken;
         this.progressReporter = progressReporter;
     }
@@ -28,11 +35,11 @@ public class CdiProgress implements Progress {
 
     @Override
     public ProgressNotification.Builder notificationBuilder() {
-        return new CdiProgressNotification.CdiBuilder(rawToken, progressReporter);
+        return new CdiProgressNotification.CdiBuilder(sessionId, rawToken, progressReporter);
     }
 
     @Override
     public ProgressTracker.Builder trackerBuilder() {
-        return new CdiProgressTracker.CdiBuilder(rawToken, progressReporter);
+        return new CdiProgressTracker.CdiBuilder(sessionId, rawToken, progressReporter);
     }
 }
@@ -8,6 +8,7 @@ import org.mcp_java.server.ProgressToken;
 /** Implementation of {@link ProgressNotification} that delegates to {@link McpProgressReporter}. */
 public class CdiProgressNotification implements ProgressNotification {
 
+    private final String sessionId;
     private final Object rawToken;
     private final BigDecimal progressValue;
     private final BigDecimal totalValue;
@@ -15,11 +16,13 @@ public class CdiProgressNotification implements ProgressNotification {
     private final McpProgressReporter progressReporter;
 
     CdiProgressNotification(
+            String sessionId,
             Object rawToken,
             BigDecimal progressValue,
             BigDecimal totalValue,
             String message,
             McpProgressReporter progressReporter) {
+        this.sessionId = sessionId;
         this.rawToken = rawToken;
         this.progressValue = progressValue;
         this.totalValue = totalValue;
@@ -50,8 +53,12 @@ public class CdiProgressNotification implements ProgressNotification {
     @Override
     public void sendAndForget() {
         if (rawToken != null && progressReporter != null) {
-            progressReporter.reportProgress(
-                    rawToken, progressValue.doubleValue(), totalValue != null ? totalValue.doubleValue() : 0, message);
+            double total = totalValue != null ? totalValue.doubleValue() : 0;
+            if (sessionId != null) {
+                progressReporter.reportProgress(sessionId, rawToken, progressValue.doubleValue(), total, message);
+            } else {
+                progressReporter.reportProgress(rawToken, progressValue.doubleValue(), total, message);
+            }
         }
     }
 
@@ -64,13 +71,15 @@ public class CdiProgressNotification implements ProgressNotification {
 
     static class CdiBuilder implements ProgressNotification.Builder {
 
+        private final String sessionId;
         private final Object rawToken;
         private final McpProgressReporter progressReporter;
         private BigDecimal progressValue = BigDecimal.ZERO;
         private BigDecimal totalValue = null;
         private String message = null;
 
-        CdiBuilder(Object rawToken, McpProgressReporter progressReporter) {
+        CdiBuilder(String sessionId, Object rawToken, McpProgressReporter progressReporter) {
+            this.sessionId = sessionId;
             this.rawToken = rawToken;
             this.progressReporter = progressReporter;
         }
@@ -107,7 +116,8 @@ public class CdiProgressNotification implements ProgressNotification {
 
         @Override
         public ProgressNotification build() {
-            return new CdiProgressNotification(rawToken, progressValue, totalValue, message, progressReporter);
+            return new CdiProgressNotification(
+                    sessionId, rawToken, progressValue, totalValue, message, progressReporter);
         }
     }
 }
@@ -10,6 +10,7 @@ import org.mcp_java.server.ProgressTracker;
 /** Thread-safe implementation of {@link ProgressTracker} that delegates to {@link McpProgressReporter}. */
 public class CdiProgressTracker implements ProgressTracker {
 
+    private final String sessionId;
     private final Object rawToken;
     private final BigDecimal totalValue;
     private final BigDecimal stepValue;
@@ -18,11 +19,13 @@ public class CdiProgressTracker implements ProgressTracker {
     private final AtomicReference<BigDecimal> currentProgress;
 
     CdiProgressTracker(
+            String sessionId,
             Object rawToken,
             BigDecimal totalValue,
             BigDecimal stepValue,
             Function<BigDecimal, String> messageBuilder,
             McpProgressReporter progressReporter) {
+        this.sessionId = sessionId;
         this.rawToken = rawToken;
         this.totalValue = totalValue;
         this.stepValue = stepValue;
@@ -41,8 +44,12 @@ public class CdiProgressTracker implements ProgressTracker {
         BigDecimal newProgress = currentProgress.accumulateAndGet(amount, BigDecimal::add);
         if (rawToken != null && progressReporter != null) {
             String message = messageBuilder != null ? messageBuilder.apply(newProgress) : null;
-            progressReporter.reportProgress(
-                    rawToken, newProgress.doubleValue(), totalValue != null ? totalValue.doubleValue() : 0, message);
+            double total = totalValue != null ? totalValue.doubleValue() : 0;
+            if (sessionId != null) {
+                progressReporter.reportProgress(sessionId, rawToken, newProgress.doubleValue(), total, message);
+            } else {
+                progressReporter.reportProgress(rawToken, newProgress.doubleValue(), total, message);
+            }
         }
     }
 
@@ -85,13 +92,15 @@ public class CdiProgressTracker implements ProgressTracker {
 
     static class CdiBuilder implements ProgressTracker.Builder {
 
+        private final String sessionId;
         private final Object rawToken;
         private final McpProgressReporter progressReporter;
         private BigDecimal totalValue = null;
         private BigDecimal stepValue = BigDecimal.ONE;
         private Function<BigDecimal, String> messageBuilder = null;
 
-        CdiBuilder(Object rawToken, McpProgressReporter progressReporter) {
+        CdiBuilder(String sessionId, Object rawToken, McpProgressReporter progressReporter) {
+            this.sessionId = sessionId;
             this.rawToken = rawToken;
             this.progressReporter = progressReporter;
         }
@@ -128,7 +137,7 @@ public class CdiProgressTracker implements ProgressTracker {
 
         @Override
         public ProgressTracker build() {
-            return new CdiProgressTracker(rawToken, totalValue, stepValue, messageBuilder, progressReporter);
+            return new CdiProgressTracker(sessionId, rawToken, totalValue, stepValue, messageBuilder, progressReporter);
         }
     }
 }
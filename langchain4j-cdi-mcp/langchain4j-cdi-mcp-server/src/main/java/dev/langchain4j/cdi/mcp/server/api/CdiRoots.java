@@ -3,6 +3,7 @@ package dev.langchain4j.cdi.mcp.server.api;
 import dev.langchain4j.cdi.mcp.server.transport.McpRootsManager;
 import dev.langchain4j.cdi.mcp.server.transport.McpSession;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 import org.mcp_java.model.roots.Root;
 import org.mcp_java.server.Roots;
 
@@ -34,4 +35,9 @@ public class CdiRoots implements Roots {
     public List<Root> listAndAwait() {
         return rootsManager.requestRoots(sessionId);
     }
+
+    /** Lists the client's roots without blocking the calling thread; completes with an empty list on timeout/error. */
+    public CompletionStage<List<Root>> listAsync() {
+        return rootsManager.requestRootsAsync(sessionId);
+    }
 }
@@ -2,8 +2,10 @@ package dev.langchain4j.cdi.mcp.server.api;
 
 import dev.langchain4j.cdi.mcp.server.transport.McpSamplingManager;
 import dev.langchain4j.cdi.mcp.server.transport.McpSession;
+import java.util.concurrent.CompletionStage;
 import org.mcp_java.server.Sampling;
 import org.mcp_java.server.SamplingRequest;
+import org.mcp_java.server.SamplingResponse;
 
 /** Implementation of {@link Sampling} that delegates to {@link McpSamplingManager}. */
 public class CdiSampling implements Sampling {
@@ -11,11 +13,21 @@ public class CdiSampling implements Sampling {
     private final McpSession session;
     private final McpSamplingManager samplingManager;
     private final String sessionId;
+    private final CdiCancellation cancellation;
 
     public CdiSampling(McpSession session, McpSamplingManager samplingManager, String sessionId) {
+        this(session, samplingManager, sessionId, new CdiCancellation(null));
+    }
+
+    /**
+     * @param cancellation cancellation of the calling request, which withdraws the requests still awaiting an answer
+     */
+    public CdiSampling(
+            McpSession session, McpSamplingManager samplingManager, String sessionId, CdiCancellation cancellation) {
         this.session = session;
         this.samplingManager = samplingManager;
         this.sessionId = sessionId;
+        this.cancellation = cancellation;
     }
 
     @Override
@@ -25,6 +37,18 @@ public class CdiSampling implements Sampling {
 
     @Override
     public SamplingRequest.Builder requestBuilder() {
-        return new CdiSamplingRequest.CdiBuilder(samplingManager, sessionId);
+        return new CdiSamplingRequest.CdiBuilder(samplingManager, sessionId, cancellation);
+    }
+
+    /**
+     * Sends a request built by {@link #requestBuilder()} without blocking the calling thread.
+     *
+     * @see CdiSamplingRequest#sendAsync()
+     */
+    public CompletionStage<SamplingResponse> sendAsync(SamplingRequest request) {
+        if (!(request instanceof CdiSamplingRequest cdiRequest)) {
+            throw new IllegalArgumentException("Request was not built by this Sampling: " + request);
+        }
+        return cdiRequest.sendAsync();
     }
 }
@@ -8,12 +8,19 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
 import org.mcp_java.model.sampling.ModelPreferences;
 import org.mcp_java.model.sampling.SamplingMessage;
 import org.mcp_java.server.SamplingRequest;
 import org.mcp_java.server.SamplingResponse;
 
-/** Implementation of {@link SamplingRequest} that delegates to {@link McpSamplingManager}. */
+/**
+ * Implementation of {@link SamplingRequest} that delegates to {@link McpSamplingManager}. {@link #sendAsync()} returns
+ * without waiting for the client.
+ */
 public class CdiSamplingRequest implements SamplingRequest {
 
     private final long maxTokens;
@@ -26,6 +33,8 @@ public class CdiSamplingRequest implements SamplingRequest {
     private final Map<String, Object> metadata;
     private final McpSamplingManager samplingManager;
     private final String sessionId;
+    private final Duration timeout;
+    private final CdiCancellation cancellation;
 
     CdiSamplingRequest(
             long maxTokens,
@@ -37,7 +46,9 @@ public class CdiSamplingRequest implements SamplingRequest {
             ModelPreferences modelPreferences,
             Map<String, Object> metadata,
             McpSamplingManager samplingManager,
-            String sessionId) {
+            String sessionId,
+            Duration timeout,
+            CdiCancellation cancellation) {
         this.maxTokens = maxTokens;
         this.messages = messages;
         this.stopSequences = stopSequences;
@@ -48,6 +59,8 @@ public class CdiSamplingRequest implements SamplingRequest {
         this.metadata = metadata;
         this.samplingManager = samplingManager;
         this.sessionId = sessionId;
+        this.timeout = timeout;
+        this.cancellation = cancellation;
     }
 
     @Override
@@ -98,6 +111,31 @@ public class CdiSamplingRequest implements SamplingRequest {
 
     @Override
     public SamplingResponse sendAndAwait() {
+        CompletableFuture<JsonObject> pending = request();
+        try {
+            return response(pending.get());
+        } catch (InterruptedException e) {
+            // Withdraws the request, so the thread is not left waiting once the tool call is cancelled
+            pending.cancel(true);
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | CancellationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Sends the request without blocking the calling thread.
+     *
+     * @return completes with the client's response; fails when the client does not answer within the timeout set on the
+     *     builder (the server default otherwise) or answers with an error
+     */
+    public CompletionStage<SamplingResponse> sendAsync() {
+        return request().thenApply(CdiSamplingRequest::response);
+    }
+
+    /** Sends the request, withdrawn if the calling request is cancelled before the client answers. */
+    private CompletableFuture<JsonObject> request() {
         List<Map<String, Object>> messageMaps = messages.stream()
                 .map(m -> {
                     Map<String, Object> map = new LinkedHashMap<>();
@@ -113,11 +151,15 @@ public class CdiSamplingRequest implements SamplingRequest {
             modelPrefsMap.put("hints", modelPreferences.hints());
         }
 
-        JsonObject result = samplingManager.createMessage(sessionId, messageMaps, modelPrefsMap, (int) maxTokens);
+        return cancellation.bind(samplingManager
+                .createMessageAsync(sessionId, messageMaps, modelPrefsMap, (int) maxTokens, timeout)
+                .toCompletableFuture());
+    }
+
+    private static SamplingResponse response(JsonObject result) {
         if (result == null) {
             return null;
         }
-
         return new SamplingResponse(null, result.getString("model", null), null, result.getString("stopReason", null));
     }
 
@@ -125,6 +167,7 @@ public class CdiSamplingRequest implements SamplingRequest {
 
         private final McpSamplingManager samplingManager;
         private final String sessionId;
+        private final CdiCancellation cancellation;
         private long maxTokens = 1024;
         private final List<SamplingMessage> messages = new ArrayList<>();
         private List<String> stopSequences = List.of();
@@ -133,10 +176,12 @@ public class CdiSamplingRequest implements SamplingRequest {
         private IncludeContext includeContext;
         private ModelPreferences modelPreferences;
         private Map<String, Object> metadata = Map.of();
+        private Duration timeout;
 
-        CdiBuilder(McpSamplingManager samplingManager, String sessionId) {
+        CdiBuilder(McpSamplingManager samplingManager, String sessionId, CdiCancellation cancellation) {
             this.samplingManager = samplingManager;
             this.sessionId = sessionId;
+            this.cancellation = cancellation;
         }
 
         @Override
@@ -189,7 +234,7 @@ public class CdiSamplingRequest implements SamplingRequest {
 
         @Override
         public Builder setTimeout(Duration timeout) {
-            // timeout is not directly used in our implementation
+            this.timeout = timeout;
             return this;
         }
 
@@ -205,7 +250,9 @@ public class CdiSamplingRequest implements SamplingRequest {
                     modelPreferences,
                     metadata,
                     samplingManager,
-                    sessionId);
+                    sessionId,
+                    timeout,
+                    cancellation);
         }
     }
 }
@@ -0,0 +1,35 @@
+package dev.langchain4j.cdi.mcp.server.api;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a bean method providing the completion candidates of a prompt argument or of a resource template variable. Set
+ * exactly one of {@link #prompt()} and {@link #resourceTemplate()}.
+ *
+ * <p>The method returns all candidates, as a {@code Collection} or an array; the server filters them by the prefix
+ * typed by the client. Parameters named like other arguments of the prompt or template receive the values the client
+ * already filled in, a parameter named like {@link #argument()} receives the text typed so far. Results are cached for
+ * {@link #cacheTtlMillis()} per distinct set of parameter values, and per session with {@link #perSession()}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Complete {
+
+    /** Name of the prompt whose argument is completed. */
+    String prompt() default "";
+
+    /** URI template of the resource template whose variable is completed. */
+    String resourceTemplate() default "";
+
+    /** Name of the prompt argument or template variable. */
+    String argument();
+
+    /** How long results are reused; 0 calls the method on every request. */
+    long cacheTtlMillis() default 60_000;
+
+    /** Whether each session gets its own results, for methods whose candidates depend on the caller. */
+    boolean perSession() default false;
+}
@@ -50,13 +50,16 @@ public class McpApiFactory {
      */
     public Object createInstance(Class<?> type, McpRequestContext ctx, McpSession session, Class<?> beanType) {
         if (type == McpLog.class) {
-            return new CdiMcpLog(mcpLogger, beanType.getSimpleName());
+            String sessionId = ctx != null ? ctx.sessionId() : session != null ? session.getId() : null;
+            return new CdiMcpLog(mcpLogger, beanType.getSimpleName(), sessionId);
         }
         if (type == Progress.class) {
-            return new CdiProgress(ctx != null ? ctx.progressToken() : null, progressReporter);
+            return ctx != null
+                    ? new CdiProgress(ctx.sessionId(), ctx.progressToken(), progressReporter)
+                    : new CdiProgress(null, progressReporter);
         }
         if (type == Cancellation.class) {
-            return new CdiCancellation(ctx != null ? ctx.cancelledFlag() : null);
+            return cancellation(ctx);
         }
         if (type == McpConnection.class) {
             return new CdiMcpConnection(session, mcpLogger);
@@ -67,12 +70,16 @@ public class McpApiFactory {
         }
         if (type == Sampling.class) {
             String sessionId = ctx != null ? ctx.sessionId() : session.getId();
-            return new CdiSampling(session, samplingManager, sessionId);
+            return new CdiSampling(session, samplingManager, sessionId, cancellation(ctx));
         }
         if (type == Elicitation.class) {
             String sessionId = ctx != null ? ctx.sessionId() : session.getId();
-            return new CdiElicitation(session, elicitationManager, sessionId);
+            return new CdiElicitation(session, elicitationManager, sessionId, cancellation(ctx));
         }
         throw new IllegalArgumentException("Unknown MCP framework type: " + type.getName());
     }
+
+    private static CdiCancellation cancellation(McpRequestContext ctx) {
+        return new CdiCancellation(ctx != null ? ctx.cancelledFlag() : null);
+    }
 }
@@ -1,5 +1,6 @@
 package dev.langchain4j.cdi.mcp.server.api;
 
+import dev.langchain4j.cdi.mcp.server.transport.McpSpan;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -9,6 +10,12 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * @param requestId the JSON-RPC request identifier
  * @param progressToken the progress token from request _meta (may be null)
  * @param cancelledFlag shared flag set to true when the request is cancelled
+ * @param span the span of the request, parent of the invocation span on whichever thread the method runs
  */
 public record McpRequestContext(
-        String sessionId, Object requestId, Object progressToken, AtomicBoolean cancelledFlag) {}
+        String sessionId, Object requestId, Object progressToken, AtomicBoolean cancelledFlag, McpSpan span) {
+
+    public McpRequestContext(String sessionId, Object requestId, Object progressToken, AtomicBoolean cancelledFlag) {
+        this(sessionId, requestId, progressToken, cancelledFlag, McpSpan.NOOP);
+    }
+}
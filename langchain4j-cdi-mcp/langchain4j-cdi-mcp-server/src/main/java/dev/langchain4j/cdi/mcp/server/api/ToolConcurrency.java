@@ -0,0 +1,26 @@
+package dev.langchain4j.cdi.mcp.server.api;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Limits the concurrent calls of a {@code @Tool} method, overriding the defaults of {@code McpServerConfig}. Calls
+ * beyond {@link #maxConcurrent()} wait in a queue of at most {@link #maxQueued()} calls for up to
+ * {@link #queueTimeoutMillis()}; a call that finds the queue full or times out fails with a
+ * {@code SERVER_OVERLOADED} error.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ToolConcurrency {
+
+    /** Maximum number of calls running at the same time; 0 means no limit. */
+    int maxConcurrent();
+
+    /** Maximum number of calls waiting for a slot; -1 uses the server default. */
+    int maxQueued() default -1;
+
+    /** How long a call may wait for a slot; 0 waits without a deadline, -1 uses the server default. */
+    long queueTimeoutMillis() default -1;
+}
@@ -1,5 +1,7 @@
 package dev.langchain4j.cdi.mcp.server.error;
 
+import java.util.concurrent.CompletionException;
+
 public enum McpErrorCode {
     PARSE_ERROR(-32700),
     INVALID_REQUEST(-32600),
@@ -7,7 +9,9 @@ public enum McpErrorCode {
     INVALID_PARAMS(-32602),
     INTERNAL_ERROR(-32603),
     SESSION_NOT_FOUND(-32001),
-    TOOL_NOT_FOUND(-32002);
+    TOOL_NOT_FOUND(-32002),
+    SERVER_OVERLOADED(-32003),
+    RATE_LIMITED(-32004);
 
     private final int code;
 
@@ -18,4 +22,16 @@ public enum McpErrorCode {
     public int getCode() {
         return code;
     }
+
+    /**
+     * The code a request failing with {@code error} is answered with: that of an {@link McpException}, possibly wrapped
+     * in a {@link CompletionException}, and {@link #INTERNAL_ERROR} for anything else; {@code null} without error.
+     */
+    public static McpErrorCode of(Throwable error) {
+        if (error == null) {
+            return null;
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof McpException e ? e.getErrorCode() : INTERNAL_ERROR;
+    }
 }
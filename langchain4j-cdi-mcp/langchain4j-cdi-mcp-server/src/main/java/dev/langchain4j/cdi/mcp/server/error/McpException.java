@@ -4,11 +4,18 @@ public class McpException extends RuntimeException {
 
     private final Object requestId;
     private final McpErrorCode errorCode;
+    private final Object data;
 
     public McpException(Object requestId, McpErrorCode errorCode, String message) {
+        this(requestId, errorCode, message, null);
+    }
+
+    /** @param data additional information sent as the {@code data} member of the JSON-RPC error (may be null) */
+    public McpException(Object requestId, McpErrorCode errorCode, String message, Object data) {
         super(message);
         this.requestId = requestId;
         this.errorCode = errorCode;
+        this.data = data;
     }
 
     public Object getRequestId() {
@@ -18,4 +25,8 @@ public class McpException extends RuntimeException {
     public McpErrorCode getErrorCode() {
         return errorCode;
     }
+
+    public Object getData() {
+        return data;
+    }
 }
@@ -0,0 +1,34 @@
+package dev.langchain4j.cdi.mcp.server.error;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * A request turned away by admission control before it ran. The JSON-RPC error carries a retry hint,
+ * {@code {"retryAfterMs": ...}}, telling the client when trying again may succeed.
+ */
+public class McpRejectedException extends McpException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Duration retryAfter;
+
+    public McpRejectedException(Object requestId, McpErrorCode errorCode, String message, Duration retryAfter) {
+        super(requestId, errorCode, message, Map.of("retryAfterMs", toMillisRoundedUp(retryAfter)));
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /** The retry hint in whole milliseconds, rounded up so that a client retrying after it finds a token. */
+    public long getRetryAfterMillis() {
+        return toMillisRoundedUp(retryAfter);
+    }
+
+    private static long toMillisRoundedUp(Duration duration) {
+        long millis = duration.toMillis();
+        return duration.equals(Duration.ofMillis(millis)) ? millis : millis + 1;
+    }
+}
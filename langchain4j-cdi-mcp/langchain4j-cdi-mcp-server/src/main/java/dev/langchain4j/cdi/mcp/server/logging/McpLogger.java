@@ -1,17 +1,26 @@
 package dev.langchain4j.cdi.mcp.server.logging;
 
 import dev.langchain4j.cdi.mcp.server.transport.McpNotificationBroadcaster;
+import dev.langchain4j.cdi.mcp.server.transport.McpSession;
+import dev.langchain4j.cdi.mcp.server.transport.McpSessionManager;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.util.Map;
 
-/** Injectable MCP logger that sends log notifications to connected clients via {@code notifications/message}. */
+/**
+ * Injectable MCP logger that sends log notifications to connected clients via {@code notifications/message}. Each
+ * session can lower or raise its own level with {@code logging/setLevel}; the minimum level is the default for sessions
+ * that did not. Messages logged without a session go to every connected session whose level allows them.
+ */
 @ApplicationScoped
 public class McpLogger {
 
     @Inject
     McpNotificationBroadcaster broadcaster;
 
+    @Inject
+    McpSessionManager sessionManager;
+
     private volatile McpLogLevel minimumLevel = McpLogLevel.debug;
 
     public void setMinimumLevel(McpLogLevel level) {
@@ -22,6 +31,23 @@ public class McpLogger {
         return minimumLevel;
     }
 
+    /** The effective level of a session: the level it set, or the minimum level. */
+    public McpLogLevel getLevel(String sessionId) {
+        McpSession session = sessionManager != null ? sessionManager.findSession(sessionId) : null;
+        McpLogLevel level = session != null ? session.getLogLevel() : null;
+        return level != null ? level : minimumLevel;
+    }
+
+    /** Whether a message at {@code level} would be sent to the session; check before building expensive messages. */
+    public boolean isEnabled(String sessionId, McpLogLevel level) {
+        return level.ordinal() >= getLevel(sessionId).ordinal();
+    }
+
+    /** Whether a message at {@code level} logged without a session would reach any connected session. */
+    public boolean isEnabled(McpLogLevel level) {
+        return broadcaster != null && broadcaster.anyConnected(sessionId -> isEnabled(sessionId, level));
+    }
+
     public void debug(String loggerName, String message) {
         log(McpLogLevel.debug, loggerName, message);
     }
@@ -39,13 +65,26 @@ public class McpLogger {
     }
 
     public void log(McpLogLevel level, String loggerName, String message) {
-        if (level.ordinal() < minimumLevel.ordinal()) {
+        if (broadcaster == null || broadcaster.connectedStreamCount() == 0) {
             return;
         }
-        if (broadcaster == null || broadcaster.connectedStreamCount() == 0) {
+        broadcaster.broadcast(notification(level, loggerName, message), sessionId -> isEnabled(sessionId, level));
+    }
+
+    /** Sends a log message to one session only, filtered by that session's level. */
+    public void log(String sessionId, McpLogLevel level, String loggerName, String message) {
+        if (sessionId == null) {
+            log(level, loggerName, message);
             return;
         }
-        Map<String, Object> notification = Map.of(
+        if (broadcaster == null || !isEnabled(sessionId, level)) {
+            return;
+        }
+        broadcaster.sendToSession(sessionId, notification(level, loggerName, message));
+    }
+
+    private static Map<String, Object> notification(McpLogLevel level, String loggerName, String message) {
+        return Map.of(
                 "jsonrpc", "2.0",
                 "method", "notifications/message",
                 "params",
@@ -53,6 +92,5 @@ public class McpLogger {
                                 "level", level.name(),
                                 "logger", loggerName,
                                 "data", message));
-        broadcaster.broadcast(notification);
     }
 }
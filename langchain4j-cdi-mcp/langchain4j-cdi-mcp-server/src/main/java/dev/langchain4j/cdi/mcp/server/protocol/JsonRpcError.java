@@ -4,6 +4,7 @@ public class JsonRpcError {
 
     private int code;
     private String message;
+    private Object data;
 
     public JsonRpcError() {}
 
@@ -12,6 +13,12 @@ public class JsonRpcError {
         this.message = message;
     }
 
+    public JsonRpcError(int code, String message, Object data) {
+        this.code = code;
+        this.message = message;
+        this.data = data;
+    }
+
     public int getCode() {
         return code;
     }
@@ -27,4 +34,13 @@ public class JsonRpcError {
     public void setMessage(String message) {
         this.message = message;
     }
+
+    /** Additional information about the error, such as a retry hint; omitted when null. */
+    public Object getData() {
+        return data;
+    }
+
+    public void setData(Object data) {
+        this.data = data;
+    }
 }
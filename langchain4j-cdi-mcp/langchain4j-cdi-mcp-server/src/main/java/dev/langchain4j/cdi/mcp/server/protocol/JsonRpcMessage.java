@@ -0,0 +1,41 @@
+package dev.langchain4j.cdi.mcp.server.protocol;
+
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+
+/**
+ * A decoded incoming JSON-RPC message. Requests and notifications carry {@code method}, {@code params} and the
+ * {@code _meta.progressToken}; responses to server-initiated requests carry {@code result} or {@code error}.
+ */
+public record JsonRpcMessage(
+        Kind kind,
+        Object id,
+        String method,
+        JsonObject params,
+        Object progressToken,
+        JsonValue result,
+        JsonObject error) {
+
+    public enum Kind {
+        REQUEST,
+        NOTIFICATION,
+        RESPONSE,
+        /** Neither a method nor a result/error member was present. */
+        INVALID
+    }
+
+    /** A batch entry that is not a JSON object. */
+    public static JsonRpcMessage invalid() {
+        return new JsonRpcMessage(Kind.INVALID, null, null, null, null, null, null);
+    }
+
+    public boolean isResponse() {
+        return kind == Kind.RESPONSE;
+    }
+
+    public JsonRpcRequest toRequest() {
+        JsonRpcRequest request = new JsonRpcRequest(id, method, params);
+        request.setProgressToken(progressToken);
+        return request;
+    }
+}
@@ -0,0 +1,138 @@
+package dev.langchain4j.cdi.mcp.server.protocol;
+
+import dev.langchain4j.cdi.mcp.server.error.McpErrorCode;
+import dev.langchain4j.cdi.mcp.server.error.McpException;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+import jakarta.json.stream.JsonParser;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single-pass reader for JSON-RPC messages. Only {@code params}, {@code result} and {@code error} are materialized as
+ * JSON-P values; every other member is read as a scalar or skipped without building a tree.
+ */
+final class JsonRpcMessageReader {
+
+    private static final String FIELD_META = "_meta";
+    private static final String FIELD_PROGRESS_TOKEN = "progressToken";
+
+    private JsonRpcMessageReader() {}
+
+    /**
+     * Reads the entries of a batch array whose {@code START_ARRAY} event has already been consumed. Entries that are
+     * not objects are returned as {@link JsonRpcMessage.Kind#INVALID} so each one gets its own error response.
+     */
+    static List<JsonRpcMessage> readArray(JsonParser parser, int maxBatchSize) {
+        List<JsonRpcMessage> messages = new ArrayList<>();
+        while (parser.hasNext()) {
+            JsonParser.Event event = parser.next();
+            if (event == JsonParser.Event.END_ARRAY) {
+                break;
+            }
+            if (messages.size() == maxBatchSize) {
+                throw new McpException(
+                        null, McpErrorCode.INVALID_REQUEST, "Batch exceeds the maximum size of " + maxBatchSize);
+            }
+            if (event == JsonParser.Event.START_OBJECT) {
+                messages.add(readObject(parser));
+            } else {
+                skip(parser, event);
+                messages.add(JsonRpcMessage.invalid());
+            }
+        }
+        if (messages.isEmpty()) {
+            throw new McpException(null, McpErrorCode.INVALID_REQUEST, "Empty batch");
+        }
+        return messages;
+    }
+
+    /** Reads the members of an object whose {@code START_OBJECT} event has already been consumed. */
+    static JsonRpcMessage readObject(JsonParser parser) {
+        boolean hasId = false;
+        Object id = null;
+        String method = null;
+        JsonObject params = null;
+        JsonValue result = null;
+        JsonObject error = null;
+
+        while (parser.hasNext()) {
+            JsonParser.Event event = parser.next();
+            if (event == JsonParser.Event.END_OBJECT) {
+                break;
+            }
+            String key = parser.getString();
+            JsonParser.Event valueEvent = parser.next();
+            switch (key) {
+                case "id" -> {
+                    hasId = true;
+                    id = readId(parser, valueEvent);
+                }
+                case "method" -> method = valueEvent == JsonParser.Event.VALUE_STRING ? parser.getString() : null;
+                case "params" ->
+                    params =
+                            valueEvent == JsonParser.Event.START_OBJECT ? parser.getObject() : skip(parser, valueEvent);
+                case "result" -> result = parser.getValue();
+                case "error" ->
+                    error = valueEvent == JsonParser.Event.START_OBJECT ? parser.getObject() : skip(parser, valueEvent);
+                default -> skip(parser, valueEvent);
+            }
+        }
+
+        JsonRpcMessage.Kind kind;
+        if (method != null) {
+            kind = hasId ? JsonRpcMessage.Kind.REQUEST : JsonRpcMessage.Kind.NOTIFICATION;
+        } else if (result != null || error != null) {
+            kind = JsonRpcMessage.Kind.RESPONSE;
+        } else {
+            kind = JsonRpcMessage.Kind.INVALID;
+        }
+        return new JsonRpcMessage(kind, id, method, params, extractProgressToken(params), result, error);
+    }
+
+    private static Object readId(JsonParser parser, JsonParser.Event event) {
+        return switch (event) {
+            case VALUE_STRING -> parser.getString();
+            case VALUE_NUMBER -> number(parser.getBigDecimal());
+            case VALUE_NULL -> null;
+            default -> parser.getValue().toString();
+        };
+    }
+
+    /** Returns integral numbers that fit a {@code long} as {@link Long}, and any other number unchanged. */
+    private static Object number(BigDecimal value) {
+        try {
+            return value.longValueExact();
+        } catch (ArithmeticException e) {
+            return value;
+        }
+    }
+
+    private static <T> T skip(JsonParser parser, JsonParser.Event event) {
+        if (event == JsonParser.Event.START_OBJECT) {
+            parser.skipObject();
+        } else if (event == JsonParser.Event.START_ARRAY) {
+            parser.skipArray();
+        }
+        return null;
+    }
+
+    private static Object extractProgressToken(JsonObject params) {
+        if (params == null
+                || !(params.get(FIELD_META) instanceof JsonObject meta)
+                || !meta.containsKey(FIELD_PROGRESS_TOKEN)) {
+            return null;
+        }
+        JsonValue tokenValue = meta.get(FIELD_PROGRESS_TOKEN);
+        if (tokenValue instanceof JsonString value) {
+            return value.getString();
+        }
+        if (tokenValue.getValueType() == JsonValue.ValueType.NUMBER) {
+            return number(((JsonNumber) tokenValue).bigDecimalValue());
+        }
+        return tokenValue.toString();
+    }
+}
@@ -50,6 +50,28 @@ public class JsonRpcNotification {
         return notification;
     }
 
+    /**
+     * Key identifying notifications that supersede each other, so a backed-up outbound queue only needs to keep the
+     * latest one; {@code null} when every notification must be delivered.
+     */
+    public String coalescingKey() {
+        if (method == null) {
+            return null;
+        }
+        if (method.endsWith("/list_changed")) {
+            return method;
+        }
+        if (params instanceof java.util.Map<?, ?> map) {
+            if ("notifications/progress".equals(method)) {
+                return method + ":" + map.get("progressToken");
+            }
+            if ("notifications/resources/updated".equals(method)) {
+                return method + ":" + map.get("uri");
+            }
+        }
+        return null;
+    }
+
     public String getJsonrpc() {
         return jsonrpc;
     }
@@ -0,0 +1,11 @@
+package dev.langchain4j.cdi.mcp.server.protocol;
+
+import java.util.List;
+
+/** The decoded body of a POST: a single message, or the entries of a JSON-RPC batch array. */
+public record JsonRpcPayload(List<JsonRpcMessage> messages, boolean batch) {
+
+    public static JsonRpcPayload single(JsonRpcMessage message) {
+        return new JsonRpcPayload(List.of(message), false);
+    }
+}
@@ -0,0 +1,130 @@
+package dev.langchain4j.cdi.mcp.server.protocol;
+
+import jakarta.json.Json;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+
+/**
+ * The {@code resources/read} result of a binary resource, as a {@code blob} content streamed into the response. The
+ * bytes are base64-encoded chunk by chunk while the response is written; files are read through memory-mapped regions
+ * of a {@link FileChannel}, so neither the bytes nor their encoding are ever on the heap as a whole.
+ */
+public final class McpBlobContents {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final long MAP_REGION_SIZE = 64L * 1024 * 1024;
+    private static final byte[] BLOB_END = "\"}]}".getBytes(StandardCharsets.UTF_8);
+
+    private McpBlobContents() {}
+
+    /**
+     * Whether {@code content} is one of the binary types read as a blob: {@code byte[]}, {@link ByteBuffer},
+     * {@link Path}, {@link InputStream} or {@link ReadableByteChannel}.
+     */
+    public static boolean isBinary(Object content) {
+        return content instanceof byte[]
+                || content instanceof ByteBuffer
+                || content instanceof Path
+                || content instanceof InputStream
+                || content instanceof ReadableByteChannel;
+    }
+
+    /**
+     * The result reading {@code content} as the blob of {@code uri}. An {@link InputStream} or channel is consumed and
+     * closed when the response is written; a {@link ByteBuffer} is read without moving its position.
+     */
+    public static McpStreamedResult of(String uri, String mimeType, Object content) {
+        return McpStreamedResult.of(out -> {
+            StringBuilder head = new StringBuilder("{\"contents\":[{\"uri\":").append(Json.createValue(uri));
+            if (mimeType != null) {
+                head.append(",\"mimeType\":").append(Json.createValue(mimeType));
+            }
+            head.append(",\"blob\":\"");
+            out.write(head.toString().getBytes(StandardCharsets.UTF_8));
+            // Closing the encoder writes the final padding; the response stream itself stays open
+            try (OutputStream base64 = Base64.getEncoder().wrap(new KeepOpen(out))) {
+                copy(content, base64);
+            }
+            out.write(BLOB_END);
+        });
+    }
+
+    private static void copy(Object content, OutputStream out) throws IOException {
+        if (content instanceof byte[] bytes) {
+            out.write(bytes);
+        } else if (content instanceof ByteBuffer buffer) {
+            copy(buffer.duplicate(), out, new byte[Math.min(CHUNK_SIZE, buffer.remaining())]);
+        } else if (content instanceof Path path) {
+            copy(path, out);
+        } else if (content instanceof InputStream in) {
+            try (in) {
+                in.transferTo(out);
+            }
+        } else if (content instanceof ReadableByteChannel channel) {
+            try (channel) {
+                byte[] chunk = new byte[CHUNK_SIZE];
+                ByteBuffer buffer = ByteBuffer.wrap(chunk);
+                int read;
+                while ((read = channel.read(buffer)) >= 0) {
+                    out.write(chunk, 0, read);
+                    buffer.clear();
+                }
+            }
+        } else {
+            throw new IllegalArgumentException(
+                    "Not binary content: " + content.getClass().getName());
+        }
+    }
+
+    private static void copy(Path path, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            byte[] chunk = new byte[(int) Math.min(CHUNK_SIZE, size)];
+            for (long position = 0; position < size; position += MAP_REGION_SIZE) {
+                MappedByteBuffer region = channel.map(
+                        FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_REGION_SIZE, size - position));
+                copy(region, out, chunk);
+            }
+        }
+    }
+
+    private static void copy(ByteBuffer buffer, OutputStream out, byte[] chunk) throws IOException {
+        if (buffer.hasArray()) {
+            out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            return;
+        }
+        while (buffer.hasRemaining()) {
+            int length = Math.min(chunk.length, buffer.remaining());
+            buffer.get(chunk, 0, length);
+            out.write(chunk, 0, length);
+        }
+    }
+
+    /** Lets the base64 encoder be closed without closing the response stream. */
+    private static final class KeepOpen extends FilterOutputStream {
+
+        KeepOpen(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() {
+            // the response stream is closed by the container
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package dev.langchain4j.cdi.mcp.server.protocol;
+
+/**
+ * A JSON-RPC result that was serialized ahead of time. {@link McpJsonCodec} copies its bytes into the response as they
+ * are, so a result shared by many requests is encoded only once.
+ */
+public final class McpEncodedResult {
+
+    private final byte[] json;
+
+    private McpEncodedResult(byte[] json) {
+        this.json = json;
+    }
+
+    public static McpEncodedResult encode(Object result, McpJsonCodec codec) {
+        return new McpEncodedResult(codec.toBytes(result));
+    }
+
+    /** Size of the encoded result in bytes. */
+    public int length() {
+        return json.length;
+    }
+
+    byte[] json() {
+        return json;
+    }
+}
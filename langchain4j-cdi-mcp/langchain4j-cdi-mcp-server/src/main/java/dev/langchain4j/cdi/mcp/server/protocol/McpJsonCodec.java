@@ -0,0 +1,236 @@
+package dev.langchain4j.cdi.mcp.server.protocol;
+
+import dev.langchain4j.cdi.mcp.server.error.McpErrorCode;
+import dev.langchain4j.cdi.mcp.server.error.McpException;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.json.Json;
+import jakarta.json.JsonException;
+import jakarta.json.JsonValue;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+import jakarta.json.bind.JsonbConfig;
+import jakarta.json.bind.JsonbException;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParserFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared JSON codec for every message read and written by the MCP server.
+ *
+ * <p>A single {@link Jsonb} instance is created lazily and reused, since {@code Jsonb} is thread-safe and costly to
+ * build. Applications can replace the codec with a CDI {@code @Alternative} or {@code @Specializes} bean, or override
+ * {@link #createConfig()} to tune the JSON-B configuration.
+ */
+@ApplicationScoped
+public class McpJsonCodec {
+
+    private static final byte[] SSE_EVENT_PREFIX = "event: message\ndata: ".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SSE_EVENT_SUFFIX = "\n\n".getBytes(StandardCharsets.UTF_8);
+    // Same property order as the serializer uses for JsonRpcResponse
+    private static final byte[] ID_FIELD = "{\"id\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RESULT_FIELD = ",\"jsonrpc\":\"2.0\",\"result\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NO_ID_PREFIX = "{\"jsonrpc\":\"2.0\",\"result\":".getBytes(StandardCharsets.UTF_8);
+
+    private static volatile McpJsonCodec defaultCodec;
+
+    private volatile Jsonb jsonb;
+    private volatile JsonParserFactory parserFactory;
+
+    /** Codec used by components instantiated outside a CDI container. */
+    public static McpJsonCodec getDefault() {
+        McpJsonCodec codec = defaultCodec;
+        if (codec == null) {
+            synchronized (McpJsonCodec.class) {
+                codec = defaultCodec;
+                if (codec == null) {
+                    codec = new McpJsonCodec();
+                    defaultCodec = codec;
+                }
+            }
+        }
+        return codec;
+    }
+
+    /** JSON-B configuration of the shared instance. Null values are omitted, as required by JSON-RPC. */
+    protected JsonbConfig createConfig() {
+        return new JsonbConfig().withNullValues(false);
+    }
+
+    protected Jsonb jsonb() {
+        Jsonb result = jsonb;
+        if (result == null) {
+            synchronized (this) {
+                result = jsonb;
+                if (result == null) {
+                    result = JsonbBuilder.create(createConfig());
+                    jsonb = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    protected JsonParserFactory parserFactory() {
+        JsonParserFactory result = parserFactory;
+        if (result == null) {
+            result = Json.createParserFactory(Map.of());
+            parserFactory = result;
+        }
+        return result;
+    }
+
+    /**
+     * Decodes a POST body that is either a single JSON-RPC message or a batch array, in a single streaming pass.
+     *
+     * @param maxBatchSize largest accepted batch; larger batches are rejected while reading, before the remaining
+     *     entries are materialized
+     * @throws McpException with {@link McpErrorCode#PARSE_ERROR} for malformed JSON, or
+     *     {@link McpErrorCode#INVALID_REQUEST} for an empty or oversized batch or a body that is neither an object nor
+     *     an array
+     */
+    public JsonRpcPayload readPayload(InputStream in, int maxBatchSize) {
+        try (JsonParser parser = parserFactory().createParser(in)) {
+            JsonParser.Event event = parser.hasNext() ? parser.next() : null;
+            if (event == JsonParser.Event.START_OBJECT) {
+                return JsonRpcPayload.single(JsonRpcMessageReader.readObject(parser));
+            }
+            if (event == JsonParser.Event.START_ARRAY) {
+                return new JsonRpcPayload(JsonRpcMessageReader.readArray(parser, maxBatchSize), true);
+            }
+            throw new McpException(null, McpErrorCode.INVALID_REQUEST, "Expected a JSON-RPC object or batch array");
+        } catch (JsonException e) {
+            throw new McpException(null, McpErrorCode.PARSE_ERROR, "Parse error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Serializes {@code value} as UTF-8 JSON directly into {@code out}. The stream is flushed but left open.
+     *
+     * @throws jakarta.json.bind.JsonbException if the value cannot be serialized or the stream fails
+     */
+    public void write(Object value, OutputStream out) {
+        if (value instanceof JsonRpcResponse response && isEncoded(response)) {
+            writeEncoded(response.getId(), response.getResult(), out);
+        } else if (value instanceof List<?> list && list.stream().anyMatch(McpJsonCodec::isEncoded)) {
+            writeArray(list, out);
+        } else {
+            jsonb().toJson(value, new NonClosingOutputStream(out));
+        }
+    }
+
+    /** Writes {@code value} as a single SSE {@code message} event and flushes the stream. */
+    public void writeSseEvent(Object value, OutputStream out) throws IOException {
+        out.write(SSE_EVENT_PREFIX);
+        write(value, out);
+        out.write(SSE_EVENT_SUFFIX);
+        out.flush();
+    }
+
+    private static boolean isEncoded(Object value) {
+        return value instanceof JsonRpcResponse response
+                && (response.getResult() instanceof McpEncodedResult
+                        || response.getResult() instanceof McpStreamedResult);
+    }
+
+    /** Writes the response envelope around a pre-encoded or streamed result. */
+    private void writeEncoded(Object id, Object result, OutputStream out) {
+        try {
+            if (id == null) {
+                out.write(NO_ID_PREFIX);
+            } else {
+                out.write(ID_FIELD);
+                out.write(jsonb().toJson(id).getBytes(StandardCharsets.UTF_8));
+                out.write(RESULT_FIELD);
+            }
+            if (result instanceof McpEncodedResult encoded) {
+                out.write(encoded.json());
+            } else {
+                ((McpStreamedResult) result).writeTo(out);
+            }
+            out.write('}');
+            out.flush();
+        } catch (IOException e) {
+            throw new JsonbException("Cannot write response", e);
+        }
+    }
+
+    private void writeArray(List<?> values, OutputStream out) {
+        try {
+            out.write('[');
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                write(values.get(i), out);
+            }
+            out.write(']');
+            out.flush();
+        } catch (IOException e) {
+            throw new JsonbException("Cannot write response", e);
+        }
+    }
+
+    public byte[] toBytes(Object value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        write(value, out);
+        return out.toByteArray();
+    }
+
+    /** Encodes {@code value} once as a complete SSE event, ready to be written to any number of streams. */
+    public byte[] toSseEvent(Object value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        out.writeBytes(SSE_EVENT_PREFIX);
+        write(value, out);
+        out.writeBytes(SSE_EVENT_SUFFIX);
+        return out.toByteArray();
+    }
+
+    public String toJson(Object value) {
+        return jsonb().toJson(value);
+    }
+
+    /** Reads {@code value} as an instance of {@code type} with the shared JSON-B instance. */
+    public <T> T fromJson(JsonValue value, Type type) {
+        return jsonb().fromJson(value.toString(), type);
+    }
+
+    @PreDestroy
+    public void close() {
+        Jsonb current = jsonb;
+        jsonb = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (Exception e) {
+                // nothing to release
+            }
+        }
+    }
+
+    /** JSON-B closes the stream it writes to; response and SSE streams must stay open. */
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+}
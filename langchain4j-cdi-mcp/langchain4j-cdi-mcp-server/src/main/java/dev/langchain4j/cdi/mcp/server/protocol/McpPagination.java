@@ -1,9 +1,13 @@
 package dev.langchain4j.cdi.mcp.server.protocol;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.List;
 
-/** Utility for cursor-based pagination. Cursors are base64-encoded offsets. */
+/**
+ * Utility for cursor-based pagination. Cursors are base64-encoded offsets, optionally prefixed with the version of the
+ * registry snapshot they were issued for, so a client paging through a list keeps seeing the same list.
+ */
 public final class McpPagination {
 
     public static final int DEFAULT_PAGE_SIZE = 50;
@@ -25,6 +29,30 @@ public final class McpPagination {
         return Base64.getEncoder().encodeToString(Integer.toString(offset).getBytes());
     }
 
+    /** Cursor for {@code offset} in the snapshot with {@code version}. */
+    public static String encodeCursor(long version, int offset) {
+        return Base64.getEncoder().encodeToString((version + ":" + offset).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /** Decodes a cursor of either form; a missing or malformed cursor is the start of the current list. */
+    public static Position decodePosition(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return Position.START;
+        }
+        try {
+            String decoded = new String(Base64.getDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            int colon = decoded.indexOf(':');
+            if (colon < 0) {
+                return new Position(Position.CURRENT, Math.max(0, Integer.parseInt(decoded)));
+            }
+            return new Position(
+                    Long.parseLong(decoded.substring(0, colon)),
+                    Math.max(0, Integer.parseInt(decoded.substring(colon + 1))));
+        } catch (IllegalArgumentException e) {
+            return Position.START;
+        }
+    }
+
     public static <T> Page<T> paginate(List<T> items, String cursor) {
         return paginate(items, cursor, DEFAULT_PAGE_SIZE);
     }
@@ -38,4 +66,13 @@ public final class McpPagination {
     }
 
     public record Page<T>(List<T> items, String nextCursor) {}
+
+    /** Where a cursor points: an offset in the snapshot with {@code version}, or in the current one. */
+    public record Position(long version, int offset) {
+
+        /** Version of cursors that do not name a snapshot. */
+        public static final long CURRENT = -1;
+
+        static final Position START = new Position(CURRENT, 0);
+    }
 }
@@ -0,0 +1,32 @@
+package dev.langchain4j.cdi.mcp.server.protocol;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A JSON-RPC result whose JSON is produced while the response is written. {@link McpJsonCodec} lets it write straight
+ * into the response stream, so a large result is never held in memory as a whole.
+ */
+public final class McpStreamedResult {
+
+    /** Writes the JSON of the result. */
+    @FunctionalInterface
+    public interface Writer {
+
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    private final Writer writer;
+
+    private McpStreamedResult(Writer writer) {
+        this.writer = writer;
+    }
+
+    public static McpStreamedResult of(Writer writer) {
+        return new McpStreamedResult(writer);
+    }
+
+    void writeTo(OutputStream out) throws IOException {
+        writer.writeTo(out);
+    }
+}
@@ -1,30 +1,31 @@
 package dev.langchain4j.cdi.mcp.server.registry;
 
+import dev.langchain4j.cdi.mcp.server.api.CachedResult;
 import dev.langchain4j.cdi.mcp.server.api.McpApiFactory;
-import dev.langchain4j.cdi.mcp.server.api.McpFrameworkTypes;
 import dev.langchain4j.cdi.mcp.server.api.McpRequestContext;
 import dev.langchain4j.cdi.mcp.server.error.McpErrorCode;
 import dev.langchain4j.cdi.mcp.server.error.McpException;
+import dev.langchain4j.cdi.mcp.server.transport.McpServerListeners;
 import dev.langchain4j.cdi.mcp.server.transport.McpSession;
+import dev.langchain4j.cdi.mcp.server.transport.McpSpan;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.context.spi.CreationalContext;
 import jakarta.enterprise.inject.spi.Bean;
 import jakarta.enterprise.inject.spi.BeanManager;
 import jakarta.inject.Inject;
-import jakarta.json.JsonNumber;
 import jakarta.json.JsonObject;
-import jakarta.json.JsonString;
-import jakarta.json.JsonValue;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
-import org.mcp_java.annotations.tools.ToolArg;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-/** Shared utility for invoking CDI bean methods with JSON arguments. */
+/**
+ * Shared utility for invoking CDI bean methods with JSON arguments. Calls go through the {@link McpInvocationPlan} of
+ * the method, so parameters are not inspected and the bean is not looked up again on every call.
+ */
 @ApplicationScoped
 public class McpBeanInvoker {
 
-    private static final String DEFAULT_NAME = "<<element name>>";
+    private final Map<PlanKey, McpInvocationPlan> plans = new ConcurrentHashMap<>();
 
     @Inject
     BeanManager beanManager;
@@ -32,6 +33,9 @@ public class McpBeanInvoker {
     @Inject
     McpApiFactory apiFactory;
 
+    @Inject
+    McpServerListeners listeners;
+
     /** Invokes a method without MCP framework context (backward compatible). */
     public Object invoke(Object requestId, Class<?> beanType, Method method, JsonObject arguments) {
         return invoke(requestId, beanType, method, arguments, null, null);
@@ -45,96 +49,106 @@ public class McpBeanInvoker {
             JsonObject arguments,
             McpRequestContext ctx,
             McpSession session) {
-        Bean<?> bean = resolveBean(requestId, beanType);
-        CreationalContext<?> creationalCtx = beanManager.createCreationalContext(bean);
-        try {
-            Object instance = beanManager.getReference(bean, beanType, creationalCtx);
-            Object[] args = resolveArguments(method, arguments, ctx, session, beanType);
-            return method.invoke(instance, args);
-        } catch (InvocationTargetException e) {
-            throw new McpException(
-                    requestId,
-                    McpErrorCode.INTERNAL_ERROR,
-                    "Invocation failed: " + method.getName() + " - "
-                            + e.getCause().getMessage());
-        } catch (IllegalAccessException e) {
-            throw new McpException(requestId, McpErrorCode.INTERNAL_ERROR, "Invocation failed: " + method.getName());
-        } finally {
-            creationalCtx.release();
-        }
+        McpInvocationPlan plan =
+                plans.computeIfAbsent(new PlanKey(beanType, method), key -> McpInvocationPlan.of(beanType, method));
+        return invoke(requestId, plan, arguments, ctx, session);
     }
 
-    private Bean<?> resolveBean(Object requestId, Class<?> beanType) {
-        Bean<?> bean = beanManager.resolve(beanManager.getBeans(beanType));
-        if (bean == null) {
-            throw new McpException(
-                    requestId, McpErrorCode.INTERNAL_ERROR, "CDI bean not found for: " + beanType.getName());
+    /**
+     * Invokes the method of a descriptor through its precompiled plan. A method with {@link CachedResult} returns a
+     * result cached for the same arguments without being called. The invocation is traced as a child of the request's
+     * span, and is the current span while the method runs.
+     */
+    @SuppressWarnings("try") // The scope is only closed
+    public Object invoke(
+            Object requestId, McpInvocationPlan plan, JsonObject arguments, McpRequestContext ctx, McpSession session) {
+        if (listeners == null || !listeners.isEnabled()) {
+            return invokeThroughCache(requestId, plan, arguments, ctx, session);
         }
-        return bean;
-    }
-
-    private Object[] resolveArguments(
-            Method method, JsonObject arguments, McpRequestContext ctx, McpSession session, Class<?> beanType) {
-        Parameter[] params = method.getParameters();
-        Object[] args = new Object[params.length];
-
-        for (int i = 0; i < params.length; i++) {
-            if (McpFrameworkTypes.isFrameworkType(params[i].getType())) {
-                args[i] = apiFactory.createInstance(params[i].getType(), ctx, session, beanType);
-            } else {
-                String paramName = resolveParamName(params[i]);
-                if (arguments != null && arguments.containsKey(paramName)) {
-                    args[i] = convertJsonValue(arguments.get(paramName), params[i].getType());
-                } else {
-                    args[i] = getDefaultValue(params[i].getType());
-                }
-            }
+        McpSpan span = listeners.startInvocation(ctx != null ? ctx.span() : null, plan.getMethod());
+        Object result;
+        try (McpSpan.Scope ignored = span.makeCurrent()) {
+            result = invokeThroughCache(requestId, plan, arguments, ctx, session);
+        } catch (RuntimeException | Error e) {
+            span.end(e);
+            throw e;
         }
-        return args;
+        span.end(null);
+        return result;
     }
 
-    private static String resolveParamName(Parameter param) {
-        ToolArg annotation = param.getAnnotation(ToolArg.class);
-        if (annotation != null && !DEFAULT_NAME.equals(annotation.name())) {
-            return annotation.name();
+    private Object invokeThroughCache(
+            Object requestId, McpInvocationPlan plan, JsonObject arguments, McpRequestContext ctx, McpSession session) {
+        McpResultCache cache = plan.getResultCache();
+        if (cache == null) {
+            return invokeUncached(requestId, plan, arguments, ctx, session);
         }
-        return param.getName();
+        McpResultCache.Key key = cache.key(arguments, ctx != null ? ctx.sessionId() : null);
+        Object result = cache.get(key);
+        if (result == McpResultCache.MISSING) {
+            result = invokeUncached(requestId, plan, arguments, ctx, session);
+            cache.put(key, result);
+        }
+        return result;
     }
 
-    private Object convertJsonValue(JsonValue jsonValue, Class<?> targetType) {
-        if (jsonValue == null || jsonValue.getValueType() == JsonValue.ValueType.NULL) {
-            return getDefaultValue(targetType);
+    private Object invokeUncached(
+            Object requestId, McpInvocationPlan plan, JsonObject arguments, McpRequestContext ctx, McpSession session) {
+        McpInvocationPlan.Binding binding = plan.binding(beanManager);
+        if (binding == null) {
+            binding = bind(requestId, plan);
         }
-        if (targetType == String.class) {
-            if (jsonValue instanceof JsonString) {
-                return ((JsonString) jsonValue).getString();
-            }
-            return jsonValue.toString();
+        Object[] args;
+        try {
+            args = plan.arguments(arguments, apiFactory, ctx, session);
+        } catch (IllegalArgumentException e) {
+            throw new McpException(
+                    requestId,
+                    McpErrorCode.INVALID_PARAMS,
+                    "Invalid argument for " + plan.getMethod().getName() + ": " + e.getMessage());
         }
-        if (targetType == int.class || targetType == Integer.class) {
-            return ((JsonNumber) jsonValue).intValue();
+        if (binding.reference() != null) {
+            return call(requestId, plan, binding.reference(), args);
         }
-        if (targetType == long.class || targetType == Long.class) {
-            return ((JsonNumber) jsonValue).longValue();
+        // Dependent bean: a new instance per call, destroyed afterwards
+        CreationalContext<?> creationalCtx = beanManager.createCreationalContext(binding.bean());
+        try {
+            Object instance = beanManager.getReference(binding.bean(), plan.getBeanType(), creationalCtx);
+            return call(requestId, plan, instance, args);
+        } finally {
+            creationalCtx.release();
         }
-        if (targetType == double.class || targetType == Double.class) {
-            return ((JsonNumber) jsonValue).doubleValue();
+    }
+
+    private static Object call(Object requestId, McpInvocationPlan plan, Object instance, Object[] args) {
+        try {
+            return plan.invoke(instance, args);
+        } catch (VirtualMachineError e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new McpException(
+                    requestId,
+                    McpErrorCode.INTERNAL_ERROR,
+                    "Invocation failed: " + plan.getMethod().getName() + " - " + e.getMessage());
         }
-        if (targetType == float.class || targetType == Float.class) {
-            return (float) ((JsonNumber) jsonValue).doubleValue();
+    }
+
+    private McpInvocationPlan.Binding bind(Object requestId, McpInvocationPlan plan) {
+        Class<?> beanType = plan.getBeanType();
+        Bean<?> bean = beanManager.resolve(beanManager.getBeans(beanType));
+        if (bean == null) {
+            throw new McpException(
+                    requestId, McpErrorCode.INTERNAL_ERROR, "CDI bean not found for: " + beanType.getName());
         }
-        if (targetType == boolean.class || targetType == Boolean.class) {
-            return jsonValue.getValueType() == JsonValue.ValueType.TRUE;
+        Object reference = null;
+        if (beanManager.isNormalScope(bean.getScope())) {
+            // A client proxy: it looks up the contextual instance on each call and is safe to share
+            reference = beanManager.getReference(bean, beanType, beanManager.createCreationalContext(bean));
         }
-        return jsonValue.toString();
+        McpInvocationPlan.Binding binding = new McpInvocationPlan.Binding(beanManager, bean, reference);
+        plan.bind(binding);
+        return binding;
     }
 
-    private Object getDefaultValue(Class<?> type) {
-        if (type == int.class) return 0;
-        if (type == long.class) return 0L;
-        if (type == double.class) return 0.0;
-        if (type == float.class) return 0.0f;
-        if (type == boolean.class) return false;
-        return null;
-    }
+    private record PlanKey(Class<?> beanType, Method method) {}
 }
@@ -0,0 +1,106 @@
+package dev.langchain4j.cdi.mcp.server.registry;
+
+import dev.langchain4j.cdi.mcp.server.api.Complete;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.time.Duration;
+
+public class McpCompletionDescriptor {
+
+    public static final String REF_PROMPT = "ref/prompt";
+    public static final String REF_RESOURCE = "ref/resource";
+
+    private final String refType;
+    private final String refName;
+    private final String argument;
+    private final Duration cacheTtl;
+    private final boolean perSession;
+    private final Class<?> beanType;
+    private final Method method;
+    private final McpInvocationPlan invocationPlan;
+    private final boolean bindsTypedValue;
+
+    public McpCompletionDescriptor(
+            String refType,
+            String refName,
+            String argument,
+            Duration cacheTtl,
+            boolean perSession,
+            Class<?> beanType,
+            Method method) {
+        this.refType = refType;
+        this.refName = refName;
+        this.argument = argument;
+        this.cacheTtl = cacheTtl;
+        this.perSession = perSession;
+        this.beanType = beanType;
+        this.method = method;
+        this.invocationPlan = method != null ? McpInvocationPlan.of(beanType, method) : null;
+        this.bindsTypedValue = method != null && bindsArgument(method, argument);
+    }
+
+    public static McpCompletionDescriptor fromMethod(Class<?> beanClass, Method method) {
+        Complete annotation = method.getAnnotation(Complete.class);
+        boolean prompt = !annotation.prompt().isEmpty();
+        if (prompt == !annotation.resourceTemplate().isEmpty()) {
+            throw new IllegalArgumentException(
+                    "@Complete on " + method + " must name either a prompt or a resource template");
+        }
+        return new McpCompletionDescriptor(
+                prompt ? REF_PROMPT : REF_RESOURCE,
+                prompt ? annotation.prompt() : annotation.resourceTemplate(),
+                annotation.argument(),
+                Duration.ofMillis(annotation.cacheTtlMillis()),
+                annotation.perSession(),
+                beanClass,
+                method);
+    }
+
+    public String getRefType() {
+        return refType;
+    }
+
+    public String getRefName() {
+        return refName;
+    }
+
+    public String getArgument() {
+        return argument;
+    }
+
+    public Duration getCacheTtl() {
+        return cacheTtl;
+    }
+
+    /** Whether cached results are kept apart for each session. */
+    public boolean isPerSession() {
+        return perSession;
+    }
+
+    public Class<?> getBeanType() {
+        return beanType;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    /** How the method is called, compiled when the descriptor is created. */
+    public McpInvocationPlan getInvocationPlan() {
+        return invocationPlan;
+    }
+
+    /** Whether the method takes the text typed so far, in which case its results depend on it. */
+    boolean bindsTypedValue() {
+        return bindsTypedValue;
+    }
+
+    private static boolean bindsArgument(Method method, String argument) {
+        for (Parameter parameter : method.getParameters()) {
+            if (parameter.getName().equals(argument)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
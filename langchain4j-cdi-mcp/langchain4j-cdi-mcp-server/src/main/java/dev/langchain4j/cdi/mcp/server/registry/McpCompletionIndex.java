@@ -0,0 +1,73 @@
+package dev.langchain4j.cdi.mcp.server.registry;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import org.mcp_java.model.completion.CompleteResult;
+
+/**
+ * Immutable set of completion candidates kept as a sorted array. All candidates sharing a prefix are contiguous, so a
+ * lookup is two binary searches and the total is known without scanning.
+ */
+final class McpCompletionIndex {
+
+    static final McpCompletionIndex EMPTY = new McpCompletionIndex(new String[0]);
+
+    private final String[] values;
+
+    private McpCompletionIndex(String[] values) {
+        this.values = values;
+    }
+
+    static McpCompletionIndex of(Collection<String> candidates) {
+        return candidates.isEmpty() ? EMPTY : new McpCompletionIndex(new TreeSet<>(candidates).toArray(String[]::new));
+    }
+
+    /** The first {@code limit} candidates starting with {@code prefix}, with the total count. */
+    CompleteResult complete(String prefix, int limit) {
+        int from = lowerBound(prefix);
+        int to = from;
+        if (prefix.isEmpty()) {
+            to = values.length;
+        } else if (from < values.length && values[from].startsWith(prefix)) {
+            to = endOfPrefix(prefix, from);
+        }
+        int total = to - from;
+        List<String> page = List.of(Arrays.copyOfRange(values, from, from + Math.min(total, limit)));
+        return new CompleteResult(new CompleteResult.Completion(page, total, total > limit));
+    }
+
+    int size() {
+        return values.length;
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** First index after {@code from} whose value does not start with {@code prefix}. */
+    private int endOfPrefix(String prefix, int from) {
+        int low = from;
+        int high = values.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid].startsWith(prefix)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
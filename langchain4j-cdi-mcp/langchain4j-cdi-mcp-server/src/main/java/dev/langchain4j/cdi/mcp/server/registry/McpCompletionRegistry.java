@@ -0,0 +1,222 @@
+package dev.langchain4j.cdi.mcp.server.registry;
+
+import dev.langchain4j.cdi.mcp.server.api.McpRequestContext;
+import dev.langchain4j.cdi.mcp.server.transport.McpSession;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonObjectBuilder;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.mcp_java.model.completion.CompleteResult;
+
+/**
+ * Answers {@code completion/complete}. Candidates come from a {@link dev.langchain4j.cdi.mcp.server.api.Complete
+ * &#64;Complete} method when one is registered for the argument; otherwise prompt arguments of an enum or boolean type
+ * complete to their constants, and resource template variables to the values found in the registered resources. Every
+ * candidate set is held as a {@link McpCompletionIndex}, so a keystroke costs a binary search rather than a scan.
+ */
+@ApplicationScoped
+public class McpCompletionRegistry {
+
+    /** Most values a completion result may carry. */
+    public static final int MAX_VALUES = 100;
+
+    private static final int MAX_CACHED_RESULTS = 1024;
+    private static final CompleteResult EMPTY = McpCompletionIndex.EMPTY.complete("", MAX_VALUES);
+
+    private final Map<String, McpCompletionDescriptor> providers = new ConcurrentHashMap<>();
+    private final Map<String, CachedIndex> argumentIndexes = new ConcurrentHashMap<>();
+    private final Map<String, CachedIndex> templateIndexes = new ConcurrentHashMap<>();
+    private final Map<ResultKey, CachedIndex> providerResults = new ConcurrentHashMap<>();
+
+    @Inject
+    McpPromptRegistry promptRegistry;
+
+    @Inject
+    McpResourceRegistry resourceRegistry;
+
+    @Inject
+    McpBeanInvoker beanInvoker;
+
+    public void register(McpCompletionDescriptor descriptor) {
+        String key = key(descriptor.getRefType(), descriptor.getRefName(), descriptor.getArgument());
+        providers.put(key, descriptor);
+        providerResults.keySet().removeIf(cacheKey -> cacheKey.provider().equals(key));
+    }
+
+    public Optional<McpCompletionDescriptor> findProvider(String refType, String refName, String argument) {
+        return Optional.ofNullable(providers.get(key(refType, refName, argument)));
+    }
+
+    public int size() {
+        return providers.size();
+    }
+
+    /**
+     * Completes {@code value} for an argument of a prompt or resource template. {@code context} holds the other
+     * arguments the client already filled in.
+     */
+    public CompleteResult complete(
+            Object requestId,
+            String refType,
+            String refName,
+            String argument,
+            String value,
+            Map<String, String> context,
+            McpRequestContext ctx,
+            McpSession session) {
+        if (refName == null || argument == null) {
+            return EMPTY;
+        }
+        String prefix = value != null ? value : "";
+        String key = key(refType, refName, argument);
+        McpCompletionDescriptor provider = providers.get(key);
+        McpCompletionIndex index;
+        if (provider != null) {
+            index = providerIndex(requestId, key, provider, prefix, context, ctx, session);
+        } else if (McpCompletionDescriptor.REF_PROMPT.equals(refType)) {
+            index = promptArgumentIndex(key, refName, argument);
+        } else if (McpCompletionDescriptor.REF_RESOURCE.equals(refType)) {
+            index = templateVariableIndex(key, refName, argument);
+        } else {
+            index = null;
+        }
+        return index != null ? index.complete(prefix, MAX_VALUES) : EMPTY;
+    }
+
+    private McpCompletionIndex providerIndex(
+            Object requestId,
+            String key,
+            McpCompletionDescriptor provider,
+            String prefix,
+            Map<String, String> context,
+            McpRequestContext ctx,
+            McpSession session) {
+        Map<String, String> arguments = new TreeMap<>(context != null ? context : Map.of());
+        if (provider.bindsTypedValue()) {
+            arguments.put(provider.getArgument(), prefix);
+        } else {
+            arguments.remove(provider.getArgument());
+        }
+        JsonObjectBuilder json = Json.createObjectBuilder();
+        arguments.forEach(json::add);
+        JsonObject parameters = json.build();
+        long ttl = provider.getCacheTtl().toNanos();
+        ResultKey cacheKey = null;
+        long now = System.nanoTime();
+        if (ttl > 0) {
+            String sessionId = !provider.isPerSession()
+                    ? null
+                    : session != null ? session.getId() : ctx != null ? ctx.sessionId() : null;
+            cacheKey = new ResultKey(key, sessionId, McpResultCache.canonical(parameters));
+            CachedIndex cached = providerResults.get(cacheKey);
+            if (cached != null && cached.stamp - now > 0) {
+                return cached.index;
+            }
+        }
+        Object result = beanInvoker.invoke(requestId, provider.getInvocationPlan(), parameters, ctx, session);
+        McpCompletionIndex index = McpCompletionIndex.of(candidates(result));
+        if (cacheKey != null) {
+            if (providerResults.size() >= MAX_CACHED_RESULTS) {
+                providerResults.values().removeIf(cached -> cached.stamp - now <= 0);
+                if (providerResults.size() >= MAX_CACHED_RESULTS) {
+                    providerResults.clear();
+                }
+            }
+            providerResults.put(cacheKey, new CachedIndex(index, now + ttl));
+        }
+        return index;
+    }
+
+    private McpCompletionIndex promptArgumentIndex(String key, String promptName, String argument) {
+        if (promptRegistry == null) {
+            return null;
+        }
+        long version = promptRegistry.version();
+        CachedIndex cached = argumentIndexes.get(key);
+        if (cached != null && cached.stamp == version) {
+            return cached.index;
+        }
+        McpCompletionIndex index = promptRegistry
+                .findPrompt(promptName)
+                .map(prompt -> McpCompletionIndex.of(typeCandidates(prompt, argument)))
+                .orElse(null);
+        if (index != null) {
+            argumentIndexes.put(key, new CachedIndex(index, version));
+        } else {
+            argumentIndexes.remove(key);
+        }
+        return index;
+    }
+
+    private McpCompletionIndex templateVariableIndex(String key, String uriTemplate, String variable) {
+        if (resourceRegistry == null
+                || resourceRegistry.findTemplate(uriTemplate).isEmpty()) {
+            return null;
+        }
+        long version = resourceRegistry.version();
+        CachedIndex cached = templateIndexes.get(key);
+        if (cached != null && cached.stamp == version) {
+            return cached.index;
+        }
+        McpUriTemplateMatcher<Boolean> matcher = new McpUriTemplateMatcher<>();
+        matcher.add(uriTemplate, Boolean.TRUE);
+        List<String> values = new ArrayList<>();
+        for (McpResourceDescriptor resource : resourceRegistry.listResources()) {
+            McpUriTemplateMatcher.Match<Boolean> match = matcher.match(resource.getUri());
+            if (match != null && match.variables().containsKey(variable)) {
+                values.add(match.variables().get(variable));
+            }
+        }
+        McpCompletionIndex index = McpCompletionIndex.of(values);
+        templateIndexes.put(key, new CachedIndex(index, version));
+        return index;
+    }
+
+    private static List<String> typeCandidates(McpPromptDescriptor prompt, String argument) {
+        for (Parameter parameter : prompt.getMethod().getParameters()) {
+            if (!parameter.getName().equals(argument)) {
+                continue;
+            }
+            Class<?> type = parameter.getType();
+            if (type.isEnum()) {
+                return Arrays.stream(type.getEnumConstants())
+                        .map(constant -> ((Enum<?>) constant).name())
+                        .toList();
+            }
+            if (type == boolean.class || type == Boolean.class) {
+                return List.of("false", "true");
+            }
+        }
+        return List.of();
+    }
+
+    private static Collection<String> candidates(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.stream().map(String::valueOf).toList();
+        }
+        if (result instanceof Object[] array) {
+            return Arrays.stream(array).map(String::valueOf).toList();
+        }
+        return result != null ? List.of(result.toString()) : List.of();
+    }
+
+    private static String key(String refType, String refName, String argument) {
+        return refType + '\u0000' + refName + '\u0000' + argument + '\u0000';
+    }
+
+    /** Cached provider results: the provider, the session for per-session providers, and the canonical parameters. */
+    private record ResultKey(String provider, String sessionId, String arguments) {}
+
+    /** An index with its expiry time for provider results, or the registry version it was built from. */
+    private record CachedIndex(McpCompletionIndex index, long stamp) {}
+}
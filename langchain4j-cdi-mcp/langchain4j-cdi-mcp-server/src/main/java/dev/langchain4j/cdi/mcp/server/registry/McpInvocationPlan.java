@@ -0,0 +1,187 @@
+package dev.langchain4j.cdi.mcp.server.registry;
+
+import dev.langchain4j.cdi.mcp.server.api.CachedResult;
+import dev.langchain4j.cdi.mcp.server.api.McpApiFactory;
+import dev.langchain4j.cdi.mcp.server.api.McpFrameworkTypes;
+import dev.langchain4j.cdi.mcp.server.api.McpRequestContext;
+import dev.langchain4j.cdi.mcp.server.transport.McpSession;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.mcp_java.annotations.tools.ToolArg;
+
+/**
+ * Everything needed to call a tool, resource or prompt method, worked out once when its descriptor is created:
+ * parameter names, one {@link McpJsonBinder} converter per parameter type and a {@link MethodHandle} for the method.
+ * The CDI bean is resolved on the first call and kept; for a normal-scoped bean the client proxy is kept too, so later
+ * calls skip the {@link BeanManager} entirely.
+ */
+public final class McpInvocationPlan {
+
+    private static final String DEFAULT_NAME = "<<element name>>";
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+    private static final MethodHandle REFLECTIVE;
+
+    static {
+        try {
+            REFLECTIVE = MethodHandles.lookup()
+                    .findStatic(
+                            McpInvocationPlan.class,
+                            "invokeReflectively",
+                            MethodType.methodType(Object.class, Method.class, Object.class, Object[].class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Class<?> beanType;
+    private final Method method;
+    private final MethodHandle invoker;
+    // Per parameter: the argument name, or null for a framework type such as McpLog
+    private final String[] names;
+    private final Class<?>[] types;
+    private final List<Function<JsonValue, Object>> converters;
+    private final Object[] defaults;
+    private final McpResultCache resultCache;
+    private volatile Binding binding;
+
+    private McpInvocationPlan(Class<?> beanType, Method method) {
+        this.beanType = beanType;
+        this.method = method;
+        this.invoker = invoker(method);
+        this.resultCache = McpResultCache.of(method.getAnnotation(CachedResult.class));
+        Parameter[] params = method.getParameters();
+        this.names = new String[params.length];
+        this.types = new Class<?>[params.length];
+        this.converters = new ArrayList<>(params.length);
+        this.defaults = new Object[params.length];
+        for (int i = 0; i < params.length; i++) {
+            Class<?> type = params[i].getType();
+            types[i] = type;
+            if (McpFrameworkTypes.isFrameworkType(type)) {
+                converters.add(null);
+            } else {
+                names[i] = resolveParamName(params[i]);
+                converters.add(McpJsonBinder.converter(params[i].getParameterizedType()));
+                defaults[i] = McpJsonBinder.defaultValue(params[i].getParameterizedType());
+            }
+        }
+    }
+
+    public static McpInvocationPlan of(Class<?> beanType, Method method) {
+        return new McpInvocationPlan(beanType, method);
+    }
+
+    public Class<?> getBeanType() {
+        return beanType;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    /** The cache of results declared with {@link CachedResult}, or {@code null} if results are not cached. */
+    public McpResultCache getResultCache() {
+        return resultCache;
+    }
+
+    /**
+     * Binds the JSON arguments and framework types to the method parameters.
+     *
+     * @throws IllegalArgumentException if an argument does not fit the type of its parameter
+     */
+    Object[] arguments(JsonObject arguments, McpApiFactory apiFactory, McpRequestContext ctx, McpSession session) {
+        Object[] args = new Object[names.length];
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i];
+            if (name == null) {
+                args[i] = apiFactory.createInstance(types[i], ctx, session, beanType);
+            } else {
+                JsonValue value = arguments != null ? arguments.get(name) : null;
+                args[i] = value == null || value.getValueType() == JsonValue.ValueType.NULL
+                        ? defaults[i]
+                        : bind(name, converters.get(i), value);
+            }
+        }
+        return args;
+    }
+
+    private static Object bind(String name, Function<JsonValue, Object> converter, JsonValue value) {
+        try {
+            return converter.apply(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("parameter '" + name + "': " + e.getMessage(), e);
+        }
+    }
+
+    /** Calls the method; exceptions thrown by the method propagate unwrapped. */
+    Object invoke(Object instance, Object[] args) throws Throwable {
+        return invoker.invokeExact(instance, args);
+    }
+
+    /** The bean this plan was bound to by {@code beanManager}, or {@code null} if not bound yet. */
+    Binding binding(BeanManager beanManager) {
+        Binding result = binding;
+        return result != null && result.beanManager() == beanManager ? result : null;
+    }
+
+    void bind(Binding binding) {
+        this.binding = binding;
+    }
+
+    /** A resolved bean; {@code reference} is set when it can be shared by all calls. */
+    record Binding(BeanManager beanManager, Bean<?> bean, Object reference) {}
+
+    private static MethodHandle invoker(Method method) {
+        MethodHandle handle;
+        try {
+            handle = unreflect(method);
+        } catch (IllegalAccessException | RuntimeException e) {
+            // Not accessible from this module: fall back to reflection, unwrapping as the handle would
+            handle = MethodHandles.insertArguments(REFLECTIVE, 0, method);
+            return handle.asType(INVOKER_TYPE);
+        }
+        if (Modifier.isStatic(method.getModifiers())) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        return handle.asSpreader(Object[].class, method.getParameterCount()).asType(INVOKER_TYPE);
+    }
+
+    private static MethodHandle unreflect(Method method) throws IllegalAccessException {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            return lookup.unreflect(method);
+        } catch (IllegalAccessException e) {
+            // Beans declared in non-public classes
+            method.setAccessible(true);
+            return lookup.unreflect(method);
+        }
+    }
+
+    private static Object invokeReflectively(Method method, Object instance, Object[] args) throws Throwable {
+        try {
+            return method.invoke(instance, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static String resolveParamName(Parameter param) {
+        ToolArg annotation = param.getAnnotation(ToolArg.class);
+        if (annotation != null && !DEFAULT_NAME.equals(annotation.name())) {
+            return annotation.name();
+        }
+        return param.getName();
+    }
+}
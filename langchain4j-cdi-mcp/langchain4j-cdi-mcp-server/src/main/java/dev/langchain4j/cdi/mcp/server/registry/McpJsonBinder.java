@@ -0,0 +1,600 @@
+package dev.langchain4j.cdi.mcp.server.registry;
+
+import dev.langchain4j.cdi.mcp.server.protocol.McpJsonCodec;
+import dev.langchain4j.cdi.mcp.server.schema.JsonSchemaGenerator;
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+import jakarta.json.bind.annotation.JsonbProperty;
+import jakarta.json.bind.annotation.JsonbTransient;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.Period;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Converts JSON argument values to the generic type of a method parameter. A converter is derived once per {@link Type}
+ * and cached; it reads the {@link JsonValue} tree directly. Supported: primitives and their wrappers, {@code String},
+ * enums (by name or {@code toString()}), {@code BigDecimal}/{@code BigInteger}, {@code UUID}, {@code URI}, the ISO-8601
+ * {@code java.time} types, {@code Optional}, arrays, collections, maps with string keys, records, and classes with a
+ * no-argument constructor and setters or public fields. Other types are read by {@link McpJsonCodec}; {@code Object}
+ * and {@code JsonValue} receive the value as-is in natural Java form or as JSON.
+ *
+ * <p>Converters throw {@link IllegalArgumentException} for values that do not fit the type.
+ */
+final class McpJsonBinder {
+
+    private static final Map<Type, Function<JsonValue, Object>> CONVERTERS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Function<String, Object>> PARSED = Map.ofEntries(
+            Map.entry(BigDecimal.class, BigDecimal::new),
+            Map.entry(BigInteger.class, BigInteger::new),
+            Map.entry(UUID.class, UUID::fromString),
+            Map.entry(URI.class, URI::create),
+            Map.entry(LocalDate.class, LocalDate::parse),
+            Map.entry(LocalDateTime.class, LocalDateTime::parse),
+            Map.entry(LocalTime.class, LocalTime::parse),
+            Map.entry(Instant.class, Instant::parse),
+            Map.entry(OffsetDateTime.class, OffsetDateTime::parse),
+            Map.entry(ZonedDateTime.class, ZonedDateTime::parse),
+            Map.entry(Duration.class, Duration::parse),
+            Map.entry(Period.class, Period::parse));
+
+    private McpJsonBinder() {}
+
+    /** The converter for {@code type}; it is never called with a missing or JSON {@code null} value. */
+    static Function<JsonValue, Object> converter(Type type) {
+        Function<JsonValue, Object> converter = CONVERTERS.get(type);
+        if (converter == null) {
+            // Not computeIfAbsent: deriving a converter looks up the converters of nested types
+            converter = create(type);
+            Function<JsonValue, Object> existing = CONVERTERS.putIfAbsent(type, converter);
+            if (existing != null) {
+                converter = existing;
+            }
+        }
+        return converter;
+    }
+
+    /** The value bound to a parameter of {@code type} when the argument is missing or {@code null}. */
+    static Object defaultValue(Type type) {
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == double.class) return 0.0;
+        if (type == float.class) return 0.0f;
+        if (type == boolean.class) return false;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        if (type == char.class) return '\0';
+        if (JsonSchemaGenerator.rawType(type) == Optional.class) return Optional.empty();
+        return null;
+    }
+
+    private static Function<JsonValue, Object> create(Type type) {
+        Class<?> raw = JsonSchemaGenerator.rawType(type);
+        if (type instanceof GenericArrayType array) {
+            return arrayConverter(
+                    JsonSchemaGenerator.rawType(array.getGenericComponentType()), array.getGenericComponentType());
+        }
+        Function<JsonValue, Object> scalar = scalarConverter(raw);
+        if (scalar != null) {
+            return scalar;
+        }
+        if (raw == Object.class) {
+            return McpJsonBinder::natural;
+        }
+        if (JsonValue.class.isAssignableFrom(raw)) {
+            return value -> {
+                if (!raw.isInstance(value)) {
+                    throw mismatch(value, raw);
+                }
+                return value;
+            };
+        }
+        if (raw.isEnum()) {
+            return enumConverter(raw);
+        }
+        if (raw == Optional.class) {
+            Function<JsonValue, Object> element = deferred(JsonSchemaGenerator.typeArgument(type, 0));
+            return value -> Optional.ofNullable(element.apply(value));
+        }
+        if (raw.isArray()) {
+            return arrayConverter(raw.getComponentType(), raw.getComponentType());
+        }
+        if (Collection.class.isAssignableFrom(raw) || raw == Iterable.class) {
+            return collectionConverter(raw, JsonSchemaGenerator.typeArgument(type, 0));
+        }
+        if (Map.class.isAssignableFrom(raw)) {
+            return mapConverter(
+                    raw, JsonSchemaGenerator.typeArgument(type, 0), JsonSchemaGenerator.typeArgument(type, 1));
+        }
+        if (raw.isRecord()) {
+            return recordConverter(raw);
+        }
+        Function<JsonValue, Object> bean = beanConverter(raw);
+        if (bean != null) {
+            return bean;
+        }
+        return value -> McpJsonCodec.getDefault().fromJson(value, type);
+    }
+
+    private static Function<JsonValue, Object> scalarConverter(Class<?> type) {
+        if (type == String.class || type == CharSequence.class) {
+            return value -> isString(value) ? string(value) : value.toString();
+        }
+        if (type == int.class || type == Integer.class) {
+            return value -> isString(value)
+                    ? Integer.parseInt(string(value))
+                    : (int) integral(value, Integer.MIN_VALUE, Integer.MAX_VALUE, type);
+        }
+        if (type == long.class || type == Long.class) {
+            return value -> isString(value)
+                    ? Long.parseLong(string(value))
+                    : integral(value, Long.MIN_VALUE, Long.MAX_VALUE, type);
+        }
+        if (type == double.class || type == Double.class) {
+            return value -> isString(value)
+                    ? Double.parseDouble(string(value))
+                    : number(value).doubleValue();
+        }
+        if (type == float.class || type == Float.class) {
+            return value -> isString(value)
+                    ? Float.parseFloat(string(value))
+                    : (float) number(value).doubleValue();
+        }
+        if (type == short.class || type == Short.class) {
+            return value -> isString(value)
+                    ? Short.parseShort(string(value))
+                    : (short) integral(value, Short.MIN_VALUE, Short.MAX_VALUE, type);
+        }
+        if (type == byte.class || type == Byte.class) {
+            return value -> isString(value)
+                    ? Byte.parseByte(string(value))
+                    : (byte) integral(value, Byte.MIN_VALUE, Byte.MAX_VALUE, type);
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return value -> switch (value.getValueType()) {
+                case TRUE -> true;
+                case FALSE -> false;
+                case STRING -> parseBoolean(string(value));
+                default -> throw mismatch(value, type);
+            };
+        }
+        if (type == char.class || type == Character.class) {
+            return value -> {
+                String text = isString(value) ? string(value) : value.toString();
+                if (text.length() != 1) {
+                    throw new IllegalArgumentException("expected a single character but got \"" + text + "\"");
+                }
+                return text.charAt(0);
+            };
+        }
+        if (type == Number.class) {
+            return value -> isString(value) ? new BigDecimal(string(value)) : natural(number(value));
+        }
+        Function<String, Object> parser = PARSED.get(type);
+        if (parser != null) {
+            return value -> {
+                if (!isString(value) && value.getValueType() != JsonValue.ValueType.NUMBER) {
+                    throw mismatch(value, type);
+                }
+                return parser.apply(isString(value) ? string(value) : value.toString());
+            };
+        }
+        return null;
+    }
+
+    /** A whole number between {@code min} and {@code max}; fractions and values out of range do not fit. */
+    private static long integral(JsonValue value, long min, long max, Class<?> type) {
+        BigDecimal number = number(value).bigDecimalValue();
+        try {
+            long result = number.longValueExact();
+            if (result >= min && result <= max) {
+                return result;
+            }
+        } catch (ArithmeticException e) {
+            // Not a whole number, or beyond a long
+        }
+        throw new IllegalArgumentException(number + " does not fit " + type.getSimpleName());
+    }
+
+    private static boolean parseBoolean(String text) {
+        if (text.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (text.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException("expected true or false but got \"" + text + "\"");
+    }
+
+    private static Function<JsonValue, Object> enumConverter(Class<?> type) {
+        Map<String, Object> constants = new HashMap<>();
+        Map<String, Object> ignoringCase = new HashMap<>();
+        for (Object constant : type.getEnumConstants()) {
+            String name = ((Enum<?>) constant).name();
+            constants.put(name, constant);
+            // The schema of an enum parameter lists the toString() values
+            constants.putIfAbsent(constant.toString(), constant);
+            ignoringCase.putIfAbsent(name.toLowerCase(Locale.ROOT), constant);
+        }
+        return value -> {
+            String text = isString(value) ? string(value) : value.toString();
+            Object constant = constants.get(text);
+            if (constant == null) {
+                constant = ignoringCase.get(text.toLowerCase(Locale.ROOT));
+            }
+            if (constant == null) {
+                throw new IllegalArgumentException("\"" + text + "\" is not one of "
+                        + constants.keySet().stream().sorted().toList());
+            }
+            return constant;
+        };
+    }
+
+    private static Function<JsonValue, Object> arrayConverter(Class<?> componentType, Type genericComponent) {
+        Function<JsonValue, Object> element = deferred(genericComponent);
+        Object defaultElement = defaultValue(componentType);
+        return value -> {
+            JsonArray array = array(value);
+            Object result = Array.newInstance(componentType, array.size());
+            for (int i = 0; i < array.size(); i++) {
+                JsonValue item = array.get(i);
+                Array.set(result, i, isNull(item) ? defaultElement : element.apply(item));
+            }
+            return result;
+        };
+    }
+
+    private static Function<JsonValue, Object> collectionConverter(Class<?> raw, Type elementType) {
+        Function<JsonValue, Object> element = deferred(elementType);
+        Supplier<Collection<Object>> factory = collectionFactory(raw);
+        return value -> {
+            JsonArray array = array(value);
+            Collection<Object> result = factory.get();
+            for (JsonValue item : array) {
+                result.add(isNull(item) ? null : element.apply(item));
+            }
+            return result;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<Collection<Object>> collectionFactory(Class<?> raw) {
+        if (raw.isAssignableFrom(ArrayList.class)) {
+            return ArrayList::new;
+        }
+        if (raw.isAssignableFrom(LinkedHashSet.class)) {
+            return LinkedHashSet::new;
+        }
+        if (raw.isAssignableFrom(TreeSet.class) || raw == SortedSet.class) {
+            return TreeSet::new;
+        }
+        Supplier<Object> constructor = noArgConstructor(raw);
+        if (constructor == null) {
+            throw new IllegalArgumentException("Unsupported collection type: " + raw.getName());
+        }
+        return () -> (Collection<Object>) constructor.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<JsonValue, Object> mapConverter(Class<?> raw, Type keyType, Type valueType) {
+        Function<JsonValue, Object> keyConverter = deferred(keyType);
+        Function<JsonValue, Object> valueConverter = deferred(valueType);
+        Supplier<Object> factory;
+        if (raw.isAssignableFrom(LinkedHashMap.class)) {
+            factory = LinkedHashMap::new;
+        } else if (raw.isAssignableFrom(TreeMap.class) || raw == SortedMap.class) {
+            factory = TreeMap::new;
+        } else {
+            factory = noArgConstructor(raw);
+            if (factory == null) {
+                throw new IllegalArgumentException("Unsupported map type: " + raw.getName());
+            }
+        }
+        boolean stringKeys = keyType == String.class || keyType == Object.class;
+        return value -> {
+            JsonObject object = object(value);
+            Map<Object, Object> result = (Map<Object, Object>) factory.get();
+            for (Map.Entry<String, JsonValue> entry : object.entrySet()) {
+                Object key = stringKeys ? entry.getKey() : keyConverter.apply(Json.createValue(entry.getKey()));
+                result.put(key, isNull(entry.getValue()) ? null : valueConverter.apply(entry.getValue()));
+            }
+            return result;
+        };
+    }
+
+    private static Function<JsonValue, Object> recordConverter(Class<?> type) {
+        RecordComponent[] components = type.getRecordComponents();
+        String[] names = new String[components.length];
+        Class<?>[] types = new Class<?>[components.length];
+        List<Function<JsonValue, Object>> converters = new ArrayList<>();
+        Object[] defaults = new Object[components.length];
+        for (int i = 0; i < components.length; i++) {
+            names[i] = propertyName(components[i].getAccessor(), components[i].getName());
+            types[i] = components[i].getType();
+            converters.add(deferred(components[i].getGenericType()));
+            defaults[i] = defaultValue(components[i].getGenericType());
+        }
+        Constructor<?> constructor;
+        try {
+            constructor = type.getDeclaredConstructor(types);
+            constructor.setAccessible(true);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return value -> McpJsonCodec.getDefault().fromJson(value, type);
+        }
+        return value -> {
+            JsonObject object = object(value);
+            Object[] args = new Object[names.length];
+            for (int i = 0; i < names.length; i++) {
+                JsonValue field = object.get(names[i]);
+                args[i] = isNull(field) ? defaults[i] : bindProperty(names[i], converters.get(i), field);
+            }
+            return instantiate(constructor, args);
+        };
+    }
+
+    /** Binds classes with a no-argument constructor through their setters and public fields; {@code null} if none. */
+    private static Function<JsonValue, Object> beanConverter(Class<?> type) {
+        // JDK classes have setters too, but are not shaped like JSON objects
+        if (type.getName().startsWith("java.")) {
+            return null;
+        }
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        Supplier<Object> constructor = noArgConstructor(type);
+        if (constructor == null) {
+            return null;
+        }
+        Map<String, Property> properties = new LinkedHashMap<>();
+        for (Field field : type.getFields()) {
+            int modifiers = field.getModifiers();
+            if (!Modifier.isStatic(modifiers) && !Modifier.isFinal(modifiers) && !isTransient(field)) {
+                properties.put(
+                        propertyName(field, field.getName()),
+                        new Property(deferred(field.getGenericType()), (target, value) -> field.set(target, value)));
+            }
+        }
+        for (Method method : type.getMethods()) {
+            String name = method.getName();
+            if (name.length() > 3
+                    && name.startsWith("set")
+                    && method.getParameterCount() == 1
+                    && !Modifier.isStatic(method.getModifiers())
+                    && !isTransient(method)) {
+                String property = Character.toLowerCase(name.charAt(3)) + name.substring(4);
+                // As in JSON-B, the annotations of the backing field apply to the setter too
+                Field backing = declaredField(type, property);
+                if (backing != null) {
+                    if (isTransient(backing)) {
+                        continue;
+                    }
+                    property = propertyName(backing, property);
+                }
+                properties.put(
+                        propertyName(method, property),
+                        new Property(
+                                deferred(method.getGenericParameterTypes()[0]),
+                                (target, value) -> method.invoke(target, value)));
+            }
+        }
+        if (properties.isEmpty()) {
+            return null;
+        }
+        return value -> {
+            JsonObject object = object(value);
+            Object result = constructor.get();
+            for (Map.Entry<String, Property> property : properties.entrySet()) {
+                JsonValue field = object.get(property.getKey());
+                if (field != null) {
+                    Object bound = isNull(field)
+                            ? null
+                            : bindProperty(
+                                    property.getKey(), property.getValue().converter(), field);
+                    try {
+                        property.getValue().setter().set(result, bound);
+                    } catch (InvocationTargetException e) {
+                        throw new IllegalArgumentException(
+                                property.getKey() + ": " + e.getCause().getMessage(), e.getCause());
+                    } catch (ReflectiveOperationException | RuntimeException e) {
+                        throw new IllegalArgumentException(property.getKey() + ": " + e.getMessage(), e);
+                    }
+                }
+            }
+            return result;
+        };
+    }
+
+    private static Field declaredField(Class<?> type, String name) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            try {
+                return current.getDeclaredField(name);
+            } catch (NoSuchFieldException e) {
+                // Declared by a superclass, or not at all
+            }
+        }
+        return null;
+    }
+
+    private static Supplier<Object> noArgConstructor(Class<?> type) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        try {
+            Constructor<?> constructor = type.getConstructor();
+            return () -> instantiate(constructor, new Object[0]);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private static Object instantiate(Constructor<?> constructor, Object[] args) {
+        try {
+            return constructor.newInstance(args);
+        } catch (InvocationTargetException e) {
+            throw new IllegalArgumentException(e.getCause().getMessage(), e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(
+                    "Cannot create " + constructor.getDeclaringClass().getName(), e);
+        }
+    }
+
+    private static Object bindProperty(String name, Function<JsonValue, Object> converter, JsonValue value) {
+        try {
+            return converter.apply(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(name + ": " + e.getMessage(), e);
+        }
+    }
+
+    /** JSON in natural Java form: strings, numbers, booleans, lists and maps. */
+    private static Object natural(JsonValue value) {
+        return switch (value.getValueType()) {
+            case STRING -> string(value);
+            case NUMBER -> natural(number(value));
+            case TRUE -> Boolean.TRUE;
+            case FALSE -> Boolean.FALSE;
+            case NULL -> null;
+            case ARRAY -> {
+                List<Object> list = new ArrayList<>();
+                for (JsonValue item : value.asJsonArray()) {
+                    list.add(natural(item));
+                }
+                yield list;
+            }
+            case OBJECT -> {
+                Map<String, Object> map = new LinkedHashMap<>();
+                value.asJsonObject().forEach((key, item) -> map.put(key, natural(item)));
+                yield map;
+            }
+        };
+    }
+
+    private static Number natural(JsonNumber number) {
+        if (!number.isIntegral()) {
+            return number.doubleValue();
+        }
+        BigInteger integer = number.bigIntegerValue();
+        if (integer.bitLength() < 32) {
+            return integer.intValue();
+        }
+        return integer.bitLength() < 64 ? (Number) integer.longValue() : integer;
+    }
+
+    /** Resolves the converter of a nested type on first use, so recursive types do not recurse here. */
+    private static Function<JsonValue, Object> deferred(Type type) {
+        return new Function<>() {
+            private volatile Function<JsonValue, Object> resolved;
+
+            @Override
+            public Object apply(JsonValue value) {
+                Function<JsonValue, Object> converter = resolved;
+                if (converter == null) {
+                    converter = converter(type);
+                    resolved = converter;
+                }
+                return converter.apply(value);
+            }
+        };
+    }
+
+    private static String propertyName(AnnotatedElement element, String defaultName) {
+        JsonbProperty property = element.getAnnotation(JsonbProperty.class);
+        return property != null && !property.value().isEmpty() ? property.value() : defaultName;
+    }
+
+    private static boolean isTransient(AnnotatedElement element) {
+        return element.isAnnotationPresent(JsonbTransient.class);
+    }
+
+    // Tested through the value type rather than instanceof: a failed instanceof against an interface the class does
+    // not implement is slow on the JVMs supported
+    private static boolean isString(JsonValue value) {
+        return value.getValueType() == JsonValue.ValueType.STRING;
+    }
+
+    private static boolean isNull(JsonValue value) {
+        return value == null || value.getValueType() == JsonValue.ValueType.NULL;
+    }
+
+    private static String string(JsonValue value) {
+        return ((JsonString) value).getString();
+    }
+
+    private static JsonNumber number(JsonValue value) {
+        if (value.getValueType() != JsonValue.ValueType.NUMBER) {
+            throw mismatch(value, Number.class);
+        }
+        return (JsonNumber) value;
+    }
+
+    private static JsonArray array(JsonValue value) {
+        if (value.getValueType() != JsonValue.ValueType.ARRAY) {
+            throw mismatch(value, List.class);
+        }
+        return value.asJsonArray();
+    }
+
+    private static JsonObject object(JsonValue value) {
+        if (value.getValueType() != JsonValue.ValueType.OBJECT) {
+            throw mismatch(value, Map.class);
+        }
+        return value.asJsonObject();
+    }
+
+    private static IllegalArgumentException mismatch(JsonValue value, Class<?> type) {
+        return new IllegalArgumentException("expected " + describe(type) + " but got "
+                + value.getValueType().name().toLowerCase(Locale.ROOT));
+    }
+
+    private static String describe(Class<?> type) {
+        if (type == List.class) return "an array";
+        if (type == Map.class) return "an object";
+        if (type == Number.class) return "a number";
+        return type.getSimpleName();
+    }
+
+    private record Property(Function<JsonValue, Object> converter, Setter setter) {}
+
+    @FunctionalInterface
+    private interface Setter {
+        void set(Object target, Object value) throws ReflectiveOperationException;
+    }
+}
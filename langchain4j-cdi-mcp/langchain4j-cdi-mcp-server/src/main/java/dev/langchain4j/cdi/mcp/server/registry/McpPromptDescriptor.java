@@ -16,6 +16,7 @@ public class McpPromptDescriptor {
     private final List<PromptArgument> arguments;
     private final Class<?> beanType;
     private final Method method;
+    private final McpInvocationPlan invocationPlan;
 
     public McpPromptDescriptor(
             String name, String description, List<PromptArgument> arguments, Class<?> beanType, Method method) {
@@ -24,6 +25,7 @@ public class McpPromptDescriptor {
         this.arguments = arguments;
         this.beanType = beanType;
         this.method = method;
+        this.invocationPlan = method != null ? McpInvocationPlan.of(beanType, method) : null;
     }
 
     public static McpPromptDescriptor fromMethod(Class<?> beanClass, Method method) {
@@ -61,5 +63,10 @@ public class McpPromptDescriptor {
         return method;
     }
 
+    /** How the method is called, compiled when the descriptor is created. */
+    public McpInvocationPlan getInvocationPlan() {
+        return invocationPlan;
+    }
+
     public record PromptArgument(String name, String description, boolean required) {}
 }
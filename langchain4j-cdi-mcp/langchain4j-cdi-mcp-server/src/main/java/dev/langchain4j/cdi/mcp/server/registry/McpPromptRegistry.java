@@ -5,7 +5,6 @@ import dev.langchain4j.cdi.mcp.server.transport.McpNotificationBroadcaster;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -14,12 +13,15 @@ import java.util.concurrent.ConcurrentHashMap;
 public class McpPromptRegistry {
 
     private final Map<String, McpPromptDescriptor> prompts = new ConcurrentHashMap<>();
+    private final McpSnapshotHistory<McpPromptDescriptor> snapshots =
+            new McpSnapshotHistory<>(prompts::values, McpPromptDescriptor::getName);
 
     @Inject
     McpNotificationBroadcaster broadcaster;
 
     public void register(McpPromptDescriptor descriptor) {
         McpPromptDescriptor previous = prompts.put(descriptor.getName(), descriptor);
+        snapshots.changed();
         if (previous == null && broadcaster != null && broadcaster.connectedStreamCount() > 0) {
             broadcaster.broadcast(JsonRpcNotification.promptsListChanged());
         }
@@ -27,20 +29,39 @@ public class McpPromptRegistry {
 
     public boolean unregister(String name) {
         McpPromptDescriptor removed = prompts.remove(name);
+        if (removed != null) {
+            snapshots.changed();
+        }
         if (removed != null && broadcaster != null && broadcaster.connectedStreamCount() > 0) {
             broadcaster.broadcast(JsonRpcNotification.promptsListChanged());
         }
         return removed != null;
     }
 
+    /** All prompts, sorted by name. */
     public Collection<McpPromptDescriptor> listPrompts() {
-        return Collections.unmodifiableCollection(prompts.values());
+        return snapshots.current().items();
+    }
+
+    /** The current prompts as an immutable snapshot. */
+    public McpRegistrySnapshot<McpPromptDescriptor> snapshot() {
+        return snapshots.current();
+    }
+
+    /** The snapshot a pagination cursor was issued for, or the current one if it is gone. */
+    public McpRegistrySnapshot<McpPromptDescriptor> snapshot(long version) {
+        return snapshots.at(version);
     }
 
     public Optional<McpPromptDescriptor> findPrompt(String name) {
         return Optional.ofNullable(prompts.get(name));
     }
 
+    /** Changes whenever a prompt is registered or removed. */
+    long version() {
+        return snapshots.current().version();
+    }
+
     public int size() {
         return prompts.size();
     }
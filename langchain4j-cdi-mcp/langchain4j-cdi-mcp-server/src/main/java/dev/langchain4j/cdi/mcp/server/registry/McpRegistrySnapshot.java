@@ -0,0 +1,51 @@
+package dev.langchain4j.cdi.mcp.server.registry;
+
+import dev.langchain4j.cdi.mcp.server.protocol.McpEncodedResult;
+import dev.langchain4j.cdi.mcp.server.protocol.McpJsonCodec;
+import dev.langchain4j.cdi.mcp.server.protocol.McpPagination;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Immutable view of a registry at one version, in a stable order. List pages are encoded once per snapshot and served
+ * from cache until the registry changes; their cursors carry the snapshot version.
+ */
+public final class McpRegistrySnapshot<T> {
+
+    private final long version;
+    private final List<T> items;
+    private final Map<Long, McpEncodedResult> pages = new ConcurrentHashMap<>();
+
+    McpRegistrySnapshot(long version, List<T> items) {
+        this.version = version;
+        this.items = List.copyOf(items);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public List<T> items() {
+        return items;
+    }
+
+    /**
+     * Returns the encoded list result for the page at {@code offset}. {@code toResult} builds the wire object from the
+     * page items and the next cursor ({@code null} on the last page); it runs once per page of this snapshot.
+     */
+    public McpEncodedResult page(
+            int offset, int pageSize, McpJsonCodec codec, BiFunction<List<T>, String, Object> toResult) {
+        int from = Math.min(Math.max(offset, 0), items.size());
+        long key = ((long) from << 32) | pageSize;
+        McpEncodedResult page = pages.get(key);
+        if (page == null) {
+            int to = Math.min(from + pageSize, items.size());
+            String nextCursor = to < items.size() ? McpPagination.encodeCursor(version, to) : null;
+            page = McpEncodedResult.encode(toResult.apply(items.subList(from, to), nextCursor), codec);
+            pages.putIfAbsent(key, page);
+        }
+        return page;
+    }
+}
@@ -13,6 +13,7 @@ public class McpResourceDescriptor {
     private final String mimeType;
     private final Class<?> beanType;
     private final Method method;
+    private final McpInvocationPlan invocationPlan;
 
     public McpResourceDescriptor(
             String uri, String name, String description, String mimeType, Class<?> beanType, Method method) {
@@ -22,6 +23,7 @@ public class McpResourceDescriptor {
         this.mimeType = mimeType;
         this.beanType = beanType;
         this.method = method;
+        this.invocationPlan = method != null ? McpInvocationPlan.of(beanType, method) : null;
     }
 
     public static McpResourceDescriptor fromMethod(Class<?> beanClass, Method method) {
@@ -54,4 +56,9 @@ public class McpResourceDescriptor {
     public Method getMethod() {
         return method;
     }
+
+    /** How the method is called, compiled when the descriptor is created. */
+    public McpInvocationPlan getInvocationPlan() {
+        return invocationPlan;
+    }
 }
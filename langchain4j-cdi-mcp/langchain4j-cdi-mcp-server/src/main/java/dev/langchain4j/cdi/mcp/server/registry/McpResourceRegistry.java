@@ -1,21 +1,39 @@
 package dev.langchain4j.cdi.mcp.server.registry;
 
+import dev.langchain4j.cdi.mcp.server.api.CachedResult;
 import dev.langchain4j.cdi.mcp.server.protocol.JsonRpcNotification;
 import dev.langchain4j.cdi.mcp.server.transport.McpNotificationBroadcaster;
 import dev.langchain4j.cdi.mcp.server.transport.McpResourceSubscriptionManager;
+import dev.langchain4j.cdi.mcp.server.transport.McpServerConfig;
+import dev.langchain4j.cdi.mcp.server.transport.McpServerScheduler;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.json.Json;
+import jakarta.json.JsonObjectBuilder;
+import java.time.Duration;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @ApplicationScoped
 public class McpResourceRegistry {
 
     private final Map<String, McpResourceDescriptor> resources = new ConcurrentHashMap<>();
     private final Map<String, McpResourceTemplateDescriptor> templates = new ConcurrentHashMap<>();
+    private final McpUriTemplateMatcher<McpResourceTemplateDescriptor> templateMatcher = new McpUriTemplateMatcher<>();
+    private final Map<String, Long> updateIntervals = new ConcurrentHashMap<>();
+    // URIs inside a coalescing window; TRUE once another update arrived during the window
+    private final Map<String, Boolean> updateWindows = new ConcurrentHashMap<>();
+    private final McpSnapshotHistory<McpResourceDescriptor> resourceSnapshots =
+            new McpSnapshotHistory<>(resources::values, McpResourceDescriptor::getUri);
+    private final McpSnapshotHistory<McpResourceTemplateDescriptor> templateSnapshots =
+            new McpSnapshotHistory<>(templates::values, McpResourceTemplateDescriptor::getUriTemplate);
+    private volatile long defaultUpdateIntervalNanos = -1;
 
     @Inject
     McpNotificationBroadcaster broadcaster;
@@ -23,8 +41,16 @@ public class McpResourceRegistry {
     @Inject
     McpResourceSubscriptionManager subscriptionManager;
 
+    @Inject
+    McpServerScheduler scheduler;
+
+    @Inject
+    @Named("mcp-server")
+    Instance<McpServerConfig> configInstance;
+
     public void register(McpResourceDescriptor descriptor) {
         McpResourceDescriptor previous = resources.put(descriptor.getUri(), descriptor);
+        resourceSnapshots.changed();
         if (previous == null) {
             notifyListChanged();
         }
@@ -33,6 +59,7 @@ public class McpResourceRegistry {
     public boolean unregister(String uri) {
         McpResourceDescriptor removed = resources.remove(uri);
         if (removed != null) {
+            resourceSnapshots.changed();
             notifyListChanged();
         }
         return removed != null;
@@ -40,19 +67,109 @@ public class McpResourceRegistry {
 
     public void registerTemplate(McpResourceTemplateDescriptor descriptor) {
         McpResourceTemplateDescriptor previous = templates.put(descriptor.getUriTemplate(), descriptor);
+        templateMatcher.add(descriptor.getUriTemplate(), descriptor);
+        templateSnapshots.changed();
         if (previous == null) {
             notifyListChanged();
         }
     }
 
+    public boolean unregisterTemplate(String uriTemplate) {
+        McpResourceTemplateDescriptor removed = templates.remove(uriTemplate);
+        if (removed != null) {
+            templateMatcher.remove(uriTemplate);
+            templateSnapshots.changed();
+            notifyListChanged();
+        }
+        return removed != null;
+    }
+
+    /**
+     * Notifies the sessions subscribed to {@code uri}. With an update interval, the first update is sent at once and
+     * further updates within the interval are folded into a single notification sent when it ends.
+     */
     public void notifyResourceUpdated(String uri) {
+        invalidateCachedReads(uri);
         if (broadcaster == null || subscriptionManager == null) {
             return;
         }
-        JsonRpcNotification notification = JsonRpcNotification.resourceUpdated(uri);
-        for (String sessionId : subscriptionManager.getSubscribedSessions(uri)) {
-            broadcaster.sendToSession(sessionId, notification);
+        long interval = updateIntervalNanos(uri);
+        if (interval <= 0 || scheduler == null) {
+            sendResourceUpdated(uri);
+            return;
+        }
+        while (true) {
+            Boolean pending = updateWindows.putIfAbsent(uri, Boolean.FALSE);
+            if (pending == null) {
+                sendResourceUpdated(uri);
+                scheduler.schedule(() -> closeUpdateWindow(uri, interval), interval, TimeUnit.NANOSECONDS);
+                return;
+            }
+            // Retried if the window closed in between
+            if (pending || updateWindows.replace(uri, Boolean.FALSE, Boolean.TRUE)) {
+                return;
+            }
+        }
+    }
+
+    /** Drops the results of {@link CachedResult} resource methods that were cached for {@code uri}. */
+    private void invalidateCachedReads(String uri) {
+        McpResourceDescriptor resource = resources.get(uri);
+        if (resource != null && resource.getInvocationPlan() != null) {
+            McpResultCache cache = resource.getInvocationPlan().getResultCache();
+            if (cache != null) {
+                cache.invalidateAll();
+            }
         }
+        matchTemplate(uri).ifPresent(match -> {
+            McpInvocationPlan plan = match.descriptor().getInvocationPlan();
+            McpResultCache cache = plan != null ? plan.getResultCache() : null;
+            if (cache != null) {
+                JsonObjectBuilder variables = Json.createObjectBuilder();
+                match.variables().forEach(variables::add);
+                cache.invalidate(variables.build());
+            }
+        });
+    }
+
+    /** Overrides the configured {@link McpServerConfig#getResourceUpdateInterval() update interval} for one URI. */
+    public void setUpdateInterval(String uri, Duration interval) {
+        if (interval == null) {
+            updateIntervals.remove(uri);
+        } else {
+            updateIntervals.put(uri, interval.toNanos());
+        }
+    }
+
+    private void closeUpdateWindow(String uri, long interval) {
+        if (updateWindows.remove(uri, Boolean.FALSE)) {
+            return;
+        }
+        // Updates arrived during the window: send one for all of them and keep coalescing
+        updateWindows.put(uri, Boolean.FALSE);
+        sendResourceUpdated(uri);
+        scheduler.schedule(() -> closeUpdateWindow(uri, interval), interval, TimeUnit.NANOSECONDS);
+    }
+
+    private void sendResourceUpdated(String uri) {
+        Set<String> sessions = subscriptionManager.getSubscribedSessions(uri);
+        if (!sessions.isEmpty()) {
+            broadcaster.sendToSessions(sessions, JsonRpcNotification.resourceUpdated(uri));
+        }
+    }
+
+    private long updateIntervalNanos(String uri) {
+        Long interval = updateIntervals.get(uri);
+        if (interval != null) {
+            return interval;
+        }
+        long result = defaultUpdateIntervalNanos;
+        if (result < 0) {
+            Duration configured = McpServerConfig.resolve(configInstance).getResourceUpdateInterval();
+            result = configured != null && !configured.isNegative() ? configured.toNanos() : 0;
+            defaultUpdateIntervalNanos = result;
+        }
+        return result;
     }
 
     private void notifyListChanged() {
@@ -61,12 +178,24 @@ public class McpResourceRegistry {
         }
     }
 
+    /** All resources, sorted by URI. */
     public Collection<McpResourceDescriptor> listResources() {
-        return Collections.unmodifiableCollection(resources.values());
+        return resourceSnapshots.current().items();
     }
 
+    /** All resource templates, sorted by URI template. */
     public Collection<McpResourceTemplateDescriptor> listTemplates() {
-        return Collections.unmodifiableCollection(templates.values());
+        return templateSnapshots.current().items();
+    }
+
+    /** The snapshot of resources a pagination cursor was issued for, or the current one if it is gone. */
+    public McpRegistrySnapshot<McpResourceDescriptor> snapshot(long version) {
+        return resourceSnapshots.at(version);
+    }
+
+    /** The snapshot of resource templates a pagination cursor was issued for, or the current one if it is gone. */
+    public McpRegistrySnapshot<McpResourceTemplateDescriptor> templateSnapshot(long version) {
+        return templateSnapshots.at(version);
     }
 
     public Optional<McpResourceDescriptor> findResource(String uri) {
@@ -77,6 +206,19 @@ public class McpResourceRegistry {
         return Optional.ofNullable(templates.get(uriTemplate));
     }
 
+    /** Finds the template a concrete URI was expanded from, binding its variables; exact resources are not considered. */
+    public Optional<McpResourceTemplateMatch> matchTemplate(String uri) {
+        McpUriTemplateMatcher.Match<McpResourceTemplateDescriptor> match = templateMatcher.match(uri);
+        return match != null
+                ? Optional.of(new McpResourceTemplateMatch(match.value(), match.variables()))
+                : Optional.empty();
+    }
+
+    /** Changes whenever a resource is registered or removed. */
+    long version() {
+        return resourceSnapshots.current().version();
+    }
+
     public int size() {
         return resources.size();
     }
@@ -13,6 +13,7 @@ public class McpResourceTemplateDescriptor {
     private final String mimeType;
     private final Class<?> beanType;
     private final Method method;
+    private final McpInvocationPlan invocationPlan;
 
     public McpResourceTemplateDescriptor(
             String uriTemplate, String name, String description, String mimeType, Class<?> beanType, Method method) {
@@ -22,6 +23,7 @@ public class McpResourceTemplateDescriptor {
         this.mimeType = mimeType;
         this.beanType = beanType;
         this.method = method;
+        this.invocationPlan = method != null ? McpInvocationPlan.of(beanType, method) : null;
     }
 
     public static McpResourceTemplateDescriptor fromMethod(Class<?> beanClass, Method method) {
@@ -55,4 +57,9 @@ public class McpResourceTemplateDescriptor {
     public Method getMethod() {
         return method;
     }
+
+    /** How the method is called, compiled when the descriptor is created. */
+    public McpInvocationPlan getInvocationPlan() {
+        return invocationPlan;
+    }
 }
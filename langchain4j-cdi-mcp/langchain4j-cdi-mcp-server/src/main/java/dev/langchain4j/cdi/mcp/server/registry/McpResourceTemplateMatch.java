@@ -0,0 +1,6 @@
+package dev.langchain4j.cdi.mcp.server.registry;
+
+import java.util.Map;
+
+/** A resource template matching a requested URI, with the values extracted for its variables. */
+public record McpResourceTemplateMatch(McpResourceTemplateDescriptor descriptor, Map<String, String> variables) {}
@@ -0,0 +1,229 @@
+package dev.langchain4j.cdi.mcp.server.registry;
+
+import dev.langchain4j.cdi.mcp.server.api.CachedResult;
+import jakarta.json.Json;
+import jakarta.json.JsonArray;
+import jakarta.json.JsonNumber;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+import java.io.InputStream;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Bounded cache of the results of one {@link CachedResult} method. Entries are spread over a few independently locked
+ * LRU segments, so concurrent calls rarely contend; each segment holds its share of {@link CachedResult#maxEntries()}
+ * and evicts its least recently used entry when full.
+ */
+public final class McpResultCache {
+
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_SEGMENT_SIZE = 8;
+    /** Returned by {@link #get} when no live result is cached. */
+    static final Object MISSING = new Object();
+
+    private static final Object NULL = new Object();
+
+    private final long ttlNanos;
+    private final boolean perSession;
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    McpResultCache(long ttlMillis, int maxEntries, boolean perSession) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(ttlMillis, 0));
+        this.perSession = perSession;
+        int max = Math.max(maxEntries, 1);
+        int count = 1;
+        while (count < MAX_SEGMENTS && max / (count * 2) >= MIN_SEGMENT_SIZE) {
+            count *= 2;
+        }
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            // Shares add up to exactly maxEntries
+            segments[i] = new Segment(max / count + (i < max % count ? 1 : 0));
+        }
+    }
+
+    /** The cache configured by {@link CachedResult} on {@code annotation}'s method, or {@code null} without one. */
+    static McpResultCache of(CachedResult annotation) {
+        return annotation != null
+                ? new McpResultCache(annotation.ttlMillis(), annotation.maxEntries(), annotation.perSession())
+                : null;
+    }
+
+    /** The key of a call; {@code sessionId} only counts for per-session caches. */
+    Key key(JsonObject arguments, String sessionId) {
+        return new Key(perSession ? sessionId : null, arguments != null ? canonical(arguments) : "");
+    }
+
+    /** {@code arguments} as canonical JSON, equal for equal arguments whatever the order of their members. */
+    static String canonical(JsonObject arguments) {
+        StringBuilder out = new StringBuilder();
+        canonicalize(arguments, out);
+        return out.toString();
+    }
+
+    /** The cached result, or {@link #MISSING} when there is none. */
+    Object get(Key key) {
+        Object value = segment(key).get(key, System.nanoTime());
+        if (value == MISSING) {
+            misses.increment();
+            return MISSING;
+        }
+        hits.increment();
+        return value == NULL ? null : value;
+    }
+
+    void put(Key key, Object value) {
+        // Asynchronous results and streams can only be consumed once
+        if (value instanceof CompletionStage<?>
+                || value instanceof Flow.Publisher<?>
+                || value instanceof InputStream
+                || value instanceof ReadableByteChannel) {
+            return;
+        }
+        if (segment(key).put(key, value != null ? value : NULL, System.nanoTime() + ttlNanos)) {
+            evictions.increment();
+        }
+    }
+
+    /** Drops the results cached for {@code arguments}, in every session. */
+    public void invalidate(JsonObject arguments) {
+        String canonical = key(arguments, null).arguments();
+        for (Segment segment : segments) {
+            segment.removeIf(key -> key.arguments().equals(canonical));
+        }
+    }
+
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            segment.removeIf(key -> true);
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private Segment segment(Key key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    /** Writes {@code value} as JSON with object members sorted by name and numbers in their shortest form. */
+    private static void canonicalize(JsonValue value, StringBuilder out) {
+        switch (value.getValueType()) {
+            case OBJECT -> {
+                JsonObject object = (JsonObject) value;
+                String[] names = object.keySet().toArray(String[]::new);
+                Arrays.sort(names);
+                out.append('{');
+                for (int i = 0; i < names.length; i++) {
+                    if (i > 0) {
+                        out.append(',');
+                    }
+                    out.append(jsonString(names[i])).append(':');
+                    canonicalize(object.get(names[i]), out);
+                }
+                out.append('}');
+            }
+            case ARRAY -> {
+                out.append('[');
+                JsonArray array = (JsonArray) value;
+                for (int i = 0; i < array.size(); i++) {
+                    if (i > 0) {
+                        out.append(',');
+                    }
+                    canonicalize(array.get(i), out);
+                }
+                out.append(']');
+            }
+            case NUMBER ->
+                out.append(((JsonNumber) value)
+                        .bigDecimalValue()
+                        .stripTrailingZeros()
+                        .toPlainString());
+            case STRING -> out.append(jsonString(((JsonString) value).getString()));
+            default -> out.append(value);
+        }
+    }
+
+    private static String jsonString(String value) {
+        return Json.createValue(value).toString();
+    }
+
+    record Key(String sessionId, String arguments) {}
+
+    private record Entry(Object value, long expiresAt) {}
+
+    /** One LRU segment, guarded by its own lock. */
+    private static final class Segment {
+
+        private final int capacity;
+        private final LinkedHashMap<Key, Entry> entries;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        }
+
+        synchronized Object get(Key key, long now) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return MISSING;
+            }
+            if (entry.expiresAt() - now <= 0) {
+                entries.remove(key);
+                return MISSING;
+            }
+            return entry.value();
+        }
+
+        /** Stores an entry; returns whether another one was evicted to make room. */
+        synchronized boolean put(Key key, Object value, long expiresAt) {
+            entries.put(key, new Entry(value, expiresAt));
+            if (entries.size() <= capacity) {
+                return false;
+            }
+            Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+            eldest.next();
+            eldest.remove();
+            return true;
+        }
+
+        synchronized void removeIf(Predicate<Key> filter) {
+            entries.keySet().removeIf(filter);
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
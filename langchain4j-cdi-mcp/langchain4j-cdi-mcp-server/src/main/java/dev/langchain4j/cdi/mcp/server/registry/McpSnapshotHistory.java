@@ -0,0 +1,72 @@
+package dev.langchain4j.cdi.mcp.server.registry;
+
+import dev.langchain4j.cdi.mcp.server.protocol.McpPagination;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Snapshots of one registry collection. A change only marks the current snapshot stale; the next reader rebuilds it,
+ * so registering many entries at startup costs a single sort. The last few snapshots are kept, so a client paging
+ * with a cursor from a slightly older version still walks the list it started on; older cursors continue on the
+ * current snapshot.
+ */
+final class McpSnapshotHistory<T> {
+
+    private static final int RETAINED = 4;
+
+    private final Supplier<Collection<T>> source;
+    private final Comparator<T> order;
+    private final Deque<McpRegistrySnapshot<T>> retained = new ArrayDeque<>();
+    private volatile McpRegistrySnapshot<T> current = new McpRegistrySnapshot<>(0, List.of());
+    private volatile boolean stale;
+
+    McpSnapshotHistory(Supplier<Collection<T>> source, Function<T, String> key) {
+        this.source = source;
+        this.order = Comparator.comparing(key);
+    }
+
+    /** Called after every change of the source collection. */
+    void changed() {
+        stale = true;
+    }
+
+    McpRegistrySnapshot<T> current() {
+        return stale ? rebuild() : current;
+    }
+
+    /** The snapshot with {@code version}, or the current one if it is no longer retained. */
+    McpRegistrySnapshot<T> at(long version) {
+        McpRegistrySnapshot<T> snapshot = current();
+        if (version == McpPagination.Position.CURRENT || version == snapshot.version()) {
+            return snapshot;
+        }
+        synchronized (this) {
+            for (McpRegistrySnapshot<T> old : retained) {
+                if (old.version() == version) {
+                    return old;
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    private synchronized McpRegistrySnapshot<T> rebuild() {
+        if (!stale) {
+            return current;
+        }
+        // Cleared before reading, so a change made while sorting marks the new snapshot stale again
+        stale = false;
+        List<T> items = source.get().stream().sorted(order).toList();
+        retained.addFirst(current);
+        if (retained.size() > RETAINED) {
+            retained.removeLast();
+        }
+        current = new McpRegistrySnapshot<>(current.version() + 1, items);
+        return current;
+    }
+}
@@ -14,6 +14,7 @@ public class McpToolDescriptor {
     private final JsonObject inputSchema;
     private final Class<?> beanType;
     private final Method method;
+    private final McpInvocationPlan invocationPlan;
 
     public McpToolDescriptor(
             String name, String description, JsonObject inputSchema, Class<?> beanType, Method method) {
@@ -22,6 +23,7 @@ public class McpToolDescriptor {
         this.inputSchema = inputSchema;
         this.beanType = beanType;
         this.method = method;
+        this.invocationPlan = method != null ? McpInvocationPlan.of(beanType, method) : null;
     }
 
     public static McpToolDescriptor fromMethod(Class<?> beanClass, Method method) {
@@ -55,4 +57,9 @@ public class McpToolDescriptor {
     public Method getMethod() {
         return method;
     }
+
+    /** How the method is called, compiled when the descriptor is created. */
+    public McpInvocationPlan getInvocationPlan() {
+        return invocationPlan;
+    }
 }
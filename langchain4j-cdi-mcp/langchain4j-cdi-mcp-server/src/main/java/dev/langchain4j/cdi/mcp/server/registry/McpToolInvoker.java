@@ -13,7 +13,7 @@ public class McpToolInvoker {
     McpBeanInvoker beanInvoker;
 
     public Object invoke(Object requestId, McpToolDescriptor descriptor, JsonObject arguments) {
-        return beanInvoker.invoke(requestId, descriptor.getBeanType(), descriptor.getMethod(), arguments);
+        return beanInvoker.invoke(requestId, descriptor.getInvocationPlan(), arguments, null, null);
     }
 
     public Object invoke(
@@ -22,6 +22,6 @@ public class McpToolInvoker {
             JsonObject arguments,
             McpRequestContext ctx,
             McpSession session) {
-        return beanInvoker.invoke(requestId, descriptor.getBeanType(), descriptor.getMethod(), arguments, ctx, session);
+        return beanInvoker.invoke(requestId, descriptor.getInvocationPlan(), arguments, ctx, session);
     }
 }
@@ -5,7 +5,6 @@ import dev.langchain4j.cdi.mcp.server.transport.McpNotificationBroadcaster;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -14,12 +13,15 @@ import java.util.concurrent.ConcurrentHashMap;
 public class McpToolRegistry {
 
     private final Map<String, McpToolDescriptor> tools = new ConcurrentHashMap<>();
+    private final McpSnapshotHistory<McpToolDescriptor> snapshots =
+            new McpSnapshotHistory<>(tools::values, McpToolDescriptor::getName);
 
     @Inject
     McpNotificationBroadcaster broadcaster;
 
     public void register(McpToolDescriptor descriptor) {
         McpToolDescriptor previous = tools.put(descriptor.getName(), descriptor);
+        snapshots.changed();
         if (previous == null && broadcaster != null && broadcaster.connectedStreamCount() > 0) {
             broadcaster.broadcast(JsonRpcNotification.toolsListChanged());
         }
@@ -27,14 +29,28 @@ public class McpToolRegistry {
 
     public boolean unregister(String toolName) {
         McpToolDescriptor removed = tools.remove(toolName);
+        if (removed != null) {
+            snapshots.changed();
+        }
         if (removed != null && broadcaster != null && broadcaster.connectedStreamCount() > 0) {
             broadcaster.broadcast(JsonRpcNotification.toolsListChanged());
         }
         return removed != null;
     }
 
+    /** All tools, sorted by name. */
     public Collection<McpToolDescriptor> listTools() {
-        return Collections.unmodifiableCollection(tools.values());
+        return snapshots.current().items();
+    }
+
+    /** The current tools as an immutable snapshot. */
+    public McpRegistrySnapshot<McpToolDescriptor> snapshot() {
+        return snapshots.current();
+    }
+
+    /** The snapshot a pagination cursor was issued for, or the current one if it is gone. */
+    public McpRegistrySnapshot<McpToolDescriptor> snapshot(long version) {
+        return snapshots.at(version);
     }
 
     public Optional<McpToolDescriptor> findTool(String name) {
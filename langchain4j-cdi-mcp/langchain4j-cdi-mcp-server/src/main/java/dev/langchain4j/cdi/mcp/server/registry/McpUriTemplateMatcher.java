@@ -0,0 +1,264 @@
+package dev.langchain4j.cdi.mcp.server.registry;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Matches URIs against many URI templates at once. Templates are compiled into a trie of {@code /}-separated
+ * segments shared by all templates: a lookup follows the URI segment by segment, trying a literal segment before a
+ * variable one, so its cost depends on the length of the URI and not on the number of templates.
+ *
+ * <p>Supports the RFC 6570 expressions used for resource templates: {@code {var}} matches a non-empty part of one
+ * segment, {@code {+var}} matches the rest of the URI including {@code /}. Extracted values are percent-decoded.
+ */
+final class McpUriTemplateMatcher<T> {
+
+    private final Node<T> root = new Node<>();
+
+    /** Compiles {@code template} into the trie; a template added twice keeps the latest value. */
+    synchronized void add(String template, T value) {
+        List<String> names = new ArrayList<>();
+        Node<T> node = root;
+        int reserved = template.indexOf("{+");
+        int tailStart = reserved < 0 ? -1 : template.lastIndexOf('/', reserved) + 1;
+        int pos = 0;
+        while (tailStart < 0 || pos < tailStart) {
+            int end = template.indexOf('/', pos);
+            if (end < 0) {
+                end = template.length();
+            }
+            String segment = template.substring(pos, end);
+            if (segment.indexOf('{') < 0) {
+                node = node.literals.computeIfAbsent(segment, k -> new Node<>());
+            } else {
+                node = node.edge(segment, names).child;
+            }
+            if (end == template.length()) {
+                node.leaf = new Leaf<>(template, value, names.toArray(String[]::new));
+                return;
+            }
+            pos = end + 1;
+        }
+        String tail = template.substring(tailStart);
+        node.tails.removeIf(t -> t.leaf.template.equals(template));
+        node.tails.add(
+                new Tail<>(compile(tail, names, true), new Leaf<>(template, value, names.toArray(String[]::new))));
+    }
+
+    /** Removes {@code template}; the trie keeps its nodes, which are reused if it is added again. */
+    synchronized void remove(String template) {
+        removeFrom(root, template);
+    }
+
+    /** Returns the template matching {@code uri} with its variables bound, or {@code null} if none matches. */
+    Match<T> match(String uri) {
+        Captures captures = new Captures();
+        Leaf<T> leaf = find(root, uri, 0, captures);
+        if (leaf == null) {
+            return null;
+        }
+        if (leaf.names.length == 0) {
+            return new Match<>(leaf.template, leaf.value, Map.of());
+        }
+        Map<String, String> variables = new LinkedHashMap<>();
+        for (int i = 0; i < leaf.names.length; i++) {
+            variables.put(leaf.names[i], decode(uri, captures.offsets[2 * i], captures.offsets[2 * i + 1]));
+        }
+        return new Match<>(leaf.template, leaf.value, Collections.unmodifiableMap(variables));
+    }
+
+    private static <T> Leaf<T> find(Node<T> node, String uri, int pos, Captures captures) {
+        int length = uri.length();
+        if (pos > length) {
+            return node.leaf;
+        }
+        int end = uri.indexOf('/', pos);
+        if (end < 0) {
+            end = length;
+        }
+        if (!node.literals.isEmpty()) {
+            Node<T> literal = node.literals.get(uri.substring(pos, end));
+            if (literal != null) {
+                Leaf<T> leaf = find(literal, uri, end + 1, captures);
+                if (leaf != null) {
+                    return leaf;
+                }
+            }
+        }
+        if (end > pos) {
+            for (Edge<T> edge : node.edges) {
+                int mark = captures.size;
+                if (edge.capture(uri, pos, end, captures)) {
+                    Leaf<T> leaf = find(edge.child, uri, end + 1, captures);
+                    if (leaf != null) {
+                        return leaf;
+                    }
+                }
+                captures.size = mark;
+            }
+        }
+        for (Tail<T> tail : node.tails) {
+            Matcher matcher = tail.pattern.matcher(uri).region(pos, length);
+            if (matcher.matches()) {
+                for (int group = 1; group <= matcher.groupCount(); group++) {
+                    captures.add(matcher.start(group), matcher.end(group));
+                }
+                return tail.leaf;
+            }
+        }
+        return null;
+    }
+
+    private static <T> boolean removeFrom(Node<T> node, String template) {
+        Leaf<T> leaf = node.leaf;
+        if (leaf != null && leaf.template.equals(template)) {
+            node.leaf = null;
+            return true;
+        }
+        if (node.tails.removeIf(t -> t.leaf.template.equals(template))) {
+            return true;
+        }
+        for (Node<T> child : node.literals.values()) {
+            if (removeFrom(child, template)) {
+                return true;
+            }
+        }
+        for (Edge<T> edge : node.edges) {
+            if (removeFrom(edge.child, template)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Compiles a template fragment to a regex with one group per variable, appending the names to {@code names}. */
+    private static Pattern compile(String fragment, List<String> names, boolean allowReserved) {
+        StringBuilder regex = new StringBuilder();
+        int start = 0;
+        int open;
+        while ((open = fragment.indexOf('{', start)) >= 0) {
+            int close = fragment.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed expression in URI template: " + fragment);
+            }
+            regex.append(Pattern.quote(fragment.substring(start, open)));
+            boolean reserved = allowReserved && fragment.charAt(open + 1) == '+';
+            names.add(fragment.substring(reserved ? open + 2 : open + 1, close));
+            regex.append(reserved ? "(.+)" : "([^/]+?)");
+            start = close + 1;
+        }
+        regex.append(Pattern.quote(fragment.substring(start)));
+        return Pattern.compile(regex.toString());
+    }
+
+    private static String decode(String uri, int start, int end) {
+        int percent = uri.indexOf('%', start);
+        if (percent < 0 || percent >= end) {
+            return uri.substring(start, end);
+        }
+        byte[] raw = uri.substring(start, end).getBytes(StandardCharsets.UTF_8);
+        byte[] decoded = new byte[raw.length];
+        int length = 0;
+        for (int i = 0; i < raw.length; i++) {
+            if (raw[i] == '%' && i + 2 < raw.length) {
+                int hi = Character.digit(raw[i + 1], 16);
+                int lo = Character.digit(raw[i + 2], 16);
+                if (hi >= 0 && lo >= 0) {
+                    decoded[length++] = (byte) ((hi << 4) | lo);
+                    i += 2;
+                    continue;
+                }
+            }
+            decoded[length++] = raw[i];
+        }
+        return new String(decoded, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static final class Node<T> {
+
+        final Map<String, Node<T>> literals = new ConcurrentHashMap<>();
+        // Segments mixing literals and variables come first: they are more specific than a lone variable
+        final List<Edge<T>> edges = new CopyOnWriteArrayList<>();
+        final List<Tail<T>> tails = new CopyOnWriteArrayList<>();
+        volatile Leaf<T> leaf;
+
+        Edge<T> edge(String segment, List<String> names) {
+            List<String> segmentNames = new ArrayList<>();
+            Pattern pattern = compile(segment, segmentNames, false);
+            names.addAll(segmentNames);
+            for (Edge<T> edge : edges) {
+                if (edge.segment.equals(segment)) {
+                    return edge;
+                }
+            }
+            boolean single = segmentNames.size() == 1 && segment.equals("{" + segmentNames.get(0) + "}");
+            Edge<T> edge = new Edge<>(segment, single ? null : pattern, new Node<>());
+            if (single) {
+                edges.add(edge);
+            } else {
+                edges.add(0, edge);
+            }
+            return edge;
+        }
+    }
+
+    private static final class Edge<T> {
+
+        final String segment;
+        // null when the segment is a single variable, which takes the whole segment without a regex
+        final Pattern pattern;
+        final Node<T> child;
+
+        Edge(String segment, Pattern pattern, Node<T> child) {
+            this.segment = segment;
+            this.pattern = pattern;
+            this.child = child;
+        }
+
+        boolean capture(String uri, int start, int end, Captures captures) {
+            if (pattern == null) {
+                captures.add(start, end);
+                return true;
+            }
+            Matcher matcher = pattern.matcher(uri).region(start, end);
+            if (!matcher.matches()) {
+                return false;
+            }
+            for (int group = 1; group <= matcher.groupCount(); group++) {
+                captures.add(matcher.start(group), matcher.end(group));
+            }
+            return true;
+        }
+    }
+
+    /** A matching template, its value and the values bound to its variables. */
+    record Match<T>(String template, T value, Map<String, String> variables) {}
+
+    private record Tail<T>(Pattern pattern, Leaf<T> leaf) {}
+
+    private record Leaf<T>(String template, T value, String[] names) {}
+
+    /** Start and end offsets of the variables bound so far. */
+    private static final class Captures {
+
+        int[] offsets = new int[8];
+        int size;
+
+        void add(int start, int end) {
+            if (size + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[size++] = start;
+            offsets[size++] = end;
+        }
+    }
+}
@@ -5,15 +5,44 @@ import jakarta.json.Json;
 import jakarta.json.JsonArrayBuilder;
 import jakarta.json.JsonObject;
 import jakarta.json.JsonObjectBuilder;
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
-import java.util.List;
-import java.util.Set;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.math.BigInteger;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalAmount;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 import org.mcp_java.annotations.tools.ToolArg;
 
 public class JsonSchemaGenerator {
 
     private static final String DEFAULT_NAME = "<<element name>>";
+    private static final Map<Class<?>, String> FORMATS = Map.of(
+            LocalDate.class, "date",
+            LocalTime.class, "time",
+            LocalDateTime.class, "date-time",
+            OffsetDateTime.class, "date-time",
+            ZonedDateTime.class, "date-time",
+            Instant.class, "date-time",
+            Duration.class, "duration",
+            UUID.class, "uuid",
+            URI.class, "uri");
 
     private JsonSchemaGenerator() {}
 
@@ -29,9 +58,9 @@ public class JsonSchemaGenerator {
             String paramName = resolveParamName(param);
             ToolArg annotation = param.getAnnotation(ToolArg.class);
             String description = annotation != null ? annotation.description() : "";
-            boolean isRequired = annotation == null || annotation.required();
+            boolean isRequired = (annotation == null || annotation.required()) && param.getType() != Optional.class;
 
-            properties.add(paramName, buildPropertySchema(param.getType(), description));
+            properties.add(paramName, buildPropertySchema(param.getParameterizedType(), description));
             if (isRequired) {
                 required.add(paramName);
             }
@@ -48,24 +77,85 @@ public class JsonSchemaGenerator {
         return param.getName();
     }
 
-    private static JsonObject buildPropertySchema(Class<?> type, String description) {
-        JsonObjectBuilder prop = Json.createObjectBuilder();
-        prop.add("type", mapJavaTypeToJsonSchema(type));
+    private static JsonObject buildPropertySchema(Type type, String description) {
+        JsonObjectBuilder prop = typeSchema(type);
         if (!description.isEmpty()) {
             prop.add("description", description);
         }
+        return prop.build();
+    }
+
+    private static JsonObjectBuilder typeSchema(Type genericType) {
+        Class<?> type = rawType(genericType);
+        if (type == Optional.class) {
+            return typeSchema(typeArgument(genericType, 0));
+        }
+        JsonObjectBuilder schema = Json.createObjectBuilder();
+        schema.add("type", mapJavaTypeToJsonSchema(type));
+        String format = FORMATS.get(type);
+        if (format != null) {
+            schema.add("format", format);
+        }
         if (type.isEnum()) {
             JsonArrayBuilder enumValues = Json.createArrayBuilder();
             for (Object constant : type.getEnumConstants()) {
                 enumValues.add(constant.toString());
             }
-            prop.add("enum", enumValues);
+            schema.add("enum", enumValues);
         }
-        return prop.build();
+        if (type.isArray()) {
+            Type component = genericType instanceof GenericArrayType array
+                    ? array.getGenericComponentType()
+                    : type.getComponentType();
+            schema.add("items", typeSchema(component));
+        } else if (Collection.class.isAssignableFrom(type)) {
+            schema.add("items", typeSchema(typeArgument(genericType, 0)));
+        }
+        return schema;
+    }
+
+    /** The class of {@code type}; {@code Object} for type variables. */
+    public static Class<?> rawType(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return clazz;
+        }
+        if (type instanceof ParameterizedType parameterized) {
+            return (Class<?>) parameterized.getRawType();
+        }
+        if (type instanceof GenericArrayType array) {
+            return Array.newInstance(rawType(array.getGenericComponentType()), 0)
+                    .getClass();
+        }
+        if (type instanceof WildcardType wildcard) {
+            return rawType(wildcard.getUpperBounds()[0]);
+        }
+        return Object.class;
+    }
+
+    /**
+     * The type argument at {@code index} of a parameterized type, with wildcards replaced by their upper bound;
+     * {@code Object} for raw types and type variables.
+     */
+    public static Type typeArgument(Type type, int index) {
+        if (type instanceof ParameterizedType parameterized) {
+            Type argument = parameterized.getActualTypeArguments()[index];
+            if (argument instanceof WildcardType wildcard) {
+                return wildcard.getUpperBounds()[0];
+            }
+            return argument instanceof TypeVariable<?> ? Object.class : argument;
+        }
+        return Object.class;
     }
 
     private static String mapJavaTypeToJsonSchema(Class<?> type) {
-        if (type == String.class || type == char.class || type == Character.class) {
+        if (type == String.class
+                || type == char.class
+                || type == Character.class
+                || CharSequence.class.isAssignableFrom(type)
+                || type == UUID.class
+                || type == URI.class
+                || TemporalAccessor.class.isAssignableFrom(type)
+                || TemporalAmount.class.isAssignableFrom(type)) {
             return "string";
         }
         if (type == int.class
@@ -75,16 +165,21 @@ public class JsonSchemaGenerator {
                 || type == short.class
                 || type == Short.class
                 || type == byte.class
-                || type == Byte.class) {
+                || type == Byte.class
+                || type == BigInteger.class) {
             return "integer";
         }
-        if (type == double.class || type == Double.class || type == float.class || type == Float.class) {
+        if (type == double.class
+                || type == Double.class
+                || type == float.class
+                || type == Float.class
+                || Number.class.isAssignableFrom(type)) {
             return "number";
         }
         if (type == boolean.class || type == Boolean.class) {
             return "boolean";
         }
-        if (List.class.isAssignableFrom(type) || Set.class.isAssignableFrom(type) || type.isArray()) {
+        if (Collection.class.isAssignableFrom(type) || type.isArray()) {
             return "array";
         }
         if (type.isEnum()) {
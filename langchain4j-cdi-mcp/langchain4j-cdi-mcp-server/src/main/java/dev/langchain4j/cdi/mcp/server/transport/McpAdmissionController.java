@@ -0,0 +1,216 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import dev.langchain4j.cdi.mcp.server.error.McpErrorCode;
+import dev.langchain4j.cdi.mcp.server.error.McpRejectedException;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Decides whether a JSON-RPC request may run, before it reaches its method handler. In order, a request is turned away
+ * when the server's executors have more than {@link McpServerConfig#getShedQueueDepth()} queued tasks, when its session
+ * exceeds {@link McpServerConfig#getSessionRateLimit()} or the {@link McpServerConfig#getMethodRateLimits() rate of its
+ * method}, or when {@link McpServerConfig#getMaxConcurrentRequests()} requests are already running.
+ *
+ * <p>Session ids this node does not know, such as made-up ones, share a single set of buckets, so that sending a new id
+ * with every request neither escapes the session limits nor creates a bucket per id.
+ *
+ * <p>Rejections fail fast with an {@link McpRejectedException} whose retry hint is the time until the session's bucket
+ * has a token again, or {@link McpServerConfig#getOverloadRetryAfter()} when the server is overloaded. All limits are
+ * read from the configuration on every request, so they can be changed at runtime.
+ */
+@ApplicationScoped
+public class McpAdmissionController {
+
+    private static final long SWEEP_INTERVAL_SECONDS = 60;
+    private static final String UNKNOWN_SESSION = "";
+
+    @Inject
+    @Named("mcp-server")
+    Instance<McpServerConfig> configInstance;
+
+    @Inject
+    McpTaskExecutor taskExecutor;
+
+    @Inject
+    McpToolExecutor toolExecutor;
+
+    @Inject
+    McpServerScheduler scheduler;
+
+    @Inject
+    McpSessionManager sessionManager;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<String, SessionBuckets> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private volatile ScheduledFuture<?> sweep;
+
+    /**
+     * Admits a request, or throws.
+     *
+     * @param sessionId the session sending the request; {@code null} for requests without one, which are only subject
+     *     to the server-wide limits
+     * @return the permit of the request, to be run once when it completes
+     * @throws McpRejectedException with {@link McpErrorCode#RATE_LIMITED} or {@link McpErrorCode#SERVER_OVERLOADED}
+     */
+    public Runnable admit(Object requestId, String sessionId, String method) {
+        McpServerConfig config = McpServerConfig.resolve(configInstance);
+
+        int shedQueueDepth = config.getShedQueueDepth();
+        if (shedQueueDepth > 0 && queueDepth() >= shedQueueDepth) {
+            throw new McpRejectedException(
+                    requestId,
+                    McpErrorCode.SERVER_OVERLOADED,
+                    "Server is overloaded, try again later",
+                    config.getOverloadRetryAfter());
+        }
+
+        if (sessionId != null) {
+            String bucketKey = sessionManager.findSession(sessionId) != null ? sessionId : UNKNOWN_SESSION;
+            throttle(requestId, bucketKey, method, config);
+        }
+
+        int running = inFlight.incrementAndGet();
+        int maxConcurrent = config.getMaxConcurrentRequests();
+        if (maxConcurrent > 0 && running > maxConcurrent) {
+            inFlight.decrementAndGet();
+            throw new McpRejectedException(
+                    requestId,
+                    McpErrorCode.SERVER_OVERLOADED,
+                    "Too many concurrent requests, try again later",
+                    config.getOverloadRetryAfter());
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+            }
+        };
+    }
+
+    /** Number of admitted requests that have not completed yet. */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /** Number of tasks queued on the batch and tool executors, as used for load shedding. */
+    public int queueDepth() {
+        return taskExecutor.queueDepth() + toolExecutor.queueDepth();
+    }
+
+    private void throttle(Object requestId, String sessionId, String method, McpServerConfig config) {
+        McpRateLimit sessionLimit = config.getSessionRateLimit();
+        McpRateLimit methodLimit = config.getMethodRateLimits().get(method);
+        if (sessionLimit == null && methodLimit == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        AtomicReference<McpRejectedException> rejected = new AtomicReference<>();
+        // Buckets are used under the map's lock, so the sweep never drops one that is being drained. Both are checked
+        // before a token is taken from either, so a request turned away by one limit does not count against the other.
+        buckets.compute(sessionId, (id, existing) -> {
+            SessionBuckets current = existing != null ? existing : new SessionBuckets();
+            McpTokenBucket sessionBucket = sessionLimit != null ? current.session() : null;
+            McpTokenBucket methodBucket = methodLimit != null ? current.method(method) : null;
+            long sessionWait = sessionBucket != null ? sessionBucket.waitNanos(sessionLimit, now) : 0;
+            long methodWait = methodBucket != null ? methodBucket.waitNanos(methodLimit, now) : 0;
+            if (sessionWait > 0 || methodWait > 0) {
+                boolean bySession = sessionWait >= methodWait;
+                McpRateLimit limit = bySession ? sessionLimit : methodLimit;
+                rejected.set(new McpRejectedException(
+                        requestId,
+                        McpErrorCode.RATE_LIMITED,
+                        (bySession ? "Session" : "Method '" + method + "'") + " rate limit exceeded ("
+                                + limit.permitsPerSecond() + "/s)",
+                        Duration.ofNanos(Math.max(sessionWait, methodWait))));
+            } else {
+                if (sessionBucket != null) {
+                    sessionBucket.take();
+                }
+                if (methodBucket != null) {
+                    methodBucket.take();
+                }
+            }
+            return current;
+        });
+        startSweep();
+        if (rejected.get() != null) {
+            throw rejected.get();
+        }
+    }
+
+    private void startSweep() {
+        if (!sweeping.get() && sweeping.compareAndSet(false, true)) {
+            sweep = scheduler.scheduleAtFixedRate(
+                    this::sweep, SWEEP_INTERVAL_SECONDS, SWEEP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    /** Drops the buckets that refilled completely, such as those of closed sessions. */
+    void sweep() {
+        McpServerConfig config = McpServerConfig.resolve(configInstance);
+        long now = System.nanoTime();
+        for (String sessionId : buckets.keySet()) {
+            buckets.computeIfPresent(sessionId, (id, current) -> current.dropFull(config, now) ? null : current);
+        }
+    }
+
+    int bucketCount() {
+        return buckets.values().stream().mapToInt(SessionBuckets::count).sum();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ScheduledFuture<?> current = sweep;
+        if (current != null) {
+            current.cancel(false);
+        }
+    }
+
+    /** A session's bucket for all methods and its buckets per method, each created on first use. */
+    private static final class SessionBuckets {
+
+        private McpTokenBucket session;
+        private final Map<String, McpTokenBucket> methods = new HashMap<>();
+
+        McpTokenBucket session() {
+            if (session == null) {
+                session = new McpTokenBucket();
+            }
+            return session;
+        }
+
+        McpTokenBucket method(String method) {
+            return methods.computeIfAbsent(method, m -> new McpTokenBucket());
+        }
+
+        /** Drops the buckets that refilled completely or are no longer limited; returns whether none is left. */
+        boolean dropFull(McpServerConfig config, long now) {
+            McpRateLimit sessionLimit = config.getSessionRateLimit();
+            if (session != null && (sessionLimit == null || session.isFull(sessionLimit, now))) {
+                session = null;
+            }
+            methods.entrySet().removeIf(entry -> {
+                McpRateLimit limit = config.getMethodRateLimits().get(entry.getKey());
+                return limit == null || entry.getValue().isFull(limit, now);
+            });
+            return session == null && methods.isEmpty();
+        }
+
+        int count() {
+            return (session != null ? 1 : 0) + methods.size();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Counting limit on concurrent work, with a bounded FIFO queue of waiting callers. Waiting callers hold no thread:
+ * {@link #acquire()} returns a future completed when a slot is handed over.
+ */
+final class McpBulkhead {
+
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final ArrayDeque<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+    private int active;
+
+    McpBulkhead(int maxConcurrent, int maxQueued) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = Math.max(maxQueued, 0);
+    }
+
+    /**
+     * Takes a slot. Returns a completed future if one is free, a pending future completed when one is released, or
+     * {@code null} if the queue is full. A granted slot must be given back with {@link #release()}.
+     */
+    synchronized CompletableFuture<Void> acquire() {
+        if (active < maxConcurrent) {
+            active++;
+            return CompletableFuture.completedFuture(null);
+        }
+        if (waiting.size() >= maxQueued) {
+            return null;
+        }
+        CompletableFuture<Void> slot = new CompletableFuture<>();
+        waiting.add(slot);
+        return slot;
+    }
+
+    /** Withdraws a pending {@code slot}; returns {@code false} if it was already granted. */
+    synchronized boolean abandon(CompletableFuture<Void> slot) {
+        return waiting.remove(slot);
+    }
+
+    /**
+     * Gives a slot back. Returns the pending slot of the oldest waiting caller, which now owns it and must be completed
+     * by the caller of this method outside any lock, or {@code null} if nobody was waiting.
+     */
+    synchronized CompletableFuture<Void> release() {
+        CompletableFuture<Void> next = waiting.poll();
+        if (next == null) {
+            active--;
+        }
+        return next;
+    }
+
+    /** Whether no slot is taken and nobody waits. */
+    synchronized boolean idle() {
+        return active == 0 && waiting.isEmpty();
+    }
+
+    synchronized int active() {
+        return active;
+    }
+
+    synchronized int queued() {
+        return waiting.size();
+    }
+}
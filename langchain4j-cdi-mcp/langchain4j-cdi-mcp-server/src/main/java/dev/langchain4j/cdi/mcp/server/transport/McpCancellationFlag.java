@@ -0,0 +1,65 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Cancellation flag of one request, set by {@link McpCancellationManager} when the client cancels it. Besides being
+ * polled, it runs the actions registered with {@link #onCancel(Runnable)}, such as interrupting the thread running the
+ * tool or cancelling an outbound HTTP call, so their resources are reclaimed at once.
+ */
+public final class McpCancellationFlag extends AtomicBoolean {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOGGER = Logger.getLogger(McpCancellationFlag.class.getName());
+
+    private transient List<Runnable> actions = new ArrayList<>();
+
+    /**
+     * Runs {@code action} when the request is cancelled, or immediately if it already was. Actions no longer run once
+     * the request completed.
+     */
+    public void onCancel(Runnable action) {
+        synchronized (this) {
+            if (!get()) {
+                if (actions != null) {
+                    actions.add(action);
+                }
+                return;
+            }
+        }
+        run(action);
+    }
+
+    /** Sets the flag and runs the registered actions, once. */
+    void cancel() {
+        List<Runnable> pending;
+        synchronized (this) {
+            if (getAndSet(true)) {
+                return;
+            }
+            pending = actions;
+            actions = null;
+        }
+        if (pending != null) {
+            pending.forEach(McpCancellationFlag::run);
+        }
+    }
+
+    /** Drops the registered actions of a completed request. */
+    synchronized void clear() {
+        actions = null;
+    }
+
+    private static void run(Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "MCP: Cancel action failed", e);
+        }
+    }
+}
@@ -3,34 +3,70 @@ package dev.langchain4j.cdi.mcp.server.transport;
 import jakarta.enterprise.context.ApplicationScoped;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * Tracks cancellation state per JSON-RPC request. When a {@code notifications/cancelled} is received, the corresponding
- * {@link AtomicBoolean} flag is set to {@code true}.
+ * Tracks cancellation state per JSON-RPC request. Requests are keyed by session and request id, so two sessions using the
+ * same id do not cancel each other. When a {@code notifications/cancelled} is received, the request's
+ * {@link McpCancellationFlag} is set and the actions registered with {@link #onCancel} run.
  */
 @ApplicationScoped
 public class McpCancellationManager {
 
-    private final Map<Object, AtomicBoolean> flags = new ConcurrentHashMap<>();
+    private final Map<Key, McpCancellationFlag> flags = new ConcurrentHashMap<>();
 
-    /** Registers a new request and returns the cancellation flag. */
-    public AtomicBoolean register(Object requestId) {
-        AtomicBoolean flag = new AtomicBoolean(false);
-        flags.put(requestId, flag);
+    /** Registers a new request sent without a session and returns the cancellation flag. */
+    public McpCancellationFlag register(Object requestId) {
+        return register(null, requestId);
+    }
+
+    /** Registers a new request of {@code sessionId} and returns the cancellation flag. */
+    public McpCancellationFlag register(String sessionId, Object requestId) {
+        McpCancellationFlag flag = new McpCancellationFlag();
+        flags.put(new Key(sessionId, requestId), flag);
         return flag;
     }
 
-    /** Marks a request as cancelled. */
+    /** Same as {@link #onCancel(String, Object, Runnable)} for a request sent without a session. */
+    public void onCancel(Object requestId, Runnable action) {
+        onCancel(null, requestId, action);
+    }
+
+    /**
+     * Runs {@code action} when the registered request is cancelled, such as cancelling the future of an asynchronous
+     * tool. Runs it immediately if the request was already cancelled.
+     */
+    public void onCancel(String sessionId, Object requestId, Runnable action) {
+        McpCancellationFlag flag = flags.get(new Key(sessionId, requestId));
+        if (flag != null) {
+            flag.onCancel(action);
+        }
+    }
+
+    /** Marks a request sent without a session as cancelled. */
     public void cancel(Object requestId) {
-        AtomicBoolean flag = flags.get(requestId);
+        cancel(null, requestId);
+    }
+
+    /** Marks a request of {@code sessionId} as cancelled; requests of other sessions with the same id are not affected. */
+    public void cancel(String sessionId, Object requestId) {
+        McpCancellationFlag flag = flags.get(new Key(sessionId, requestId));
         if (flag != null) {
-            flag.set(true);
+            flag.cancel();
         }
     }
 
-    /** Removes the flag for a completed request. */
+    /** Removes the flag and cancel actions for a completed request sent without a session. */
     public void unregister(Object requestId) {
-        flags.remove(requestId);
+        unregister(null, requestId);
     }
+
+    /** Removes the flag and cancel actions for a completed request. */
+    public void unregister(String sessionId, Object requestId) {
+        McpCancellationFlag flag = flags.remove(new Key(sessionId, requestId));
+        if (flag != null) {
+            flag.clear();
+        }
+    }
+
+    private record Key(String sessionId, Object requestId) {}
 }
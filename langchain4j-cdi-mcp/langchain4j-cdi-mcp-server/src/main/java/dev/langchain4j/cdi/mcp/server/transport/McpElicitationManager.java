@@ -3,13 +3,15 @@ package dev.langchain4j.cdi.mcp.server.transport;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.json.JsonObject;
+import java.time.Duration;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 import java.util.logging.Logger;
 
 /**
  * Allows the server to request user input (elicitation) from a connected client. Sends an {@code elicitation/create}
- * request via SSE and waits for the client's response.
+ * request via SSE and either waits for the client's response or returns a stage completed by it.
  */
 @ApplicationScoped
 public class McpElicitationManager {
@@ -30,17 +32,33 @@ public class McpElicitationManager {
      */
     public JsonObject createElicitation(
             String sessionId, String message, Map<String, Object> requestedSchema, long timeoutSeconds) {
+        JsonObject result = requestManager.sendRequest(
+                sessionId, "elicitation/create", params(message, requestedSchema), timeoutSeconds);
+        if (result != null) {
+            LOGGER.fine("MCP: Received elicitation response from session " + sessionId);
+        }
+        return result;
+    }
 
+    /**
+     * Sends an elicitation request to the client without waiting for the response.
+     *
+     * @param timeout how long the client has to answer, or {@code null} for the server default
+     * @return completes with the client's response; fails on timeout or client error
+     * @see McpServerRequestManager#sendRequestAsync(String, String, Object, Duration)
+     */
+    public CompletionStage<JsonObject> createElicitationAsync(
+            String sessionId, String message, Map<String, Object> requestedSchema, Duration timeout) {
+        return requestManager.sendRequestAsync(
+                sessionId, "elicitation/create", params(message, requestedSchema), timeout);
+    }
+
+    private static Map<String, Object> params(String message, Map<String, Object> requestedSchema) {
         Map<String, Object> params = new LinkedHashMap<>();
         params.put("message", message);
         if (requestedSchema != null) {
             params.put("requestedSchema", requestedSchema);
         }
-
-        JsonObject result = requestManager.sendRequest(sessionId, "elicitation/create", params, timeoutSeconds);
-        if (result != null) {
-            LOGGER.fine("MCP: Received elicitation response from session " + sessionId);
-        }
-        return result;
+        return params;
     }
 }
@@ -6,17 +6,25 @@ import dev.langchain4j.cdi.mcp.server.error.McpException;
 import dev.langchain4j.cdi.mcp.server.error.McpToolNotFoundException;
 import dev.langchain4j.cdi.mcp.server.logging.McpLogLevel;
 import dev.langchain4j.cdi.mcp.server.logging.McpLogger;
+import dev.langchain4j.cdi.mcp.server.protocol.JsonRpcError;
+import dev.langchain4j.cdi.mcp.server.protocol.JsonRpcMessage;
+import dev.langchain4j.cdi.mcp.server.protocol.JsonRpcPayload;
 import dev.langchain4j.cdi.mcp.server.protocol.JsonRpcRequest;
 import dev.langchain4j.cdi.mcp.server.protocol.JsonRpcResponse;
+import dev.langchain4j.cdi.mcp.server.protocol.McpBlobContents;
+import dev.langchain4j.cdi.mcp.server.protocol.McpEncodedResult;
+import dev.langchain4j.cdi.mcp.server.protocol.McpJsonCodec;
 import dev.langchain4j.cdi.mcp.server.protocol.McpPagination;
 import dev.langchain4j.cdi.mcp.server.protocol.McpPromptGetResult;
 import dev.langchain4j.cdi.mcp.server.protocol.McpPromptMessage;
 import dev.langchain4j.cdi.mcp.server.registry.McpBeanInvoker;
+import dev.langchain4j.cdi.mcp.server.registry.McpCompletionRegistry;
 import dev.langchain4j.cdi.mcp.server.registry.McpPromptDescriptor;
 import dev.langchain4j.cdi.mcp.server.registry.McpPromptRegistry;
 import dev.langchain4j.cdi.mcp.server.registry.McpResourceDescriptor;
 import dev.langchain4j.cdi.mcp.server.registry.McpResourceRegistry;
 import dev.langchain4j.cdi.mcp.server.registry.McpResourceTemplateDescriptor;
+import dev.langchain4j.cdi.mcp.server.registry.McpResourceTemplateMatch;
 import dev.langchain4j.cdi.mcp.server.registry.McpToolDescriptor;
 import dev.langchain4j.cdi.mcp.server.registry.McpToolInvoker;
 import dev.langchain4j.cdi.mcp.server.registry.McpToolRegistry;
@@ -26,12 +34,9 @@ import jakarta.inject.Inject;
 import jakarta.inject.Named;
 import jakarta.json.Json;
 import jakarta.json.JsonObject;
-import jakarta.json.JsonReader;
+import jakarta.json.JsonObjectBuilder;
 import jakarta.json.JsonString;
 import jakarta.json.JsonValue;
-import jakarta.json.bind.Jsonb;
-import jakarta.json.bind.JsonbBuilder;
-import jakarta.json.bind.JsonbConfig;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
@@ -39,14 +44,33 @@ import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.StreamingOutput;
-import java.io.StringReader;
-import java.nio.charset.StandardCharsets;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import org.mcp_java.model.common.Cursor;
 import org.mcp_java.model.completion.CompleteResult;
 import org.mcp_java.model.content.TextContent;
@@ -67,18 +91,39 @@ import org.mcp_java.model.tool.ListToolsResult;
 @SuppressWarnings("java:S1192")
 public class McpEndpoint {
 
+    private static final Logger LOGGER = Logger.getLogger(McpEndpoint.class.getName());
+
     private static final String HEADER_CACHE_CONTROL = "Cache-Control";
     private static final String HEADER_NO_CACHE = "no-cache";
     private static final String HEADER_SESSION_ID = "Mcp-Session-Id";
-    private static final String FIELD_METHOD = "method";
-    private static final String FIELD_RESULT = "result";
-    private static final String FIELD_ERROR = "error";
     private static final String FIELD_ARGUMENTS = "arguments";
-    private static final String FIELD_PROGRESS_TOKEN = "progressToken";
+    private static final String TRACEPARENT = "traceparent";
+    private static final String TRACESTATE = "tracestate";
+    // Acknowledgements that are always answered with plain JSON, even when the client accepts SSE
+    private static final Set<String> JSON_ONLY_METHODS =
+            Set.of("resources/subscribe", "resources/unsubscribe", "logging/setLevel", "ping");
+    // Methods routed by dispatch; others are reported to the listeners as null, so a client cannot flood them
+    private static final Set<String> ROUTED_METHODS = Set.of(
+            "notifications/initialized",
+            "tools/list",
+            "tools/call",
+            "resources/list",
+            "resources/read",
+            "resources/subscribe",
+            "resources/unsubscribe",
+            "resources/templates/list",
+            "prompts/list",
+            "prompts/get",
+            "completion/complete",
+            "logging/setLevel",
+            "ping",
+            "notifications/cancelled",
+            "notifications/roots/list_changed");
 
     private McpToolRegistry toolRegistry;
     private McpResourceRegistry resourceRegistry;
     private McpPromptRegistry promptRegistry;
+    private McpCompletionRegistry completionRegistry;
     private McpSessionManager sessionManager;
     private McpToolInvoker toolInvoker;
     private McpBeanInvoker beanInvoker;
@@ -88,6 +133,12 @@ public class McpEndpoint {
     private McpServerRequestManager serverRequestManager;
     private McpRootsManager rootsManager;
     private McpCancellationManager cancellationManager;
+    private McpProgressReporter progressReporter;
+    private McpJsonCodec codec;
+    private McpTaskExecutor taskExecutor;
+    private McpToolExecutor toolExecutor;
+    private McpAdmissionController admissionController;
+    private McpServerListeners listeners;
     private Instance<McpServerConfig> configInstance;
 
     /** No-arg constructor required by CDI proxying and JAX-RS runtimes. */
@@ -98,6 +149,7 @@ public class McpEndpoint {
             McpToolRegistry toolRegistry,
             McpResourceRegistry resourceRegistry,
             McpPromptRegistry promptRegistry,
+            McpCompletionRegistry completionRegistry,
             McpSessionManager sessionManager,
             McpToolInvoker toolInvoker,
             McpBeanInvoker beanInvoker,
@@ -107,10 +159,17 @@ public class McpEndpoint {
             McpServerRequestManager serverRequestManager,
             McpRootsManager rootsManager,
             McpCancellationManager cancellationManager,
+            McpProgressReporter progressReporter,
+            McpJsonCodec codec,
+            McpTaskExecutor taskExecutor,
+            McpToolExecutor toolExecutor,
+            McpAdmissionController admissionController,
+            McpServerListeners listeners,
             @Named("mcp-server") Instance<McpServerConfig> configInstance) {
         this.toolRegistry = toolRegistry;
         this.resourceRegistry = resourceRegistry;
         this.promptRegistry = promptRegistry;
+        this.completionRegistry = completionRegistry;
         this.sessionManager = sessionManager;
         this.toolInvoker = toolInvoker;
         this.beanInvoker = beanInvoker;
@@ -120,87 +179,380 @@ public class McpEndpoint {
         this.serverRequestManager = serverRequestManager;
         this.rootsManager = rootsManager;
         this.cancellationManager = cancellationManager;
+        this.progressReporter = progressReporter;
+        this.codec = codec;
+        this.taskExecutor = taskExecutor;
+        this.toolExecutor = toolExecutor;
+        this.admissionController = admissionController;
+        this.listeners = listeners;
         this.configInstance = configInstance;
     }
 
+    /**
+     * Handles a JSON-RPC message or batch. Most methods answer on the request thread; a tool returning a
+     * {@link CompletionStage} or {@link Flow.Publisher} completes the returned stage later, so the container thread is
+     * released while the tool runs.
+     *
+     * <p>The W3C {@code traceparent} and {@code tracestate} headers are the trace context of requests that carry none
+     * in their {@code params._meta}.
+     */
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces({MediaType.APPLICATION_JSON, MediaType.SERVER_SENT_EVENTS})
-    public Response handlePost(
-            String body, @HeaderParam("Mcp-Session-Id") String sessionId, @HeaderParam("Accept") String accept) {
+    public CompletionStage<Response> handlePost(
+            InputStream body,
+            @HeaderParam("Mcp-Session-Id") String sessionId,
+            @HeaderParam("Accept") String accept,
+            @HeaderParam(TRACEPARENT) String traceparent,
+            @HeaderParam(TRACESTATE) String tracestate) {
+
+        McpServerConfig config = resolveConfig();
+        Map<String, String> traceHeaders = listeners.isEnabled() ? traceContext(traceparent, tracestate) : Map.of();
+        // The body is read once; the decoder classifies each message while streaming
+        JsonRpcPayload payload = codec.readPayload(body, config.getMaxBatchSize());
+        boolean wantsSse = accept != null && accept.contains("text/event-stream");
 
-        // Check if this is a JSON-RPC response (from client, in reply to a server-initiated request)
-        if (isJsonRpcResponse(body)) {
-            return handleClientResponse(body);
+        if (payload.batch()) {
+            return handleBatch(payload.messages(), sessionId, traceHeaders, wantsSse, config);
         }
 
-        JsonRpcRequest request = parseRequest(body);
+        JsonRpcMessage message = payload.messages().get(0);
+
+        // A JSON-RPC response from the client, in reply to a server-initiated request
+        if (message.isResponse()) {
+            handleClientResponse(message, sessionId);
+            return CompletableFuture.completedFuture(Response.ok().build());
+        }
+
+        JsonRpcRequest request = message.toRequest();
 
         if (request.getMethod() == null) {
             throw new McpException(request.getId(), McpErrorCode.INVALID_REQUEST, "Missing method");
         }
+        if ("initialize".equals(request.getMethod())) {
+            return CompletableFuture.completedFuture(handleInitialize(request, wantsSse, config));
+        }
 
-        boolean wantsSse = accept != null && accept.contains("text/event-stream");
+        Object result = dispatch(request, message.kind() == JsonRpcMessage.Kind.NOTIFICATION, sessionId, traceHeaders);
+        if (result == null) {
+            return CompletableFuture.completedFuture(Response.ok().build());
+        }
+        boolean sse = wantsSse && !JSON_ONLY_METHODS.contains(request.getMethod());
+        if (result instanceof CompletionStage<?> pending) {
+            Object id = request.getId();
+            return pending.handle((value, error) -> error == null
+                    ? respond(id, value, sse)
+                    : respond(errorResponse(id, error, request.getMethod()), sse)
+                            .build());
+        }
+        return CompletableFuture.completedFuture(respond(request.getId(), result, sse));
+    }
+
+    /**
+     * Runs a method handler; returns the JSON-RPC result, a {@link CompletionStage} of it for asynchronous tools, or
+     * {@code null} for notifications. The {@link McpServerListeners} are told when it completes, and the request's span
+     * is current while it is routed.
+     */
+    @SuppressWarnings("try") // The scope is only closed
+    private Object dispatch(
+            JsonRpcRequest request, boolean notification, String sessionId, Map<String, String> traceHeaders) {
+        if (!listeners.isEnabled()) {
+            return admit(request, notification, sessionId);
+        }
+        String method = ROUTED_METHODS.contains(request.getMethod()) ? request.getMethod() : null;
+        long start = System.nanoTime();
+        McpSpan span = listeners.startRequest(
+                method,
+                request.getId(),
+                sessionId,
+                target(method, request.getParams()),
+                traceContext(request.getParams(), traceHeaders));
+        Object result;
+        try (McpSpan.Scope ignored = span.makeCurrent()) {
+            result = admit(request, notification, sessionId);
+        } catch (RuntimeException | Error e) {
+            span.end(e);
+            listeners.requestCompleted(method, start, e);
+            throw e;
+        }
+        if (result instanceof CompletionStage<?> pending) {
+            return pending.whenComplete((value, error) -> {
+                span.end(error);
+                listeners.requestCompleted(method, start, error);
+            });
+        }
+        span.end(null);
+        listeners.requestCompleted(method, start, null);
+        return result;
+    }
 
+    /** The tool, prompt or resource a request is about, as reported to the listeners. */
+    private static String target(String method, JsonObject params) {
+        if (params == null || method == null) {
+            return null;
+        }
+        String member =
+                switch (method) {
+                    case "tools/call", "prompts/get" -> "name";
+                    case "resources/read" -> "uri";
+                    default -> null;
+                };
+        return member != null && params.get(member) instanceof JsonString value ? value.getString() : null;
+    }
+
+    /** The trace context in {@code params._meta}, or {@code traceHeaders} when it has none. */
+    private static Map<String, String> traceContext(JsonObject params, Map<String, String> traceHeaders) {
+        JsonValue meta = params != null ? params.get("_meta") : null;
+        if (meta instanceof JsonObject object && object.get(TRACEPARENT) instanceof JsonString traceparent) {
+            return traceContext(
+                    traceparent.getString(),
+                    object.get(TRACESTATE) instanceof JsonString tracestate ? tracestate.getString() : null);
+        }
+        return traceHeaders;
+    }
+
+    private static Map<String, String> traceContext(String traceparent, String tracestate) {
+        if (traceparent == null) {
+            return Map.of();
+        }
+        return tracestate == null
+                ? Map.of(TRACEPARENT, traceparent)
+                : Map.of(TRACEPARENT, traceparent, TRACESTATE, tracestate);
+    }
+
+    /**
+     * Requests must first be admitted by {@link McpAdmissionController}, which holds their permit until they complete;
+     * notifications, such as {@code notifications/cancelled}, are never turned away. A request method sent without an
+     * id, or with a {@code null} one, is admitted like any other request.
+     */
+    private Object admit(JsonRpcRequest request, boolean notification, String sessionId) {
+        if (notification && request.getMethod().startsWith("notifications/")) {
+            return track(request, sessionId);
+        }
+        Runnable permit = admissionController.admit(request.getId(), sessionId, request.getMethod());
+        Object result;
+        try {
+            result = track(request, sessionId);
+        } catch (RuntimeException | Error e) {
+            permit.run();
+            throw e;
+        }
+        if (result instanceof CompletionStage<?> pending) {
+            return pending.whenComplete((value, error) -> permit.run());
+        }
+        permit.run();
+        return result;
+    }
+
+    /** Routes the request, reporting its progress to the session while it runs. */
+    private Object track(JsonRpcRequest request, String sessionId) {
+        Object progressToken = request.getProgressToken();
+        if (progressToken == null || sessionId == null) {
+            return route(request, sessionId);
+        }
+        // Progress is routed to this session while the request runs; held-back updates are flushed before the result
+        progressReporter.begin(sessionId, progressToken);
+        Object result = null;
+        try {
+            result = route(request, sessionId);
+        } finally {
+            if (!(result instanceof CompletionStage<?>)) {
+                progressReporter.complete(sessionId, progressToken);
+            }
+        }
+        if (result instanceof CompletionStage<?> pending) {
+            return pending.whenComplete((value, error) -> progressReporter.complete(sessionId, progressToken));
+        }
+        return result;
+    }
+
+    private Object route(JsonRpcRequest request, String sessionId) {
         return switch (request.getMethod()) {
-            case "initialize" -> handleInitialize(request, wantsSse);
-            case "notifications/initialized" -> handleInitialized(request, sessionId);
-            case "tools/list" -> handleToolsList(request, sessionId, wantsSse);
-            case "tools/call" -> handleToolsCall(request, sessionId, wantsSse);
-            case "resources/list" -> handleResourcesList(request, sessionId, wantsSse);
-            case "resources/read" -> handleResourcesRead(request, sessionId, wantsSse);
+            case "notifications/initialized" -> {
+                handleInitialized(request, sessionId);
+                yield null;
+            }
+            case "tools/list" -> handleToolsList(request, sessionId);
+            case "tools/call" -> handleToolsCall(request, sessionId);
+            case "resources/list" -> handleResourcesList(request, sessionId);
+            case "resources/read" -> handleResourcesRead(request, sessionId);
             case "resources/subscribe" -> handleResourcesSubscribe(request, sessionId);
             case "resources/unsubscribe" -> handleResourcesUnsubscribe(request, sessionId);
-            case "resources/templates/list" -> handleResourcesTemplatesList(request, sessionId, wantsSse);
-            case "prompts/list" -> handlePromptsList(request, sessionId, wantsSse);
-            case "prompts/get" -> handlePromptsGet(request, sessionId, wantsSse);
-            case "completion/complete" -> handleCompletionComplete(request, sessionId, wantsSse);
+            case "resources/templates/list" -> handleResourcesTemplatesList(request, sessionId);
+            case "prompts/list" -> handlePromptsList(request, sessionId);
+            case "prompts/get" -> handlePromptsGet(request, sessionId);
+            case "completion/complete" -> handleCompletionComplete(request, sessionId);
             case "logging/setLevel" -> handleLoggingSetLevel(request, sessionId);
-            case "ping" -> handlePing(request);
-            case "notifications/cancelled" -> handleNotificationsCancelled(request);
-            case "notifications/roots/list_changed" -> handleRootsListChanged(request, sessionId);
+            case "ping" -> handlePing();
+            case "notifications/cancelled" -> {
+                handleNotificationsCancelled(request, sessionId);
+                yield null;
+            }
+            case "notifications/roots/list_changed" -> {
+                handleRootsListChanged(request, sessionId);
+                yield null;
+            }
             default ->
                 throw new McpException(
                         request.getId(), McpErrorCode.METHOD_NOT_FOUND, "Unknown method: " + request.getMethod());
         };
     }
 
-    @GET
-    @Produces(MediaType.SERVER_SENT_EVENTS)
-    public Response handleGet(@HeaderParam("Mcp-Session-Id") String sessionId) {
-        if (sessionId == null) {
-            return Response.status(Response.Status.BAD_REQUEST).build();
+    // --- Batch ---
+
+    /**
+     * Executes the entries of a JSON-RPC batch. At most {@link McpServerConfig#getBatchParallelism()} entries run at
+     * the same time: the request thread and a few helpers on the task executor pull entries from a shared index until
+     * the batch is drained, so a large batch cannot occupy every worker.
+     */
+    private CompletionStage<Response> handleBatch(
+            List<JsonRpcMessage> messages,
+            String sessionId,
+            Map<String, String> traceHeaders,
+            boolean sse,
+            McpServerConfig config) {
+        int size = messages.size();
+        List<CompletableFuture<JsonRpcResponse>> responses = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            responses.add(new CompletableFuture<>());
         }
-        sessionManager.requireSession(null, sessionId);
-        StreamingOutput stream = out -> {
-            broadcaster.registerStream(sessionId, out);
-            try {
-                out.write(": stream opened\n\n".getBytes(StandardCharsets.UTF_8));
-                out.flush();
-                Thread.currentThread().join();
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            } finally {
-                broadcaster.unregisterStream(sessionId);
+        AtomicInteger next = new AtomicInteger();
+        Runnable worker = () -> {
+            int index;
+            while ((index = next.getAndIncrement()) < size) {
+                CompletableFuture<JsonRpcResponse> response = responses.get(index);
+                executeBatchEntry(messages.get(index), sessionId, traceHeaders).whenComplete((reply, failure) -> {
+                    if (failure != null) {
+                        response.completeExceptionally(failure);
+                    } else {
+                        response.complete(reply);
+                    }
+                });
             }
         };
+
+        int helpers = Math.min(Math.max(config.getBatchParallelism(), 1), size) - 1;
+        List<CompletableFuture<Void>> running = new ArrayList<>(helpers);
+        for (int i = 0; i < helpers; i++) {
+            try {
+                running.add(
+                        CompletableFuture.runAsync(taskExecutor.withRequestContext(worker), taskExecutor.executor()));
+            } catch (RejectedExecutionException e) {
+                // Saturated executor: the request thread drains the remaining entries itself
+                break;
+            }
+        }
+        worker.run();
+        // Every entry has been claimed: helpers that have not started yet are skipped rather than awaited, and the
+        // response completes once the claimed entries, on whichever thread, are answered
+        running.forEach(helper -> helper.cancel(false));
+        return CompletableFuture.allOf(responses.toArray(CompletableFuture<?>[]::new))
+                .thenApply(done -> batchResponse(responses, sse));
+    }
+
+    private Response batchResponse(List<CompletableFuture<JsonRpcResponse>> responses, boolean sse) {
+        List<JsonRpcResponse> replies = new ArrayList<>(responses.size());
+        for (CompletableFuture<JsonRpcResponse> response : responses) {
+            JsonRpcResponse reply = response.join();
+            if (reply != null) {
+                replies.add(reply);
+            }
+        }
+        if (replies.isEmpty()) {
+            return Response.accepted().build();
+        }
+        if (!sse) {
+            StreamingOutput json = listeners.observe(out -> codec.write(replies, out));
+            return Response.ok(json).type(MediaType.APPLICATION_JSON).build();
+        }
+        StreamingOutput stream = listeners.observe(out -> {
+            for (JsonRpcResponse reply : replies) {
+                codec.writeSseEvent(reply, out);
+            }
+        });
         return Response.ok(stream, MediaType.SERVER_SENT_EVENTS)
                 .header(HEADER_CACHE_CONTROL, HEADER_NO_CACHE)
-                .header(HEADER_SESSION_ID, sessionId)
                 .build();
     }
 
+    /**
+     * Returns the response for one batch entry, completing with {@code null} for notifications and client responses.
+     */
+    private CompletableFuture<JsonRpcResponse> executeBatchEntry(
+            JsonRpcMessage message, String sessionId, Map<String, String> traceHeaders) {
+        if (message.isResponse()) {
+            handleClientResponse(message, sessionId);
+            return CompletableFuture.completedFuture(null);
+        }
+        boolean notification = message.kind() == JsonRpcMessage.Kind.NOTIFICATION;
+        Object id = message.id();
+        try {
+            if (message.kind() == JsonRpcMessage.Kind.INVALID) {
+                throw new McpException(id, McpErrorCode.INVALID_REQUEST, "Invalid JSON-RPC message");
+            }
+            if ("initialize".equals(message.method())) {
+                throw new McpException(id, McpErrorCode.INVALID_REQUEST, "initialize must not be part of a batch");
+            }
+            Object result = dispatch(message.toRequest(), notification, sessionId, traceHeaders);
+            if (result instanceof CompletionStage<?> pending) {
+                return pending.toCompletableFuture().handle((value, error) -> {
+                    if (notification) {
+                        return null;
+                    }
+                    return error == null
+                            ? JsonRpcResponse.success(id, value)
+                            : errorResponse(id, error, message.method());
+                });
+            }
+            return CompletableFuture.completedFuture(
+                    notification ? null : JsonRpcResponse.success(id, result != null ? result : Map.of()));
+        } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(notification ? null : errorResponse(id, e, message.method()));
+        }
+    }
+
+    /** The JSON-RPC error for a failed request; anything but an {@link McpException} is logged and kept opaque. */
+    private static JsonRpcResponse errorResponse(Object id, Throwable error, String method) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof McpException e) {
+            return JsonRpcResponse.error(id, new JsonRpcError(e.getErrorCode().getCode(), e.getMessage(), e.getData()));
+        }
+        LOGGER.log(Level.WARNING, "MCP: Request " + method + " failed", cause);
+        return JsonRpcResponse.error(id, new JsonRpcError(McpErrorCode.INTERNAL_ERROR.getCode(), "Internal error"));
+    }
+
+    /**
+     * Opens the server-to-client SSE stream of a session. The stream is handed to the broadcaster as an asynchronous
+     * {@link SseEventSink} and the method returns immediately, so an idle client holds no container thread.
+     */
+    @GET
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    public void handleGet(
+            @HeaderParam("Mcp-Session-Id") String sessionId, @Context SseEventSink sink, @Context Sse sse) {
+        if (sessionId == null) {
+            throw new WebApplicationException(Response.Status.BAD_REQUEST);
+        }
+        sessionManager.requireSession(null, sessionId);
+        McpEventStream stream = new SseSinkEventStream(sessionId, sink, sse);
+        broadcaster.registerStream(sessionId, stream);
+        try {
+            stream.sendComment("stream opened");
+        } catch (IOException e) {
+            broadcaster.unregisterStream(sessionId);
+        }
+    }
+
     @DELETE
     public Response handleDelete(@HeaderParam("Mcp-Session-Id") String sessionId) {
         if (sessionId != null) {
             sessionManager.terminateSession(sessionId);
+            broadcaster.unregisterStream(sessionId);
         }
         return Response.ok().build();
     }
 
-    private Response handleInitialize(JsonRpcRequest request, boolean wantsSse) {
+    private Response handleInitialize(JsonRpcRequest request, boolean wantsSse, McpServerConfig config) {
         String newSessionId = sessionManager.createSession(request.getParams());
-        McpServerConfig config = resolveConfig();
 
         InitializeResult result = InitializeResult.of(
                 "2025-03-26",
@@ -211,48 +563,38 @@ public class McpEndpoint {
                         new ServerCapabilities.LoggingCapability()),
                 Implementation.of(config.getServerName(), config.getServerVersion()));
 
-        if (wantsSse) {
-            String json = serializeToJson(JsonRpcResponse.success(request.getId(), result));
-            String payload = "event: message\ndata: " + json + "\n\n";
-            StreamingOutput stream = out -> {
-                out.write(payload.getBytes(StandardCharsets.UTF_8));
-                out.flush();
-            };
-            return Response.ok(stream, MediaType.SERVER_SENT_EVENTS)
-                    .header(HEADER_CACHE_CONTROL, HEADER_NO_CACHE)
-                    .header(HEADER_SESSION_ID, newSessionId)
-                    .build();
-        }
-
-        return Response.ok(serializeToJson(JsonRpcResponse.success(request.getId(), result)))
-                .type(MediaType.APPLICATION_JSON)
+        return respond(JsonRpcResponse.success(request.getId(), result), wantsSse)
                 .header(HEADER_SESSION_ID, newSessionId)
                 .build();
     }
 
-    private Response handleInitialized(JsonRpcRequest request, String sessionId) {
+    private void handleInitialized(JsonRpcRequest request, String sessionId) {
         McpSession session = sessionManager.requireSession(request.getId(), sessionId);
         session.markInitialized();
-        return Response.ok().build();
+        sessionManager.persist(sessionId);
     }
 
     // --- Tools ---
 
-    private Response handleToolsList(JsonRpcRequest request, String sessionId, boolean sse) {
+    private McpEncodedResult handleToolsList(JsonRpcRequest request, String sessionId) {
         sessionManager.requireSession(request.getId(), sessionId);
 
-        String cursor = extractCursor(request.getParams());
-        List<McpToolDescriptor> allTools = new java.util.ArrayList<>(toolRegistry.listTools());
-        McpPagination.Page<McpToolDescriptor> page = McpPagination.paginate(allTools, cursor);
-
-        Cursor nextCursor = page.nextCursor() != null ? new Cursor(page.nextCursor()) : null;
-        ListToolsResult result = new ListToolsResult(
-                page.items().stream().map(McpToolDescriptor::toWireFormat).toList(), nextCursor);
-
-        return respond(request.getId(), result, sse);
+        McpPagination.Position position = McpPagination.decodePosition(extractCursor(request.getParams()));
+        return toolRegistry
+                .snapshot(position.version())
+                .page(
+                        position.offset(),
+                        McpPagination.DEFAULT_PAGE_SIZE,
+                        codec,
+                        (tools, next) -> new ListToolsResult(
+                                tools.stream()
+                                        .map(McpToolDescriptor::toWireFormat)
+                                        .toList(),
+                                cursor(next)));
     }
 
-    private Response handleToolsCall(JsonRpcRequest request, String sessionId, boolean sse) {
+    /** Returns the {@link CallToolResult}, or a {@link CompletionStage} of it when the tool is asynchronous. */
+    private Object handleToolsCall(JsonRpcRequest request, String sessionId) {
         McpSession session = sessionManager.requireSession(request.getId(), sessionId);
 
         JsonObject params = request.getParams();
@@ -269,47 +611,124 @@ public class McpEndpoint {
                 .findTool(toolName)
                 .orElseThrow(() -> new McpToolNotFoundException(request.getId(), toolName));
 
-        AtomicBoolean cancelledFlag = cancellationManager.register(request.getId());
-        McpRequestContext ctx =
-                new McpRequestContext(sessionId, request.getId(), request.getProgressToken(), cancelledFlag);
+        McpCancellationFlag cancelledFlag = cancellationManager.register(sessionId, request.getId());
+        McpRequestContext ctx = new McpRequestContext(
+                sessionId, request.getId(), request.getProgressToken(), cancelledFlag, listeners.current());
 
-        try {
-            Object callResult = toolInvoker.invoke(request.getId(), tool, arguments, ctx, session);
-            CallToolResult result;
-            if (callResult == null) {
-                result = CallToolResult.success(List.of());
-            } else {
-                result = CallToolResult.success(List.of(TextContent.of(callResult.toString())));
+        // The tool runs on the tool executor, within the concurrency limits of the tool and the session
+        long start = listeners.isEnabled() ? System.nanoTime() : 0L;
+        CompletableFuture<CallToolResult> pending = toolExecutor.submit(request.getId(), tool, sessionId, () -> {
+            if (listeners.isEnabled()) {
+                ctx.span().queued(System.nanoTime() - start);
             }
-            return respond(request.getId(), result, sse);
-        } catch (McpException e) {
-            throw new McpException(request.getId(), e.getErrorCode(), e.getMessage());
-        } finally {
-            cancellationManager.unregister(request.getId());
+            return invokeTool(tool, arguments, ctx, session);
+        });
+        CompletableFuture<CallToolResult> result = completeToolCall(sessionId, request.getId(), tool, pending);
+        if (!listeners.isEnabled()) {
+            return result;
         }
+        return result.whenComplete((value, error) -> listeners.toolCallCompleted(tool.getName(), start, error));
     }
 
-    // --- Resources ---
+    /** Calls the tool method; a {@link CompletionStage} or {@link Flow.Publisher} it returns is completed later. */
+    private CompletionStage<CallToolResult> invokeTool(
+            McpToolDescriptor tool, JsonObject arguments, McpRequestContext ctx, McpSession session) {
+        Object callResult = toolInvoker.invoke(ctx.requestId(), tool, arguments, ctx, session);
+        if (callResult instanceof CompletionStage<?> stage) {
+            return cancellable(ctx, stage.toCompletableFuture(), McpEndpoint::toolResult);
+        }
+        if (callResult instanceof Flow.Publisher<?> publisher) {
+            CompletableFuture<List<Object>> items =
+                    McpPublisherCollector.collect(publisher, resolveConfig().getMaxToolResultItems(), (item, count) -> {
+                        if (ctx.progressToken() != null) {
+                            progressReporter.reportProgress(
+                                    ctx.sessionId(), ctx.progressToken(), count, 0, item.toString());
+                        }
+                    });
+            return cancellable(ctx, items, McpEndpoint::streamedToolResult);
+        }
+        return CompletableFuture.completedFuture(toolResult(callResult));
+    }
 
-    private Response handleResourcesList(JsonRpcRequest request, String sessionId, boolean sse) {
-        sessionManager.requireSession(request.getId(), sessionId);
+    /**
+     * Maps the tool's own future, or the collector of its publisher, so that cancelling the request or the mapped
+     * future cancels {@code source} itself rather than only the stage derived from it.
+     */
+    private <T> CompletableFuture<CallToolResult> cancellable(
+            McpRequestContext ctx, CompletableFuture<T> source, Function<? super T, CallToolResult> mapper) {
+        cancellationManager.onCancel(ctx.sessionId(), ctx.requestId(), () -> source.cancel(true));
+        CompletableFuture<CallToolResult> mapped = source.thenApply(mapper);
+        mapped.whenComplete((result, error) -> {
+            if (error instanceof CancellationException) {
+                source.cancel(true);
+            }
+        });
+        return mapped;
+    }
 
-        String cursor = extractCursor(request.getParams());
-        List<McpResourceDescriptor> allResources = new java.util.ArrayList<>(resourceRegistry.listResources());
-        McpPagination.Page<McpResourceDescriptor> page = McpPagination.paginate(allResources, cursor);
+    /**
+     * Completes a tool call: a {@code notifications/cancelled} for the request, from the session that sent it,
+     * withdraws it from the queue, interrupts the thread running the tool method or cancels the tool's future or
+     * publisher subscription, and failures are reported with the request's id.
+     */
+    private CompletableFuture<CallToolResult> completeToolCall(
+            String sessionId, Object requestId, McpToolDescriptor tool, CompletableFuture<CallToolResult> pending) {
+        cancellationManager.onCancel(sessionId, requestId, () -> pending.cancel(true));
+        return pending.handle((result, error) -> {
+            cancellationManager.unregister(sessionId, requestId);
+            if (error == null) {
+                return result;
+            }
+            Throwable cause =
+                    error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof McpException e) {
+                throw new McpException(requestId, e.getErrorCode(), e.getMessage(), e.getData());
+            }
+            if (cause instanceof CancellationException) {
+                throw new McpException(requestId, McpErrorCode.INTERNAL_ERROR, "Request cancelled: " + tool.getName());
+            }
+            throw new McpException(
+                    requestId,
+                    McpErrorCode.INTERNAL_ERROR,
+                    "Invocation failed: " + tool.getMethod().getName() + " - " + cause.getMessage());
+        });
+    }
 
-        Cursor nextCursor = page.nextCursor() != null ? new Cursor(page.nextCursor()) : null;
-        ListResourcesResult result = new ListResourcesResult(
-                page.items().stream()
-                        .map(r -> org.mcp_java.model.resource.Resource.of(
-                                r.getUri(), r.getName(), r.getDescription(), r.getMimeType()))
-                        .toList(),
-                nextCursor);
+    private static CallToolResult toolResult(Object value) {
+        if (value == null) {
+            return CallToolResult.success(List.of());
+        }
+        return CallToolResult.success(List.of(TextContent.of(value.toString())));
+    }
 
-        return respond(request.getId(), result, sse);
+    /** One text content per item published by the tool, in publication order. */
+    private static CallToolResult streamedToolResult(List<Object> items) {
+        return CallToolResult.success(
+                items.stream().map(item -> TextContent.of(item.toString())).toList());
     }
 
-    private Response handleResourcesRead(JsonRpcRequest request, String sessionId, boolean sse) {
+    // --- Resources ---
+
+    private McpEncodedResult handleResourcesList(JsonRpcRequest request, String sessionId) {
+        sessionManager.requireSession(request.getId(), sessionId);
+
+        McpPagination.Position position = McpPagination.decodePosition(extractCursor(request.getParams()));
+        return resourceRegistry
+                .snapshot(position.version())
+                .page(
+                        position.offset(),
+                        McpPagination.DEFAULT_PAGE_SIZE,
+                        codec,
+                        (resources, next) -> new ListResourcesResult(
+                                resources.stream()
+                                        .map(r -> org.mcp_java.model.resource.Resource.of(
+                                                r.getUri(), r.getName(), r.getDescription(), r.getMimeType()))
+                                        .toList(),
+                                cursor(next)));
+    }
+
+    /** Returns a {@link ReadResourceResult}, or a streamed blob result for binary content. */
+    private Object handleResourcesRead(JsonRpcRequest request, String sessionId) {
         McpSession session = sessionManager.requireSession(request.getId(), sessionId);
 
         JsonObject params = request.getParams();
@@ -319,51 +738,69 @@ public class McpEndpoint {
             throw new McpException(request.getId(), McpErrorCode.INVALID_PARAMS, "Missing resource URI");
         }
 
-        McpResourceDescriptor resource = resourceRegistry
-                .findResource(uri)
-                .orElseThrow(() ->
-                        new McpException(request.getId(), McpErrorCode.INVALID_PARAMS, "Resource not found: " + uri));
-
-        McpRequestContext ctx =
-                new McpRequestContext(sessionId, request.getId(), request.getProgressToken(), new AtomicBoolean(false));
+        McpRequestContext ctx = new McpRequestContext(
+                sessionId, request.getId(), request.getProgressToken(), new AtomicBoolean(false), listeners.current());
 
+        Optional<McpResourceDescriptor> resource = resourceRegistry.findResource(uri);
         try {
-            Object content = beanInvoker.invoke(
-                    request.getId(), resource.getBeanType(), resource.getMethod(), null, ctx, session);
-            String text = content != null ? content.toString() : "";
-            ReadResourceResult result =
-                    ReadResourceResult.of(List.of(ResourceContents.text(uri, resource.getMimeType(), text)));
-            return respond(request.getId(), result, sse);
+            if (resource.isPresent()) {
+                Object content =
+                        beanInvoker.invoke(request.getId(), resource.get().getInvocationPlan(), null, ctx, session);
+                return readResult(request.getId(), uri, resource.get().getMimeType(), content);
+            }
+            McpResourceTemplateMatch match = resourceRegistry
+                    .matchTemplate(uri)
+                    .orElseThrow(() -> new McpException(
+                            request.getId(), McpErrorCode.INVALID_PARAMS, "Resource not found: " + uri));
+            JsonObjectBuilder variables = Json.createObjectBuilder();
+            match.variables().forEach(variables::add);
+            McpResourceTemplateDescriptor template = match.descriptor();
+            Object content =
+                    beanInvoker.invoke(request.getId(), template.getInvocationPlan(), variables.build(), ctx, session);
+            return readResult(request.getId(), uri, template.getMimeType(), content);
         } catch (McpException e) {
-            throw new McpException(request.getId(), e.getErrorCode(), e.getMessage());
+            throw new McpException(request.getId(), e.getErrorCode(), e.getMessage(), e.getData());
         }
     }
 
+    private static Object readResult(Object requestId, String uri, String mimeType, Object content) {
+        if (McpBlobContents.isBinary(content)) {
+            // Fail now rather than halfway through a response that is already being sent
+            if (content instanceof java.nio.file.Path path && !Files.isReadable(path)) {
+                throw new McpException(requestId, McpErrorCode.INTERNAL_ERROR, "Resource file not readable: " + uri);
+            }
+            return McpBlobContents.of(uri, mimeType, content);
+        }
+        String text = content != null ? content.toString() : "";
+        return ReadResourceResult.of(List.of(ResourceContents.text(uri, mimeType, text)));
+    }
+
     // --- Prompts ---
 
-    private Response handlePromptsList(JsonRpcRequest request, String sessionId, boolean sse) {
+    private McpEncodedResult handlePromptsList(JsonRpcRequest request, String sessionId) {
         sessionManager.requireSession(request.getId(), sessionId);
 
-        String cursor = extractCursor(request.getParams());
-        List<McpPromptDescriptor> allPrompts = new java.util.ArrayList<>(promptRegistry.listPrompts());
-        McpPagination.Page<McpPromptDescriptor> page = McpPagination.paginate(allPrompts, cursor);
-
-        Cursor nextCursor = page.nextCursor() != null ? new Cursor(page.nextCursor()) : null;
-        ListPromptsResult result = new ListPromptsResult(
-                page.items().stream()
-                        .map(p -> org.mcp_java.model.prompt.Prompt.of(
-                                p.getName(),
-                                p.getDescription(),
-                                p.getArguments().stream()
-                                        .map(a -> new PromptArgument(a.name(), a.description(), a.required()))
-                                        .toList()))
-                        .toList(),
-                nextCursor);
-
-        return respond(request.getId(), result, sse);
+        McpPagination.Position position = McpPagination.decodePosition(extractCursor(request.getParams()));
+        return promptRegistry
+                .snapshot(position.version())
+                .page(
+                        position.offset(),
+                        McpPagination.DEFAULT_PAGE_SIZE,
+                        codec,
+                        (prompts, next) -> new ListPromptsResult(
+                                prompts.stream()
+                                        .map(p -> org.mcp_java.model.prompt.Prompt.of(
+                                                p.getName(),
+                                                p.getDescription(),
+                                                p.getArguments().stream()
+                                                        .map(a -> new PromptArgument(
+                                                                a.name(), a.description(), a.required()))
+                                                        .toList()))
+                                        .toList(),
+                                cursor(next)));
     }
 
-    private Response handlePromptsGet(JsonRpcRequest request, String sessionId, boolean sse) {
+    private McpPromptGetResult handlePromptsGet(JsonRpcRequest request, String sessionId) {
         McpSession session = sessionManager.requireSession(request.getId(), sessionId);
 
         JsonObject params = request.getParams();
@@ -380,12 +817,12 @@ public class McpEndpoint {
                 .orElseThrow(() -> new McpException(
                         request.getId(), McpErrorCode.INVALID_PARAMS, "Prompt not found: " + promptName));
 
-        McpRequestContext ctx =
-                new McpRequestContext(sessionId, request.getId(), request.getProgressToken(), new AtomicBoolean(false));
+        McpRequestContext ctx = new McpRequestContext(
+                sessionId, request.getId(), request.getProgressToken(), new AtomicBoolean(false), listeners.current());
 
         try {
-            Object callResult = beanInvoker.invoke(
-                    request.getId(), prompt.getBeanType(), prompt.getMethod(), arguments, ctx, session);
+            Object callResult =
+                    beanInvoker.invoke(request.getId(), prompt.getInvocationPlan(), arguments, ctx, session);
             McpPromptGetResult result;
             if (callResult instanceof List<?> messages) {
                 @SuppressWarnings("unchecked")
@@ -395,15 +832,15 @@ public class McpEndpoint {
                 String text = callResult != null ? callResult.toString() : "";
                 result = new McpPromptGetResult(prompt.getDescription(), List.of(McpPromptMessage.user(text)));
             }
-            return respond(request.getId(), result, sse);
+            return result;
         } catch (McpException e) {
-            throw new McpException(request.getId(), e.getErrorCode(), e.getMessage());
+            throw new McpException(request.getId(), e.getErrorCode(), e.getMessage(), e.getData());
         }
     }
 
     // --- Resource Subscriptions ---
 
-    private Response handleResourcesSubscribe(JsonRpcRequest request, String sessionId) {
+    private Map<String, Object> handleResourcesSubscribe(JsonRpcRequest request, String sessionId) {
         sessionManager.requireSession(request.getId(), sessionId);
 
         JsonObject params = request.getParams();
@@ -414,13 +851,12 @@ public class McpEndpoint {
         }
 
         subscriptionManager.subscribe(sessionId, uri);
+        sessionManager.persist(sessionId);
 
-        return Response.ok(serializeToJson(JsonRpcResponse.success(request.getId(), Map.of())))
-                .type(MediaType.APPLICATION_JSON)
-                .build();
+        return Map.of();
     }
 
-    private Response handleResourcesUnsubscribe(JsonRpcRequest request, String sessionId) {
+    private Map<String, Object> handleResourcesUnsubscribe(JsonRpcRequest request, String sessionId) {
         sessionManager.requireSession(request.getId(), sessionId);
 
         JsonObject params = request.getParams();
@@ -431,36 +867,35 @@ public class McpEndpoint {
         }
 
         subscriptionManager.unsubscribe(sessionId, uri);
+        sessionManager.persist(sessionId);
 
-        return Response.ok(serializeToJson(JsonRpcResponse.success(request.getId(), Map.of())))
-                .type(MediaType.APPLICATION_JSON)
-                .build();
+        return Map.of();
     }
 
     // --- Resource Templates ---
 
-    private Response handleResourcesTemplatesList(JsonRpcRequest request, String sessionId, boolean sse) {
+    private McpEncodedResult handleResourcesTemplatesList(JsonRpcRequest request, String sessionId) {
         sessionManager.requireSession(request.getId(), sessionId);
 
-        String cursor = extractCursor(request.getParams());
-        List<McpResourceTemplateDescriptor> allTemplates = new java.util.ArrayList<>(resourceRegistry.listTemplates());
-        McpPagination.Page<McpResourceTemplateDescriptor> page = McpPagination.paginate(allTemplates, cursor);
-
-        Cursor nextCursor = page.nextCursor() != null ? new Cursor(page.nextCursor()) : null;
-        ListResourceTemplatesResult result = new ListResourceTemplatesResult(
-                page.items().stream()
-                        .map(t -> org.mcp_java.model.resource.ResourceTemplate.of(
-                                t.getUriTemplate(), t.getName(), t.getDescription(), t.getMimeType()))
-                        .toList(),
-                nextCursor);
-
-        return respond(request.getId(), result, sse);
+        McpPagination.Position position = McpPagination.decodePosition(extractCursor(request.getParams()));
+        return resourceRegistry
+                .templateSnapshot(position.version())
+                .page(
+                        position.offset(),
+                        McpPagination.DEFAULT_PAGE_SIZE,
+                        codec,
+                        (templates, next) -> new ListResourceTemplatesResult(
+                                templates.stream()
+                                        .map(t -> org.mcp_java.model.resource.ResourceTemplate.of(
+                                                t.getUriTemplate(), t.getName(), t.getDescription(), t.getMimeType()))
+                                        .toList(),
+                                cursor(next)));
     }
 
     // --- Completion ---
 
-    private Response handleCompletionComplete(JsonRpcRequest request, String sessionId, boolean sse) {
-        sessionManager.requireSession(request.getId(), sessionId);
+    private CompleteResult handleCompletionComplete(JsonRpcRequest request, String sessionId) {
+        McpSession session = sessionManager.requireSession(request.getId(), sessionId);
 
         JsonObject params = request.getParams();
         JsonObject ref = params != null && params.containsKey("ref") ? params.getJsonObject("ref") : null;
@@ -470,57 +905,46 @@ public class McpEndpoint {
         }
 
         String refType = ref.getString("type");
-        String refName = ref.containsKey("name") ? ref.getString("name") : null;
+        // Resource refs carry the template in "uri"; "name" is still accepted
+        String refName = ref.containsKey("name") ? ref.getString("name") : ref.getString("uri", null);
         JsonObject argument = params.containsKey("argument") ? params.getJsonObject("argument") : null;
         String argName = argument != null && argument.containsKey("name") ? argument.getString("name") : null;
         String argValue = argument != null && argument.containsKey("value") ? argument.getString("value") : "";
+        Map<String, String> context = completionContext(params);
 
-        CompleteResult result;
-        if ("ref/prompt".equals(refType) && refName != null && argName != null) {
-            result = completePromptArgument(refName, argName, argValue);
-        } else if ("ref/resource".equals(refType) && refName != null) {
-            result = completeResourceUri(refName, argValue);
-        } else {
-            result = new CompleteResult(new CompleteResult.Completion(List.of(), 0, false));
+        McpRequestContext ctx = new McpRequestContext(
+                sessionId, request.getId(), request.getProgressToken(), new AtomicBoolean(false), listeners.current());
+        try {
+            return completionRegistry.complete(
+                    request.getId(), refType, refName, argName, argValue, context, ctx, session);
+        } catch (McpException e) {
+            throw new McpException(request.getId(), e.getErrorCode(), e.getMessage(), e.getData());
         }
-
-        return respond(request.getId(), result, sse);
-    }
-
-    @SuppressWarnings("unused") // TODO check
-    private CompleteResult completePromptArgument(String promptName, String argName, String prefix) {
-        return promptRegistry
-                .findPrompt(promptName)
-                .map(prompt -> {
-                    List<String> matchingArgs = prompt.getArguments().stream()
-                            .map(McpPromptDescriptor.PromptArgument::name)
-                            .filter(name -> name.startsWith(prefix))
-                            .toList();
-                    return new CompleteResult(new CompleteResult.Completion(matchingArgs, matchingArgs.size(), false));
-                })
-                .orElse(new CompleteResult(new CompleteResult.Completion(List.of(), 0, false)));
     }
 
-    @SuppressWarnings("unused") // TODO check
-    private CompleteResult completeResourceUri(String uriTemplatePrefix, String prefix) {
-        List<String> matchingUris = resourceRegistry.listResources().stream()
-                .map(McpResourceDescriptor::getUri)
-                .filter(uri -> uri.startsWith(prefix))
-                .toList();
-        return new CompleteResult(new CompleteResult.Completion(matchingUris, matchingUris.size(), false));
+    private static Map<String, String> completionContext(JsonObject params) {
+        JsonObject context = params.containsKey("context") ? params.getJsonObject("context") : null;
+        JsonObject arguments =
+                context != null && context.containsKey(FIELD_ARGUMENTS) ? context.getJsonObject(FIELD_ARGUMENTS) : null;
+        if (arguments == null || arguments.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, String> values = new HashMap<>();
+        arguments.forEach((name, value) ->
+                values.put(name, value instanceof JsonString string ? string.getString() : value.toString()));
+        return values;
     }
 
     // --- Notifications ---
 
-    private Response handleNotificationsCancelled(JsonRpcRequest request) {
+    private void handleNotificationsCancelled(JsonRpcRequest request, String sessionId) {
         JsonObject params = request.getParams();
         if (params != null && params.containsKey("requestId")) {
             Object cancelledRequestId = extractJsonPrimitive(params.get("requestId"));
             if (cancelledRequestId != null) {
-                cancellationManager.cancel(cancelledRequestId);
+                cancellationManager.cancel(sessionId, cancelledRequestId);
             }
         }
-        return Response.ok().build();
     }
 
     private Object extractJsonPrimitive(JsonValue value) {
@@ -534,17 +958,16 @@ public class McpEndpoint {
     }
 
     @SuppressWarnings("unused") // TODO check
-    private Response handleRootsListChanged(JsonRpcRequest request, String sessionId) {
+    private void handleRootsListChanged(JsonRpcRequest request, String sessionId) {
         if (sessionId != null) {
-            rootsManager.onRootsChanged(sessionId);
+            rootsManager.onRootsChanged(sessionId).thenRun(() -> sessionManager.persist(sessionId));
         }
-        return Response.ok().build();
     }
 
     // --- Logging ---
 
-    private Response handleLoggingSetLevel(JsonRpcRequest request, String sessionId) {
-        sessionManager.requireSession(request.getId(), sessionId);
+    private Map<String, Object> handleLoggingSetLevel(JsonRpcRequest request, String sessionId) {
+        McpSession session = sessionManager.requireSession(request.getId(), sessionId);
 
         JsonObject params = request.getParams();
         String level = params != null && params.containsKey("level") ? params.getString("level") : null;
@@ -554,65 +977,47 @@ public class McpEndpoint {
         }
 
         try {
-            mcpLogger.setMinimumLevel(McpLogLevel.valueOf(level));
+            // Only this client's level changes; other sessions keep theirs
+            session.setLogLevel(McpLogLevel.valueOf(level));
         } catch (IllegalArgumentException e) {
             throw new McpException(request.getId(), McpErrorCode.INVALID_PARAMS, "Invalid log level: " + level);
         }
+        sessionManager.persist(sessionId);
 
-        return Response.ok(serializeToJson(JsonRpcResponse.success(request.getId(), Map.of())))
-                .type(MediaType.APPLICATION_JSON)
-                .build();
+        return Map.of();
     }
 
     // --- Ping ---
 
-    private Response handlePing(JsonRpcRequest request) {
-        return Response.ok(serializeToJson(JsonRpcResponse.success(request.getId(), Map.of())))
-                .type(MediaType.APPLICATION_JSON)
-                .build();
+    private Map<String, Object> handlePing() {
+        return Map.of();
     }
 
     // --- Shared ---
 
     private Response respond(Object id, Object result, boolean sse) {
-        JsonRpcResponse rpcResponse = JsonRpcResponse.success(id, result);
-        String json = serializeToJson(rpcResponse);
-        if (!sse) {
-            return Response.ok(json).type(MediaType.APPLICATION_JSON).build();
-        }
-        String payload = "event: message\ndata: " + json + "\n\n";
-        StreamingOutput stream = out -> {
-            out.write(payload.getBytes(StandardCharsets.UTF_8));
-            out.flush();
-        };
-        return Response.ok(stream, MediaType.SERVER_SENT_EVENTS)
-                .header(HEADER_CACHE_CONTROL, HEADER_NO_CACHE)
-                .build();
+        return respond(JsonRpcResponse.success(id, result), sse).build();
     }
 
-    private boolean isJsonRpcResponse(String body) {
-        try (JsonReader reader = Json.createReader(new StringReader(body))) {
-            JsonObject json = reader.readObject();
-            return !json.containsKey(FIELD_METHOD) && (json.containsKey(FIELD_RESULT) || json.containsKey(FIELD_ERROR));
-        } catch (Exception e) {
-            return false;
+    /** Streams the response straight from the codec into the container's output stream. */
+    private Response.ResponseBuilder respond(JsonRpcResponse rpcResponse, boolean sse) {
+        if (!sse) {
+            StreamingOutput json = listeners.observe(out -> codec.write(rpcResponse, out));
+            return Response.ok(json).type(MediaType.APPLICATION_JSON);
         }
+        StreamingOutput stream = listeners.observe(out -> codec.writeSseEvent(rpcResponse, out));
+        return Response.ok(stream, MediaType.SERVER_SENT_EVENTS).header(HEADER_CACHE_CONTROL, HEADER_NO_CACHE);
     }
 
-    private Response handleClientResponse(String body) {
-        try (JsonReader reader = Json.createReader(new StringReader(body))) {
-            JsonObject json = reader.readObject();
-            Object id = extractId(json);
-            if (json.containsKey(FIELD_RESULT)) {
-                JsonObject result = json.getJsonObject(FIELD_RESULT);
-                serverRequestManager.handleResponse(id, result);
-            } else if (json.containsKey(FIELD_ERROR)) {
-                JsonObject error = json.getJsonObject(FIELD_ERROR);
-                String message = error.containsKey("message") ? error.getString("message") : "Unknown error";
-                serverRequestManager.handleErrorResponse(id, message);
-            }
+    private void handleClientResponse(JsonRpcMessage message, String sessionId) {
+        if (message.result() != null) {
+            JsonObject result = message.result() instanceof JsonObject object ? object : JsonValue.EMPTY_JSON_OBJECT;
+            serverRequestManager.handleResponse(sessionId, message.id(), result);
+        } else if (message.error() != null) {
+            JsonObject error = message.error();
+            String errorMessage = error.containsKey("message") ? error.getString("message") : "Unknown error";
+            serverRequestManager.handleErrorResponse(sessionId, message.id(), errorMessage);
         }
-        return Response.ok().build();
     }
 
     private String extractCursor(JsonObject params) {
@@ -622,63 +1027,11 @@ public class McpEndpoint {
         return null;
     }
 
-    private McpServerConfig resolveConfig() {
-        if (configInstance != null && configInstance.isResolvable()) {
-            return configInstance.get();
-        }
-        return new McpServerConfig();
-    }
-
-    private JsonRpcRequest parseRequest(String body) {
-        try (JsonReader reader = Json.createReader(new StringReader(body))) {
-            JsonObject json = reader.readObject();
-            Object id = extractId(json);
-            String method = json.containsKey(FIELD_METHOD) ? json.getString(FIELD_METHOD) : null;
-            JsonObject params = json.containsKey("params") ? json.getJsonObject("params") : null;
-            JsonRpcRequest request = new JsonRpcRequest(id, method, params);
-            request.setProgressToken(extractProgressToken(params));
-            return request;
-        }
+    private static Cursor cursor(String next) {
+        return next != null ? new Cursor(next) : null;
     }
 
-    private Object extractProgressToken(JsonObject params) {
-        if (params == null || !params.containsKey("_meta")) {
-            return null;
-        }
-        JsonObject meta = params.getJsonObject("_meta");
-        if (meta == null || !meta.containsKey(FIELD_PROGRESS_TOKEN)) {
-            return null;
-        }
-        JsonValue tokenValue = meta.get(FIELD_PROGRESS_TOKEN);
-        if (tokenValue instanceof JsonString value) {
-            return value.getString();
-        }
-        if (tokenValue.getValueType() == JsonValue.ValueType.NUMBER) {
-            return meta.getJsonNumber(FIELD_PROGRESS_TOKEN).longValue();
-        }
-        return tokenValue.toString();
-    }
-
-    private Object extractId(JsonObject json) {
-        if (!json.containsKey("id")) {
-            return null;
-        }
-        JsonValue idValue = json.get("id");
-        if (idValue instanceof JsonString value) {
-            return value.getString();
-        }
-        if (idValue.getValueType() == JsonValue.ValueType.NUMBER) {
-            return json.getJsonNumber("id").longValue();
-        }
-        return idValue.toString();
-    }
-
-    private String serializeToJson(Object obj) {
-        JsonbConfig config = new JsonbConfig().withNullValues(false);
-        try (Jsonb jsonb = JsonbBuilder.create(config)) {
-            return jsonb.toJson(obj);
-        } catch (Exception e) {
-            throw new McpException(null, McpErrorCode.INTERNAL_ERROR, "JSON serialization failed");
-        }
+    private McpServerConfig resolveConfig() {
+        return McpServerConfig.resolve(configInstance);
     }
 }
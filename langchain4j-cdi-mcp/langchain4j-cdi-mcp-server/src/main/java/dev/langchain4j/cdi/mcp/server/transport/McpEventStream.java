@@ -0,0 +1,60 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A client's server-to-client SSE stream, as registered with {@link McpNotificationBroadcaster}. Implementations exist
+ * for a raw response {@link java.io.OutputStream} and for an asynchronous JAX-RS
+ * {@link jakarta.ws.rs.sse.SseEventSink}.
+ */
+public interface McpEventStream {
+
+    /**
+     * Sends one {@code message} event carrying already encoded JSON.
+     *
+     * @throws IOException if the peer is known to be gone
+     */
+    void sendMessage(byte[] json) throws IOException;
+
+    /** Sends an SSE comment line, used for keep-alives. */
+    void sendComment(String comment) throws IOException;
+
+    /**
+     * Sends one {@code message} event, completing once the stream has accepted it. {@link McpSessionOutbox} writes the
+     * next event only after that, so a slow peer holds events in the bounded outbox rather than in transport buffers.
+     * The default sends synchronously.
+     */
+    default CompletionStage<Void> sendMessageAsync(byte[] json) {
+        try {
+            sendMessage(json);
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /** Sends an SSE comment line, completing once the stream has accepted it. The default sends synchronously. */
+    default CompletionStage<Void> sendCommentAsync(String comment) {
+        try {
+            sendComment(comment);
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Whether sends block the calling thread on network I/O. Blocking streams are drained on dedicated writer threads
+     * rather than on the shared worker pool.
+     */
+    default boolean isBlocking() {
+        return true;
+    }
+
+    /** Whether the stream has been closed, locally or because a write to the peer failed. */
+    boolean isClosed();
+
+    void close();
+}
@@ -1,11 +1,13 @@
 package dev.langchain4j.cdi.mcp.server.transport;
 
 import dev.langchain4j.cdi.mcp.server.error.McpException;
+import dev.langchain4j.cdi.mcp.server.error.McpRejectedException;
 import dev.langchain4j.cdi.mcp.server.protocol.JsonRpcError;
 import dev.langchain4j.cdi.mcp.server.protocol.JsonRpcResponse;
-import jakarta.json.bind.Jsonb;
-import jakarta.json.bind.JsonbBuilder;
-import jakarta.json.bind.JsonbConfig;
+import dev.langchain4j.cdi.mcp.server.protocol.McpJsonCodec;
+import jakarta.inject.Inject;
+import jakarta.json.bind.JsonbException;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
@@ -14,15 +16,25 @@ import jakarta.ws.rs.ext.Provider;
 @Provider
 public class McpExceptionMapper implements ExceptionMapper<McpException> {
 
+    @Inject
+    McpJsonCodec codec;
+
     @Override
     public Response toResponse(McpException e) {
         JsonRpcResponse errorResponse = JsonRpcResponse.error(
-                e.getRequestId(), new JsonRpcError(e.getErrorCode().getCode(), e.getMessage()));
-        JsonbConfig config = new JsonbConfig().withNullValues(false);
-        try (Jsonb jsonb = JsonbBuilder.create(config)) {
-            String json = jsonb.toJson(errorResponse);
-            return Response.ok(json).type(MediaType.APPLICATION_JSON).build();
-        } catch (Exception ex) {
+                e.getRequestId(), new JsonRpcError(e.getErrorCode().getCode(), e.getMessage(), e.getData()));
+        // Providers are not always CDI-managed, fall back to the shared default codec
+        McpJsonCodec jsonCodec = codec != null ? codec : McpJsonCodec.getDefault();
+        try {
+            byte[] json = jsonCodec.toBytes(errorResponse);
+            Response.ResponseBuilder response = Response.ok(json).type(MediaType.APPLICATION_JSON);
+            if (e instanceof McpRejectedException rejected) {
+                // Whole seconds, rounded up
+                long seconds = (rejected.getRetryAfterMillis() + 999) / 1000;
+                response.header(HttpHeaders.RETRY_AFTER, Math.max(1, seconds));
+            }
+            return response.build();
+        } catch (JsonbException ex) {
             return Response.serverError().build();
         }
     }
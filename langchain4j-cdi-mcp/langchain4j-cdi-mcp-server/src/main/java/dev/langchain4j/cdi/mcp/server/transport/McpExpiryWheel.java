@@ -0,0 +1,128 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Timing wheel for items whose deadline keeps moving forward, such as idle timeouts. Each item sits in the bucket of
+ * the deadline it had when it was last placed; extending a deadline costs nothing, because an item found in a bucket
+ * before its current deadline is simply moved to the bucket it now belongs to. A tick only visits the items of the
+ * buckets that came due, never the whole population.
+ *
+ * <p>Deadlines are {@link System#nanoTime()} values. Buckets are {@code granularityNanos} wide; a wheel shorter than
+ * the longest deadline is still correct, items further out just get visited once per revolution.
+ */
+final class McpExpiryWheel<T> {
+
+    private final long originNanos;
+    private final long granularityNanos;
+    private final List<List<T>> buckets;
+    private long processedTick = -1;
+
+    McpExpiryWheel(long granularityNanos, int wheelSize, long originNanos) {
+        this.granularityNanos = Math.max(1, granularityNanos);
+        this.originNanos = originNanos;
+        int size = Math.max(2, wheelSize);
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new ArrayList<>());
+        }
+    }
+
+    /** Places {@code item} in the bucket of {@code deadlineNanos}. */
+    void schedule(T item, long deadlineNanos) {
+        List<T> bucket = buckets.get(index(tick(deadlineNanos)));
+        synchronized (bucket) {
+            bucket.add(item);
+        }
+    }
+
+    /**
+     * Visits the buckets that came due up to {@code nowNanos}. Items past their current deadline are dropped from the
+     * wheel and passed to {@code onExpired}; the others are moved to the bucket of their current deadline. Items
+     * {@code deadlineOf} maps to {@link Long#MIN_VALUE} have been removed elsewhere and are dropped silently.
+     */
+    synchronized void advance(long nowNanos, ToLongFunction<T> deadlineOf, Consumer<T> onExpired) {
+        long currentTick = tick(nowNanos);
+        // Bucket of the current tick is visited again next time: items in it may not be due yet
+        long first = Math.max(processedTick + 1, currentTick - buckets.size() + 1);
+        for (long tick = first; tick <= currentTick; tick++) {
+            for (T item : drain(tick)) {
+                long deadline = deadlineOf.applyAsLong(item);
+                if (deadline == Long.MIN_VALUE) {
+                    continue;
+                }
+                if (deadline - nowNanos <= 0) {
+                    onExpired.accept(item);
+                } else {
+                    schedule(item, deadline);
+                }
+            }
+        }
+        processedTick = currentTick - 1;
+    }
+
+    /**
+     * Removes and returns the item with the earliest deadline, to the precision of one bucket, or {@code null} if the
+     * wheel is empty. Items found in an earlier bucket than their current deadline are moved on the way.
+     */
+    synchronized T pollEarliest(ToLongFunction<T> deadlineOf) {
+        long startTick = processedTick + 1;
+        while (true) {
+            long nextTick = Long.MAX_VALUE;
+            for (long tick = startTick; tick < startTick + buckets.size(); tick++) {
+                T earliest = null;
+                long earliestDeadline = 0;
+                for (T item : drain(tick)) {
+                    long deadline = deadlineOf.applyAsLong(item);
+                    if (deadline == Long.MIN_VALUE) {
+                        continue;
+                    }
+                    long itemTick = tick(deadline);
+                    if (itemTick > tick) {
+                        schedule(item, deadline);
+                        nextTick = Math.min(nextTick, itemTick);
+                    } else if (earliest == null || deadline - earliestDeadline < 0) {
+                        if (earliest != null) {
+                            schedule(earliest, earliestDeadline);
+                        }
+                        earliest = item;
+                        earliestDeadline = deadline;
+                    } else {
+                        schedule(item, deadline);
+                    }
+                }
+                if (earliest != null) {
+                    return earliest;
+                }
+            }
+            if (nextTick == Long.MAX_VALUE) {
+                return null;
+            }
+            // Only items more than one revolution ahead are left
+            startTick = Math.max(startTick + buckets.size(), nextTick);
+        }
+    }
+
+    private List<T> drain(long tick) {
+        List<T> bucket = buckets.get(index(tick));
+        synchronized (bucket) {
+            if (bucket.isEmpty()) {
+                return List.of();
+            }
+            List<T> items = new ArrayList<>(bucket);
+            bucket.clear();
+            return items;
+        }
+    }
+
+    private long tick(long nanos) {
+        return Math.floorDiv(nanos - originNanos, granularityNanos);
+    }
+
+    private int index(long tick) {
+        return (int) Math.floorMod(tick, (long) buckets.size());
+    }
+}
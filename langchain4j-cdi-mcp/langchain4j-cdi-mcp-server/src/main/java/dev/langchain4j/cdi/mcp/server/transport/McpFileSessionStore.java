@@ -0,0 +1,114 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * {@link McpSessionStore} keeping one file per session in a directory, typically on a volume shared by all server
+ * nodes. Each file holds the {@link McpSessionState#toBytes() compact binary form} and is replaced atomically.
+ */
+public class McpFileSessionStore implements McpSessionStore {
+
+    private static final Logger LOGGER = Logger.getLogger(McpFileSessionStore.class.getName());
+    private static final String SUFFIX = ".session";
+    private static final Pattern SESSION_ID = Pattern.compile("[A-Za-z0-9-]{1,128}");
+
+    private final Path directory;
+
+    public McpFileSessionStore(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create session store directory " + directory, e);
+        }
+    }
+
+    @Override
+    public void save(McpSessionState state) {
+        Path target = file(state.id());
+        if (target == null) {
+            throw new IllegalArgumentException("Invalid session id: " + state.id());
+        }
+        try {
+            Path temp = Files.createTempFile(directory, state.id(), ".tmp");
+            try {
+                Files.write(temp, state.toBytes());
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot save session " + state.id(), e);
+        }
+    }
+
+    @Override
+    public McpSessionState load(String sessionId) {
+        // Session ids come from a request header: anything that is not a plain id never maps to a file
+        Path source = file(sessionId);
+        if (source == null) {
+            return null;
+        }
+        try {
+            return McpSessionState.fromBytes(Files.readAllBytes(source));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load session " + sessionId, e);
+        }
+    }
+
+    @Override
+    public void delete(String sessionId) {
+        Path target = file(sessionId);
+        if (target == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(target);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot delete session " + sessionId, e);
+        }
+    }
+
+    @Override
+    public List<String> removeExpired(Instant cutoff) {
+        List<String> removed = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                try {
+                    McpSessionState state = McpSessionState.fromBytes(Files.readAllBytes(file));
+                    if (state.lastAccessedAt().isBefore(cutoff) && Files.deleteIfExists(file)) {
+                        removed.add(state.id());
+                    }
+                } catch (NoSuchFileException e) {
+                    // Removed concurrently by another node
+                } catch (IOException | RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "MCP: Skipping unreadable session file " + file, e);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list sessions in " + directory, e);
+        }
+        return removed;
+    }
+
+    private Path file(String sessionId) {
+        if (sessionId == null || !SESSION_ID.matcher(sessionId).matches()) {
+            return null;
+        }
+        return directory.resolve(sessionId + SUFFIX);
+    }
+}
@@ -0,0 +1,46 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Default {@link McpSessionStore}: sessions live in this JVM only, which requires sticky load balancing. */
+public class McpInMemorySessionStore implements McpSessionStore {
+
+    private final Map<String, McpSessionState> states = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(McpSessionState state) {
+        states.put(state.id(), state);
+    }
+
+    @Override
+    public McpSessionState load(String sessionId) {
+        return states.get(sessionId);
+    }
+
+    @Override
+    public void delete(String sessionId) {
+        states.remove(sessionId);
+    }
+
+    @Override
+    public List<String> removeExpired(Instant cutoff) {
+        List<String> removed = new ArrayList<>();
+        states.values().removeIf(state -> {
+            if (state.lastAccessedAt().isBefore(cutoff)) {
+                removed.add(state.id());
+                return true;
+            }
+            return false;
+        });
+        return removed;
+    }
+
+    @Override
+    public boolean isLocal() {
+        return true;
+    }
+}
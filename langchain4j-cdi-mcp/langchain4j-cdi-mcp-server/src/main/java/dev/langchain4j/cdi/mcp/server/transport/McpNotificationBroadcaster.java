@@ -1,76 +1,280 @@
 package dev.langchain4j.cdi.mcp.server.transport;
 
+import dev.langchain4j.cdi.mcp.server.protocol.JsonRpcNotification;
+import dev.langchain4j.cdi.mcp.server.protocol.McpJsonCodec;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.json.bind.Jsonb;
-import jakarta.json.bind.JsonbBuilder;
-import jakarta.json.bind.JsonbConfig;
-import java.io.IOException;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.json.bind.JsonbException;
 import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+/**
+ * Delivers notifications over the sessions' SSE streams. Each stream has its own bounded {@link McpSessionOutbox}
+ * drained by a single writer task, so a slow client only ever delays itself. Asynchronous streams are drained on the
+ * task executor; streams whose writes block get threads of their own, so that they never hold shared workers.
+ */
 @ApplicationScoped
 public class McpNotificationBroadcaster {
 
     private static final Logger LOGGER = Logger.getLogger(McpNotificationBroadcaster.class.getName());
+    private static final String KEEP_ALIVE_COMMENT = "keep-alive";
+    private static final Executor DIRECT = Runnable::run;
 
-    private final Map<String, OutputStream> sseStreams = new ConcurrentHashMap<>();
+    private final Map<String, McpSessionOutbox> outboxes = new ConcurrentHashMap<>();
+    private final LongAdder droppedEvents = new LongAdder();
+    private final Executor writerExecutor;
+
+    @Inject
+    McpJsonCodec codec;
+
+    @Inject
+    McpServerScheduler scheduler;
+
+    @Inject
+    McpTaskExecutor taskExecutor;
+
+    @Inject
+    McpServerListeners listeners;
+
+    @Inject
+    @Named("mcp-server")
+    Instance<McpServerConfig> configInstance;
+
+    private ScheduledFuture<?> keepAliveTask;
+    private volatile ExecutorService blockingWriters;
+
+    /** Outside a CDI container, writes happen synchronously on the calling thread. */
+    public McpNotificationBroadcaster() {
+        this(null);
+    }
+
+    McpNotificationBroadcaster(Executor writerExecutor) {
+        this.writerExecutor = writerExecutor;
+    }
+
+    @PostConstruct
+    void startKeepAlive() {
+        Duration interval = McpServerConfig.resolve(configInstance).getKeepAliveInterval();
+        if (scheduler != null && interval != null && !interval.isZero() && !interval.isNegative()) {
+            long millis = interval.toMillis();
+            keepAliveTask = scheduler.scheduleAtFixedRate(this::sendKeepAlive, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stopKeepAlive() {
+        if (keepAliveTask != null) {
+            keepAliveTask.cancel(false);
+        }
+        outboxes.values().forEach(McpSessionOutbox::close);
+        outboxes.clear();
+        ExecutorService writers = blockingWriters;
+        if (writers != null) {
+            writers.shutdownNow();
+        }
+    }
 
     public void registerStream(String sessionId, OutputStream out) {
-        sseStreams.put(sessionId, out);
+        registerStream(sessionId, new OutputStreamEventStream(out));
+    }
+
+    /** Registers the SSE stream of a session, closing any stream the session previously had open. */
+    public void registerStream(String sessionId, McpEventStream stream) {
+        McpServerConfig config = McpServerConfig.resolve(configInstance);
+        McpSessionOutbox outbox = new McpSessionOutbox(
+                sessionId,
+                listeners != null ? listeners.observe(stream) : stream,
+                config.getOutboundQueueCapacity(),
+                config.getOverflowPolicy(),
+                writerExecutor(stream),
+                droppedEvents,
+                closed -> outboxes.remove(closed.sessionId(), closed));
+        McpSessionOutbox previous = outboxes.put(sessionId, outbox);
+        if (previous != null) {
+            previous.close();
+        }
     }
 
     public void unregisterStream(String sessionId) {
-        sseStreams.remove(sessionId);
+        McpSessionOutbox outbox = outboxes.remove(sessionId);
+        if (outbox != null) {
+            outbox.close();
+        }
     }
 
     public void broadcast(Object notification) {
-        String json = serializeToJson(notification);
-        String payload = "event: message\ndata: " + json + "\n\n";
-        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
-
-        sseStreams.entrySet().removeIf(entry -> {
-            try {
-                entry.getValue().write(bytes);
-                entry.getValue().flush();
-                return false;
-            } catch (IOException e) {
-                LOGGER.log(Level.FINE, "MCP: Removing disconnected SSE stream: " + entry.getKey(), e);
-                return true;
+        if (outboxes.isEmpty()) {
+            return;
+        }
+        // Encoded once, then queued as-is for every connected stream
+        byte[] json = encode(notification);
+        if (json == null) {
+            return;
+        }
+        String coalescingKey = coalescingKey(notification);
+        for (McpSessionOutbox outbox : outboxes.values()) {
+            outbox.offerMessage(json, coalescingKey);
+        }
+    }
+
+    /**
+     * Sends one notification to every connected stream whose session passes {@code sessionFilter}, encoding it once and
+     * only if some session does.
+     */
+    public void broadcast(Object notification, Predicate<String> sessionFilter) {
+        byte[] json = null;
+        String coalescingKey = null;
+        for (McpSessionOutbox outbox : outboxes.values()) {
+            if (!sessionFilter.test(outbox.sessionId())) {
+                continue;
             }
-        });
+            if (json == null) {
+                json = encode(notification);
+                if (json == null) {
+                    return;
+                }
+                coalescingKey = coalescingKey(notification);
+            }
+            outbox.offerMessage(json, coalescingKey);
+        }
     }
 
     public void sendToSession(String sessionId, Object notification) {
-        OutputStream out = sseStreams.get(sessionId);
-        if (out == null) {
+        McpSessionOutbox outbox = outboxes.get(sessionId);
+        if (outbox == null) {
             return;
         }
-        String json = serializeToJson(notification);
-        String payload = "event: message\ndata: " + json + "\n\n";
-        try {
-            out.write(payload.getBytes(StandardCharsets.UTF_8));
-            out.flush();
-        } catch (IOException e) {
-            LOGGER.log(Level.FINE, "MCP: Removing disconnected SSE stream: " + sessionId, e);
-            sseStreams.remove(sessionId);
+        byte[] json = encode(notification);
+        if (json != null) {
+            outbox.offerMessage(json, coalescingKey(notification));
         }
     }
 
+    /** Sends one notification to several sessions, encoding it once. Sessions without a stream are skipped. */
+    public void sendToSessions(Collection<String> sessionIds, Object notification) {
+        if (sessionIds.isEmpty() || outboxes.isEmpty()) {
+            return;
+        }
+        byte[] json = null;
+        String coalescingKey = null;
+        for (String sessionId : sessionIds) {
+            McpSessionOutbox outbox = outboxes.get(sessionId);
+            if (outbox == null) {
+                continue;
+            }
+            if (json == null) {
+                json = encode(notification);
+                if (json == null) {
+                    return;
+                }
+                coalescingKey = coalescingKey(notification);
+            }
+            outbox.offerMessage(json, coalescingKey);
+        }
+    }
+
+    /** Whether the session of some connected stream passes {@code sessionFilter}. */
+    public boolean anyConnected(Predicate<String> sessionFilter) {
+        for (McpSessionOutbox outbox : outboxes.values()) {
+            if (sessionFilter.test(outbox.sessionId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public int connectedStreamCount() {
-        return sseStreams.size();
+        return outboxes.size();
+    }
+
+    /** Events waiting in the outbound queues of all sessions. */
+    public int queuedEventCount() {
+        int total = 0;
+        for (McpSessionOutbox outbox : outboxes.values()) {
+            total += outbox.depth();
+        }
+        return total;
+    }
+
+    /** Events waiting in the outbound queue of one session; 0 when it has no stream. */
+    public int queueDepth(String sessionId) {
+        McpSessionOutbox outbox = outboxes.get(sessionId);
+        return outbox != null ? outbox.depth() : 0;
     }
 
-    private String serializeToJson(Object obj) {
-        JsonbConfig config = new JsonbConfig().withNullValues(false);
-        try (Jsonb jsonb = JsonbBuilder.create(config)) {
-            return jsonb.toJson(obj);
-        } catch (Exception e) {
+    /** Events discarded by overflow policies or lost with a disconnected stream since startup. */
+    public long droppedEventCount() {
+        return droppedEvents.sum();
+    }
+
+    /**
+     * Queues an SSE comment on every idle stream. Writing is the only reliable way to notice a peer that went away
+     * without closing its connection; streams that fail are dropped by their outbox.
+     */
+    void sendKeepAlive() {
+        for (McpSessionOutbox outbox : outboxes.values()) {
+            outbox.offerKeepAlive(KEEP_ALIVE_COMMENT);
+        }
+    }
+
+    private Executor writerExecutor(McpEventStream stream) {
+        if (writerExecutor != null) {
+            return writerExecutor;
+        }
+        if (taskExecutor == null) {
+            return DIRECT;
+        }
+        return stream.isBlocking() ? blockingWriters() : taskExecutor.executor();
+    }
+
+    /** Threads for blocking streams: one per stream while it drains, released when idle. */
+    private ExecutorService blockingWriters() {
+        ExecutorService result = blockingWriters;
+        if (result == null) {
+            synchronized (this) {
+                result = blockingWriters;
+                if (result == null) {
+                    AtomicInteger counter = new AtomicInteger();
+                    result = Executors.newCachedThreadPool(r -> {
+                        Thread t = new Thread(r, "mcp-sse-writer-" + counter.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    });
+                    blockingWriters = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static String coalescingKey(Object notification) {
+        return notification instanceof JsonRpcNotification rpcNotification ? rpcNotification.coalescingKey() : null;
+    }
+
+    private byte[] encode(Object notification) {
+        McpJsonCodec jsonCodec = codec != null ? codec : McpJsonCodec.getDefault();
+        try {
+            return jsonCodec.toBytes(notification);
+        } catch (JsonbException e) {
             LOGGER.log(Level.WARNING, "MCP: Failed to serialize notification", e);
-            return "{}";
+            return null;
         }
     }
 }
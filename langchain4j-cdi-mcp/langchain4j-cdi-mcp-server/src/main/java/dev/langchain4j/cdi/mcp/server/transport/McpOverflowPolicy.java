@@ -0,0 +1,14 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+/** What a session's outbound SSE queue does when a slow client lets it fill up. */
+public enum McpOverflowPolicy {
+    /** Discard the oldest queued event to make room for the new one. */
+    DROP_OLDEST,
+    /**
+     * Replace a queued event that the new one supersedes (same progress token, resource or list change); fall back to
+     * dropping the oldest event when there is none.
+     */
+    COALESCE,
+    /** Close the stream; the client has to reconnect and resynchronize. */
+    DISCONNECT
+}
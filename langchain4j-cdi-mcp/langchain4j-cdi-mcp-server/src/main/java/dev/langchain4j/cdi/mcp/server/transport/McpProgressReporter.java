@@ -2,11 +2,25 @@ package dev.langchain4j.cdi.mcp.server.transport;
 
 import dev.langchain4j.cdi.mcp.server.protocol.JsonRpcNotification;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Reports progress for long-running MCP operations. When a request includes {@code _meta.progressToken}, the server can
  * send {@code notifications/progress} to the client via SSE.
+ *
+ * <p>Progress is sent only to the session that issued the request, and only while the request is running
+ * ({@link #begin} to {@link #complete}); updates for a token no running request of the session owns are dropped.
+ * Updates for a token are throttled to one per {@link McpServerConfig#getProgressInterval()}: intermediate values are
+ * replaced by newer ones, and the latest value is always delivered, at the latest when the request completes.
  */
 @ApplicationScoped
 public class McpProgressReporter {
@@ -14,9 +28,52 @@ public class McpProgressReporter {
     @Inject
     McpNotificationBroadcaster broadcaster;
 
+    @Inject
+    McpServerScheduler scheduler;
+
+    @Inject
+    @Named("mcp-server")
+    Instance<McpServerConfig> configInstance;
+
+    private final Map<ProgressKey, TokenState> activeTokens = new ConcurrentHashMap<>();
+
+    /** Sessions running a request with a given token, for updates reported without a session. */
+    private final Map<Object, Set<String>> tokenSessions = new ConcurrentHashMap<>();
+
+    /** Marks {@code progressToken} as owned by {@code sessionId} for the duration of a request. */
+    public void begin(String sessionId, Object progressToken) {
+        if (sessionId == null || progressToken == null) {
+            return;
+        }
+        Duration interval = McpServerConfig.resolve(configInstance).getProgressInterval();
+        long intervalNanos = interval != null && !interval.isNegative() ? interval.toNanos() : 0;
+        activeTokens.put(new ProgressKey(sessionId, progressToken), new TokenState(intervalNanos));
+        tokenSessions.compute(progressToken, (token, sessions) -> {
+            Set<String> updated = sessions != null ? new HashSet<>(sessions) : new HashSet<>();
+            updated.add(sessionId);
+            return Set.copyOf(updated);
+        });
+    }
+
+    /** Ends the request owning {@code progressToken}, sending the update still held back by throttling, if any. */
+    public void complete(String sessionId, Object progressToken) {
+        if (sessionId == null || progressToken == null) {
+            return;
+        }
+        TokenState state = activeTokens.remove(new ProgressKey(sessionId, progressToken));
+        if (state != null) {
+            tokenSessions.computeIfPresent(progressToken, (token, sessions) -> {
+                Set<String> updated = new HashSet<>(sessions);
+                updated.remove(sessionId);
+                return updated.isEmpty() ? null : Set.copyOf(updated);
+            });
+            send(sessionId, state.takePending());
+        }
+    }
+
     /**
-     * Reports progress for a given token. Has no effect if the broadcaster is not available or no streams are
-     * connected.
+     * Reports progress for a given token. Has no effect if the broadcaster is not available or no running request owns
+     * the token.
      *
      * @param progressToken the token from the request's {@code _meta.progressToken}
      * @param progress current progress value
@@ -27,7 +84,8 @@ public class McpProgressReporter {
     }
 
     /**
-     * Reports progress for a given token, with an optional message.
+     * Reports progress for a given token, with an optional message. The update goes to the session owning the token; it
+     * is dropped when no running request owns the token, or when requests of several sessions use it.
      *
      * @param progressToken the token from the request's {@code _meta.progressToken}
      * @param progress current progress value
@@ -35,9 +93,114 @@ public class McpProgressReporter {
      * @param message optional human-readable progress message
      */
     public void reportProgress(Object progressToken, double progress, double total, String message) {
-        if (progressToken == null || broadcaster == null || broadcaster.connectedStreamCount() == 0) {
+        if (progressToken == null || broadcaster == null) {
+            return;
+        }
+        Set<String> owners = tokenSessions.get(progressToken);
+        if (owners != null && owners.size() == 1) {
+            reportProgress(owners.iterator().next(), progressToken, progress, total, message);
+        }
+    }
+
+    /**
+     * Reports progress for a token of the given session. Dropped unless a running request of the session owns the
+     * token.
+     *
+     * @param sessionId the session that issued the request
+     * @param progressToken the token from the request's {@code _meta.progressToken}
+     * @param progress current progress value
+     * @param total total expected value (0 if unknown)
+     * @param message optional human-readable progress message
+     */
+    public void reportProgress(String sessionId, Object progressToken, double progress, double total, String message) {
+        if (sessionId == null) {
+            reportProgress(progressToken, progress, total, message);
+            return;
+        }
+        if (progressToken == null || broadcaster == null) {
             return;
         }
-        broadcaster.broadcast(JsonRpcNotification.progress(progressToken, progress, total, message));
+        ProgressKey key = new ProgressKey(sessionId, progressToken);
+        TokenState state = activeTokens.get(key);
+        if (state == null) {
+            return;
+        }
+        JsonRpcNotification notification = JsonRpcNotification.progress(progressToken, progress, total, message);
+        boolean last = total > 0 && progress >= total;
+        long delay = state.offer(notification, last);
+        if (delay == 0) {
+            send(sessionId, state.takePending());
+        } else if (delay > 0 && scheduler != null) {
+            state.setFlushTask(scheduler.schedule(() -> flush(key, state), delay, TimeUnit.NANOSECONDS));
+        }
+    }
+
+    private void flush(ProgressKey key, TokenState state) {
+        if (activeTokens.get(key) == state) {
+            send(key.sessionId(), state.takePending());
+        }
+    }
+
+    private void send(String sessionId, JsonRpcNotification notification) {
+        if (notification != null) {
+            broadcaster.sendToSession(sessionId, notification);
+        }
+    }
+
+    private record ProgressKey(String sessionId, Object progressToken) {}
+
+    /** Throttling state of one running request's token. */
+    private static final class TokenState {
+
+        private final long intervalNanos;
+        private boolean sentOnce;
+        private long lastSentNanos;
+        private JsonRpcNotification pending;
+        private boolean flushScheduled;
+        private ScheduledFuture<?> flushTask;
+
+        TokenState(long intervalNanos) {
+            this.intervalNanos = intervalNanos;
+        }
+
+        /**
+         * Stores {@code notification} as the latest value. Returns 0 if it must be sent now, a delay in nanoseconds if
+         * a flush must be scheduled, or -1 if a flush is already scheduled.
+         */
+        synchronized long offer(JsonRpcNotification notification, boolean last) {
+            pending = notification;
+            long wait = sentOnce ? lastSentNanos + intervalNanos - System.nanoTime() : 0;
+            if (last || wait <= 0) {
+                return 0;
+            }
+            if (flushScheduled) {
+                return -1;
+            }
+            flushScheduled = true;
+            return wait;
+        }
+
+        synchronized void setFlushTask(ScheduledFuture<?> task) {
+            if (flushScheduled) {
+                flushTask = task;
+            } else {
+                task.cancel(false);
+            }
+        }
+
+        synchronized JsonRpcNotification takePending() {
+            JsonRpcNotification result = pending;
+            pending = null;
+            flushScheduled = false;
+            if (flushTask != null) {
+                flushTask.cancel(false);
+                flushTask = null;
+            }
+            if (result != null) {
+                sentOnce = true;
+                lastSentNanos = System.nanoTime();
+            }
+            return result;
+        }
     }
 }
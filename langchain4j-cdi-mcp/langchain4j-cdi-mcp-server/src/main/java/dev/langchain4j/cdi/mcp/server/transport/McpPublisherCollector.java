@@ -0,0 +1,112 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Collects the items of a {@link Flow.Publisher} returned by a tool method. Items are requested one at a time and each
+ * is handed to a listener as it arrives, so it can be reported before the publisher completes. Cancelling the returned
+ * future cancels the subscription, as does publishing more than the maximum number of items, which fails the future.
+ */
+final class McpPublisherCollector implements Flow.Subscriber<Object> {
+
+    private final CompletableFuture<List<Object>> result = new CompletableFuture<>();
+    private final List<Object> items = new ArrayList<>();
+    private final int maxItems;
+    private final ObjIntConsumer<Object> onItem;
+    private Flow.Subscription subscription;
+
+    private McpPublisherCollector(int maxItems, ObjIntConsumer<Object> onItem) {
+        this.maxItems = maxItems;
+        this.onItem = onItem;
+    }
+
+    /**
+     * Subscribes to {@code publisher}.
+     *
+     * @param maxItems maximum number of items collected, 0 for no limit
+     * @param onItem called with each item and the number of items received so far
+     * @return the items in publication order, once the publisher completes
+     */
+    @SuppressWarnings("unchecked")
+    static CompletableFuture<List<Object>> collect(
+            Flow.Publisher<?> publisher, int maxItems, ObjIntConsumer<Object> onItem) {
+        McpPublisherCollector collector = new McpPublisherCollector(maxItems, onItem);
+        collector.result.whenComplete((items, error) -> {
+            if (error instanceof CancellationException) {
+                collector.cancel();
+            }
+        });
+        ((Flow.Publisher<Object>) publisher).subscribe(collector);
+        return collector.result;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        synchronized (this) {
+            if (this.subscription != null || result.isDone()) {
+                subscription.cancel();
+                return;
+            }
+            this.subscription = subscription;
+        }
+        subscription.request(1);
+    }
+
+    @Override
+    public void onNext(Object item) {
+        if (result.isDone()) {
+            return;
+        }
+        int count;
+        synchronized (this) {
+            count = items.size() + 1;
+            if (maxItems <= 0 || count <= maxItems) {
+                items.add(item);
+            }
+        }
+        if (maxItems > 0 && count > maxItems) {
+            cancel();
+            result.completeExceptionally(
+                    new IllegalStateException("Publisher emitted more than " + maxItems + " items"));
+            return;
+        }
+        try {
+            onItem.accept(item, count);
+        } catch (RuntimeException e) {
+            cancel();
+            result.completeExceptionally(e);
+            return;
+        }
+        subscription.request(1);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        result.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        List<Object> collected;
+        synchronized (this) {
+            collected = Collections.unmodifiableList(new ArrayList<>(items));
+        }
+        result.complete(collected);
+    }
+
+    private void cancel() {
+        Flow.Subscription current;
+        synchronized (this) {
+            current = subscription;
+        }
+        if (current != null) {
+            current.cancel();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+/**
+ * Token-bucket rate: {@code permitsPerSecond} on average, with bursts of up to {@code burst} requests after a quiet
+ * period.
+ */
+public record McpRateLimit(double permitsPerSecond, int burst) {
+
+    public McpRateLimit {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive: " + permitsPerSecond);
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("burst must be at least 1: " + burst);
+        }
+    }
+
+    /** A rate whose burst is one second's worth of permits. */
+    public static McpRateLimit perSecond(double permitsPerSecond) {
+        return new McpRateLimit(permitsPerSecond, (int) Math.max(1, Math.ceil(permitsPerSecond)));
+    }
+}
@@ -2,6 +2,7 @@ package dev.langchain4j.cdi.mcp.server.transport;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -9,32 +10,42 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * Manages resource subscriptions per session. Clients can subscribe to resource URIs to receive notifications when the
  * resource content changes.
+ *
+ * <p>Subscriptions are indexed both per session and per URI, so finding the subscribers of an updated resource costs
+ * the number of subscribers only. A subscription ending with {@code *} or containing {@code {variables}} matches a
+ * whole family of URIs; see {@link McpSubscriptionTrie}.
  */
 @ApplicationScoped
 public class McpResourceSubscriptionManager {
 
     private final Map<String, Set<String>> subscriptionsBySession = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> sessionsByUri = new ConcurrentHashMap<>();
+    private final McpSubscriptionTrie patterns = new McpSubscriptionTrie();
 
-    public void subscribe(String sessionId, String uri) {
-        subscriptionsBySession
+    public synchronized void subscribe(String sessionId, String uri) {
+        if (subscriptionsBySession
                 .computeIfAbsent(sessionId, k -> ConcurrentHashMap.newKeySet())
-                .add(uri);
+                .add(uri)) {
+            index(sessionId, uri);
+        }
     }
 
-    public void unsubscribe(String sessionId, String uri) {
+    public synchronized void unsubscribe(String sessionId, String uri) {
         Set<String> uris = subscriptionsBySession.get(sessionId);
-        if (uris != null) {
-            uris.remove(uri);
+        if (uris != null && uris.remove(uri)) {
+            unindex(sessionId, uri);
         }
     }
 
+    /** Sessions subscribed to {@code uri}, directly or through a wildcard subscription. The set must not be modified. */
     public Set<String> getSubscribedSessions(String uri) {
-        Set<String> sessions = ConcurrentHashMap.newKeySet();
-        subscriptionsBySession.forEach((sessionId, uris) -> {
-            if (uris.contains(uri)) {
-                sessions.add(sessionId);
-            }
-        });
+        Set<String> exact = sessionsByUri.get(uri);
+        if (patterns.isEmpty()) {
+            return exact != null ? Collections.unmodifiableSet(exact) : Collections.emptySet();
+        }
+        // A session may match through several subscriptions but must be notified once
+        Set<String> sessions = exact != null ? new HashSet<>(exact) : new HashSet<>();
+        patterns.collect(uri, sessions::add);
         return sessions;
     }
 
@@ -43,7 +54,52 @@ public class McpResourceSubscriptionManager {
         return uris != null ? Collections.unmodifiableSet(uris) : Collections.emptySet();
     }
 
-    public void removeSession(String sessionId) {
-        subscriptionsBySession.remove(sessionId);
+    /** Replaces the subscriptions of a session with those loaded from the session store. */
+    synchronized void restoreSession(String sessionId, Set<String> uris) {
+        Set<String> current = subscriptionsBySession.computeIfAbsent(sessionId, k -> ConcurrentHashMap.newKeySet());
+        for (String uri : current) {
+            if (!uris.contains(uri)) {
+                current.remove(uri);
+                unindex(sessionId, uri);
+            }
+        }
+        for (String uri : uris) {
+            if (current.add(uri)) {
+                index(sessionId, uri);
+            }
+        }
+    }
+
+    public synchronized void removeSession(String sessionId) {
+        Set<String> uris = subscriptionsBySession.remove(sessionId);
+        if (uris != null) {
+            for (String uri : uris) {
+                unindex(sessionId, uri);
+            }
+        }
+    }
+
+    private void index(String sessionId, String uri) {
+        if (McpSubscriptionTrie.isPattern(uri)) {
+            patterns.add(uri, sessionId);
+        } else {
+            sessionsByUri
+                    .computeIfAbsent(uri, k -> ConcurrentHashMap.newKeySet())
+                    .add(sessionId);
+        }
+    }
+
+    private void unindex(String sessionId, String uri) {
+        if (McpSubscriptionTrie.isPattern(uri)) {
+            patterns.remove(uri, sessionId);
+            return;
+        }
+        Set<String> sessions = sessionsByUri.get(uri);
+        if (sessions != null) {
+            sessions.remove(sessionId);
+            if (sessions.isEmpty()) {
+                sessionsByUri.remove(uri);
+            }
+        }
     }
 }
@@ -7,7 +7,9 @@ import jakarta.json.JsonObject;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.mcp_java.model.roots.Root;
 
@@ -38,15 +40,32 @@ public class McpRootsManager {
             return Collections.emptyList();
         }
 
-        List<Root> roots = parseRoots(result);
-        rootsBySession.put(sessionId, roots);
-        LOGGER.info("MCP: Received " + roots.size() + " root(s) from session " + sessionId);
-        return roots;
+        return store(sessionId, result);
+    }
+
+    /**
+     * Requests the list of roots from a client session without waiting for the response.
+     *
+     * @return completes with the list of roots, or an empty list on timeout/error
+     */
+    public CompletionStage<List<Root>> requestRootsAsync(String sessionId) {
+        return requestManager
+                .sendRequestAsync(sessionId, "roots/list", Map.of(), null)
+                .handle((result, error) -> {
+                    if (error != null) {
+                        LOGGER.log(Level.FINE, "MCP: Roots request to session " + sessionId + " failed", error);
+                        return Collections.<Root>emptyList();
+                    }
+                    return result != null ? store(sessionId, result) : Collections.<Root>emptyList();
+                });
     }
 
-    /** Called when a client sends {@code notifications/roots/list_changed}. Re-requests the roots. */
-    public void onRootsChanged(String sessionId) {
-        requestRoots(sessionId);
+    /**
+     * Called when a client sends {@code notifications/roots/list_changed}. Re-requests the roots without holding the
+     * notifying request until the client answers.
+     */
+    public CompletionStage<List<Root>> onRootsChanged(String sessionId) {
+        return requestRootsAsync(sessionId);
     }
 
     /** Returns the cached roots for a session. */
@@ -54,10 +73,22 @@ public class McpRootsManager {
         return rootsBySession.getOrDefault(sessionId, Collections.emptyList());
     }
 
+    /** Replaces the roots of a session with those loaded from the session store. */
+    void restoreSession(String sessionId, List<Root> roots) {
+        rootsBySession.put(sessionId, roots);
+    }
+
     public void removeSession(String sessionId) {
         rootsBySession.remove(sessionId);
     }
 
+    private List<Root> store(String sessionId, JsonObject result) {
+        List<Root> roots = parseRoots(result);
+        rootsBySession.put(sessionId, roots);
+        LOGGER.info("MCP: Received " + roots.size() + " root(s) from session " + sessionId);
+        return roots;
+    }
+
     private List<Root> parseRoots(JsonObject result) {
         if (!result.containsKey("roots")) {
             return Collections.emptyList();
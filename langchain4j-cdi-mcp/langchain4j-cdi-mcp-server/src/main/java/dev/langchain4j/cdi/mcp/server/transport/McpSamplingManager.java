@@ -3,14 +3,16 @@ package dev.langchain4j.cdi.mcp.server.transport;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.json.JsonObject;
+import java.time.Duration;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 import java.util.logging.Logger;
 
 /**
  * Allows the server to request LLM sampling from a connected client. Sends a {@code sampling/createMessage} request via
- * SSE and waits for the client's response.
+ * SSE and either waits for the client's response or returns a stage completed by it.
  */
 @ApplicationScoped
 public class McpSamplingManager {
@@ -31,18 +33,39 @@ public class McpSamplingManager {
      */
     public JsonObject createMessage(
             String sessionId, List<Map<String, Object>> messages, Map<String, Object> modelPreferences, int maxTokens) {
+        JsonObject result = requestManager.sendRequest(
+                sessionId, "sampling/createMessage", params(messages, modelPreferences, maxTokens));
+        if (result != null) {
+            LOGGER.fine("MCP: Received sampling response from session " + sessionId);
+        }
+        return result;
+    }
 
+    /**
+     * Requests the client to create a message using its LLM, without waiting for the response.
+     *
+     * @param timeout how long the client has to answer, or {@code null} for the server default
+     * @return completes with the client's response; fails on timeout or client error
+     * @see McpServerRequestManager#sendRequestAsync(String, String, Object, Duration)
+     */
+    public CompletionStage<JsonObject> createMessageAsync(
+            String sessionId,
+            List<Map<String, Object>> messages,
+            Map<String, Object> modelPreferences,
+            int maxTokens,
+            Duration timeout) {
+        return requestManager.sendRequestAsync(
+                sessionId, "sampling/createMessage", params(messages, modelPreferences, maxTokens), timeout);
+    }
+
+    private static Map<String, Object> params(
+            List<Map<String, Object>> messages, Map<String, Object> modelPreferences, int maxTokens) {
         Map<String, Object> params = new LinkedHashMap<>();
         params.put("messages", messages);
         if (modelPreferences != null) {
             params.put("modelPreferences", modelPreferences);
         }
         params.put("maxTokens", maxTokens);
-
-        JsonObject result = requestManager.sendRequest(sessionId, "sampling/createMessage", params);
-        if (result != null) {
-            LOGGER.fine("MCP: Received sampling response from session " + sessionId);
-        }
-        return result;
+        return params;
     }
 }
@@ -1,9 +1,57 @@
 package dev.langchain4j.cdi.mcp.server.transport;
 
+import jakarta.enterprise.inject.Instance;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
 public class McpServerConfig {
 
+    public static final int DEFAULT_MAX_BATCH_SIZE = 32;
+    public static final int DEFAULT_BATCH_PARALLELISM = 4;
+    public static final Duration DEFAULT_KEEP_ALIVE_INTERVAL = Duration.ofSeconds(15);
+    public static final int DEFAULT_OUTBOUND_QUEUE_CAPACITY = 256;
+    public static final Duration DEFAULT_PROGRESS_INTERVAL = Duration.ofMillis(100);
+    public static final Duration DEFAULT_SESSION_CACHE_TTL = Duration.ofSeconds(5);
+    public static final Duration DEFAULT_SESSION_TIMEOUT = Duration.ofMinutes(30);
+    public static final Duration DEFAULT_SESSION_CLEANUP_INTERVAL = Duration.ofSeconds(1);
+    public static final Duration DEFAULT_RESOURCE_UPDATE_INTERVAL = Duration.ZERO;
+    public static final int DEFAULT_MAX_QUEUED_TOOL_CALLS = 64;
+    public static final Duration DEFAULT_TOOL_QUEUE_TIMEOUT = Duration.ofSeconds(5);
+    public static final int DEFAULT_MAX_TOOL_RESULT_ITEMS = 1000;
+    public static final Duration DEFAULT_SERVER_REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    public static final int DEFAULT_MAX_PENDING_SERVER_REQUESTS_PER_SESSION = 16;
+    public static final Duration DEFAULT_OVERLOAD_RETRY_AFTER = Duration.ofSeconds(1);
+
     private String serverName = "langchain4j-cdi";
     private String serverVersion = "unknown";
+    private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+    private int batchParallelism = DEFAULT_BATCH_PARALLELISM;
+    private Executor executor;
+    private Duration keepAliveInterval = DEFAULT_KEEP_ALIVE_INTERVAL;
+    private int outboundQueueCapacity = DEFAULT_OUTBOUND_QUEUE_CAPACITY;
+    private McpOverflowPolicy overflowPolicy = McpOverflowPolicy.DROP_OLDEST;
+    private Duration progressInterval = DEFAULT_PROGRESS_INTERVAL;
+    private McpSessionStore sessionStore;
+    private Duration sessionCacheTtl = DEFAULT_SESSION_CACHE_TTL;
+    private Duration sessionTimeout = DEFAULT_SESSION_TIMEOUT;
+    private Duration sessionCleanupInterval = DEFAULT_SESSION_CLEANUP_INTERVAL;
+    private int maxSessions;
+    private Duration resourceUpdateInterval = DEFAULT_RESOURCE_UPDATE_INTERVAL;
+    private Executor toolExecutor;
+    private int maxConcurrentToolCalls;
+    private int maxConcurrentToolCallsPerSession;
+    private int maxQueuedToolCalls = DEFAULT_MAX_QUEUED_TOOL_CALLS;
+    private Duration toolQueueTimeout = DEFAULT_TOOL_QUEUE_TIMEOUT;
+    private int maxToolResultItems = DEFAULT_MAX_TOOL_RESULT_ITEMS;
+    private Duration serverRequestTimeout = DEFAULT_SERVER_REQUEST_TIMEOUT;
+    private int maxPendingServerRequestsPerSession = DEFAULT_MAX_PENDING_SERVER_REQUESTS_PER_SESSION;
+    private volatile int maxConcurrentRequests;
+    private volatile McpRateLimit sessionRateLimit;
+    private volatile Map<String, McpRateLimit> methodRateLimits = Map.of();
+    private volatile int shedQueueDepth;
+    private volatile Duration overloadRetryAfter = DEFAULT_OVERLOAD_RETRY_AFTER;
 
     public McpServerConfig() {}
 
@@ -16,6 +64,14 @@ public class McpServerConfig {
         return new McpServerConfigBuilder();
     }
 
+    /** Returns the application's {@code @Named("mcp-server")} config, or the defaults when none is produced. */
+    public static McpServerConfig resolve(Instance<McpServerConfig> configInstance) {
+        if (configInstance != null && configInstance.isResolvable()) {
+            return configInstance.get();
+        }
+        return new McpServerConfig();
+    }
+
     public String getServerName() {
         return serverName;
     }
@@ -32,10 +88,282 @@ public class McpServerConfig {
         this.serverVersion = serverVersion;
     }
 
+    /** Largest JSON-RPC batch accepted in a single POST. */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /** Maximum number of entries of one batch executed concurrently, so one batch cannot take the whole executor. */
+    public int getBatchParallelism() {
+        return batchParallelism;
+    }
+
+    public void setBatchParallelism(int batchParallelism) {
+        this.batchParallelism = batchParallelism;
+    }
+
+    /** Executor running server work such as batch entries; {@code null} uses the built-in worker pool. */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /** Interval between SSE keep-alive comments, which also detect dead peers; zero disables them. */
+    public Duration getKeepAliveInterval() {
+        return keepAliveInterval;
+    }
+
+    public void setKeepAliveInterval(Duration keepAliveInterval) {
+        this.keepAliveInterval = keepAliveInterval;
+    }
+
+    /** Maximum number of events queued for one session's SSE stream before the overflow policy applies. */
+    public int getOutboundQueueCapacity() {
+        return outboundQueueCapacity;
+    }
+
+    public void setOutboundQueueCapacity(int outboundQueueCapacity) {
+        this.outboundQueueCapacity = outboundQueueCapacity;
+    }
+
+    public McpOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(McpOverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /** Minimum time between two progress notifications for the same token; {@link Duration#ZERO} sends every one. */
+    public Duration getProgressInterval() {
+        return progressInterval;
+    }
+
+    public void setProgressInterval(Duration progressInterval) {
+        this.progressInterval = progressInterval;
+    }
+
+    /** Store shared by the server nodes; {@code null} keeps sessions in memory, which requires sticky sessions. */
+    public McpSessionStore getSessionStore() {
+        return sessionStore;
+    }
+
+    public void setSessionStore(McpSessionStore sessionStore) {
+        this.sessionStore = sessionStore;
+    }
+
+    /** How long a node trusts its cached copy of a session before reloading it from a shared store. */
+    public Duration getSessionCacheTtl() {
+        return sessionCacheTtl;
+    }
+
+    public void setSessionCacheTtl(Duration sessionCacheTtl) {
+        this.sessionCacheTtl = sessionCacheTtl;
+    }
+
+    /** Idle time after which a session expires. */
+    public Duration getSessionTimeout() {
+        return sessionTimeout;
+    }
+
+    public void setSessionTimeout(Duration sessionTimeout) {
+        this.sessionTimeout = sessionTimeout;
+    }
+
+    /** Granularity of session expiry: idle sessions are removed at most this long after their timeout. */
+    public Duration getSessionCleanupInterval() {
+        return sessionCleanupInterval;
+    }
+
+    public void setSessionCleanupInterval(Duration sessionCleanupInterval) {
+        this.sessionCleanupInterval = sessionCleanupInterval;
+    }
+
+    /** Maximum number of sessions held by this node, evicting the least recently used one; 0 means no limit. */
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    public void setMaxSessions(int maxSessions) {
+        this.maxSessions = maxSessions;
+    }
+
+    /**
+     * Window in which repeated updates of the same resource are coalesced into one
+     * {@code notifications/resources/updated}; {@link Duration#ZERO} sends every update.
+     */
+    public Duration getResourceUpdateInterval() {
+        return resourceUpdateInterval;
+    }
+
+    public void setResourceUpdateInterval(Duration resourceUpdateInterval) {
+        this.resourceUpdateInterval = resourceUpdateInterval;
+    }
+
+    /**
+     * Executor running {@code tools/call}, such as a {@code ManagedExecutorService}; {@code null} uses a virtual thread
+     * per call on Java 21 and later, otherwise a bounded pool of threads running only tool calls.
+     */
+    public Executor getToolExecutor() {
+        return toolExecutor;
+    }
+
+    public void setToolExecutor(Executor toolExecutor) {
+        this.toolExecutor = toolExecutor;
+    }
+
+    /** Maximum number of concurrent calls of each tool, unless set with {@code @ToolConcurrency}; 0 means no limit. */
+    public int getMaxConcurrentToolCalls() {
+        return maxConcurrentToolCalls;
+    }
+
+    public void setMaxConcurrentToolCalls(int maxConcurrentToolCalls) {
+        this.maxConcurrentToolCalls = maxConcurrentToolCalls;
+    }
+
+    /** Maximum number of concurrent tool calls of one session, across all tools; 0 means no limit. */
+    public int getMaxConcurrentToolCallsPerSession() {
+        return maxConcurrentToolCallsPerSession;
+    }
+
+    public void setMaxConcurrentToolCallsPerSession(int maxConcurrentToolCallsPerSession) {
+        this.maxConcurrentToolCallsPerSession = maxConcurrentToolCallsPerSession;
+    }
+
+    /** Maximum number of calls waiting for a limited tool or session; further calls are rejected at once. */
+    public int getMaxQueuedToolCalls() {
+        return maxQueuedToolCalls;
+    }
+
+    public void setMaxQueuedToolCalls(int maxQueuedToolCalls) {
+        this.maxQueuedToolCalls = maxQueuedToolCalls;
+    }
+
+    /**
+     * How long a call waits for a limited tool or session before it is rejected; {@link Duration#ZERO} waits without a
+     * deadline.
+     */
+    public Duration getToolQueueTimeout() {
+        return toolQueueTimeout;
+    }
+
+    public void setToolQueueTimeout(Duration toolQueueTimeout) {
+        this.toolQueueTimeout = toolQueueTimeout;
+    }
+
+    /** Maximum number of items collected from a tool returning a {@code Flow.Publisher}; 0 means no limit. */
+    public int getMaxToolResultItems() {
+        return maxToolResultItems;
+    }
+
+    public void setMaxToolResultItems(int maxToolResultItems) {
+        this.maxToolResultItems = maxToolResultItems;
+    }
+
+    /** How long the server waits for a client to answer a sampling, elicitation or roots request by default. */
+    public Duration getServerRequestTimeout() {
+        return serverRequestTimeout;
+    }
+
+    public void setServerRequestTimeout(Duration serverRequestTimeout) {
+        this.serverRequestTimeout = serverRequestTimeout;
+    }
+
+    /** Maximum number of server-to-client requests awaiting an answer from one session; 0 means no limit. */
+    public int getMaxPendingServerRequestsPerSession() {
+        return maxPendingServerRequestsPerSession;
+    }
+
+    public void setMaxPendingServerRequestsPerSession(int maxPendingServerRequestsPerSession) {
+        this.maxPendingServerRequestsPerSession = maxPendingServerRequestsPerSession;
+    }
+
+    // Admission limits are read on every request, so they can be changed while the server runs
+
+    /** Maximum number of requests processed at once, across all sessions; 0 means no limit. */
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    /** Rate of requests one session may send, across all methods; {@code null} means no limit. */
+    public McpRateLimit getSessionRateLimit() {
+        return sessionRateLimit;
+    }
+
+    public void setSessionRateLimit(McpRateLimit sessionRateLimit) {
+        this.sessionRateLimit = sessionRateLimit;
+    }
+
+    /**
+     * Rate of requests one session may send per method, such as {@code tools/call}; methods not listed are not limited.
+     */
+    public Map<String, McpRateLimit> getMethodRateLimits() {
+        return methodRateLimits;
+    }
+
+    public void setMethodRateLimits(Map<String, McpRateLimit> methodRateLimits) {
+        this.methodRateLimits = Map.copyOf(methodRateLimits);
+    }
+
+    /** Number of tasks queued on the server's executors above which new requests are shed; 0 disables shedding. */
+    public int getShedQueueDepth() {
+        return shedQueueDepth;
+    }
+
+    public void setShedQueueDepth(int shedQueueDepth) {
+        this.shedQueueDepth = shedQueueDepth;
+    }
+
+    /** Retry hint given to requests rejected by the concurrency cap or load shedding. */
+    public Duration getOverloadRetryAfter() {
+        return overloadRetryAfter;
+    }
+
+    public void setOverloadRetryAfter(Duration overloadRetryAfter) {
+        this.overloadRetryAfter = overloadRetryAfter;
+    }
+
     public static class McpServerConfigBuilder {
 
         private String serverName = "langchain4j-cdi";
         private String serverVersion = "unknown";
+        private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+        private int batchParallelism = DEFAULT_BATCH_PARALLELISM;
+        private Executor executor;
+        private Duration keepAliveInterval = DEFAULT_KEEP_ALIVE_INTERVAL;
+        private int outboundQueueCapacity = DEFAULT_OUTBOUND_QUEUE_CAPACITY;
+        private McpOverflowPolicy overflowPolicy = McpOverflowPolicy.DROP_OLDEST;
+        private Duration progressInterval = DEFAULT_PROGRESS_INTERVAL;
+        private McpSessionStore sessionStore;
+        private Duration sessionCacheTtl = DEFAULT_SESSION_CACHE_TTL;
+        private Duration sessionTimeout = DEFAULT_SESSION_TIMEOUT;
+        private Duration sessionCleanupInterval = DEFAULT_SESSION_CLEANUP_INTERVAL;
+        private int maxSessions;
+        private Duration resourceUpdateInterval = DEFAULT_RESOURCE_UPDATE_INTERVAL;
+        private Executor toolExecutor;
+        private int maxConcurrentToolCalls;
+        private int maxConcurrentToolCallsPerSession;
+        private int maxQueuedToolCalls = DEFAULT_MAX_QUEUED_TOOL_CALLS;
+        private Duration toolQueueTimeout = DEFAULT_TOOL_QUEUE_TIMEOUT;
+        private int maxToolResultItems = DEFAULT_MAX_TOOL_RESULT_ITEMS;
+        private Duration serverRequestTimeout = DEFAULT_SERVER_REQUEST_TIMEOUT;
+        private int maxPendingServerRequestsPerSession = DEFAULT_MAX_PENDING_SERVER_REQUESTS_PER_SESSION;
+        private int maxConcurrentRequests;
+        private McpRateLimit sessionRateLimit;
+        private final Map<String, McpRateLimit> methodRateLimits = new LinkedHashMap<>();
+        private int shedQueueDepth;
+        private Duration overloadRetryAfter = DEFAULT_OVERLOAD_RETRY_AFTER;
 
         public McpServerConfigBuilder serverName(String serverName) {
             this.serverName = serverName;
@@ -47,8 +375,165 @@ public class McpServerConfig {
             return this;
         }
 
+        public McpServerConfigBuilder maxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        public McpServerConfigBuilder batchParallelism(int batchParallelism) {
+            this.batchParallelism = batchParallelism;
+            return this;
+        }
+
+        public McpServerConfigBuilder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public McpServerConfigBuilder keepAliveInterval(Duration keepAliveInterval) {
+            this.keepAliveInterval = keepAliveInterval;
+            return this;
+        }
+
+        public McpServerConfigBuilder outboundQueueCapacity(int outboundQueueCapacity) {
+            this.outboundQueueCapacity = outboundQueueCapacity;
+            return this;
+        }
+
+        public McpServerConfigBuilder overflowPolicy(McpOverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        public McpServerConfigBuilder progressInterval(Duration progressInterval) {
+            this.progressInterval = progressInterval;
+            return this;
+        }
+
+        public McpServerConfigBuilder sessionStore(McpSessionStore sessionStore) {
+            this.sessionStore = sessionStore;
+            return this;
+        }
+
+        public McpServerConfigBuilder sessionCacheTtl(Duration sessionCacheTtl) {
+            this.sessionCacheTtl = sessionCacheTtl;
+            return this;
+        }
+
+        public McpServerConfigBuilder sessionTimeout(Duration sessionTimeout) {
+            this.sessionTimeout = sessionTimeout;
+            return this;
+        }
+
+        public McpServerConfigBuilder sessionCleanupInterval(Duration sessionCleanupInterval) {
+            this.sessionCleanupInterval = sessionCleanupInterval;
+            return this;
+        }
+
+        public McpServerConfigBuilder maxSessions(int maxSessions) {
+            this.maxSessions = maxSessions;
+            return this;
+        }
+
+        public McpServerConfigBuilder resourceUpdateInterval(Duration resourceUpdateInterval) {
+            this.resourceUpdateInterval = resourceUpdateInterval;
+            return this;
+        }
+
+        public McpServerConfigBuilder toolExecutor(Executor toolExecutor) {
+            this.toolExecutor = toolExecutor;
+            return this;
+        }
+
+        public McpServerConfigBuilder maxConcurrentToolCalls(int maxConcurrentToolCalls) {
+            this.maxConcurrentToolCalls = maxConcurrentToolCalls;
+            return this;
+        }
+
+        public McpServerConfigBuilder maxConcurrentToolCallsPerSession(int maxConcurrentToolCallsPerSession) {
+            this.maxConcurrentToolCallsPerSession = maxConcurrentToolCallsPerSession;
+            return this;
+        }
+
+        public McpServerConfigBuilder maxQueuedToolCalls(int maxQueuedToolCalls) {
+            this.maxQueuedToolCalls = maxQueuedToolCalls;
+            return this;
+        }
+
+        public McpServerConfigBuilder toolQueueTimeout(Duration toolQueueTimeout) {
+            this.toolQueueTimeout = toolQueueTimeout;
+            return this;
+        }
+
+        public McpServerConfigBuilder maxToolResultItems(int maxToolResultItems) {
+            this.maxToolResultItems = maxToolResultItems;
+            return this;
+        }
+
+        public McpServerConfigBuilder serverRequestTimeout(Duration serverRequestTimeout) {
+            this.serverRequestTimeout = serverRequestTimeout;
+            return this;
+        }
+
+        public McpServerConfigBuilder maxPendingServerRequestsPerSession(int maxPendingServerRequestsPerSession) {
+            this.maxPendingServerRequestsPerSession = maxPendingServerRequestsPerSession;
+            return this;
+        }
+
+        public McpServerConfigBuilder maxConcurrentRequests(int maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            return this;
+        }
+
+        public McpServerConfigBuilder sessionRateLimit(McpRateLimit sessionRateLimit) {
+            this.sessionRateLimit = sessionRateLimit;
+            return this;
+        }
+
+        public McpServerConfigBuilder methodRateLimit(String method, McpRateLimit rateLimit) {
+            this.methodRateLimits.put(method, rateLimit);
+            return this;
+        }
+
+        public McpServerConfigBuilder shedQueueDepth(int shedQueueDepth) {
+            this.shedQueueDepth = shedQueueDepth;
+            return this;
+        }
+
+        public McpServerConfigBuilder overloadRetryAfter(Duration overloadRetryAfter) {
+            this.overloadRetryAfter = overloadRetryAfter;
+            return this;
+        }
+
         public McpServerConfig build() {
-            return new McpServerConfig(serverName, serverVersion);
+            McpServerConfig config = new McpServerConfig(serverName, serverVersion);
+            config.setMaxBatchSize(maxBatchSize);
+            config.setBatchParallelism(batchParallelism);
+            config.setExecutor(executor);
+            config.setKeepAliveInterval(keepAliveInterval);
+            config.setOutboundQueueCapacity(outboundQueueCapacity);
+            config.setOverflowPolicy(overflowPolicy);
+            config.setProgressInterval(progressInterval);
+            config.setSessionStore(sessionStore);
+            config.setSessionCacheTtl(sessionCacheTtl);
+            config.setSessionTimeout(sessionTimeout);
+            config.setSessionCleanupInterval(sessionCleanupInterval);
+            config.setMaxSessions(maxSessions);
+            config.setResourceUpdateInterval(resourceUpdateInterval);
+            config.setToolExecutor(toolExecutor);
+            config.setMaxConcurrentToolCalls(maxConcurrentToolCalls);
+            config.setMaxConcurrentToolCallsPerSession(maxConcurrentToolCallsPerSession);
+            config.setMaxQueuedToolCalls(maxQueuedToolCalls);
+            config.setToolQueueTimeout(toolQueueTimeout);
+            config.setMaxToolResultItems(maxToolResultItems);
+            config.setServerRequestTimeout(serverRequestTimeout);
+            config.setMaxPendingServerRequestsPerSession(maxPendingServerRequestsPerSession);
+            config.setMaxConcurrentRequests(maxConcurrentRequests);
+            config.setSessionRateLimit(sessionRateLimit);
+            config.setMethodRateLimits(methodRateLimits);
+            config.setShedQueueDepth(shedQueueDepth);
+            config.setOverloadRetryAfter(overloadRetryAfter);
+            return config;
         }
     }
 }
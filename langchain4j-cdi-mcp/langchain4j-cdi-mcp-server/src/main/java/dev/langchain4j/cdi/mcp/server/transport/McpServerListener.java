@@ -0,0 +1,85 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import dev.langchain4j.cdi.mcp.server.error.McpErrorCode;
+import java.lang.reflect.Method;
+import java.util.Map;
+
+/**
+ * Observes the hot paths of the MCP server, for example to record metrics or traces. Listeners are discovered as CDI
+ * beans when the server starts; while none is deployed or {@linkplain #isEnabled() enabled}, the server takes no
+ * measurements at all.
+ *
+ * <p>Callbacks run on the threads serving the requests and must return quickly. An exception thrown by a callback is
+ * logged and ignored.
+ */
+public interface McpServerListener {
+
+    /** Whether this listener wants its callbacks; asked once, when the server starts. */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * A JSON-RPC request or notification was handled.
+     *
+     * @param method the JSON-RPC method, or {@code null} for a method the server does not handle
+     * @param durationNanos the time from dispatch, admission included, until the result was ready
+     * @param errorCode {@code null} on success
+     */
+    default void onRequest(String method, long durationNanos, McpErrorCode errorCode) {}
+
+    /**
+     * A {@code tools/call} of a registered tool completed.
+     *
+     * @param durationNanos the time from submission to the tool executor until the result was ready, queue wait
+     *     included
+     * @param errorCode {@code null} on success, including tool results flagged as errors
+     */
+    default void onToolCall(String toolName, long durationNanos, McpErrorCode errorCode) {}
+
+    /**
+     * Bytes were written to a client.
+     *
+     * @param stream {@code true} for messages sent over the session's SSE stream, {@code false} for response bodies
+     */
+    default void onBytesWritten(long bytes, boolean stream) {}
+
+    /**
+     * Starts the span of a JSON-RPC request or notification. It is current on the request thread while the request is
+     * routed, and ended once its result is ready.
+     *
+     * @param method the JSON-RPC method, or {@code null} for a method the server does not handle
+     * @param target the tool or prompt name of {@code tools/call} and {@code prompts/get}, the URI of
+     *     {@code resources/read}, otherwise {@code null}
+     * @param carrier the W3C trace context sent by the client: {@code traceparent} and {@code tracestate} from
+     *     {@code params._meta} or, when absent there, from the HTTP headers
+     * @return the span, or {@code null} not to trace the request
+     */
+    default McpSpan startRequest(
+            String method, Object requestId, String sessionId, String target, Map<String, String> carrier) {
+        return null;
+    }
+
+    /**
+     * Starts the span of a tool, resource, prompt or completion method invocation. It is current on the thread calling
+     * the method, and ended when the method returns.
+     *
+     * @param parent the span this listener started for the request, or {@code null}
+     * @return the span, or {@code null} not to trace the invocation
+     */
+    default McpSpan startInvocation(McpSpan parent, Method method) {
+        return null;
+    }
+
+    /**
+     * Starts the span of a request sent to the client, such as {@code sampling/createMessage}; it ends when the client
+     * answers or the request fails.
+     *
+     * @param parent the current span of this listener on the sending thread, or {@code null}
+     * @param carrier receives the trace context to propagate; it is sent to the client in {@code params._meta}
+     * @return the span, or {@code null} not to trace the request
+     */
+    default McpSpan startClientRequest(McpSpan parent, String method, String sessionId, Map<String, String> carrier) {
+        return null;
+    }
+}
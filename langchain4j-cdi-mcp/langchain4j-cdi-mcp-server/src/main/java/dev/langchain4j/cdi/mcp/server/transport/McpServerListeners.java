@@ -0,0 +1,330 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import dev.langchain4j.cdi.mcp.server.error.McpErrorCode;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The enabled {@link McpServerListener}s, resolved once when the server starts. Callers check {@link #isEnabled()}
+ * before taking a measurement, so a server without listeners does not even read the clock.
+ *
+ * <p>The spans of all listeners for one unit of work are combined into a single {@link McpSpan}, which also keeps track
+ * of the span current on each thread so that invocations and client requests find their parent.
+ */
+@ApplicationScoped
+public class McpServerListeners {
+
+    private static final Logger LOGGER = Logger.getLogger(McpServerListeners.class.getName());
+    private static final McpServerListener[] NONE = new McpServerListener[0];
+
+    @Inject
+    Instance<McpServerListener> instances;
+
+    private McpServerListener[] listeners;
+    private final ThreadLocal<CompositeSpan> current = new ThreadLocal<>();
+
+    public McpServerListeners() {
+        this.listeners = NONE;
+    }
+
+    McpServerListeners(McpServerListener... listeners) {
+        this.listeners = enabled(listeners);
+    }
+
+    @PostConstruct
+    void init() {
+        if (instances != null) {
+            listeners = enabled(instances.stream().toArray(McpServerListener[]::new));
+        }
+    }
+
+    private static McpServerListener[] enabled(McpServerListener[] candidates) {
+        McpServerListener[] result = new McpServerListener[candidates.length];
+        int count = 0;
+        for (McpServerListener listener : candidates) {
+            if (listener.isEnabled()) {
+                result[count++] = listener;
+            }
+        }
+        return count == 0 ? NONE : Arrays.copyOf(result, count);
+    }
+
+    /** Whether any listener is enabled. */
+    public boolean isEnabled() {
+        return listeners.length > 0;
+    }
+
+    void requestCompleted(String method, long startNanos, Throwable error) {
+        long duration = System.nanoTime() - startNanos;
+        McpErrorCode errorCode = McpErrorCode.of(error);
+        for (McpServerListener listener : listeners) {
+            try {
+                listener.onRequest(method, duration, errorCode);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.FINE, "MCP: Server listener failed", e);
+            }
+        }
+    }
+
+    void toolCallCompleted(String toolName, long startNanos, Throwable error) {
+        long duration = System.nanoTime() - startNanos;
+        McpErrorCode errorCode = McpErrorCode.of(error);
+        for (McpServerListener listener : listeners) {
+            try {
+                listener.onToolCall(toolName, duration, errorCode);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.FINE, "MCP: Server listener failed", e);
+            }
+        }
+    }
+
+    void bytesWritten(long bytes, boolean stream) {
+        for (McpServerListener listener : listeners) {
+            try {
+                listener.onBytesWritten(bytes, stream);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.FINE, "MCP: Server listener failed", e);
+            }
+        }
+    }
+
+    /** {@code output}, reporting the size of the response body it writes; unchanged when no listener is enabled. */
+    StreamingOutput observe(StreamingOutput output) {
+        if (!isEnabled()) {
+            return output;
+        }
+        return out -> {
+            CountingOutputStream counting = new CountingOutputStream(out);
+            try {
+                output.write(counting);
+            } finally {
+                bytesWritten(counting.count, false);
+            }
+        };
+    }
+
+    /** {@code stream}, reporting the size of the messages sent over it; unchanged when no listener is enabled. */
+    McpEventStream observe(McpEventStream stream) {
+        return isEnabled() ? new ObservedEventStream(stream) : stream;
+    }
+
+    /** @see McpServerListener#startRequest(String, Object, String, String, Map) */
+    McpSpan startRequest(
+            String method, Object requestId, String sessionId, String target, Map<String, String> carrier) {
+        McpSpan[] spans = new McpSpan[listeners.length];
+        for (int i = 0; i < listeners.length; i++) {
+            try {
+                spans[i] = listeners[i].startRequest(method, requestId, sessionId, target, carrier);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.FINE, "MCP: Server listener failed", e);
+            }
+        }
+        return span(spans);
+    }
+
+    /**
+     * Starts the span of a bean method invocation.
+     *
+     * @param parent the span of the request, or {@code null} for the span current on the calling thread
+     * @return the span, {@link McpSpan#NOOP} when no listener traces the invocation
+     */
+    public McpSpan startInvocation(McpSpan parent, Method method) {
+        if (!isEnabled()) {
+            return McpSpan.NOOP;
+        }
+        McpSpan[] parents = parents(parent);
+        McpSpan[] spans = new McpSpan[listeners.length];
+        for (int i = 0; i < listeners.length; i++) {
+            try {
+                spans[i] = listeners[i].startInvocation(parents != null ? parents[i] : null, method);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.FINE, "MCP: Server listener failed", e);
+            }
+        }
+        return span(spans);
+    }
+
+    /** @see McpServerListener#startClientRequest(McpSpan, String, String, Map) */
+    McpSpan startClientRequest(String method, String sessionId, Map<String, String> carrier) {
+        McpSpan[] parents = parents(null);
+        McpSpan[] spans = new McpSpan[listeners.length];
+        for (int i = 0; i < listeners.length; i++) {
+            try {
+                spans[i] = listeners[i].startClientRequest(
+                        parents != null ? parents[i] : null, method, sessionId, carrier);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.FINE, "MCP: Server listener failed", e);
+            }
+        }
+        return span(spans);
+    }
+
+    /** The span made current on the calling thread, or {@link McpSpan#NOOP}. */
+    McpSpan current() {
+        if (!isEnabled()) {
+            return McpSpan.NOOP;
+        }
+        McpSpan span = current.get();
+        return span != null ? span : McpSpan.NOOP;
+    }
+
+    private McpSpan[] parents(McpSpan parent) {
+        McpSpan effective = parent != null && parent != McpSpan.NOOP ? parent : current.get();
+        return effective instanceof CompositeSpan composite ? composite.spans : null;
+    }
+
+    private McpSpan span(McpSpan[] spans) {
+        for (McpSpan span : spans) {
+            if (span != null) {
+                return new CompositeSpan(spans);
+            }
+        }
+        return McpSpan.NOOP;
+    }
+
+    /** The spans of all listeners, by listener; {@code null} for listeners that do not trace the work. */
+    private final class CompositeSpan implements McpSpan {
+
+        private final McpSpan[] spans;
+
+        CompositeSpan(McpSpan[] spans) {
+            this.spans = spans;
+        }
+
+        @Override
+        public Scope makeCurrent() {
+            CompositeSpan previous = current.get();
+            current.set(this);
+            Scope[] scopes = new Scope[spans.length];
+            for (int i = 0; i < spans.length; i++) {
+                if (spans[i] != null) {
+                    try {
+                        scopes[i] = spans[i].makeCurrent();
+                    } catch (RuntimeException e) {
+                        LOGGER.log(Level.FINE, "MCP: Server listener failed", e);
+                    }
+                }
+            }
+            return () -> {
+                for (int i = scopes.length - 1; i >= 0; i--) {
+                    if (scopes[i] != null) {
+                        try {
+                            scopes[i].close();
+                        } catch (RuntimeException e) {
+                            LOGGER.log(Level.FINE, "MCP: Server listener failed", e);
+                        }
+                    }
+                }
+                if (previous != null) {
+                    current.set(previous);
+                } else {
+                    current.remove();
+                }
+            };
+        }
+
+        @Override
+        public void queued(long waitNanos) {
+            for (McpSpan span : spans) {
+                if (span != null) {
+                    try {
+                        span.queued(waitNanos);
+                    } catch (RuntimeException e) {
+                        LOGGER.log(Level.FINE, "MCP: Server listener failed", e);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void end(Throwable error) {
+            for (McpSpan span : spans) {
+                if (span != null) {
+                    try {
+                        span.end(error);
+                    } catch (RuntimeException e) {
+                        LOGGER.log(Level.FINE, "MCP: Server listener failed", e);
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+    private final class ObservedEventStream implements McpEventStream {
+
+        private final McpEventStream delegate;
+
+        ObservedEventStream(McpEventStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void sendMessage(byte[] json) throws IOException {
+            delegate.sendMessage(json);
+            bytesWritten(json.length, true);
+        }
+
+        @Override
+        public void sendComment(String comment) throws IOException {
+            delegate.sendComment(comment);
+        }
+
+        @Override
+        public CompletionStage<Void> sendMessageAsync(byte[] json) {
+            return delegate.sendMessageAsync(json).thenRun(() -> bytesWritten(json.length, true));
+        }
+
+        @Override
+        public CompletionStage<Void> sendCommentAsync(String comment) {
+            return delegate.sendCommentAsync(comment);
+        }
+
+        @Override
+        public boolean isBlocking() {
+            return delegate.isBlocking();
+        }
+
+        @Override
+        public boolean isClosed() {
+            return delegate.isClosed();
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
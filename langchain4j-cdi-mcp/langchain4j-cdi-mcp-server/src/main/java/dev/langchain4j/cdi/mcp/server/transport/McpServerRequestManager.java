@@ -1,35 +1,60 @@
 package dev.langchain4j.cdi.mcp.server.transport;
 
+import dev.langchain4j.cdi.mcp.server.error.McpErrorCode;
+import dev.langchain4j.cdi.mcp.server.error.McpException;
 import dev.langchain4j.cdi.mcp.server.protocol.JsonRpcServerRequest;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.json.JsonObject;
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Manages server-initiated JSON-RPC requests to clients. Sends requests via SSE and correlates responses received back
- * via POST.
+ * via POST with the session that was asked.
+ *
+ * <p>No thread waits for the answer: each request is a future completed by the client's response, failed by a timeout
+ * on {@link McpServerScheduler}, or rejected at once when its session already has
+ * {@link McpServerConfig#getMaxPendingServerRequestsPerSession()} requests awaiting an answer. Requests are traced by
+ * the {@link McpServerListeners}, and carry the trace context to the client in {@code params._meta}.
  */
 @ApplicationScoped
 public class McpServerRequestManager {
 
     private static final Logger LOGGER = Logger.getLogger(McpServerRequestManager.class.getName());
-    private static final long DEFAULT_TIMEOUT_SECONDS = 30;
 
     private final AtomicLong requestIdCounter = new AtomicLong(1);
-    private final Map<String, CompletableFuture<JsonObject>> pendingRequests = new ConcurrentHashMap<>();
+    private final Map<String, PendingRequest> pendingRequests = new ConcurrentHashMap<>();
+    private final Map<String, Integer> pendingPerSession = new ConcurrentHashMap<>();
 
     @Inject
     McpNotificationBroadcaster broadcaster;
 
+    @Inject
+    McpServerScheduler scheduler;
+
+    @Inject
+    McpServerListeners listeners;
+
+    @Inject
+    @Named("mcp-server")
+    Instance<McpServerConfig> configInstance;
+
     /**
-     * Sends a JSON-RPC request to a specific client session and waits for the response.
+     * Sends a JSON-RPC request to a specific client session and waits for the response, for up to
+     * {@link McpServerConfig#getServerRequestTimeout()}.
      *
      * @param sessionId the target session
      * @param method the JSON-RPC method name (e.g. "roots/list", "sampling/createMessage")
@@ -37,7 +62,7 @@ public class McpServerRequestManager {
      * @return the result JsonObject from the client's response, or null on timeout/error
      */
     public JsonObject sendRequest(String sessionId, String method, Object params) {
-        return sendRequest(sessionId, method, params, DEFAULT_TIMEOUT_SECONDS);
+        return await(sessionId, method, sendRequestAsync(sessionId, method, params, null));
     }
 
     /**
@@ -50,20 +75,97 @@ public class McpServerRequestManager {
      * @return the result JsonObject from the client's response, or null on timeout/error
      */
     public JsonObject sendRequest(String sessionId, String method, Object params, long timeoutSeconds) {
+        return await(
+                sessionId, method, sendRequestAsync(sessionId, method, params, Duration.ofSeconds(timeoutSeconds)));
+    }
+
+    /**
+     * Sends a JSON-RPC request to a specific client session without waiting for the response.
+     *
+     * @param sessionId the target session
+     * @param method the JSON-RPC method name
+     * @param params the request parameters (can be null)
+     * @param timeout how long the client has to answer; {@code null} uses
+     *     {@link McpServerConfig#getServerRequestTimeout()}, zero or negative sets no deadline
+     * @return completes with the result of the client's response; fails with a {@link TimeoutException} when the client
+     *     does not answer in time, or with an {@link McpException} of code {@link McpErrorCode#SERVER_OVERLOADED} when
+     *     the session has too many pending requests. Cancelling it withdraws the request.
+     */
+    public CompletionStage<JsonObject> sendRequestAsync(
+            String sessionId, String method, Object params, Duration timeout) {
+        McpServerConfig config = McpServerConfig.resolve(configInstance);
+        if (!reserve(sessionId, config.getMaxPendingServerRequestsPerSession())) {
+            return CompletableFuture.failedFuture(new McpException(
+                    null,
+                    McpErrorCode.SERVER_OVERLOADED,
+                    "Session " + sessionId + " has too many pending server requests"));
+        }
+
         String requestId = "server-" + requestIdCounter.getAndIncrement();
+        McpSpan span = McpSpan.NOOP;
+        Object payload = params;
+        if (listeners != null && listeners.isEnabled()) {
+            Map<String, String> carrier = new LinkedHashMap<>();
+            span = listeners.startClientRequest(method, sessionId, carrier);
+            payload = withMeta(params, carrier);
+        }
+        McpSpan requestSpan = span;
         CompletableFuture<JsonObject> future = new CompletableFuture<>();
-        pendingRequests.put(requestId, future);
+        pendingRequests.put(requestId, new PendingRequest(sessionId, future));
+
+        Duration deadline = timeout != null ? timeout : config.getServerRequestTimeout();
+        ScheduledFuture<?> timer = deadline != null && !deadline.isZero() && !deadline.isNegative()
+                ? scheduler.schedule(
+                        () -> future.completeExceptionally(new TimeoutException(
+                                "No response to " + method + " from session " + sessionId + " within " + deadline)),
+                        deadline.toNanos(),
+                        TimeUnit.NANOSECONDS)
+                : null;
+        future.whenComplete((result, error) -> {
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            if (pendingRequests.remove(requestId) != null) {
+                release(sessionId);
+            }
+            requestSpan.end(error);
+        });
 
         try {
-            JsonRpcServerRequest request = new JsonRpcServerRequest(requestId, method, params);
-            broadcaster.sendToSession(sessionId, request);
+            broadcaster.sendToSession(sessionId, new JsonRpcServerRequest(requestId, method, payload));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /** {@code params} with the entries of {@code meta} added to its {@code _meta}; params that are no map are kept. */
+    @SuppressWarnings("unchecked")
+    private static Object withMeta(Object params, Map<String, String> meta) {
+        if (meta.isEmpty() || (params != null && !(params instanceof Map))) {
+            return params;
+        }
+        Map<String, Object> result =
+                params != null ? new LinkedHashMap<>((Map<String, Object>) params) : new LinkedHashMap<>();
+        Map<String, Object> merged = new LinkedHashMap<>();
+        if (result.get("_meta") instanceof Map<?, ?> existing) {
+            existing.forEach((key, value) -> merged.put(String.valueOf(key), value));
+        }
+        merged.putAll(meta);
+        result.put("_meta", merged);
+        return result;
+    }
 
-            return future.get(timeoutSeconds, TimeUnit.SECONDS);
+    private static JsonObject await(String sessionId, String method, CompletionStage<JsonObject> response) {
+        try {
+            return response.toCompletableFuture().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.toCompletableFuture().cancel(false);
+            return null;
         } catch (Exception e) {
             LOGGER.log(Level.FINE, "MCP: Server request " + method + " to session " + sessionId + " failed", e);
             return null;
-        } finally {
-            pendingRequests.remove(requestId);
         }
     }
 
@@ -76,33 +178,83 @@ public class McpServerRequestManager {
      * @return true if the response was matched to a pending request
      */
     public boolean handleResponse(Object id, JsonObject result) {
-        if (id == null) {
+        return handleResponse(null, id, result);
+    }
+
+    /**
+     * Same as {@link #handleResponse(Object, JsonObject)}, but only matches a request sent to {@code sessionId}; a
+     * {@code null} session matches any request.
+     */
+    public boolean handleResponse(String sessionId, Object id, JsonObject result) {
+        PendingRequest pending = match(sessionId, id);
+        if (pending == null) {
             return false;
         }
-        String key = id.toString();
-        CompletableFuture<JsonObject> future = pendingRequests.get(key);
-        if (future != null) {
-            future.complete(result);
-            return true;
-        }
-        return false;
+        pending.future().complete(result);
+        return true;
     }
 
     /** Called when a JSON-RPC error response is received from a client. */
     public boolean handleErrorResponse(Object id, String errorMessage) {
-        if (id == null) {
+        return handleErrorResponse(null, id, errorMessage);
+    }
+
+    /** Called when a JSON-RPC error response is received from a client of {@code sessionId}. */
+    public boolean handleErrorResponse(String sessionId, Object id, String errorMessage) {
+        PendingRequest pending = match(sessionId, id);
+        if (pending == null) {
             return false;
         }
-        String key = id.toString();
-        CompletableFuture<JsonObject> future = pendingRequests.get(key);
-        if (future != null) {
-            future.completeExceptionally(new RuntimeException("Client error: " + errorMessage));
-            return true;
-        }
-        return false;
+        pending.future().completeExceptionally(new RuntimeException("Client error: " + errorMessage));
+        return true;
     }
 
     public int pendingRequestCount() {
         return pendingRequests.size();
     }
+
+    /** Number of requests sent to {@code sessionId} that still await an answer. */
+    public int pendingRequestCount(String sessionId) {
+        return pendingPerSession.getOrDefault(sessionId, 0);
+    }
+
+    private PendingRequest match(String sessionId, Object id) {
+        if (id == null) {
+            return null;
+        }
+        PendingRequest pending = pendingRequests.get(id.toString());
+        if (pending == null) {
+            return null;
+        }
+        if (sessionId != null && pending.sessionId() != null && !sessionId.equals(pending.sessionId())) {
+            LOGGER.fine("MCP: Ignoring response to " + id + " from session " + sessionId + ", it was sent to "
+                    + pending.sessionId());
+            return null;
+        }
+        return pending;
+    }
+
+    private boolean reserve(String sessionId, int limit) {
+        if (sessionId == null) {
+            return true;
+        }
+        boolean[] reserved = new boolean[1];
+        pendingPerSession.compute(sessionId, (id, count) -> {
+            int current = count != null ? count : 0;
+            if (limit > 0 && current >= limit) {
+                return count;
+            }
+            reserved[0] = true;
+            return current + 1;
+        });
+        return reserved[0];
+    }
+
+    private void release(String sessionId) {
+        if (sessionId != null) {
+            pendingPerSession.computeIfPresent(sessionId, (id, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private record PendingRequest(String sessionId, CompletableFuture<JsonObject> future) {}
 }
@@ -0,0 +1,67 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Single shared timer thread for the MCP server (keep-alives, timeouts, expiry). Scheduled tasks must be short and
+ * non-blocking; anything slower belongs on {@link McpTaskExecutor}.
+ */
+@ApplicationScoped
+public class McpServerScheduler {
+
+    private static final Logger LOGGER = Logger.getLogger(McpServerScheduler.class.getName());
+
+    private volatile ScheduledExecutorService executor;
+
+    public ScheduledFuture<?> schedule(Runnable task, long delay, TimeUnit unit) {
+        return executor().schedule(guard(task), delay, unit);
+    }
+
+    /** Runs {@code task} periodically. A failing run is logged and does not cancel later runs. */
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        return executor().scheduleAtFixedRate(guard(task), initialDelay, period, unit);
+    }
+
+    private static Runnable guard(Runnable task) {
+        return () -> {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "MCP: Scheduled task failed", e);
+            }
+        };
+    }
+
+    private ScheduledExecutorService executor() {
+        ScheduledExecutorService result = executor;
+        if (result == null) {
+            synchronized (this) {
+                result = executor;
+                if (result == null) {
+                    result = Executors.newSingleThreadScheduledExecutor(r -> {
+                        Thread t = new Thread(r, "mcp-scheduler");
+                        t.setDaemon(true);
+                        return t;
+                    });
+                    executor = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ScheduledExecutorService current = executor;
+        if (current != null) {
+            current.shutdownNow();
+        }
+    }
+}
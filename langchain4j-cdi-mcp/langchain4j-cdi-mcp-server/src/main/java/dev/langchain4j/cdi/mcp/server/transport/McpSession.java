@@ -1,24 +1,42 @@
 package dev.langchain4j.cdi.mcp.server.transport;
 
+import dev.langchain4j.cdi.mcp.server.logging.McpLogLevel;
 import jakarta.json.JsonObject;
+import java.time.Duration;
 import java.time.Instant;
 
 public class McpSession {
 
     private final String id;
     private final Instant createdAt;
+    // System.nanoTime() reading taken at createdAt; access times are kept as nanoTime so touch() never allocates
+    private final long createdNanos;
     private final JsonObject clientCapabilities;
     private volatile boolean initialized;
-    private volatile Instant lastAccessedAt;
+    private volatile long lastAccessNanos;
+    private volatile McpLogLevel logLevel;
 
     public McpSession(String id, JsonObject clientCapabilities) {
         this.id = id;
         this.createdAt = Instant.now();
-        this.lastAccessedAt = this.createdAt;
+        this.createdNanos = System.nanoTime();
+        this.lastAccessNanos = createdNanos;
         this.clientCapabilities = clientCapabilities;
         this.initialized = false;
     }
 
+    /** Recreates a session from the state saved by another node. */
+    McpSession(McpSessionState state) {
+        this.id = state.id();
+        this.createdAt = state.createdAt();
+        this.createdNanos =
+                System.nanoTime() - Duration.between(createdAt, Instant.now()).toNanos();
+        this.lastAccessNanos = toNanos(state.lastAccessedAt());
+        this.clientCapabilities = state.clientCapabilities();
+        this.initialized = state.initialized();
+        this.logLevel = state.logLevel();
+    }
+
     public String getId() {
         return id;
     }
@@ -28,7 +46,12 @@ public class McpSession {
     }
 
     public Instant getLastAccessedAt() {
-        return lastAccessedAt;
+        return createdAt.plusNanos(lastAccessNanos - createdNanos);
+    }
+
+    /** The last access as a {@link System#nanoTime()} reading. */
+    long getLastAccessNanos() {
+        return lastAccessNanos;
     }
 
     public JsonObject getClientCapabilities() {
@@ -44,8 +67,33 @@ public class McpSession {
         touch();
     }
 
+    /** The level set by this client with {@code logging/setLevel}, or {@code null} to use the server default. */
+    public McpLogLevel getLogLevel() {
+        return logLevel;
+    }
+
+    public void setLogLevel(McpLogLevel logLevel) {
+        this.logLevel = logLevel;
+    }
+
+    /** Takes over the changes another node made to this session. */
+    void refresh(McpSessionState state) {
+        if (state.initialized()) {
+            this.initialized = true;
+        }
+        this.logLevel = state.logLevel();
+        long storedAccessNanos = toNanos(state.lastAccessedAt());
+        if (storedAccessNanos - lastAccessNanos > 0) {
+            this.lastAccessNanos = storedAccessNanos;
+        }
+    }
+
     public void touch() {
-        this.lastAccessedAt = Instant.now();
+        this.lastAccessNanos = System.nanoTime();
+    }
+
+    private long toNanos(Instant instant) {
+        return createdNanos + Duration.between(createdAt, instant).toNanos();
     }
 
     /** Checks if the client declared a given capability during initialization. */
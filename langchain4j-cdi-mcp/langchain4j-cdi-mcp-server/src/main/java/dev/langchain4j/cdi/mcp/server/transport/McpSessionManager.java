@@ -3,27 +3,46 @@ package dev.langchain4j.cdi.mcp.server.transport;
 import dev.langchain4j.cdi.mcp.server.error.McpSessionException;
 import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.json.JsonObject;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
+/**
+ * Creates, looks up and expires MCP sessions. Session state is written through to the configured
+ * {@link McpSessionStore}, unless the store is {@linkplain McpSessionStore#isLocal() local}; a near-cache of the
+ * sessions used on this node keeps {@link #requireSession} off the store, revalidating an entry at most once per
+ * {@link McpServerConfig#getSessionCacheTtl()}.
+ *
+ * <p>Idle sessions are found with a {@link McpExpiryWheel} ticking every
+ * {@link McpServerConfig#getSessionCleanupInterval()} on the {@link McpServerScheduler}: a request only records a
+ * {@code nanoTime} stamp, and a tick only looks at the sessions whose timeout may have come due. Sweeping a shared
+ * store runs on the {@link McpTaskExecutor}, off the timer thread.
+ */
 @ApplicationScoped
 public class McpSessionManager {
 
     private static final Logger LOGGER = Logger.getLogger(McpSessionManager.class.getName());
-    private static final Duration DEFAULT_SESSION_TIMEOUT = Duration.ofMinutes(30);
-    private static final long CLEANUP_INTERVAL_SECONDS = 60;
+    private static final int MAX_WHEEL_SIZE = 4096;
+    private static final long STORE_EXPIRY_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(60);
 
-    private final ConcurrentHashMap<String, McpSession> sessions = new ConcurrentHashMap<>();
-    private final Duration sessionTimeout;
-    private final ScheduledExecutorService cleanupExecutor;
+    private final ConcurrentHashMap<String, CachedSession> sessions = new ConcurrentHashMap<>();
+    private final Duration configuredTimeout;
+    private volatile McpSessionStore store;
+    private volatile long cacheTtlNanos = -1;
+    private volatile McpExpiryWheel<CachedSession> wheel;
+    private volatile long timeoutNanos;
+    private volatile int maxSessions;
+    private long lastStoreExpiryNanos;
+    private volatile ScheduledFuture<?> cleanupTask;
 
     @Inject
     McpResourceSubscriptionManager subscriptionManager;
@@ -31,43 +50,93 @@ public class McpSessionManager {
     @Inject
     McpRootsManager rootsManager;
 
+    @Inject
+    McpServerScheduler scheduler;
+
+    @Inject
+    McpTaskExecutor taskExecutor;
+
+    @Inject
+    @Named("mcp-server")
+    Instance<McpServerConfig> configInstance;
+
+    /** Creates a manager using the session timeout of the server configuration. */
     public McpSessionManager() {
-        this(DEFAULT_SESSION_TIMEOUT);
+        this((Duration) null);
     }
 
     public McpSessionManager(Duration sessionTimeout) {
-        this.sessionTimeout = sessionTimeout;
-        this.cleanupExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
-            Thread t = new Thread(r, "mcp-session-cleanup");
-            t.setDaemon(true);
-            return t;
-        });
-        this.cleanupExecutor.scheduleAtFixedRate(
-                this::cleanupExpiredSessions, CLEANUP_INTERVAL_SECONDS, CLEANUP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        this(sessionTimeout, null);
+    }
+
+    /**
+     * Creates a manager backed by {@code store}. A {@code null} timeout or store is taken from the server
+     * configuration. Outside a CDI container there is no scheduler, and idle sessions are only expired by
+     * {@link #cleanupExpiredSessions()}.
+     */
+    public McpSessionManager(Duration sessionTimeout, McpSessionStore store) {
+        this.configuredTimeout = sessionTimeout;
+        this.store = store;
     }
 
     @PreDestroy
     void shutdown() {
-        cleanupExecutor.shutdownNow();
+        ScheduledFuture<?> task = cleanupTask;
+        if (task != null) {
+            task.cancel(false);
+        }
     }
 
     public String createSession(JsonObject initParams) {
         String id = UUID.randomUUID().toString();
-        sessions.put(id, new McpSession(id, initParams));
+        McpSession session = new McpSession(id, initParams);
+        CachedSession cached = new CachedSession(session);
+        McpExpiryWheel<CachedSession> expiry = wheel();
+        evictOverCapacity(expiry);
+        sessions.put(id, cached);
+        expiry.schedule(cached, deadline(cached));
+        save(cached);
         return id;
     }
 
     public McpSession requireSession(Object requestId, String sessionId) {
-        if (sessionId == null || !sessions.containsKey(sessionId)) {
+        if (sessionId == null) {
             throw new McpSessionException(requestId, "Invalid or missing Mcp-Session-Id");
         }
-        McpSession session = sessions.get(sessionId);
+        CachedSession cached = sessions.get(sessionId);
+        McpSessionStore sessionStore = store();
+        if (cached == null || (!sessionStore.isLocal() && cached.isStale(cacheTtlNanos()))) {
+            cached = reload(sessionId, cached, sessionStore);
+            if (cached == null) {
+                throw new McpSessionException(requestId, "Invalid or missing Mcp-Session-Id");
+            }
+        }
+        McpSession session = cached.session;
         session.touch();
+        if (!sessionStore.isLocal() && session.getLastAccessNanos() - cached.savedAccessNanos >= touchSaveNanos()) {
+            // Other nodes expire sessions by the last access in the store, so it is refreshed now and then
+            save(cached);
+        }
         return session;
     }
 
+    /** Looks up a session in the near-cache without touching it; returns {@code null} if this node does not know it. */
+    public McpSession findSession(String sessionId) {
+        CachedSession cached = sessionId != null ? sessions.get(sessionId) : null;
+        return cached != null ? cached.session : null;
+    }
+
+    /** Writes the current state of a session (flags, log level, subscriptions, roots) through to the store. */
+    public void persist(String sessionId) {
+        CachedSession cached = sessionId != null ? sessions.get(sessionId) : null;
+        if (cached != null) {
+            save(cached);
+        }
+    }
+
     public void terminateSession(String sessionId) {
-        McpSession removed = sessions.remove(sessionId);
+        CachedSession removed = sessions.remove(sessionId);
+        store().delete(sessionId);
         if (removed != null) {
             subscriptionManager.removeSession(sessionId);
             rootsManager.removeSession(sessionId);
@@ -75,21 +144,192 @@ public class McpSessionManager {
         }
     }
 
+    /** Number of sessions in this node's near-cache. */
     public int activeSessionCount() {
         return sessions.size();
     }
 
+    /** Removes the sessions whose timeout has passed. Runs on every tick of the expiry wheel. */
     void cleanupExpiredSessions() {
-        Instant cutoff = Instant.now().minus(sessionTimeout);
-        sessions.entrySet().removeIf(entry -> {
-            if (entry.getValue().getLastAccessedAt().isBefore(cutoff)) {
-                String sessionId = entry.getKey();
+        long now = System.nanoTime();
+        McpSessionStore sessionStore = store();
+        wheel().advance(now, this::deadline, cached -> evict(cached, "expired"));
+        if (!sessionStore.isLocal() && now - lastStoreExpiryNanos >= STORE_EXPIRY_INTERVAL_NANOS) {
+            lastStoreExpiryNanos = now;
+            // The stored last access lags behind by up to one save interval; a session still in use on another node
+            // must not be removed
+            Instant cutoff = Instant.now().minusNanos(timeoutNanos + touchSaveNanos());
+            Runnable sweep = () -> {
+                for (String sessionId : sessionStore.removeExpired(cutoff)) {
+                    LOGGER.fine("MCP: Session expired in store: " + sessionId);
+                }
+            };
+            if (taskExecutor == null) {
+                sweep.run();
+                return;
+            }
+            try {
+                taskExecutor.executor().execute(sweep);
+            } catch (RejectedExecutionException e) {
+                sweep.run();
+            }
+        }
+    }
+
+    private void evictOverCapacity(McpExpiryWheel<CachedSession> expiry) {
+        while (maxSessions > 0 && sessions.size() >= maxSessions) {
+            CachedSession eldest = expiry.pollEarliest(this::deadline);
+            if (eldest == null) {
+                return;
+            }
+            evict(eldest, "evicted (maxSessions reached)");
+        }
+    }
+
+    private void evict(CachedSession cached, String reason) {
+        String sessionId = cached.session.getId();
+        if (!sessions.remove(sessionId, cached)) {
+            return;
+        }
+        subscriptionManager.removeSession(sessionId);
+        rootsManager.removeSession(sessionId);
+        McpSessionStore sessionStore = store();
+        if (sessionStore.isLocal()) {
+            sessionStore.delete(sessionId);
+        }
+        LOGGER.info("MCP: Session " + reason + ": " + sessionId);
+    }
+
+    /** Current deadline of a cached session, or {@link Long#MIN_VALUE} once it left the cache. */
+    private long deadline(CachedSession cached) {
+        if (sessions.get(cached.session.getId()) != cached) {
+            return Long.MIN_VALUE;
+        }
+        return cached.session.getLastAccessNanos() + timeoutNanos;
+    }
+
+    private CachedSession reload(String sessionId, CachedSession cached, McpSessionStore sessionStore) {
+        McpSessionState state = sessionStore.load(sessionId);
+        if (state == null) {
+            if (cached != null && sessions.remove(sessionId, cached)) {
                 subscriptionManager.removeSession(sessionId);
                 rootsManager.removeSession(sessionId);
-                LOGGER.info("MCP: Session expired: " + sessionId);
-                return true;
             }
-            return false;
-        });
+            return null;
+        }
+        CachedSession result;
+        if (cached != null) {
+            cached.session.refresh(state);
+            result = cached;
+        } else {
+            CachedSession loaded = new CachedSession(new McpSession(state));
+            McpExpiryWheel<CachedSession> expiry = wheel();
+            evictOverCapacity(expiry);
+            result = sessions.putIfAbsent(sessionId, loaded);
+            if (result == null) {
+                result = loaded;
+                expiry.schedule(loaded, deadline(loaded));
+            }
+        }
+        result.savedAccessNanos = result.session.getLastAccessNanos();
+        result.validatedAtNanos = System.nanoTime();
+        subscriptionManager.restoreSession(sessionId, state.subscriptions());
+        rootsManager.restoreSession(sessionId, state.roots());
+        return result;
+    }
+
+    private void save(CachedSession cached) {
+        McpSessionStore sessionStore = store();
+        if (sessionStore.isLocal()) {
+            // The near-cache already holds the only copy a local store could give back
+            return;
+        }
+        McpSession session = cached.session;
+        String id = session.getId();
+        McpSessionState state = new McpSessionState(
+                id,
+                session.getCreatedAt(),
+                session.getLastAccessedAt(),
+                session.isInitialized(),
+                session.getClientCapabilities(),
+                session.getLogLevel(),
+                subscriptionManager != null ? subscriptionManager.getSubscriptions(id) : null,
+                rootsManager != null ? rootsManager.getRoots(id) : null);
+        sessionStore.save(state);
+        cached.savedAccessNanos = session.getLastAccessNanos();
+        cached.validatedAtNanos = System.nanoTime();
+    }
+
+    private long touchSaveNanos() {
+        return timeoutNanos / 4;
+    }
+
+    private McpExpiryWheel<CachedSession> wheel() {
+        McpExpiryWheel<CachedSession> result = wheel;
+        if (result == null) {
+            synchronized (this) {
+                result = wheel;
+                if (result == null) {
+                    McpServerConfig config = McpServerConfig.resolve(configInstance);
+                    Duration timeout = configuredTimeout != null ? configuredTimeout : config.getSessionTimeout();
+                    timeoutNanos = timeout.toNanos();
+                    maxSessions = config.getMaxSessions();
+                    long granularity =
+                            Math.max(1, config.getSessionCleanupInterval().toNanos());
+                    int size = (int) Math.min(MAX_WHEEL_SIZE, timeoutNanos / granularity + 2);
+                    lastStoreExpiryNanos = System.nanoTime();
+                    result = new McpExpiryWheel<>(granularity, size, lastStoreExpiryNanos);
+                    wheel = result;
+                    if (scheduler != null) {
+                        cleanupTask = scheduler.scheduleAtFixedRate(
+                                this::cleanupExpiredSessions, granularity, granularity, TimeUnit.NANOSECONDS);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private McpSessionStore store() {
+        McpSessionStore result = store;
+        if (result == null) {
+            synchronized (this) {
+                result = store;
+                if (result == null) {
+                    McpSessionStore configured =
+                            McpServerConfig.resolve(configInstance).getSessionStore();
+                    result = configured != null ? configured : new McpInMemorySessionStore();
+                    store = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private long cacheTtlNanos() {
+        long result = cacheTtlNanos;
+        if (result < 0) {
+            Duration ttl = McpServerConfig.resolve(configInstance).getSessionCacheTtl();
+            result = ttl != null && !ttl.isNegative() ? ttl.toNanos() : 0;
+            cacheTtlNanos = result;
+        }
+        return result;
+    }
+
+    /** Near-cache entry. */
+    private static final class CachedSession {
+
+        final McpSession session;
+        volatile long validatedAtNanos = System.nanoTime();
+        volatile long savedAccessNanos;
+
+        CachedSession(McpSession session) {
+            this.session = session;
+            this.savedAccessNanos = session.getLastAccessNanos();
+        }
+
+        boolean isStale(long ttlNanos) {
+            return System.nanoTime() - validatedAtNanos >= ttlNanos;
+        }
     }
 }
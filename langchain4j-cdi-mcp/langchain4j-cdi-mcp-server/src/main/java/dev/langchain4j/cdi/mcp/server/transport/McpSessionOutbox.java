@@ -0,0 +1,212 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded outbound queue of one session's SSE stream. Producers only enqueue; a single drain task at a time writes to
+ * the stream, so callers never wait on network I/O and SSE frames are never interleaved. Each event is written once the
+ * stream has accepted the previous one, so the queue bound also bounds what is buffered for a slow peer.
+ */
+final class McpSessionOutbox {
+
+    private static final Logger LOGGER = Logger.getLogger(McpSessionOutbox.class.getName());
+
+    private final String sessionId;
+    private final McpEventStream stream;
+    private final int capacity;
+    private final McpOverflowPolicy overflowPolicy;
+    private final Executor executor;
+    private final LongAdder droppedEvents;
+    private final Consumer<McpSessionOutbox> onClosed;
+
+    private final ArrayDeque<Event> queue = new ArrayDeque<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+
+    McpSessionOutbox(
+            String sessionId,
+            McpEventStream stream,
+            int capacity,
+            McpOverflowPolicy overflowPolicy,
+            Executor executor,
+            LongAdder droppedEvents,
+            Consumer<McpSessionOutbox> onClosed) {
+        this.sessionId = sessionId;
+        this.stream = stream;
+        this.capacity = Math.max(1, capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.executor = executor;
+        this.droppedEvents = droppedEvents;
+        this.onClosed = onClosed;
+    }
+
+    String sessionId() {
+        return sessionId;
+    }
+
+    McpEventStream stream() {
+        return stream;
+    }
+
+    /** Queues a {@code message} event. Returns {@code false} if the outbox is closed or was closed by overflow. */
+    boolean offerMessage(byte[] json, String coalescingKey) {
+        return offer(new Event(json, null, coalescingKey));
+    }
+
+    /** Queues a comment unless events are already pending, in which case those writes probe the peer anyway. */
+    boolean offerKeepAlive(String comment) {
+        if (draining.get()) {
+            return !closed;
+        }
+        synchronized (queue) {
+            if (!queue.isEmpty()) {
+                return !closed;
+            }
+        }
+        return offer(new Event(null, comment, null));
+    }
+
+    private boolean offer(Event event) {
+        if (closed || stream.isClosed()) {
+            close();
+            return false;
+        }
+        synchronized (queue) {
+            if (queue.size() >= capacity && !makeRoom(event)) {
+                LOGGER.log(Level.FINE, "MCP: Outbound queue full, disconnecting SSE stream: {0}", sessionId);
+                closeLocked();
+            } else {
+                queue.addLast(event);
+            }
+        }
+        if (closed) {
+            onClosed.accept(this);
+            return false;
+        }
+        scheduleDrain();
+        return true;
+    }
+
+    private boolean makeRoom(Event event) {
+        switch (overflowPolicy) {
+            case DISCONNECT -> {
+                return false;
+            }
+            case COALESCE -> {
+                if (event.coalescingKey() != null) {
+                    Iterator<Event> it = queue.iterator();
+                    while (it.hasNext()) {
+                        if (event.coalescingKey().equals(it.next().coalescingKey())) {
+                            it.remove();
+                            droppedEvents.increment();
+                            return true;
+                        }
+                    }
+                }
+                queue.pollFirst();
+            }
+            default -> queue.pollFirst();
+        }
+        droppedEvents.increment();
+        return true;
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                drain();
+            }
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            Event event;
+            synchronized (queue) {
+                event = queue.pollFirst();
+                if (event == null) {
+                    draining.set(false);
+                    return;
+                }
+            }
+            CompletionStage<Void> sent;
+            try {
+                sent = event.json() != null
+                        ? stream.sendMessageAsync(event.json())
+                        : stream.sendCommentAsync(event.comment());
+            } catch (RuntimeException e) {
+                failed(e);
+                return;
+            }
+            if (sent instanceof CompletableFuture<Void> future
+                    && future.isDone()
+                    && !future.isCompletedExceptionally()) {
+                continue;
+            }
+            // The next event is written once the stream has accepted this one; no thread waits in between
+            sent.whenComplete((ignored, failure) -> {
+                if (failure != null) {
+                    failed(failure);
+                } else {
+                    resumeDrain();
+                }
+            });
+            return;
+        }
+    }
+
+    private void resumeDrain() {
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            drain();
+        }
+    }
+
+    private void failed(Throwable failure) {
+        LOGGER.log(Level.FINE, "MCP: Removing disconnected SSE stream: " + sessionId, failure);
+        draining.set(false);
+        close();
+    }
+
+    int depth() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    void close() {
+        synchronized (queue) {
+            if (closed) {
+                return;
+            }
+            closeLocked();
+        }
+        onClosed.accept(this);
+    }
+
+    private void closeLocked() {
+        closed = true;
+        droppedEvents.add(queue.size());
+        queue.clear();
+        stream.close();
+    }
+
+    private record Event(byte[] json, String comment, String coalescingKey) {}
+}
@@ -0,0 +1,141 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import dev.langchain4j.cdi.mcp.server.logging.McpLogLevel;
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.mcp_java.model.roots.Root;
+
+/**
+ * Snapshot of everything the server remembers about a session, as kept by a {@link McpSessionStore}.
+ *
+ * @param id the session identifier
+ * @param createdAt when the session was created
+ * @param lastAccessedAt the last access known to the store
+ * @param initialized whether the client sent {@code notifications/initialized}
+ * @param clientCapabilities the {@code initialize} parameters (may be null)
+ * @param logLevel the level set with {@code logging/setLevel} (may be null)
+ * @param subscriptions the subscribed resource URIs
+ * @param roots the roots last reported by the client
+ */
+public record McpSessionState(
+        String id,
+        Instant createdAt,
+        Instant lastAccessedAt,
+        boolean initialized,
+        JsonObject clientCapabilities,
+        McpLogLevel logLevel,
+        Set<String> subscriptions,
+        List<Root> roots) {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final McpLogLevel[] LOG_LEVELS = McpLogLevel.values();
+
+    public McpSessionState {
+        subscriptions = subscriptions != null ? Set.copyOf(subscriptions) : Set.of();
+        roots = roots != null ? List.copyOf(roots) : List.of();
+    }
+
+    /**
+     * Encodes the state in a compact, versioned binary form: length-prefixed UTF-8 strings, epoch milliseconds and the
+     * log level ordinal.
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            writeString(out, id);
+            out.writeLong(createdAt.toEpochMilli());
+            out.writeLong(lastAccessedAt.toEpochMilli());
+            out.writeBoolean(initialized);
+            out.writeByte(logLevel != null ? logLevel.ordinal() : -1);
+            writeString(out, clientCapabilities != null ? clientCapabilities.toString() : null);
+            out.writeInt(subscriptions.size());
+            for (String uri : subscriptions) {
+                writeString(out, uri);
+            }
+            out.writeInt(roots.size());
+            for (Root root : roots) {
+                writeString(out, root.uri());
+                writeString(out, root.name());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /** Decodes a state written by {@link #toBytes()}. */
+    public static McpSessionState fromBytes(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            int version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported session state version: " + version);
+            }
+            String id = readString(in);
+            Instant createdAt = Instant.ofEpochMilli(in.readLong());
+            Instant lastAccessedAt = Instant.ofEpochMilli(in.readLong());
+            boolean initialized = in.readBoolean();
+            int level = in.readByte();
+            String capabilities = readString(in);
+            int subscriptionCount = in.readInt();
+            Set<String> subscriptions = new LinkedHashSet<>(subscriptionCount);
+            for (int i = 0; i < subscriptionCount; i++) {
+                subscriptions.add(readString(in));
+            }
+            int rootCount = in.readInt();
+            List<Root> roots = new ArrayList<>(rootCount);
+            for (int i = 0; i < rootCount; i++) {
+                roots.add(Root.of(readString(in), readString(in)));
+            }
+            return new McpSessionState(
+                    id,
+                    createdAt,
+                    lastAccessedAt,
+                    initialized,
+                    capabilities != null ? parseObject(capabilities) : null,
+                    level >= 0 ? LOG_LEVELS[level] : null,
+                    subscriptions,
+                    roots);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private static JsonObject parseObject(String json) {
+        try (JsonReader reader = Json.createReader(new StringReader(json))) {
+            return reader.readObject();
+        }
+    }
+}
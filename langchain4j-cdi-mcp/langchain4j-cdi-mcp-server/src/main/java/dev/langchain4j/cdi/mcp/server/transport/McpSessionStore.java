@@ -0,0 +1,39 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Storage for MCP session state, shared by all server nodes when the server is scaled horizontally. Configure an
+ * implementation with {@link McpServerConfig.McpServerConfigBuilder#sessionStore(McpSessionStore)}; sessions are kept
+ * in memory otherwise.
+ *
+ * <p>{@link McpSessionManager} keeps a near-cache in front of the store, so implementations are only called when a
+ * session is created, changed, revalidated or removed, not on every request. {@link McpSessionState#toBytes()} gives a
+ * compact binary form for stores that hold raw bytes.
+ */
+public interface McpSessionStore {
+
+    /** Creates or replaces the state of a session. */
+    void save(McpSessionState state);
+
+    /** Returns the stored state of a session, or {@code null} if there is none. */
+    McpSessionState load(String sessionId);
+
+    void delete(String sessionId);
+
+    /**
+     * Deletes the sessions last accessed before {@code cutoff}.
+     *
+     * @return the identifiers of the deleted sessions
+     */
+    List<String> removeExpired(Instant cutoff);
+
+    /**
+     * Whether the store only lives in this JVM. The near-cache of a local store is never stale, so it is not
+     * revalidated, and session state is not written to the store.
+     */
+    default boolean isLocal() {
+        return false;
+    }
+}
@@ -0,0 +1,38 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+/**
+ * A unit of work traced by an {@link McpServerListener}: a JSON-RPC request, a bean method invocation or a request sent
+ * to the client. The server ends each span exactly once.
+ */
+public interface McpSpan {
+
+    /** A span that records nothing. */
+    McpSpan NOOP = new McpSpan() {};
+
+    /**
+     * Makes this span the current one on the calling thread, so that work started there, including the application's
+     * own instrumentation, becomes its child. The scope must be closed on the same thread.
+     */
+    default Scope makeCurrent() {
+        return Scope.NOOP;
+    }
+
+    /** The request waited {@code waitNanos} for an executor thread before it started running. */
+    default void queued(long waitNanos) {}
+
+    /**
+     * Ends the span.
+     *
+     * @param error the failure, or {@code null} on success
+     */
+    default void end(Throwable error) {}
+
+    /** The period during which a span is current; closing it restores the previously current span. */
+    interface Scope extends AutoCloseable {
+
+        Scope NOOP = () -> {};
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,159 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Wildcard resource subscriptions indexed by their literal prefix. A subscription either ends with {@code *} and
+ * matches every URI starting with what precedes it, or is a URI template whose {@code {variables}} each match one
+ * non-empty path segment ({@code {+variable}} matches anything). Finding the subscribers of a URI walks the trie along
+ * the URI once, so it costs the URI length plus the matching subscriptions, not the number of subscriptions.
+ *
+ * <p>Lookups are lock-free; changes are serialized by the owning {@link McpResourceSubscriptionManager}. Removing the
+ * last subscription under a node prunes the nodes left empty, so churn does not grow the trie.
+ */
+final class McpSubscriptionTrie {
+
+    private final Node root = new Node();
+    private volatile int size;
+
+    /** Whether {@code uri} is a wildcard subscription rather than a plain resource URI. */
+    static boolean isPattern(String uri) {
+        return uri.endsWith("*") || uri.indexOf('{') >= 0;
+    }
+
+    void add(String pattern, String sessionId) {
+        Node node = root;
+        String prefix = literalPrefix(pattern);
+        for (int i = 0; i < prefix.length(); i++) {
+            node = node.children.computeIfAbsent(prefix.charAt(i), c -> new Node());
+        }
+        Entry entry = node.entries.computeIfAbsent(pattern, Entry::new);
+        if (entry.sessions.add(sessionId)) {
+            size++;
+        }
+    }
+
+    void remove(String pattern, String sessionId) {
+        String prefix = literalPrefix(pattern);
+        Node[] path = new Node[prefix.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < prefix.length(); i++) {
+            path[i + 1] = path[i].children.get(prefix.charAt(i));
+            if (path[i + 1] == null) {
+                return;
+            }
+        }
+        Node node = path[prefix.length()];
+        Entry entry = node.entries.get(pattern);
+        if (entry == null || !entry.sessions.remove(sessionId)) {
+            return;
+        }
+        size--;
+        if (!entry.sessions.isEmpty()) {
+            return;
+        }
+        node.entries.remove(pattern);
+        // Unlinks the nodes left without entries or children, from the leaf back up to the first one still in use
+        for (int i = prefix.length(); i > 0 && path[i].isEmpty(); i--) {
+            path[i - 1].children.remove(prefix.charAt(i - 1), path[i]);
+        }
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Number of nodes below the root. */
+    int nodeCount() {
+        return root.count() - 1;
+    }
+
+    /** Passes every session holding a subscription that matches {@code uri} to {@code action}. */
+    void collect(String uri, Consumer<String> action) {
+        Node node = root;
+        int i = 0;
+        while (true) {
+            if (!node.entries.isEmpty()) {
+                for (Entry entry : node.entries.values()) {
+                    if (entry.matches(uri)) {
+                        entry.sessions.forEach(action);
+                    }
+                }
+            }
+            if (i == uri.length()) {
+                return;
+            }
+            node = node.children.get(uri.charAt(i++));
+            if (node == null) {
+                return;
+            }
+        }
+    }
+
+    private static String literalPrefix(String pattern) {
+        int brace = pattern.indexOf('{');
+        if (brace >= 0) {
+            return pattern.substring(0, brace);
+        }
+        return pattern.endsWith("*") ? pattern.substring(0, pattern.length() - 1) : pattern;
+    }
+
+    private static final class Node {
+        final Map<Character, Node> children = new ConcurrentHashMap<>();
+        final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+        boolean isEmpty() {
+            return entries.isEmpty() && children.isEmpty();
+        }
+
+        int count() {
+            int count = 1;
+            for (Node child : children.values()) {
+                count += child.count();
+            }
+            return count;
+        }
+    }
+
+    private static final class Entry {
+
+        final Set<String> sessions = ConcurrentHashMap.newKeySet();
+        // null for a prefix subscription: reaching its node is already a match
+        final Pattern template;
+
+        Entry(String pattern) {
+            this.template = pattern.indexOf('{') >= 0 ? compile(pattern) : null;
+        }
+
+        boolean matches(String uri) {
+            return template == null || template.matcher(uri).matches();
+        }
+
+        private static Pattern compile(String template) {
+            StringBuilder regex = new StringBuilder();
+            int start = 0;
+            int open;
+            while ((open = template.indexOf('{', start)) >= 0) {
+                int close = template.indexOf('}', open);
+                if (close < 0) {
+                    break;
+                }
+                regex.append(Pattern.quote(template.substring(start, open)));
+                regex.append(template.charAt(open + 1) == '+' ? ".+" : "[^/]+");
+                start = close + 1;
+            }
+            String rest = template.substring(start);
+            if (rest.endsWith("*")) {
+                regex.append(Pattern.quote(rest.substring(0, rest.length() - 1)))
+                        .append(".*");
+            } else {
+                regex.append(Pattern.quote(rest));
+            }
+            return Pattern.compile(regex.toString());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.control.RequestContextController;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor for server-side work that runs off the request thread, such as the entries of a JSON-RPC batch. Uses the
+ * executor of {@link McpServerConfig} when one is configured, otherwise a pool of daemon worker threads.
+ */
+@ApplicationScoped
+public class McpTaskExecutor {
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    @Inject
+    @Named("mcp-server")
+    Instance<McpServerConfig> configInstance;
+
+    @Inject
+    Instance<RequestContextController> requestContextControllers;
+
+    private volatile ThreadPoolExecutor defaultExecutor;
+
+    public Executor executor() {
+        Executor configured = McpServerConfig.resolve(configInstance).getExecutor();
+        return configured != null ? configured : defaultExecutor();
+    }
+
+    /** Number of tasks waiting for a worker thread; 0 when the configured executor does not expose its queue. */
+    public int queueDepth() {
+        Executor configured = McpServerConfig.resolve(configInstance).getExecutor();
+        return queueDepth(configured != null ? configured : defaultExecutor);
+    }
+
+    static int queueDepth(Executor executor) {
+        return executor instanceof ThreadPoolExecutor pool ? pool.getQueue().size() : 0;
+    }
+
+    /**
+     * Wraps {@code task} so that it runs with an active CDI request context, letting {@code @RequestScoped} tool beans
+     * be used from worker threads.
+     */
+    public Runnable withRequestContext(Runnable task) {
+        if (requestContextControllers == null || !requestContextControllers.isResolvable()) {
+            return task;
+        }
+        return () -> {
+            RequestContextController controller = requestContextControllers.get();
+            boolean activated = controller.activate();
+            try {
+                task.run();
+            } finally {
+                if (activated) {
+                    controller.deactivate();
+                }
+                requestContextControllers.destroy(controller);
+            }
+        };
+    }
+
+    private ThreadPoolExecutor defaultExecutor() {
+        ThreadPoolExecutor result = defaultExecutor;
+        if (result == null) {
+            synchronized (this) {
+                result = defaultExecutor;
+                if (result == null) {
+                    int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+                    AtomicInteger counter = new AtomicInteger();
+                    result = new ThreadPoolExecutor(
+                            threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                                Thread t = new Thread(r, "mcp-worker-" + counter.incrementAndGet());
+                                t.setDaemon(true);
+                                return t;
+                            });
+                    result.allowCoreThreadTimeOut(true);
+                    defaultExecutor = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ThreadPoolExecutor current = defaultExecutor;
+        if (current != null) {
+            current.shutdownNow();
+        }
+    }
+}
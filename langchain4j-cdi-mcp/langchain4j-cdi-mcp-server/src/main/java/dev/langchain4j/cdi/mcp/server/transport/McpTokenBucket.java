@@ -0,0 +1,46 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+/**
+ * Token bucket refilled lazily on each use. The rate is passed in on every call, so a limit changed at runtime applies
+ * to existing buckets at once. Not thread-safe: callers serialize access per bucket.
+ */
+final class McpTokenBucket {
+
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private double tokens = -1;
+    private long lastNanos;
+
+    /** Returns 0 if a token is available, otherwise the nanoseconds until one is; takes nothing. */
+    long waitNanos(McpRateLimit limit, long nowNanos) {
+        refill(limit, nowNanos);
+        if (tokens >= 1) {
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / limit.permitsPerSecond() * NANOS_PER_SECOND);
+    }
+
+    /** Takes the token that {@link #waitNanos} found available. */
+    void take() {
+        tokens -= 1;
+    }
+
+    /**
+     * Whether the bucket has refilled completely; a full bucket can be dropped and recreated without changing anything.
+     */
+    boolean isFull(McpRateLimit limit, long nowNanos) {
+        refill(limit, nowNanos);
+        return tokens >= limit.burst();
+    }
+
+    private void refill(McpRateLimit limit, long nowNanos) {
+        if (tokens < 0) {
+            // A new bucket starts full
+            tokens = limit.burst();
+        } else {
+            double refilled = (nowNanos - lastNanos) * limit.permitsPerSecond() / NANOS_PER_SECOND;
+            tokens = Math.min(limit.burst(), tokens + refilled);
+        }
+        lastNanos = nowNanos;
+    }
+}
@@ -0,0 +1,389 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import dev.langchain4j.cdi.mcp.server.api.ToolConcurrency;
+import dev.langchain4j.cdi.mcp.server.error.McpErrorCode;
+import dev.langchain4j.cdi.mcp.server.error.McpException;
+import dev.langchain4j.cdi.mcp.server.registry.McpToolDescriptor;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Runs {@code tools/call} off the request thread, on the tool executor of {@link McpServerConfig} or, by default, on a
+ * virtual thread per call when the runtime has them and on a bounded pool of tool threads otherwise.
+ *
+ * <p>Calls pass two bulkheads first: one per session ({@link McpServerConfig#getMaxConcurrentToolCallsPerSession()}),
+ * then one per tool ({@link McpServerConfig#getMaxConcurrentToolCalls()} or {@link ToolConcurrency}). A call that finds
+ * no free slot waits, without holding a thread, for up to the queue timeout; when the queue is full or the timeout
+ * expires it fails with {@link McpErrorCode#SERVER_OVERLOADED}.
+ */
+@ApplicationScoped
+public class McpToolExecutor {
+
+    private static final CompletableFuture<Void> FREE = CompletableFuture.completedFuture(null);
+    private static final int TOOL_THREADS_PER_CPU = 4;
+    private static final int MIN_TOOL_THREADS = 8;
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    @Inject
+    @Named("mcp-server")
+    Instance<McpServerConfig> configInstance;
+
+    @Inject
+    McpTaskExecutor taskExecutor;
+
+    @Inject
+    McpServerScheduler scheduler;
+
+    private final Map<String, ToolLimit> toolLimits = new ConcurrentHashMap<>();
+    private final Map<String, McpBulkhead> sessionBulkheads = new ConcurrentHashMap<>();
+    private volatile ExecutorService defaultExecutor;
+
+    /**
+     * Runs {@code call} once the tool and the session have a free slot. The slots are held until the stage returned by
+     * {@code call} completes; cancelling the returned future interrupts the thread while it runs {@code call}, cancels
+     * the stage it returned, or withdraws the call if it is still queued.
+     */
+    public <T> CompletableFuture<T> submit(
+            Object requestId, McpToolDescriptor tool, String sessionId, Supplier<? extends CompletionStage<T>> call) {
+        McpServerConfig config = McpServerConfig.resolve(configInstance);
+        ToolLimit limit = toolLimits.computeIfAbsent(tool.getName(), name -> ToolLimit.of(tool, config));
+        String sessionKey = config.getMaxConcurrentToolCallsPerSession() > 0 ? sessionId : null;
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        // The session slot is taken first: a call waiting for a busy tool then only holds up its own session, whereas a
+        // tool slot held while waiting for a busy session would hold up the tool for every session
+        CompletableFuture<Void> sessionSlot =
+                sessionKey != null ? acquireSession(requestId, result, sessionKey, config) : FREE;
+        sessionSlot.whenComplete((sessionGranted, sessionError) -> {
+            if (sessionError != null) {
+                result.completeExceptionally(sessionError);
+                return;
+            }
+            Runnable releaseSession = sessionKey != null ? () -> releaseSession(sessionKey) : () -> {};
+            if (result.isDone()) {
+                // Cancelled while the slot was handed over
+                releaseSession.run();
+                return;
+            }
+            McpBulkhead toolBulkhead = limit.bulkhead();
+            CompletableFuture<Void> toolSlot = FREE;
+            if (toolBulkhead != null) {
+                CompletableFuture<Void> slot = toolBulkhead.acquire();
+                toolSlot = await(
+                        requestId,
+                        result,
+                        slot,
+                        () -> toolBulkhead.abandon(slot),
+                        limit.queueTimeout(),
+                        "Tool '" + tool.getName() + "'");
+            }
+            toolSlot.whenComplete((toolGranted, toolError) -> {
+                if (toolError != null) {
+                    releaseSession.run();
+                    result.completeExceptionally(toolError);
+                    return;
+                }
+                AtomicBoolean released = new AtomicBoolean();
+                Runnable release = () -> {
+                    if (released.compareAndSet(false, true)) {
+                        if (toolBulkhead != null) {
+                            release(toolBulkhead);
+                        }
+                        releaseSession.run();
+                    }
+                };
+                run(requestId, call, config, result, release);
+            });
+        });
+        return result;
+    }
+
+    /** Number of tool calls waiting for a slot of their tool or session, or for a thread of the tool executor. */
+    public int queueDepth() {
+        int queued = 0;
+        for (ToolLimit limit : toolLimits.values()) {
+            if (limit.bulkhead() != null) {
+                queued += limit.bulkhead().queued();
+            }
+        }
+        for (McpBulkhead bulkhead : sessionBulkheads.values()) {
+            queued += bulkhead.queued();
+        }
+        Executor configured = McpServerConfig.resolve(configInstance).getToolExecutor();
+        return queued + McpTaskExecutor.queueDepth(configured != null ? configured : defaultExecutor);
+    }
+
+    private <T> void run(
+            Object requestId,
+            Supplier<? extends CompletionStage<T>> call,
+            McpServerConfig config,
+            CompletableFuture<T> result,
+            Runnable release) {
+        if (result.isDone()) {
+            // Cancelled while queued
+            release.run();
+            return;
+        }
+        Runnable task = taskExecutor.withRequestContext(() -> {
+            Interruptible runner = new Interruptible(Thread.currentThread());
+            result.whenComplete((value, error) -> {
+                if (error instanceof CancellationException) {
+                    runner.interrupt();
+                }
+            });
+            CompletableFuture<T> stage;
+            try {
+                // The future of the stage itself, so that cancelling it reaches the stage returned by the call
+                stage = call.get().toCompletableFuture();
+            } catch (RuntimeException | Error e) {
+                release.run();
+                result.completeExceptionally(e);
+                return;
+            } finally {
+                runner.done();
+            }
+            stage.whenComplete((value, error) -> {
+                release.run();
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+            result.whenComplete((value, error) -> {
+                if (error instanceof CancellationException) {
+                    stage.cancel(true);
+                }
+            });
+        });
+        try {
+            executor(config).execute(task);
+        } catch (RejectedExecutionException e) {
+            release.run();
+            result.completeExceptionally(overloaded(requestId, "Tool executor is saturated"));
+        }
+    }
+
+    /**
+     * Waits for a slot of a bulkhead. The slot is withdrawn with {@code abandon} when the call is cancelled or the
+     * timeout expires first, so that it does not keep its place in the queue.
+     */
+    private CompletableFuture<Void> await(
+            Object requestId,
+            CompletableFuture<?> call,
+            CompletableFuture<Void> slot,
+            BooleanSupplier abandon,
+            Duration timeout,
+            String owner) {
+        if (slot == null) {
+            return CompletableFuture.failedFuture(overloaded(requestId, owner + " is saturated"));
+        }
+        if (slot.isDone()) {
+            return slot;
+        }
+        call.whenComplete((value, error) -> {
+            if (error instanceof CancellationException && abandon.getAsBoolean()) {
+                slot.cancel(false);
+            }
+        });
+        if (timeout == null || timeout.isZero() || timeout.isNegative()) {
+            return slot;
+        }
+        ScheduledFuture<?> deadline = scheduler.schedule(
+                () -> {
+                    if (abandon.getAsBoolean()) {
+                        slot.completeExceptionally(
+                                overloaded(requestId, owner + " is saturated: no slot freed within " + timeout));
+                    }
+                },
+                timeout.toNanos(),
+                TimeUnit.NANOSECONDS);
+        slot.whenComplete((granted, error) -> deadline.cancel(false));
+        return slot;
+    }
+
+    private CompletableFuture<Void> acquireSession(
+            Object requestId, CompletableFuture<?> call, String sessionId, McpServerConfig config) {
+        AtomicReference<CompletableFuture<Void>> slot = new AtomicReference<>();
+        // Acquired and released under the map's lock, so an idle bulkhead can be dropped without losing a slot
+        sessionBulkheads.compute(sessionId, (id, existing) -> {
+            McpBulkhead current = existing != null
+                    ? existing
+                    : new McpBulkhead(config.getMaxConcurrentToolCallsPerSession(), config.getMaxQueuedToolCalls());
+            slot.set(current.acquire());
+            return current;
+        });
+        CompletableFuture<Void> pending = slot.get();
+        return await(
+                requestId,
+                call,
+                pending,
+                () -> abandonSession(sessionId, pending),
+                config.getToolQueueTimeout(),
+                "Session");
+    }
+
+    private boolean abandonSession(String sessionId, CompletableFuture<Void> slot) {
+        AtomicBoolean abandoned = new AtomicBoolean();
+        sessionBulkheads.computeIfPresent(sessionId, (id, bulkhead) -> {
+            abandoned.set(bulkhead.abandon(slot));
+            return bulkhead.idle() ? null : bulkhead;
+        });
+        return abandoned.get();
+    }
+
+    private void releaseSession(String sessionId) {
+        AtomicReference<CompletableFuture<Void>> next = new AtomicReference<>();
+        sessionBulkheads.computeIfPresent(sessionId, (id, bulkhead) -> {
+            next.set(bulkhead.release());
+            return bulkhead.idle() ? null : bulkhead;
+        });
+        if (next.get() != null) {
+            next.get().complete(null);
+        }
+    }
+
+    private static void release(McpBulkhead bulkhead) {
+        CompletableFuture<Void> next = bulkhead.release();
+        if (next != null) {
+            next.complete(null);
+        }
+    }
+
+    private static McpException overloaded(Object requestId, String message) {
+        return new McpException(requestId, McpErrorCode.SERVER_OVERLOADED, message);
+    }
+
+    private Executor executor(McpServerConfig config) {
+        Executor configured = config.getToolExecutor();
+        return configured != null ? configured : defaultExecutor(config);
+    }
+
+    private ExecutorService defaultExecutor(McpServerConfig config) {
+        ExecutorService result = defaultExecutor;
+        if (result == null) {
+            synchronized (this) {
+                result = defaultExecutor;
+                if (result == null) {
+                    result = virtualThreads();
+                    if (result == null) {
+                        result = toolThreads(config);
+                    }
+                    defaultExecutor = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /** A virtual-thread-per-task executor on Java 21 and later, {@code null} on older runtimes. */
+    private static ExecutorService virtualThreads() {
+        try {
+            return (ExecutorService)
+                    Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Daemon threads running only tool calls, so that blocked tools cannot starve the task executor. Once
+     * {@link McpServerConfig#getMaxQueuedToolCalls()} calls wait for a thread, further calls are rejected.
+     */
+    private static ThreadPoolExecutor toolThreads(McpServerConfig config) {
+        int threads = Math.max(TOOL_THREADS_PER_CPU * Runtime.getRuntime().availableProcessors(), MIN_TOOL_THREADS);
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                threads,
+                threads,
+                KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(config.getMaxQueuedToolCalls(), 1)),
+                r -> {
+                    Thread t = new Thread(r, "mcp-tool-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ExecutorService current = defaultExecutor;
+        if (current != null) {
+            current.shutdownNow();
+        }
+    }
+
+    /**
+     * The thread running a tool method, interrupted when the call is cancelled while the method runs. A pool thread is
+     * never left interrupted for the next task.
+     */
+    private static final class Interruptible {
+
+        private Thread thread;
+
+        Interruptible(Thread thread) {
+            this.thread = thread;
+        }
+
+        synchronized void interrupt() {
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+
+        void done() {
+            synchronized (this) {
+                thread = null;
+            }
+            // Clears an interrupt delivered while the method ran
+            Thread.interrupted();
+        }
+    }
+
+    /** Concurrency limit of one tool; {@code bulkhead} is {@code null} when the tool is not limited. */
+    private record ToolLimit(McpBulkhead bulkhead, Duration queueTimeout) {
+
+        static ToolLimit of(McpToolDescriptor tool, McpServerConfig config) {
+            int maxConcurrent = config.getMaxConcurrentToolCalls();
+            int maxQueued = config.getMaxQueuedToolCalls();
+            Duration queueTimeout = config.getToolQueueTimeout();
+            ToolConcurrency annotation =
+                    tool.getMethod() != null ? tool.getMethod().getAnnotation(ToolConcurrency.class) : null;
+            if (annotation != null) {
+                maxConcurrent = annotation.maxConcurrent();
+                if (annotation.maxQueued() >= 0) {
+                    maxQueued = annotation.maxQueued();
+                }
+                if (annotation.queueTimeoutMillis() >= 0) {
+                    queueTimeout = Duration.ofMillis(annotation.queueTimeoutMillis());
+                }
+            }
+            return new ToolLimit(maxConcurrent > 0 ? new McpBulkhead(maxConcurrent, maxQueued) : null, queueTimeout);
+        }
+    }
+}
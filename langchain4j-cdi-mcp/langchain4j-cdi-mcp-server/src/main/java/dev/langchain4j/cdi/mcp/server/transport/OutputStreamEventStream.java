@@ -0,0 +1,54 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/** {@link McpEventStream} writing SSE frames to a blocking {@link OutputStream}. Writes are serialized per stream. */
+final class OutputStreamEventStream implements McpEventStream {
+
+    private static final byte[] MESSAGE_PREFIX = "event: message\ndata: ".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] FRAME_END = "\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final OutputStream out;
+    private volatile boolean closed;
+
+    OutputStreamEventStream(OutputStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public synchronized void sendMessage(byte[] json) throws IOException {
+        write(MESSAGE_PREFIX, json);
+    }
+
+    @Override
+    public synchronized void sendComment(String comment) throws IOException {
+        write((": " + comment).getBytes(StandardCharsets.UTF_8), new byte[0]);
+    }
+
+    private void write(byte[] head, byte[] body) throws IOException {
+        if (closed) {
+            throw new IOException("SSE stream closed");
+        }
+        try {
+            out.write(head);
+            out.write(body);
+            out.write(FRAME_END);
+            out.flush();
+        } catch (IOException e) {
+            closed = true;
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+}
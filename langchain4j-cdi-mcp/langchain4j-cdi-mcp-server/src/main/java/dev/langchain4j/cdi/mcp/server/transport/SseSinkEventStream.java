@@ -0,0 +1,101 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {@link McpEventStream} over an asynchronous JAX-RS {@link SseEventSink}. No thread is held while the stream is idle
+ * or while a send is in flight; a send that completes exceptionally marks the stream closed so the broadcaster drops
+ * it.
+ */
+final class SseSinkEventStream implements McpEventStream {
+
+    private static final Logger LOGGER = Logger.getLogger(SseSinkEventStream.class.getName());
+
+    private final String sessionId;
+    private final SseEventSink sink;
+    private final Sse sse;
+    private volatile boolean closed;
+
+    SseSinkEventStream(String sessionId, SseEventSink sink, Sse sse) {
+        this.sessionId = sessionId;
+        this.sink = sink;
+        this.sse = sse;
+    }
+
+    @Override
+    public void sendMessage(byte[] json) throws IOException {
+        checkOpen();
+        sendMessageAsync(json);
+    }
+
+    @Override
+    public void sendComment(String comment) throws IOException {
+        checkOpen();
+        sendCommentAsync(comment);
+    }
+
+    @Override
+    public CompletionStage<Void> sendMessageAsync(byte[] json) {
+        return send(sse.newEventBuilder()
+                .name("message")
+                .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                .data(byte[].class, json)
+                .build());
+    }
+
+    @Override
+    public CompletionStage<Void> sendCommentAsync(String comment) {
+        return send(sse.newEventBuilder().comment(comment).build());
+    }
+
+    @Override
+    public boolean isBlocking() {
+        return false;
+    }
+
+    private void checkOpen() throws IOException {
+        if (isClosed()) {
+            throw new IOException("SSE stream closed");
+        }
+    }
+
+    private CompletionStage<Void> send(OutboundSseEvent event) {
+        if (isClosed()) {
+            return CompletableFuture.failedFuture(new IOException("SSE stream closed"));
+        }
+        CompletableFuture<Void> sent = new CompletableFuture<>();
+        sink.send(event).whenComplete((ignored, failure) -> {
+            if (failure != null) {
+                LOGGER.log(Level.FINE, "MCP: SSE send failed for session " + sessionId, failure);
+                close();
+                sent.completeExceptionally(failure);
+            } else {
+                sent.complete(null);
+            }
+        });
+        return sent;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed || sink.isClosed();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            sink.close();
+        } catch (Exception e) {
+            LOGGER.log(Level.FINE, "MCP: Failed to close SSE sink for session " + sessionId, e);
+        }
+    }
+}
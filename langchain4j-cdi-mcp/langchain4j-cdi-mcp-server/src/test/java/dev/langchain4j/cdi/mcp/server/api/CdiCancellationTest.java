@@ -2,6 +2,8 @@ package dev.langchain4j.cdi.mcp.server.api;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import dev.langchain4j.cdi.mcp.server.transport.McpCancellationManager;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.jupiter.api.Test;
 import org.mcp_java.server.Cancellation;
@@ -28,4 +30,18 @@ class CdiCancellationTest {
         Cancellation.Result result = cancellation.check();
         assertThat(result.isRequested()).isTrue();
     }
+
+    @Test
+    void shouldCancelBoundFutureWhenRequestIsCancelled() {
+        McpCancellationManager manager = new McpCancellationManager();
+        CdiCancellation cancellation = new CdiCancellation(manager.register("session-1", 7L));
+        CompletableFuture<String> outbound = cancellation.bind(new CompletableFuture<>());
+
+        assertThat(outbound).isNotDone();
+
+        manager.cancel("session-1", 7L);
+
+        assertThat(outbound).isCancelled();
+        assertThat(cancellation.check().isRequested()).isTrue();
+    }
 }
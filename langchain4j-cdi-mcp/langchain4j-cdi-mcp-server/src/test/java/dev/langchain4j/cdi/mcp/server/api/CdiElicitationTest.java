@@ -0,0 +1,60 @@
+package dev.langchain4j.cdi.mcp.server.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import dev.langchain4j.cdi.mcp.server.transport.McpCancellationManager;
+import dev.langchain4j.cdi.mcp.server.transport.McpElicitationManager;
+import dev.langchain4j.cdi.mcp.server.transport.McpSession;
+import jakarta.json.JsonObject;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mcp_java.server.ElicitationRequest;
+
+class CdiElicitationTest {
+
+    private final CompletableFuture<JsonObject> clientAnswer = new CompletableFuture<>();
+    private final McpCancellationManager cancellationManager = new McpCancellationManager();
+    private CdiElicitation elicitation;
+
+    @BeforeEach
+    void setUp() {
+        McpElicitationManager elicitationManager = mock(McpElicitationManager.class);
+        when(elicitationManager.createElicitationAsync(any(), any(), any(), any()))
+                .thenReturn(clientAnswer);
+        elicitation = new CdiElicitation(
+                mock(McpSession.class),
+                elicitationManager,
+                "session-1",
+                new CdiCancellation(cancellationManager.register("session-1", 7L)));
+    }
+
+    private ElicitationRequest request() {
+        return elicitation.requestBuilder().setMessage("Proceed?").build();
+    }
+
+    @Test
+    void shouldWithdrawPendingRequestWhenCallIsCancelled() {
+        CompletableFuture<?> response = elicitation.sendAsync(request()).toCompletableFuture();
+
+        cancellationManager.cancel("session-1", 7L);
+
+        assertThat(clientAnswer).isCancelled();
+        assertThat(response).isCompletedExceptionally();
+    }
+
+    @Test
+    void shouldWithdrawRequestAndKeepInterruptWhenInterrupted() {
+        Thread.currentThread().interrupt();
+        try {
+            assertThat((Object) request().sendAndAwait()).isNull();
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        } finally {
+            Thread.interrupted();
+        }
+        assertThat(clientAnswer).isCancelled();
+    }
+}
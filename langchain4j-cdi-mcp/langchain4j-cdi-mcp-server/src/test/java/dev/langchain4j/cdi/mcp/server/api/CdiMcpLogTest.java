@@ -1,5 +1,7 @@
 package dev.langchain4j.cdi.mcp.server.api;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import dev.langchain4j.cdi.mcp.server.logging.McpLogLevel;
@@ -17,6 +19,7 @@ class CdiMcpLogTest {
     void setup() {
         mcpLogger = mock(McpLogger.class);
         when(mcpLogger.getMinimumLevel()).thenReturn(McpLogLevel.debug);
+        when(mcpLogger.isEnabled(any(McpLogLevel.class))).thenReturn(true);
         log = new CdiMcpLog(mcpLogger, "TestTool");
     }
 
@@ -56,4 +59,52 @@ class CdiMcpLogTest {
         when(mcpLogger.getMinimumLevel()).thenReturn(McpLogLevel.error);
         org.assertj.core.api.Assertions.assertThat(log.level()).isEqualTo(McpLog.LogLevel.ERROR);
     }
+
+    @Test
+    void shouldFormatPlaceholdersInSinglePass() {
+        log.info("{} + {} = {}", 1, "{}", 3);
+        verify(mcpLogger).log(McpLogLevel.info, "TestTool", "1 + {} = 3");
+    }
+
+    @Test
+    void shouldKeepExtraPlaceholdersAndIgnoreExtraParams() {
+        log.info("a {} b {}", "x");
+        log.info("c {}", "y", "z");
+        verify(mcpLogger).log(McpLogLevel.info, "TestTool", "a x b {}");
+        verify(mcpLogger).log(McpLogLevel.info, "TestTool", "c y");
+    }
+
+    @Test
+    void shouldRouteToSessionAndUseItsLevel() {
+        when(mcpLogger.getLevel("s1")).thenReturn(McpLogLevel.info);
+        CdiMcpLog sessionLog = new CdiMcpLog(mcpLogger, "TestTool", "s1");
+
+        sessionLog.info("Hello {}", "world");
+
+        verify(mcpLogger).log("s1", McpLogLevel.info, "TestTool", "Hello world");
+        assertThat(sessionLog.level()).isEqualTo(McpLog.LogLevel.INFO);
+    }
+
+    @Test
+    void shouldNotFormatMessagesNoConnectedSessionAccepts() {
+        when(mcpLogger.isEnabled(McpLogLevel.debug)).thenReturn(false);
+        Object param = mock(Object.class);
+
+        log.debug("Value {}", param);
+
+        verify(mcpLogger, never()).log(any(McpLogLevel.class), any(), any());
+        verifyNoInteractions(param);
+    }
+
+    @Test
+    void shouldNotFormatFilteredMessages() {
+        when(mcpLogger.getLevel("s1")).thenReturn(McpLogLevel.error);
+        CdiMcpLog sessionLog = new CdiMcpLog(mcpLogger, "TestTool", "s1");
+        Object param = mock(Object.class);
+
+        sessionLog.debug("Value {}", param);
+
+        verify(mcpLogger, never()).log(any(), any(), any(), any());
+        verifyNoInteractions(param);
+    }
 }
@@ -62,4 +62,16 @@ class CdiProgressTest {
         tracker.advanceAndForget();
         assertThat(tracker.progress().intValue()).isEqualTo(20);
     }
+
+    @Test
+    void shouldReportProgressForOwningSession() {
+        McpProgressReporter reporter = mock(McpProgressReporter.class);
+        Progress progress = new CdiProgress("session-1", "tok-3", reporter);
+
+        progress.notificationBuilder().setProgress(1).setTotal(4).build().sendAndForget();
+        progress.trackerBuilder().setTotal(4).build().advanceAndForget();
+
+        verify(reporter, times(2)).reportProgress("session-1", "tok-3", 1.0, 4.0, null);
+        verify(reporter, never()).reportProgress(any(), anyDouble(), anyDouble(), any());
+    }
 }
@@ -2,6 +2,7 @@ package dev.langchain4j.cdi.mcp.server.error;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.concurrent.CompletionException;
 import org.junit.jupiter.api.Test;
 
 class McpErrorCodeTest {
@@ -19,5 +20,17 @@ class McpErrorCodeTest {
     void shouldHaveMcpSpecificCodes() {
         assertThat(McpErrorCode.SESSION_NOT_FOUND.getCode()).isEqualTo(-32001);
         assertThat(McpErrorCode.TOOL_NOT_FOUND.getCode()).isEqualTo(-32002);
+        assertThat(McpErrorCode.SERVER_OVERLOADED.getCode()).isEqualTo(-32003);
+        assertThat(McpErrorCode.RATE_LIMITED.getCode()).isEqualTo(-32004);
+    }
+
+    @Test
+    void shouldResolveCodeOfFailure() {
+        assertThat(McpErrorCode.of(null)).isNull();
+        assertThat(McpErrorCode.of(new McpException(1, McpErrorCode.RATE_LIMITED, "slow down")))
+                .isEqualTo(McpErrorCode.RATE_LIMITED);
+        assertThat(McpErrorCode.of(new CompletionException(new McpToolNotFoundException(1, "missing"))))
+                .isEqualTo(McpErrorCode.TOOL_NOT_FOUND);
+        assertThat(McpErrorCode.of(new IllegalStateException("boom"))).isEqualTo(McpErrorCode.INTERNAL_ERROR);
     }
 }
@@ -0,0 +1,29 @@
+package dev.langchain4j.cdi.mcp.server.error;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class McpRejectedExceptionTest {
+
+    @Test
+    void shouldCarryRetryHintAsErrorData() {
+        McpRejectedException ex =
+                new McpRejectedException(4L, McpErrorCode.RATE_LIMITED, "Slow down", Duration.ofMillis(1500));
+
+        assertThat(ex.getErrorCode()).isEqualTo(McpErrorCode.RATE_LIMITED);
+        assertThat(ex.getRetryAfter()).isEqualTo(Duration.ofMillis(1500));
+        assertThat(ex.getData()).isEqualTo(Map.of("retryAfterMs", 1500L));
+    }
+
+    @Test
+    void shouldRoundRetryHintUpToWholeMilliseconds() {
+        McpRejectedException ex =
+                new McpRejectedException(4L, McpErrorCode.RATE_LIMITED, "Slow down", Duration.ofNanos(1_000_001));
+
+        assertThat(ex.getRetryAfterMillis()).isEqualTo(2);
+        assertThat(ex.getData()).isEqualTo(Map.of("retryAfterMs", 2L));
+    }
+}
@@ -4,9 +4,13 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 import dev.langchain4j.cdi.mcp.server.transport.McpNotificationBroadcaster;
+import dev.langchain4j.cdi.mcp.server.transport.McpSession;
+import dev.langchain4j.cdi.mcp.server.transport.McpSessionManager;
 import java.lang.reflect.Field;
+import java.util.function.Predicate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 class McpLoggerTest {
 
@@ -20,6 +24,7 @@ class McpLoggerTest {
         Field field = McpLogger.class.getDeclaredField("broadcaster");
         field.setAccessible(true);
         field.set(logger, broadcaster);
+        logger.sessionManager = mock(McpSessionManager.class);
     }
 
     @Test
@@ -28,6 +33,13 @@ class McpLoggerTest {
         assertThat(logger.getMinimumLevel()).isEqualTo(McpLogLevel.warning);
     }
 
+    @SuppressWarnings("unchecked")
+    private Predicate<String> broadcastFilter() {
+        ArgumentCaptor<Predicate<String>> captor = ArgumentCaptor.forClass(Predicate.class);
+        verify(broadcaster).broadcast(any(), captor.capture());
+        return captor.getValue();
+    }
+
     @Test
     void shouldBroadcastWhenAboveMinimumLevel() {
         when(broadcaster.connectedStreamCount()).thenReturn(1);
@@ -35,7 +47,7 @@ class McpLoggerTest {
 
         logger.error("test", "an error");
 
-        verify(broadcaster).broadcast(any());
+        assertThat(broadcastFilter().test("s1")).isTrue();
     }
 
     @Test
@@ -45,6 +57,7 @@ class McpLoggerTest {
 
         logger.debug("test", "debug message");
 
+        assertThat(broadcastFilter().test("s1")).isFalse();
         verify(broadcaster, never()).broadcast(any());
     }
 
@@ -56,5 +69,67 @@ class McpLoggerTest {
         logger.info("test", "a message");
 
         verify(broadcaster, never()).broadcast(any());
+        verify(broadcaster, never()).broadcast(any(), any());
+    }
+
+    private McpSession sessionWithLevel(String id, McpLogLevel level) {
+        McpSession session = new McpSession(id, null);
+        session.setLogLevel(level);
+        when(logger.sessionManager.findSession(id)).thenReturn(session);
+        return session;
+    }
+
+    @Test
+    void shouldUseSessionLevelOverMinimumLevel() {
+        logger.setMinimumLevel(McpLogLevel.warning);
+        sessionWithLevel("s1", McpLogLevel.debug);
+
+        assertThat(logger.getLevel("s1")).isEqualTo(McpLogLevel.debug);
+        assertThat(logger.getLevel("unknown")).isEqualTo(McpLogLevel.warning);
+        assertThat(logger.isEnabled("s1", McpLogLevel.debug)).isTrue();
+        assertThat(logger.isEnabled("unknown", McpLogLevel.debug)).isFalse();
+    }
+
+    @Test
+    void shouldFilterEachRecipientBySessionLevel() {
+        when(broadcaster.connectedStreamCount()).thenReturn(3);
+        logger.setMinimumLevel(McpLogLevel.warning);
+        sessionWithLevel("s1", McpLogLevel.debug);
+        sessionWithLevel("s2", McpLogLevel.error);
+
+        logger.info("test", "a message");
+
+        Predicate<String> filter = broadcastFilter();
+        assertThat(filter.test("s1")).isTrue();
+        assertThat(filter.test("s2")).isFalse();
+        assertThat(filter.test("s3")).isFalse();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldEnableLevelWhenSomeConnectedSessionAcceptsIt() {
+        logger.setMinimumLevel(McpLogLevel.warning);
+        sessionWithLevel("s1", McpLogLevel.error);
+        sessionWithLevel("s2", McpLogLevel.info);
+        when(broadcaster.anyConnected(any())).thenAnswer(invocation -> {
+            Predicate<String> filter = invocation.getArgument(0);
+            return filter.test("s1") || filter.test("s2");
+        });
+
+        assertThat(logger.isEnabled(McpLogLevel.info)).isTrue();
+        assertThat(logger.isEnabled(McpLogLevel.debug)).isFalse();
+    }
+
+    @Test
+    void shouldSendOnlyToSessionWhenLevelAllows() {
+        sessionWithLevel("s1", McpLogLevel.debug);
+        sessionWithLevel("s2", McpLogLevel.error);
+
+        logger.log("s1", McpLogLevel.debug, "test", "verbose");
+        logger.log("s2", McpLogLevel.debug, "test", "verbose");
+
+        verify(broadcaster).sendToSession(eq("s1"), any());
+        verify(broadcaster, never()).sendToSession(eq("s2"), any());
+        verify(broadcaster, never()).broadcast(any());
     }
 }
@@ -0,0 +1,175 @@
+package dev.langchain4j.cdi.mcp.server.protocol;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.langchain4j.cdi.mcp.server.error.McpErrorCode;
+import dev.langchain4j.cdi.mcp.server.error.McpException;
+import jakarta.json.JsonObject;
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class JsonRpcMessageReaderTest {
+
+    private final McpJsonCodec codec = new McpJsonCodec();
+
+    private JsonRpcMessage read(String json) {
+        return readPayload(json, 1).messages().get(0);
+    }
+
+    private JsonRpcPayload readPayload(String json, int maxBatchSize) {
+        return codec.readPayload(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), maxBatchSize);
+    }
+
+    @Test
+    void shouldDecodeRequestWithParamsAndProgressToken() {
+        JsonRpcMessage message = read("""
+            {"jsonrpc":"2.0","id":7,"method":"tools/call",
+             "params":{"name":"add","arguments":{"a":1,"b":2},"_meta":{"progressToken":"tok-1"}}}\
+            """);
+
+        assertThat(message.kind()).isEqualTo(JsonRpcMessage.Kind.REQUEST);
+        assertThat(message.id()).isEqualTo(7L);
+        assertThat(message.method()).isEqualTo("tools/call");
+        assertThat(message.params().getJsonObject("arguments").getInt("b")).isEqualTo(2);
+        assertThat(message.progressToken()).isEqualTo("tok-1");
+
+        JsonRpcRequest request = message.toRequest();
+        assertThat(request.getId()).isEqualTo(7L);
+        assertThat(request.getProgressToken()).isEqualTo("tok-1");
+    }
+
+    @Test
+    void shouldDecodeParamsBeforeMethodAndId() {
+        JsonRpcMessage message =
+                read("{\"params\":{\"_meta\":{\"progressToken\":3}},\"method\":\"ping\",\"id\":\"abc\"}");
+
+        assertThat(message.kind()).isEqualTo(JsonRpcMessage.Kind.REQUEST);
+        assertThat(message.id()).isEqualTo("abc");
+        assertThat(message.progressToken()).isEqualTo(3L);
+    }
+
+    @Test
+    void shouldKeepFractionalAndOversizedIdsExact() {
+        assertThat(read("{\"jsonrpc\":\"2.0\",\"id\":1.5,\"method\":\"ping\"}").id())
+                .isEqualTo(new BigDecimal("1.5"));
+        assertThat(read("{\"jsonrpc\":\"2.0\",\"id\":18446744073709551616,\"method\":\"ping\"}")
+                        .id())
+                .isEqualTo(new BigDecimal("18446744073709551616"));
+        assertThat(read("{\"jsonrpc\":\"2.0\",\"id\":2.0,\"method\":\"ping\"}").id())
+                .isEqualTo(2L);
+    }
+
+    @Test
+    void shouldClassifyNotification() {
+        JsonRpcMessage message = read("{\"jsonrpc\":\"2.0\",\"method\":\"notifications/initialized\"}");
+
+        assertThat(message.kind()).isEqualTo(JsonRpcMessage.Kind.NOTIFICATION);
+        assertThat(message.id()).isNull();
+        assertThat(message.params()).isNull();
+        assertThat(message.progressToken()).isNull();
+    }
+
+    @Test
+    void shouldClassifyResultResponse() {
+        JsonRpcMessage message = read("{\"jsonrpc\":\"2.0\",\"id\":\"server-1\",\"result\":{\"roots\":[]}}");
+
+        assertThat(message.isResponse()).isTrue();
+        assertThat(message.id()).isEqualTo("server-1");
+        assertThat(((JsonObject) message.result()).getJsonArray("roots")).isEmpty();
+    }
+
+    @Test
+    void shouldClassifyErrorResponse() {
+        JsonRpcMessage message =
+                read("{\"jsonrpc\":\"2.0\",\"id\":\"server-2\",\"error\":{\"code\":-1,\"message\":\"denied\"}}");
+
+        assertThat(message.isResponse()).isTrue();
+        assertThat(message.error().getString("message")).isEqualTo("denied");
+    }
+
+    @Test
+    void shouldSkipUnknownMembers() {
+        JsonRpcMessage message =
+                read("{\"extra\":{\"nested\":[1,{\"a\":2}]},\"list\":[1,2],\"id\":1,\"method\":\"tools/list\"}");
+
+        assertThat(message.kind()).isEqualTo(JsonRpcMessage.Kind.REQUEST);
+        assertThat(message.method()).isEqualTo("tools/list");
+    }
+
+    @Test
+    void shouldReportMissingMethodAsInvalid() {
+        JsonRpcMessage message = read("{\"jsonrpc\":\"2.0\",\"id\":1}");
+
+        assertThat(message.kind()).isEqualTo(JsonRpcMessage.Kind.INVALID);
+        assertThat(message.toRequest().getMethod()).isNull();
+    }
+
+    @Test
+    void shouldRejectMalformedJson() {
+        assertThatThrownBy(() -> read("{\"id\":1,\"method\":"))
+                .isInstanceOf(McpException.class)
+                .extracting(e -> ((McpException) e).getErrorCode())
+                .isEqualTo(McpErrorCode.PARSE_ERROR);
+    }
+
+    @Test
+    void shouldRejectNonObjectBody() {
+        assertThatThrownBy(() -> read("\"hello\""))
+                .isInstanceOf(McpException.class)
+                .extracting(e -> ((McpException) e).getErrorCode())
+                .isEqualTo(McpErrorCode.INVALID_REQUEST);
+    }
+
+    @Test
+    void shouldReadSingleObjectPayload() {
+        JsonRpcPayload payload = readPayload("{\"id\":1,\"method\":\"ping\"}", 10);
+
+        assertThat(payload.batch()).isFalse();
+        assertThat(payload.messages())
+                .singleElement()
+                .extracting(JsonRpcMessage::method)
+                .isEqualTo("ping");
+    }
+
+    @Test
+    void shouldReadBatchEntriesInOrder() {
+        JsonRpcPayload payload = readPayload(
+                "[{\"id\":1,\"method\":\"tools/list\"},"
+                        + "{\"method\":\"notifications/initialized\"},"
+                        + "{\"id\":\"server-1\",\"result\":{}}]",
+                10);
+
+        assertThat(payload.batch()).isTrue();
+        assertThat(payload.messages())
+                .extracting(JsonRpcMessage::kind)
+                .containsExactly(
+                        JsonRpcMessage.Kind.REQUEST, JsonRpcMessage.Kind.NOTIFICATION, JsonRpcMessage.Kind.RESPONSE);
+    }
+
+    @Test
+    void shouldKeepNonObjectBatchEntriesAsInvalid() {
+        JsonRpcPayload payload = readPayload("[1,[2,3],{\"id\":1,\"method\":\"ping\"}]", 10);
+
+        assertThat(payload.messages())
+                .extracting(JsonRpcMessage::kind)
+                .containsExactly(JsonRpcMessage.Kind.INVALID, JsonRpcMessage.Kind.INVALID, JsonRpcMessage.Kind.REQUEST);
+    }
+
+    @Test
+    void shouldRejectOversizedBatch() {
+        assertThatThrownBy(() -> readPayload("[{\"id\":1,\"method\":\"ping\"},{\"id\":2,\"method\":\"ping\"}]", 1))
+                .isInstanceOf(McpException.class)
+                .hasMessageContaining("maximum size of 1");
+    }
+
+    @Test
+    void shouldRejectEmptyBatch() {
+        assertThatThrownBy(() -> readPayload("[]", 10))
+                .isInstanceOf(McpException.class)
+                .extracting(e -> ((McpException) e).getErrorCode())
+                .isEqualTo(McpErrorCode.INVALID_REQUEST);
+    }
+}
@@ -0,0 +1,81 @@
+package dev.langchain4j.cdi.mcp.server.protocol;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class McpBlobContentsTest {
+
+    private static final byte[] DATA = new byte[200_003];
+
+    static {
+        new Random(42).nextBytes(DATA);
+    }
+
+    @TempDir
+    Path tempDir;
+
+    private static JsonObject write(Object content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        McpBlobContents.of("file:///data.bin", "application/octet-stream", content)
+                .writeTo(out);
+        return Json.createReader(new StringReader(out.toString(StandardCharsets.UTF_8)))
+                .readObject();
+    }
+
+    private static byte[] blob(JsonObject result) {
+        JsonObject contents = result.getJsonArray("contents").getJsonObject(0);
+        assertThat(contents.getString("uri")).isEqualTo("file:///data.bin");
+        assertThat(contents.getString("mimeType")).isEqualTo("application/octet-stream");
+        return Base64.getDecoder().decode(contents.getString("blob"));
+    }
+
+    @Test
+    void shouldStreamEveryBinaryType() throws IOException {
+        Path file = Files.write(tempDir.resolve("data.bin"), DATA);
+
+        assertThat(blob(write(DATA))).isEqualTo(DATA);
+        assertThat(blob(write(ByteBuffer.wrap(DATA)))).isEqualTo(DATA);
+        assertThat(blob(write(file))).isEqualTo(DATA);
+        assertThat(blob(write(new ByteArrayInputStream(DATA)))).isEqualTo(DATA);
+        assertThat(blob(write(Channels.newChannel(new ByteArrayInputStream(DATA)))))
+                .isEqualTo(DATA);
+    }
+
+    @Test
+    void shouldReadDirectBufferWithoutMovingItsPosition() throws IOException {
+        ByteBuffer direct = ByteBuffer.allocateDirect(DATA.length).put(DATA).flip();
+
+        assertThat(blob(write(direct))).isEqualTo(DATA);
+        assertThat(direct.position()).isZero();
+    }
+
+    @Test
+    void shouldStreamEmptyFile() throws IOException {
+        Path file = Files.createFile(tempDir.resolve("empty.bin"));
+
+        assertThat(blob(write(file))).isEmpty();
+    }
+
+    @Test
+    void shouldRecognizeBinaryContent() {
+        assertThat(McpBlobContents.isBinary(DATA)).isTrue();
+        assertThat(McpBlobContents.isBinary(Path.of("x"))).isTrue();
+        assertThat(McpBlobContents.isBinary("text")).isFalse();
+        assertThat(McpBlobContents.isBinary(null)).isFalse();
+    }
+}
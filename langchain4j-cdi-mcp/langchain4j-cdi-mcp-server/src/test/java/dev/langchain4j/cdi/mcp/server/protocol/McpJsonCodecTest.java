@@ -0,0 +1,154 @@
+package dev.langchain4j.cdi.mcp.server.protocol;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.json.Json;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class McpJsonCodecTest {
+
+    private final McpJsonCodec codec = new McpJsonCodec();
+
+    @Test
+    void shouldOmitNullValues() {
+        String json = codec.toJson(JsonRpcResponse.success(1L, Map.of("ok", true)));
+
+        assertThat(json).contains("\"jsonrpc\":\"2.0\"");
+        assertThat(json).contains("\"id\":1");
+        assertThat(json).contains("\"ok\":true");
+        assertThat(json).doesNotContain("error");
+    }
+
+    @Test
+    void shouldWriteToStreamWithoutClosingIt() throws IOException {
+        TrackingOutputStream out = new TrackingOutputStream();
+
+        codec.write(JsonRpcResponse.success("a", "first"), out);
+        codec.write(JsonRpcResponse.success("b", "second"), out);
+
+        assertThat(out.closed).isFalse();
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains("first").contains("second");
+    }
+
+    @Test
+    void shouldWriteSseEvent() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        codec.writeSseEvent(JsonRpcNotification.toolsListChanged(), out);
+
+        String payload = out.toString(StandardCharsets.UTF_8);
+        assertThat(payload).startsWith("event: message\ndata: {");
+        assertThat(payload).endsWith("}\n\n");
+        assertThat(payload).contains("notifications/tools/list_changed");
+    }
+
+    @Test
+    void shouldEncodeSseEventMatchingStreamedForm() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.writeSseEvent(JsonRpcNotification.promptsListChanged(), out);
+
+        assertThat(codec.toSseEvent(JsonRpcNotification.promptsListChanged())).isEqualTo(out.toByteArray());
+    }
+
+    @Test
+    void shouldProduceSameBytesAsString() {
+        JsonRpcResponse response = JsonRpcResponse.error(7L, new JsonRpcError(-32601, "Method not found: \u00e9"));
+
+        assertThat(codec.toBytes(response)).isEqualTo(codec.toJson(response).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldWriteErrorDataOnlyWhenPresent() {
+        String plain = codec.toJson(JsonRpcResponse.error(1L, new JsonRpcError(-32601, "Method not found")));
+        String withData = codec.toJson(
+                JsonRpcResponse.error(1L, new JsonRpcError(-32004, "Rate limited", Map.of("retryAfterMs", 250L))));
+
+        assertThat(plain).doesNotContain("data");
+        assertThat(withData).contains("\"data\":{\"retryAfterMs\":250}");
+    }
+
+    @Test
+    void shouldCopyEncodedResultIntoResponse() {
+        McpEncodedResult encoded = McpEncodedResult.encode(Map.of("ok", true), codec);
+
+        String json = new String(codec.toBytes(JsonRpcResponse.success("r-1", encoded)), StandardCharsets.UTF_8);
+
+        assertThat(json).isEqualTo(codec.toJson(JsonRpcResponse.success("r-1", Map.of("ok", true))));
+    }
+
+    @Test
+    void shouldWriteEncodedResultsInBatch() {
+        McpEncodedResult encoded = McpEncodedResult.encode(Map.of("ok", true), codec);
+        List<JsonRpcResponse> batch =
+                List.of(JsonRpcResponse.success(1L, encoded), JsonRpcResponse.success(2L, Map.of("ok", false)));
+
+        String json = new String(codec.toBytes(batch), StandardCharsets.UTF_8);
+
+        assertThat(json)
+                .isEqualTo("[" + codec.toJson(JsonRpcResponse.success(1L, Map.of("ok", true))) + ","
+                        + codec.toJson(batch.get(1)) + "]");
+    }
+
+    @Test
+    void shouldStreamResultIntoResponseEnvelope() {
+        McpStreamedResult streamed =
+                McpStreamedResult.of(out -> out.write("{\"n\":1}".getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(new String(codec.toBytes(JsonRpcResponse.success(3, streamed)), StandardCharsets.UTF_8))
+                .isEqualTo("{\"id\":3,\"jsonrpc\":\"2.0\",\"result\":{\"n\":1}}");
+        assertThat(new String(codec.toBytes(List.of(JsonRpcResponse.success(4, streamed))), StandardCharsets.UTF_8))
+                .isEqualTo("[{\"id\":4,\"jsonrpc\":\"2.0\",\"result\":{\"n\":1}}]");
+    }
+
+    public record Point(int x, String label) {}
+
+    @Test
+    void shouldBindStructuresAndScalars() throws Exception {
+        Type points = McpJsonCodecTest.class.getDeclaredMethod("points").getGenericReturnType();
+
+        Point point = codec.fromJson(
+                Json.createObjectBuilder().add("x", 1).add("label", "a").build(), Point.class);
+        List<Point> list = codec.fromJson(
+                Json.createArrayBuilder()
+                        .add(Json.createObjectBuilder().add("x", 2))
+                        .build(),
+                points);
+        String text = codec.fromJson(Json.createValue("plain"), String.class);
+
+        assertThat(point).isEqualTo(new Point(1, "a"));
+        assertThat(list).containsExactly(new Point(2, null));
+        assertThat(text).isEqualTo("plain");
+    }
+
+    static List<Point> points() {
+        return List.of();
+    }
+
+    @Test
+    void shouldReuseDefaultCodec() {
+        assertThat(McpJsonCodec.getDefault()).isSameAs(McpJsonCodec.getDefault());
+    }
+
+    @Test
+    void shouldRecreateJsonbAfterClose() {
+        codec.toJson(Map.of("a", 1));
+        codec.close();
+
+        assertThat(codec.toJson(Map.of("a", 1))).isEqualTo("{\"a\":1}");
+    }
+
+    private static final class TrackingOutputStream extends ByteArrayOutputStream {
+        private boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -56,4 +56,28 @@ class McpPaginationTest {
         int offset = McpPagination.decodeOffset(cursor);
         assertThat(offset).isEqualTo(42);
     }
+
+    @Test
+    void shouldEncodeVersionInCursor() {
+        McpPagination.Position position = McpPagination.decodePosition(McpPagination.encodeCursor(7L, 50));
+
+        assertThat(position.version()).isEqualTo(7L);
+        assertThat(position.offset()).isEqualTo(50);
+    }
+
+    @Test
+    void shouldDecodeOffsetOnlyCursorAgainstCurrentVersion() {
+        McpPagination.Position position = McpPagination.decodePosition(McpPagination.encodeCursor(20));
+
+        assertThat(position.version()).isEqualTo(McpPagination.Position.CURRENT);
+        assertThat(position.offset()).isEqualTo(20);
+    }
+
+    @Test
+    void shouldStartOverOnMalformedCursor() {
+        McpPagination.Position position = McpPagination.decodePosition("not base64!");
+
+        assertThat(position.version()).isEqualTo(McpPagination.Position.CURRENT);
+        assertThat(position.offset()).isZero();
+    }
 }
@@ -0,0 +1,226 @@
+package dev.langchain4j.cdi.mcp.server.registry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import dev.langchain4j.cdi.mcp.server.api.CachedResult;
+import dev.langchain4j.cdi.mcp.server.api.McpRequestContext;
+import dev.langchain4j.cdi.mcp.server.error.McpErrorCode;
+import dev.langchain4j.cdi.mcp.server.error.McpException;
+import dev.langchain4j.cdi.mcp.server.fixtures.CalculatorTool;
+import dev.langchain4j.cdi.mcp.server.fixtures.GreetingTool;
+import dev.langchain4j.cdi.mcp.server.transport.McpServerListeners;
+import dev.langchain4j.cdi.mcp.server.transport.McpSpan;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.context.Dependent;
+import jakarta.enterprise.context.spi.CreationalContext;
+import jakarta.enterprise.inject.spi.Bean;
+import jakarta.enterprise.inject.spi.BeanManager;
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class McpBeanInvokerTest {
+
+    private McpBeanInvoker invoker;
+    private BeanManager beanManager;
+    private CreationalContext<Object> creationalContext;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        beanManager = mock(BeanManager.class);
+        creationalContext = mock(CreationalContext.class);
+        when(beanManager.createCreationalContext(any())).thenReturn(creationalContext);
+        invoker = new McpBeanInvoker();
+        invoker.beanManager = beanManager;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void registerBean(Class<?> beanType, Class<?> scope, Object instance) {
+        Bean bean = mock(Bean.class);
+        when(bean.getScope()).thenReturn(scope);
+        when(beanManager.getBeans(beanType)).thenReturn(Set.of(bean));
+        when(beanManager.resolve(any())).thenReturn(bean);
+        when(beanManager.isNormalScope(ApplicationScoped.class)).thenReturn(true);
+        when(beanManager.getReference(any(), any(), any())).thenReturn(instance);
+    }
+
+    private static JsonObject args(int a, int b) {
+        return Json.createObjectBuilder().add("a", a).add("b", b).build();
+    }
+
+    @Test
+    void shouldResolveNormalScopedBeanOnce() throws Exception {
+        registerBean(CalculatorTool.class, ApplicationScoped.class, new CalculatorTool());
+        McpToolDescriptor add = McpToolDescriptor.fromMethod(
+                CalculatorTool.class, CalculatorTool.class.getMethod("add", int.class, int.class));
+
+        assertThat(invoker.invoke(1, add.getInvocationPlan(), args(2, 3), null, null))
+                .isEqualTo(5);
+        assertThat(invoker.invoke(2, add.getInvocationPlan(), args(4, 5), null, null))
+                .isEqualTo(9);
+
+        verify(beanManager, times(1)).getBeans(CalculatorTool.class);
+        verify(beanManager, times(1)).getReference(any(), any(), any());
+    }
+
+    @Test
+    void shouldCreateAndReleaseDependentBeanPerCall() throws Exception {
+        registerBean(CalculatorTool.class, Dependent.class, new CalculatorTool());
+        McpInvocationPlan plan =
+                McpInvocationPlan.of(CalculatorTool.class, CalculatorTool.class.getMethod("add", int.class, int.class));
+
+        invoker.invoke(1, plan, args(1, 1), null, null);
+        invoker.invoke(2, plan, args(1, 1), null, null);
+
+        verify(beanManager, times(1)).getBeans(CalculatorTool.class);
+        verify(beanManager, times(2)).getReference(any(), any(), any());
+        verify(creationalContext, times(2)).release();
+    }
+
+    @Test
+    void shouldUseDefaultsForMissingArguments() throws Exception {
+        registerBean(GreetingTool.class, ApplicationScoped.class, new GreetingTool());
+
+        Object result = invoker.invoke(
+                1,
+                GreetingTool.class,
+                GreetingTool.class.getMethod("greet", String.class, String.class),
+                Json.createObjectBuilder().add("name", "Ada").build());
+
+        assertThat(result).isEqualTo("Hello, Ada!");
+    }
+
+    @Test
+    void shouldParseStringValuesForNumericParameters() throws Exception {
+        registerBean(CalculatorTool.class, ApplicationScoped.class, new CalculatorTool());
+        McpInvocationPlan plan =
+                McpInvocationPlan.of(CalculatorTool.class, CalculatorTool.class.getMethod("add", int.class, int.class));
+
+        Object result = invoker.invoke(
+                1, plan, Json.createObjectBuilder().add("a", "40").add("b", 2).build(), null, null);
+
+        assertThat(result).isEqualTo(42);
+        assertThatThrownBy(() -> invoker.invoke(
+                        1, plan, Json.createObjectBuilder().add("a", "x").build(), null, null))
+                .isInstanceOf(McpException.class)
+                .extracting(e -> ((McpException) e).getErrorCode())
+                .isEqualTo(McpErrorCode.INVALID_PARAMS);
+    }
+
+    @Test
+    void shouldBindStructuredArguments() throws Exception {
+        registerBean(Orders.class, ApplicationScoped.class, new Orders());
+        McpInvocationPlan plan = McpInvocationPlan.of(Orders.class, Orders.class.getMethod("total", List.class));
+        JsonObject arguments = Json.createObjectBuilder()
+                .add(
+                        "lines",
+                        Json.createArrayBuilder()
+                                .add(Json.createObjectBuilder().add("sku", "a").add("quantity", 2))
+                                .add(Json.createObjectBuilder().add("sku", "b").add("quantity", 3)))
+                .build();
+
+        assertThat(invoker.invoke(1, plan, arguments, null, null)).isEqualTo(5);
+        assertThatThrownBy(() -> invoker.invoke(
+                        1, plan, Json.createObjectBuilder().add("lines", "a,b").build(), null, null))
+                .isInstanceOf(McpException.class)
+                .hasMessageContaining("parameter 'lines'")
+                .extracting(e -> ((McpException) e).getErrorCode())
+                .isEqualTo(McpErrorCode.INVALID_PARAMS);
+    }
+
+    @Test
+    void shouldReportExceptionsThrownByMethod() throws Exception {
+        registerBean(Failing.class, ApplicationScoped.class, new Failing());
+        McpInvocationPlan plan = McpInvocationPlan.of(Failing.class, Failing.class.getMethod("fail"));
+
+        assertThatThrownBy(() -> invoker.invoke(7, plan, null, null, null))
+                .isInstanceOf(McpException.class)
+                .hasMessage("Invocation failed: fail - boom")
+                .extracting(e -> ((McpException) e).getErrorCode())
+                .isEqualTo(McpErrorCode.INTERNAL_ERROR);
+    }
+
+    @Test
+    void shouldFailWhenBeanIsMissing() throws Exception {
+        McpInvocationPlan plan = McpInvocationPlan.of(Failing.class, Failing.class.getMethod("fail"));
+
+        assertThatThrownBy(() -> invoker.invoke(1, plan, null, null, null))
+                .isInstanceOf(McpException.class)
+                .hasMessageContaining("CDI bean not found");
+    }
+
+    @Test
+    void shouldReturnCachedResultWithoutCallingMethod() throws Exception {
+        Lookups lookups = new Lookups();
+        registerBean(Lookups.class, ApplicationScoped.class, lookups);
+        McpInvocationPlan plan = McpInvocationPlan.of(Lookups.class, Lookups.class.getMethod("find", String.class));
+        JsonObject paris = Json.createObjectBuilder().add("city", "Paris").build();
+
+        assertThat(invoker.invoke(1, plan, paris, null, null)).isEqualTo("Paris#1");
+        assertThat(invoker.invoke(2, plan, paris, null, null)).isEqualTo("Paris#1");
+        assertThat(invoker.invoke(
+                        3, plan, Json.createObjectBuilder().add("city", "Rome").build(), null, null))
+                .isEqualTo("Rome#2");
+
+        assertThat(plan.getResultCache().hitCount()).isEqualTo(1);
+        assertThat(plan.getResultCache().missCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldTraceInvocationUnderRequestSpan() throws Exception {
+        registerBean(Failing.class, ApplicationScoped.class, new Failing());
+        McpInvocationPlan plan = McpInvocationPlan.of(Failing.class, Failing.class.getMethod("fail"));
+        McpSpan requestSpan = mock(McpSpan.class);
+        McpSpan invocationSpan = mock(McpSpan.class);
+        McpSpan.Scope scope = mock(McpSpan.Scope.class);
+        when(invocationSpan.makeCurrent()).thenReturn(scope);
+        McpServerListeners listeners = mock(McpServerListeners.class);
+        when(listeners.isEnabled()).thenReturn(true);
+        when(listeners.startInvocation(requestSpan, plan.getMethod())).thenReturn(invocationSpan);
+        invoker.listeners = listeners;
+        McpRequestContext ctx = new McpRequestContext("session-1", 7, null, new AtomicBoolean(), requestSpan);
+
+        assertThatThrownBy(() -> invoker.invoke(7, plan, null, ctx, null)).isInstanceOf(McpException.class);
+
+        verify(scope).close();
+        verify(invocationSpan).end(any(McpException.class));
+    }
+
+    // Not public: the plan must still be able to call it
+    static class Failing {
+
+        public String fail() {
+            throw new IllegalStateException("boom");
+        }
+    }
+
+    static class Lookups {
+
+        private int calls;
+
+        @CachedResult(maxEntries = 10)
+        public String find(String city) {
+            return city + "#" + ++calls;
+        }
+    }
+
+    record Line(String sku, int quantity) {}
+
+    static class Orders {
+
+        public int total(List<Line> lines) {
+            return lines.stream().mapToInt(Line::quantity).sum();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package dev.langchain4j.cdi.mcp.server.registry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.mcp_java.model.completion.CompleteResult;
+
+class McpCompletionIndexTest {
+
+    @Test
+    void shouldCompleteSortedDistinctValuesByPrefix() {
+        McpCompletionIndex index = McpCompletionIndex.of(List.of("paris", "pau", "lyon", "paris", "pamplona", "nice"));
+
+        CompleteResult result = index.complete("pa", 100);
+
+        assertThat(result.completion().values()).containsExactly("pamplona", "paris", "pau");
+        assertThat(result.completion().total()).isEqualTo(3);
+        assertThat(result.completion().hasMore()).isFalse();
+        assertThat(index.size()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldReturnEverythingForEmptyPrefix() {
+        McpCompletionIndex index = McpCompletionIndex.of(List.of("b", "a"));
+
+        assertThat(index.complete("", 100).completion().values()).containsExactly("a", "b");
+    }
+
+    @Test
+    void shouldReturnNothingWhenNoValueMatches() {
+        McpCompletionIndex index = McpCompletionIndex.of(List.of("lyon", "paris"));
+
+        assertThat(index.complete("m", 100).completion().values()).isEmpty();
+        assertThat(index.complete("zz", 100).completion().total()).isZero();
+        assertThat(McpCompletionIndex.EMPTY.complete("a", 100).completion().values())
+                .isEmpty();
+    }
+
+    @Test
+    void shouldCapValuesAndReportTotal() {
+        McpCompletionIndex index = McpCompletionIndex.of(IntStream.range(0, 250)
+                .mapToObj(i -> "item-" + String.format("%03d", i))
+                .toList());
+
+        CompleteResult result = index.complete("item-", 100);
+
+        assertThat(result.completion().values()).hasSize(100).startsWith("item-000");
+        assertThat(result.completion().total()).isEqualTo(250);
+        assertThat(result.completion().hasMore()).isTrue();
+    }
+}
@@ -0,0 +1,220 @@
+package dev.langchain4j.cdi.mcp.server.registry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import dev.langchain4j.cdi.mcp.server.api.Complete;
+import dev.langchain4j.cdi.mcp.server.transport.McpSession;
+import jakarta.json.Json;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mcp_java.annotations.prompts.Prompt;
+import org.mcp_java.annotations.resources.Resource;
+import org.mcp_java.annotations.resources.ResourceTemplate;
+import org.mcp_java.model.completion.CompleteResult;
+
+class McpCompletionRegistryTest {
+
+    enum Tone {
+        FORMAL,
+        FRIENDLY,
+        FUNNY
+    }
+
+    @Prompt(name = "greet")
+    public String greet(Tone tone, String name) {
+        return tone + " " + name;
+    }
+
+    @Prompt(name = "greet")
+    public String greetFormally(boolean tone, String name) {
+        return tone + " " + name;
+    }
+
+    @ResourceTemplate(uriTemplate = "city://{country}/{city}")
+    public String city(String country, String city) {
+        return city;
+    }
+
+    @Resource(uri = "city://fr/paris")
+    public String paris() {
+        return "paris";
+    }
+
+    @Complete(prompt = "greet", argument = "name")
+    public List<String> names() {
+        return List.of("alice", "albert", "bob");
+    }
+
+    @Complete(resourceTemplate = "city://{country}/{city}", argument = "city", cacheTtlMillis = 0)
+    public String[] cities(String country, String city) {
+        return new String[] {country + "-" + city + "-1", country + "-" + city + "-2"};
+    }
+
+    @Complete(resourceTemplate = "city://{country}/{city}", argument = "city")
+    public List<String> citiesOf(String country) {
+        return List.of(country + "-1");
+    }
+
+    @Complete(prompt = "greet", argument = "name", perSession = true)
+    public List<String> contacts() {
+        return List.of("alice");
+    }
+
+    private McpCompletionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new McpCompletionRegistry();
+        registry.promptRegistry = new McpPromptRegistry();
+        registry.resourceRegistry = new McpResourceRegistry();
+        registry.beanInvoker = mock(McpBeanInvoker.class);
+    }
+
+    private CompleteResult complete(String refType, String refName, String argument, String value) {
+        return registry.complete(1, refType, refName, argument, value, Map.of(), null, null);
+    }
+
+    @Test
+    void shouldCompleteEnumPromptArgumentWithoutProvider() throws Exception {
+        registry.promptRegistry.register(
+                McpPromptDescriptor.fromMethod(getClass(), getClass().getMethod("greet", Tone.class, String.class)));
+
+        CompleteResult result = complete("ref/prompt", "greet", "tone", "F");
+
+        assertThat(result.completion().values()).containsExactly("FORMAL", "FRIENDLY", "FUNNY");
+        assertThat(complete("ref/prompt", "greet", "tone", "FR").completion().values())
+                .containsExactly("FRIENDLY");
+        assertThat(complete("ref/prompt", "greet", "name", "a").completion().values())
+                .isEmpty();
+    }
+
+    @Test
+    void shouldRebuildPromptArgumentIndexWhenPromptsChange() throws Exception {
+        registry.promptRegistry.register(
+                McpPromptDescriptor.fromMethod(getClass(), getClass().getMethod("greet", Tone.class, String.class)));
+        assertThat(complete("ref/prompt", "greet", "tone", "").completion().values())
+                .containsExactly("FORMAL", "FRIENDLY", "FUNNY");
+
+        registry.promptRegistry.register(McpPromptDescriptor.fromMethod(
+                getClass(), getClass().getMethod("greetFormally", boolean.class, String.class)));
+        assertThat(complete("ref/prompt", "greet", "tone", "").completion().values())
+                .containsExactly("false", "true");
+
+        registry.promptRegistry.unregister("greet");
+        assertThat(complete("ref/prompt", "greet", "tone", "").completion().values())
+                .isEmpty();
+    }
+
+    @Test
+    void shouldCompleteTemplateVariableFromRegisteredResources() throws Exception {
+        registry.resourceRegistry.registerTemplate(McpResourceTemplateDescriptor.fromMethod(
+                getClass(), getClass().getMethod("city", String.class, String.class)));
+        registry.resourceRegistry.register(
+                McpResourceDescriptor.fromMethod(getClass(), getClass().getMethod("paris")));
+
+        assertThat(complete("ref/resource", "city://{country}/{city}", "city", "pa")
+                        .completion()
+                        .values())
+                .containsExactly("paris");
+        assertThat(complete("ref/resource", "unknown://{x}", "x", "")
+                        .completion()
+                        .values())
+                .isEmpty();
+    }
+
+    @Test
+    void shouldCacheProviderResults() throws Exception {
+        registry.register(
+                McpCompletionDescriptor.fromMethod(getClass(), getClass().getMethod("names")));
+        when(registry.beanInvoker.invoke(any(), any(McpInvocationPlan.class), any(), any(), any()))
+                .thenReturn(names());
+
+        CompleteResult first = complete("ref/prompt", "greet", "name", "al");
+        CompleteResult second = complete("ref/prompt", "greet", "name", "b");
+
+        assertThat(first.completion().values()).containsExactly("albert", "alice");
+        assertThat(second.completion().values()).containsExactly("bob");
+        verify(registry.beanInvoker, times(1)).invoke(any(), any(McpInvocationPlan.class), any(), any(), any());
+    }
+
+    @Test
+    void shouldNotMixUpCachedResultsOfArgumentsWithSameTextForm() throws Exception {
+        registry.register(
+                McpCompletionDescriptor.fromMethod(getClass(), getClass().getMethod("citiesOf", String.class)));
+        when(registry.beanInvoker.invoke(any(), any(McpInvocationPlan.class), any(), any(), any()))
+                .thenReturn(citiesOf("first"), citiesOf("second"));
+
+        CompleteResult first = registry.complete(
+                1, "ref/resource", "city://{country}/{city}", "city", "", Map.of("country", "fr, x=y"), null, null);
+        CompleteResult second = registry.complete(
+                2,
+                "ref/resource",
+                "city://{country}/{city}",
+                "city",
+                "",
+                Map.of("country", "fr", "x", "y"),
+                null,
+                null);
+
+        assertThat(first.completion().values()).containsExactly("first-1");
+        assertThat(second.completion().values()).containsExactly("second-1");
+        verify(registry.beanInvoker, times(2)).invoke(any(), any(McpInvocationPlan.class), any(), any(), any());
+    }
+
+    @Test
+    void shouldCachePerSessionProviderResultsForEachSession() throws Exception {
+        registry.register(
+                McpCompletionDescriptor.fromMethod(getClass(), getClass().getMethod("contacts")));
+        when(registry.beanInvoker.invoke(any(), any(McpInvocationPlan.class), any(), any(), any()))
+                .thenReturn(contacts());
+        McpSession s1 = new McpSession("s1", null);
+        McpSession s2 = new McpSession("s2", null);
+
+        registry.complete(1, "ref/prompt", "greet", "name", "a", Map.of(), null, s1);
+        registry.complete(2, "ref/prompt", "greet", "name", "al", Map.of(), null, s1);
+        registry.complete(3, "ref/prompt", "greet", "name", "a", Map.of(), null, s2);
+
+        verify(registry.beanInvoker, times(2)).invoke(any(), any(McpInvocationPlan.class), any(), any(), any());
+    }
+
+    @Test
+    void shouldPassContextAndTypedValueToProvider() throws Exception {
+        registry.register(McpCompletionDescriptor.fromMethod(
+                getClass(), getClass().getMethod("cities", String.class, String.class)));
+        when(registry.beanInvoker.invoke(any(), any(McpInvocationPlan.class), any(), any(), any()))
+                .thenReturn(cities("fr", "pa"));
+
+        CompleteResult result = registry.complete(
+                1, "ref/resource", "city://{country}/{city}", "city", "fr", Map.of("country", "fr"), null, null);
+
+        assertThat(result.completion().values()).containsExactly("fr-pa-1", "fr-pa-2");
+        verify(registry.beanInvoker)
+                .invoke(
+                        eq(1),
+                        argThat(plan -> plan.getMethod().getName().equals("cities")),
+                        eq(Json.createObjectBuilder()
+                                .add("city", "fr")
+                                .add("country", "fr")
+                                .build()),
+                        any(),
+                        any());
+    }
+
+    @Test
+    void shouldReturnEmptyCompletionForUnknownRef() {
+        CompleteResult result = complete("ref/prompt", "nonexistent", "text", "");
+
+        assertThat(result.completion().values()).isEmpty();
+        assertThat(result.completion().total()).isZero();
+        assertThat(result.completion().hasMore()).isFalse();
+    }
+}
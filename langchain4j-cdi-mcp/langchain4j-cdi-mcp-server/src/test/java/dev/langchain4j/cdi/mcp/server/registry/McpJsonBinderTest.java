@@ -0,0 +1,253 @@
+package dev.langchain4j.cdi.mcp.server.registry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+import jakarta.json.bind.annotation.JsonbProperty;
+import jakarta.json.bind.annotation.JsonbTransient;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class McpJsonBinderTest {
+
+    enum Priority {
+        LOW,
+        HIGH
+    }
+
+    record Address(String city, @JsonbProperty("zip_code") String zipCode) {}
+
+    record Person(String name, int age, Address address, List<String> tags, Optional<Priority> priority) {}
+
+    record Node(String label, List<Node> children) {}
+
+    public static class Settings {
+
+        private boolean verbose;
+        public int retries;
+
+        public boolean isVerbose() {
+            return verbose;
+        }
+
+        public void setVerbose(boolean verbose) {
+            this.verbose = verbose;
+        }
+    }
+
+    public static class Account {
+
+        @JsonbProperty("display_name")
+        private String displayName;
+
+        @JsonbTransient
+        private String secret;
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        public void setDisplayName(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getSecret() {
+            return secret;
+        }
+
+        public void setSecret(String secret) {
+            this.secret = secret;
+        }
+    }
+
+    // Fields referenced for their generic types
+    List<Address> addresses;
+    Map<String, List<Integer>> scores;
+    Optional<LocalDate> due;
+    Set<Priority> priorities;
+    Map<Priority, Integer> limits;
+
+    private static Object bind(Type type, JsonValue value) {
+        return McpJsonBinder.converter(type).apply(value);
+    }
+
+    private static Type typeOf(String field) throws Exception {
+        return McpJsonBinderTest.class.getDeclaredField(field).getGenericType();
+    }
+
+    @Test
+    void shouldBindNestedRecordFromTree() {
+        JsonObject json = Json.createObjectBuilder()
+                .add("name", "Ada")
+                .add("age", 36)
+                .add("address", Json.createObjectBuilder().add("city", "London").add("zip_code", "W1"))
+                .add("tags", Json.createArrayBuilder().add("math").add("code"))
+                .add("priority", "high")
+                .add("ignored", true)
+                .build();
+
+        Person person = (Person) bind(Person.class, json);
+
+        assertThat(person)
+                .isEqualTo(new Person(
+                        "Ada", 36, new Address("London", "W1"), List.of("math", "code"), Optional.of(Priority.HIGH)));
+    }
+
+    @Test
+    void shouldUseDefaultsForMissingRecordComponents() {
+        Person person = (Person)
+                bind(Person.class, Json.createObjectBuilder().add("name", "Bob").build());
+
+        assertThat(person.age()).isZero();
+        assertThat(person.address()).isNull();
+        assertThat(person.priority()).isEmpty();
+    }
+
+    @Test
+    void shouldBindGenericCollectionsAndMaps() throws Exception {
+        assertThat(bind(
+                        typeOf("addresses"),
+                        Json.createArrayBuilder()
+                                .add(Json.createObjectBuilder().add("city", "Paris"))
+                                .build()))
+                .isEqualTo(List.of(new Address("Paris", null)));
+        assertThat(bind(
+                        typeOf("scores"),
+                        Json.createObjectBuilder()
+                                .add("a", Json.createArrayBuilder().add(1).add(2))
+                                .build()))
+                .isEqualTo(Map.of("a", List.of(1, 2)));
+        assertThat(bind(
+                        typeOf("priorities"),
+                        Json.createArrayBuilder().add("LOW").add("LOW").build()))
+                .isEqualTo(Set.of(Priority.LOW));
+        assertThat(bind(
+                        typeOf("limits"),
+                        Json.createObjectBuilder().add("HIGH", 5).build()))
+                .isEqualTo(Map.of(Priority.HIGH, 5));
+    }
+
+    @Test
+    void shouldBindScalarsParsedFromStrings() throws Exception {
+        UUID id = UUID.randomUUID();
+
+        assertThat(bind(typeOf("due"), Json.createValue("2024-02-29")))
+                .isEqualTo(Optional.of(LocalDate.of(2024, 2, 29)));
+        assertThat(bind(UUID.class, Json.createValue(id.toString()))).isEqualTo(id);
+        assertThat(bind(int[].class, Json.createArrayBuilder().add(1).add("2").build()))
+                .isEqualTo(new int[] {1, 2});
+    }
+
+    @Test
+    void shouldBindRecursiveRecords() {
+        JsonObject json = Json.createObjectBuilder()
+                .add("label", "root")
+                .add(
+                        "children",
+                        Json.createArrayBuilder().add(Json.createObjectBuilder().add("label", "leaf")))
+                .build();
+
+        Node node = (Node) bind(Node.class, json);
+
+        assertThat(node.children()).containsExactly(new Node("leaf", null));
+    }
+
+    @Test
+    void shouldBindBeanThroughSettersAndPublicFields() {
+        Settings settings = (Settings) bind(
+                Settings.class,
+                Json.createObjectBuilder()
+                        .add("verbose", true)
+                        .add("retries", 3)
+                        .build());
+
+        assertThat(settings.isVerbose()).isTrue();
+        assertThat(settings.retries).isEqualTo(3);
+    }
+
+    @Test
+    void shouldApplyFieldAnnotationsToSetters() {
+        Account account = (Account) bind(
+                Account.class,
+                Json.createObjectBuilder()
+                        .add("display_name", "Ada")
+                        .add("displayName", "ignored")
+                        .add("secret", "s3cr3t")
+                        .build());
+
+        assertThat(account.getDisplayName()).isEqualTo("Ada");
+        assertThat(account.getSecret()).isNull();
+    }
+
+    @Test
+    void shouldBindObjectToNaturalJavaValues() {
+        Object value = bind(
+                Object.class,
+                Json.createObjectBuilder()
+                        .add("n", 1)
+                        .add("big", 10_000_000_000L)
+                        .add("d", 1.5)
+                        .add("list", Json.createArrayBuilder().add("x").addNull())
+                        .build());
+
+        assertThat(value).isEqualTo(Map.of("n", 1, "big", 10_000_000_000L, "d", 1.5, "list", Arrays.asList("x", null)));
+    }
+
+    @Test
+    void shouldCacheConverterPerType() throws Exception {
+        assertThat(McpJsonBinder.converter(typeOf("addresses"))).isSameAs(McpJsonBinder.converter(typeOf("addresses")));
+    }
+
+    @Test
+    void shouldRejectValuesThatDoNotFit() {
+        assertThatThrownBy(() -> bind(Person.class, Json.createValue("Ada")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("expected an object but got string");
+        assertThatThrownBy(() -> bind(Priority.class, Json.createValue("urgent")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("[HIGH, LOW]");
+        assertThatThrownBy(() -> bind(
+                        Person.class,
+                        Json.createObjectBuilder().add("age", "old").build()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("age: ");
+    }
+
+    @Test
+    void shouldRejectNumbersThatDoNotFitIntegralTypes() {
+        assertThat(bind(int.class, Json.createValue(new BigDecimal("2.0")))).isEqualTo(2);
+        assertThatThrownBy(() -> bind(int.class, Json.createValue(1.5)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("1.5 does not fit int");
+        assertThatThrownBy(() -> bind(Integer.class, Json.createValue(3_000_000_000L)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bind(long.class, Json.createValue(new BigInteger("10000000000000000000"))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bind(short.class, Json.createValue(40_000)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bind(Byte.class, Json.createValue(200))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldOnlyAcceptTrueOrFalseForBooleans() {
+        assertThat(bind(boolean.class, Json.createValue("TRUE"))).isEqualTo(true);
+        assertThat(bind(Boolean.class, Json.createValue("false"))).isEqualTo(false);
+        assertThatThrownBy(() -> bind(boolean.class, Json.createValue("yes")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("\"yes\"");
+        assertThatThrownBy(() -> bind(boolean.class, Json.createValue("1")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,9 +1,27 @@
 package dev.langchain4j.cdi.mcp.server.registry;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import dev.langchain4j.cdi.mcp.server.api.CachedResult;
+import dev.langchain4j.cdi.mcp.server.transport.McpNotificationBroadcaster;
+import dev.langchain4j.cdi.mcp.server.transport.McpResourceSubscriptionManager;
+import dev.langchain4j.cdi.mcp.server.transport.McpServerScheduler;
+import jakarta.json.Json;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Test;
 import org.mcp_java.annotations.resources.Resource;
+import org.mcp_java.annotations.resources.ResourceTemplate;
 
 class McpResourceRegistryTest {
 
@@ -12,6 +30,34 @@ class McpResourceRegistryTest {
         return "test";
     }
 
+    @ResourceTemplate(uriTemplate = "test://users/{id}", name = "User")
+    public String user(String id) {
+        return "user " + id;
+    }
+
+    @ResourceTemplate(uriTemplate = "test://policies/{id}", name = "Policy")
+    @CachedResult
+    public String policy(String id) {
+        return "policy " + id;
+    }
+
+    @Test
+    void shouldInvalidateCachedReadsOfUpdatedUri() throws Exception {
+        McpResourceRegistry registry = new McpResourceRegistry();
+        McpResourceTemplateDescriptor descriptor =
+                McpResourceTemplateDescriptor.fromMethod(getClass(), getClass().getMethod("policy", String.class));
+        registry.registerTemplate(descriptor);
+        McpResultCache cache = descriptor.getInvocationPlan().getResultCache();
+        cache.put(cache.key(Json.createObjectBuilder().add("id", "1").build(), null), "policy 1");
+        cache.put(cache.key(Json.createObjectBuilder().add("id", "2").build(), null), "policy 2");
+
+        registry.notifyResourceUpdated("test://policies/1");
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.get(cache.key(Json.createObjectBuilder().add("id", "2").build(), null)))
+                .isEqualTo("policy 2");
+    }
+
     @Test
     void shouldRegisterAndFindResource() throws Exception {
         McpResourceRegistry registry = new McpResourceRegistry();
@@ -35,4 +81,70 @@ class McpResourceRegistryTest {
 
         assertThat(registry.listResources()).hasSize(1);
     }
+
+    @Test
+    void shouldNotifySubscribedSessionsOnly() {
+        McpResourceRegistry registry = new McpResourceRegistry();
+        registry.broadcaster = mock(McpNotificationBroadcaster.class);
+        registry.subscriptionManager = new McpResourceSubscriptionManager();
+        registry.subscriptionManager.subscribe("session-1", "test://data");
+        registry.subscriptionManager.subscribe("session-2", "test://other");
+
+        registry.notifyResourceUpdated("test://data");
+
+        verify(registry.broadcaster).sendToSessions(eq(Set.of("session-1")), any());
+    }
+
+    @Test
+    void shouldCoalesceUpdatesWithinInterval() {
+        List<Runnable> scheduled = new ArrayList<>();
+        McpResourceRegistry registry = new McpResourceRegistry();
+        registry.broadcaster = mock(McpNotificationBroadcaster.class);
+        registry.scheduler = mock(McpServerScheduler.class);
+        when(registry.scheduler.schedule(any(), anyLong(), eq(TimeUnit.NANOSECONDS)))
+                .thenAnswer(invocation -> {
+                    scheduled.add(invocation.getArgument(0));
+                    return null;
+                });
+        registry.subscriptionManager = new McpResourceSubscriptionManager();
+        registry.subscriptionManager.subscribe("session-1", "booking://counters/paris");
+        registry.setUpdateInterval("booking://counters/paris", Duration.ofMillis(200));
+
+        registry.notifyResourceUpdated("booking://counters/paris");
+        registry.notifyResourceUpdated("booking://counters/paris");
+        registry.notifyResourceUpdated("booking://counters/paris");
+
+        verify(registry.broadcaster, times(1)).sendToSessions(any(), any());
+        assertThat(scheduled).hasSize(1);
+
+        scheduled.remove(0).run();
+
+        // The updates folded into the window are sent once when it closes, and a new window starts
+        verify(registry.broadcaster, times(2)).sendToSessions(any(), any());
+        assertThat(scheduled).hasSize(1);
+
+        scheduled.remove(0).run();
+        registry.notifyResourceUpdated("booking://counters/paris");
+
+        verify(registry.broadcaster, times(3)).sendToSessions(any(), any());
+    }
+
+    @Test
+    void shouldMatchRegisteredTemplate() throws Exception {
+        McpResourceRegistry registry = new McpResourceRegistry();
+        registry.registerTemplate(
+                McpResourceTemplateDescriptor.fromMethod(getClass(), getClass().getMethod("user", String.class)));
+
+        McpResourceTemplateMatch match =
+                registry.matchTemplate("test://users/42").orElseThrow();
+
+        assertThat(match.descriptor().getName()).isEqualTo("User");
+        assertThat(match.variables()).containsEntry("id", "42");
+        assertThat(registry.matchTemplate("test://groups/42")).isEmpty();
+
+        registry.unregisterTemplate("test://users/{id}");
+
+        assertThat(registry.matchTemplate("test://users/42")).isEmpty();
+        assertThat(registry.templateSize()).isZero();
+    }
 }
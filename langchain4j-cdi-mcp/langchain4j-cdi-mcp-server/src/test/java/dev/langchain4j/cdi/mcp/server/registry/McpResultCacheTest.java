@@ -0,0 +1,117 @@
+package dev.langchain4j.cdi.mcp.server.registry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+class McpResultCacheTest {
+
+    private static JsonObject args(String city) {
+        return Json.createObjectBuilder().add("city", city).build();
+    }
+
+    @Test
+    void shouldKeyByCanonicalArguments() {
+        McpResultCache cache = new McpResultCache(60_000, 10, false);
+        JsonObject ordered = Json.createObjectBuilder()
+                .add("a", 1)
+                .add("b", Json.createObjectBuilder().add("x", "1").add("y", 2.0))
+                .build();
+        JsonObject reordered = Json.createObjectBuilder()
+                .add("b", Json.createObjectBuilder().add("y", 2).add("x", "1"))
+                .add("a", 1.00)
+                .build();
+
+        cache.put(cache.key(ordered, null), "value");
+
+        assertThat(cache.get(cache.key(reordered, null))).isEqualTo("value");
+        assertThat(cache.get(cache.key(args("Paris"), null))).isSameAs(McpResultCache.MISSING);
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSeparateSessionsOnlyWhenPerSession() {
+        McpResultCache shared = new McpResultCache(60_000, 10, false);
+        McpResultCache perSession = new McpResultCache(60_000, 10, true);
+
+        shared.put(shared.key(args("Paris"), "s1"), "shared");
+        perSession.put(perSession.key(args("Paris"), "s1"), "mine");
+
+        assertThat(shared.get(shared.key(args("Paris"), "s2"))).isEqualTo("shared");
+        assertThat(perSession.get(perSession.key(args("Paris"), "s2"))).isSameAs(McpResultCache.MISSING);
+        assertThat(perSession.get(perSession.key(args("Paris"), "s1"))).isEqualTo("mine");
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsed() {
+        McpResultCache cache = new McpResultCache(60_000, 2, false);
+        cache.put(cache.key(args("a"), null), "a");
+        cache.put(cache.key(args("b"), null), "b");
+        cache.get(cache.key(args("a"), null));
+
+        cache.put(cache.key(args("c"), null), "c");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.evictionCount()).isEqualTo(1);
+        assertThat(cache.get(cache.key(args("a"), null))).isEqualTo("a");
+        assertThat(cache.get(cache.key(args("b"), null))).isSameAs(McpResultCache.MISSING);
+    }
+
+    @Test
+    void shouldStayBoundedAcrossSegments() {
+        McpResultCache cache = new McpResultCache(60_000, 1_000, false);
+        for (int i = 0; i < 5_000; i++) {
+            cache.put(cache.key(args("city-" + i), null), i);
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(1_000);
+    }
+
+    @Test
+    void shouldExpireEntriesAndCacheNull() throws Exception {
+        McpResultCache expiring = new McpResultCache(1, 10, false);
+        McpResultCache cache = new McpResultCache(60_000, 10, false);
+
+        expiring.put(expiring.key(args("a"), null), "a");
+        cache.put(cache.key(args("a"), null), null);
+        Thread.sleep(5);
+
+        assertThat(expiring.get(expiring.key(args("a"), null))).isSameAs(McpResultCache.MISSING);
+        assertThat(cache.get(cache.key(args("a"), null))).isNull();
+    }
+
+    @Test
+    void shouldKeepEntriesForVeryLongTtl() {
+        McpResultCache cache = new McpResultCache(Long.MAX_VALUE, 10, false);
+
+        cache.put(cache.key(args("a"), null), "a");
+
+        assertThat(cache.get(cache.key(args("a"), null))).isEqualTo("a");
+    }
+
+    @Test
+    void shouldNotCacheAsynchronousResults() {
+        McpResultCache cache = new McpResultCache(60_000, 10, false);
+
+        cache.put(cache.key(args("a"), null), CompletableFuture.completedFuture("a"));
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void shouldInvalidateArgumentsInEverySession() {
+        McpResultCache cache = new McpResultCache(60_000, 10, true);
+        cache.put(cache.key(args("Paris"), "s1"), "p1");
+        cache.put(cache.key(args("Paris"), "s2"), "p2");
+        cache.put(cache.key(args("Rome"), "s1"), "r1");
+
+        cache.invalidate(args("Paris"));
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.get(cache.key(args("Rome"), "s1"))).isEqualTo("r1");
+    }
+}
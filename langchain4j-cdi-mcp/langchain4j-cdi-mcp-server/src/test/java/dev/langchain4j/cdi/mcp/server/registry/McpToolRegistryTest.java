@@ -1,10 +1,18 @@
 package dev.langchain4j.cdi.mcp.server.registry;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
 
 import dev.langchain4j.cdi.mcp.server.fixtures.CalculatorTool;
 import dev.langchain4j.cdi.mcp.server.fixtures.WeatherTool;
+import dev.langchain4j.cdi.mcp.server.protocol.McpEncodedResult;
+import dev.langchain4j.cdi.mcp.server.protocol.McpJsonCodec;
+import dev.langchain4j.cdi.mcp.server.protocol.McpPagination;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -60,4 +68,63 @@ class McpToolRegistryTest {
 
         assertThat(registry.size()).isEqualTo(1);
     }
+
+    @Test
+    void shouldListToolsSortedByName() throws Exception {
+        Method weather = WeatherTool.class.getMethod("getWeather", String.class, String.class);
+        Method add = CalculatorTool.class.getMethod("add", int.class, int.class);
+        Method multiply = CalculatorTool.class.getMethod("multiply", double.class, double.class);
+
+        registry.register(McpToolDescriptor.fromMethod(WeatherTool.class, weather));
+        registry.register(McpToolDescriptor.fromMethod(CalculatorTool.class, multiply));
+        registry.register(McpToolDescriptor.fromMethod(CalculatorTool.class, add));
+
+        assertThat(registry.listTools())
+                .extracting(McpToolDescriptor::getName)
+                .isSorted()
+                .hasSize(3);
+    }
+
+    @Test
+    void shouldPublishNewSnapshotOnChange() throws Exception {
+        Method weather = WeatherTool.class.getMethod("getWeather", String.class, String.class);
+        Method add = CalculatorTool.class.getMethod("add", int.class, int.class);
+        registry.register(McpToolDescriptor.fromMethod(WeatherTool.class, weather));
+        McpRegistrySnapshot<McpToolDescriptor> before = registry.snapshot();
+
+        registry.register(McpToolDescriptor.fromMethod(CalculatorTool.class, add));
+        McpRegistrySnapshot<McpToolDescriptor> after = registry.snapshot();
+
+        assertThat(after.version()).isGreaterThan(before.version());
+        assertThat(before.items()).hasSize(1);
+        assertThat(after.items()).hasSize(2);
+        assertThat(registry.snapshot(before.version())).isSameAs(before);
+        assertThat(registry.snapshot()).isSameAs(after);
+    }
+
+    @Test
+    void shouldEncodeEachPageOnce() throws Exception {
+        Method add = CalculatorTool.class.getMethod("add", int.class, int.class);
+        Method multiply = CalculatorTool.class.getMethod("multiply", double.class, double.class);
+        registry.register(McpToolDescriptor.fromMethod(CalculatorTool.class, add));
+        registry.register(McpToolDescriptor.fromMethod(CalculatorTool.class, multiply));
+        McpRegistrySnapshot<McpToolDescriptor> snapshot = registry.snapshot();
+        McpJsonCodec codec = new McpJsonCodec();
+        AtomicInteger builds = new AtomicInteger();
+        List<String> cursors = new ArrayList<>();
+
+        McpEncodedResult first = snapshot.page(0, 1, codec, (tools, next) -> {
+            builds.incrementAndGet();
+            cursors.add(next);
+            return Map.of(
+                    "tools", tools.stream().map(McpToolDescriptor::getName).toList());
+        });
+
+        assertThat(snapshot.page(0, 1, codec, (tools, next) -> fail("page encoded twice")))
+                .isSameAs(first);
+        assertThat(builds).hasValue(1);
+        McpPagination.Position next = McpPagination.decodePosition(cursors.get(0));
+        assertThat(next.version()).isEqualTo(snapshot.version());
+        assertThat(next.offset()).isEqualTo(1);
+    }
 }
@@ -0,0 +1,94 @@
+package dev.langchain4j.cdi.mcp.server.registry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class McpUriTemplateMatcherTest {
+
+    @Test
+    void shouldBindSegmentVariables() {
+        McpUriTemplateMatcher<String> matcher = new McpUriTemplateMatcher<>();
+        matcher.add("db://tables/{table}/rows/{id}", "row");
+
+        McpUriTemplateMatcher.Match<String> match = matcher.match("db://tables/users/rows/42");
+
+        assertThat(match.value()).isEqualTo("row");
+        assertThat(match.variables()).containsExactly(Map.entry("table", "users"), Map.entry("id", "42"));
+        assertThat(matcher.match("db://tables/users/rows")).isNull();
+        assertThat(matcher.match("db://tables/users/rows/42/extra")).isNull();
+        assertThat(matcher.match("db://tables//rows/42")).isNull();
+    }
+
+    @Test
+    void shouldPreferLiteralSegments() {
+        McpUriTemplateMatcher<String> matcher = new McpUriTemplateMatcher<>();
+        matcher.add("users://{id}/profile", "by-id");
+        matcher.add("users://me/profile", "me");
+        matcher.add("users://{id}.json/profile", "json");
+
+        assertThat(matcher.match("users://me/profile").value()).isEqualTo("me");
+        assertThat(matcher.match("users://7/profile").value()).isEqualTo("by-id");
+        assertThat(matcher.match("users://7.json/profile").variables()).containsEntry("id", "7");
+        assertThat(matcher.match("users://7.json/profile").value()).isEqualTo("json");
+    }
+
+    @Test
+    void shouldBacktrackWhenLiteralBranchFails() {
+        McpUriTemplateMatcher<String> matcher = new McpUriTemplateMatcher<>();
+        matcher.add("docs://guides/intro", "intro");
+        matcher.add("docs://{section}/{page}", "page");
+
+        McpUriTemplateMatcher.Match<String> match = matcher.match("docs://guides/install");
+
+        assertThat(match.value()).isEqualTo("page");
+        assertThat(match.variables()).containsExactly(Map.entry("section", "guides"), Map.entry("page", "install"));
+    }
+
+    @Test
+    void shouldMatchReservedExpansionAcrossSegments() {
+        McpUriTemplateMatcher<String> matcher = new McpUriTemplateMatcher<>();
+        matcher.add("file:///{+path}", "file");
+        matcher.add("repo://{owner}/files/{+path}.md", "markdown");
+
+        assertThat(matcher.match("file:///var/log/app.log").variables()).containsEntry("path", "var/log/app.log");
+        assertThat(matcher.match("repo://acme/files/docs/readme.md").variables())
+                .containsExactly(Map.entry("owner", "acme"), Map.entry("path", "docs/readme"));
+        assertThat(matcher.match("repo://acme/files/docs/readme.txt")).isNull();
+    }
+
+    @Test
+    void shouldPercentDecodeValues() {
+        McpUriTemplateMatcher<String> matcher = new McpUriTemplateMatcher<>();
+        matcher.add("search://{query}", "search");
+
+        assertThat(matcher.match("search://caf%C3%A9%20cr%C3%A8me").variables()).containsEntry("query", "café crème");
+    }
+
+    @Test
+    void shouldRemoveTemplate() {
+        McpUriTemplateMatcher<String> matcher = new McpUriTemplateMatcher<>();
+        matcher.add("db://tables/{table}", "table");
+        matcher.add("file:///{+path}", "file");
+
+        matcher.remove("db://tables/{table}");
+        matcher.remove("file:///{+path}");
+
+        assertThat(matcher.match("db://tables/users")).isNull();
+        assertThat(matcher.match("file:///tmp/x")).isNull();
+    }
+
+    @Test
+    void shouldMatchAmongThousandsOfTemplates() {
+        McpUriTemplateMatcher<Integer> matcher = new McpUriTemplateMatcher<>();
+        for (int i = 0; i < 5_000; i++) {
+            matcher.add("tenant" + i + "://items/{id}", i);
+        }
+
+        McpUriTemplateMatcher.Match<Integer> match = matcher.match("tenant4321://items/abc");
+
+        assertThat(match.value()).isEqualTo(4321);
+        assertThat(match.variables()).containsEntry("id", "abc");
+    }
+}
@@ -5,8 +5,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 import dev.langchain4j.cdi.mcp.server.fixtures.CalculatorTool;
 import dev.langchain4j.cdi.mcp.server.fixtures.WeatherTool;
 import jakarta.json.JsonObject;
+import jakarta.json.JsonString;
 import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
+import org.mcp_java.annotations.tools.ToolArg;
 
 class JsonSchemaGeneratorTest {
 
@@ -60,4 +66,28 @@ class JsonSchemaGeneratorTest {
                         val -> !val.asJsonObject().getString("description", "").isEmpty());
         assertThat(hasDescription).isTrue();
     }
+
+    record Booking(String guest, int nights) {}
+
+    public void book(
+            @ToolArg(description = "Bookings") List<Booking> bookings,
+            @ToolArg(description = "Arrival") Optional<LocalDate> arrival,
+            @ToolArg(description = "Tags") Set<String> tags) {}
+
+    @Test
+    void shouldDescribeGenericParameterTypes() throws Exception {
+        Method method = getClass().getMethod("book", List.class, Optional.class, Set.class);
+        JsonObject schema = JsonSchemaGenerator.fromMethod(method);
+        JsonObject properties = schema.getJsonObject("properties");
+
+        assertThat(properties.getJsonObject("bookings").getString("type")).isEqualTo("array");
+        assertThat(properties.getJsonObject("bookings").getJsonObject("items").getString("type"))
+                .isEqualTo("object");
+        assertThat(properties.getJsonObject("arrival").getString("type")).isEqualTo("string");
+        assertThat(properties.getJsonObject("arrival").getString("format")).isEqualTo("date");
+        assertThat(properties.getJsonObject("tags").getJsonObject("items").getString("type"))
+                .isEqualTo("string");
+        assertThat(schema.getJsonArray("required").getValuesAs(JsonString::getString))
+                .containsExactly("bookings", "tags");
+    }
 }
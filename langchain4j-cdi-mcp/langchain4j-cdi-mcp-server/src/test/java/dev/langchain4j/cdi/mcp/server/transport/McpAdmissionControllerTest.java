@@ -0,0 +1,190 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import dev.langchain4j.cdi.mcp.server.error.McpErrorCode;
+import dev.langchain4j.cdi.mcp.server.error.McpRejectedException;
+import jakarta.enterprise.inject.Instance;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class McpAdmissionControllerTest {
+
+    private McpAdmissionController controller;
+    private McpServerScheduler scheduler;
+    private McpServerConfig config;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        config = new McpServerConfig();
+        Instance<McpServerConfig> configInstance = mock(Instance.class);
+        when(configInstance.isResolvable()).thenReturn(true);
+        when(configInstance.get()).thenReturn(config);
+        scheduler = new McpServerScheduler();
+        controller = new McpAdmissionController();
+        controller.configInstance = configInstance;
+        controller.scheduler = scheduler;
+        controller.sessionManager = mock(McpSessionManager.class);
+        when(controller.sessionManager.findSession(anyString())).thenReturn(mock(McpSession.class));
+        controller.taskExecutor = new McpTaskExecutor();
+        controller.taskExecutor.configInstance = configInstance;
+        controller.toolExecutor = new McpToolExecutor();
+        controller.toolExecutor.configInstance = configInstance;
+    }
+
+    @AfterEach
+    void tearDown() {
+        controller.shutdown();
+        scheduler.shutdown();
+    }
+
+    private static McpRejectedException rejection(Runnable admit) {
+        try {
+            admit.run();
+        } catch (McpRejectedException e) {
+            return e;
+        }
+        throw new AssertionError("Request was admitted");
+    }
+
+    @Test
+    void shouldAdmitEverythingByDefault() {
+        for (int i = 0; i < 100; i++) {
+            controller.admit(i, "s1", "tools/call").run();
+        }
+
+        assertThat(controller.inFlight()).isZero();
+    }
+
+    @Test
+    void shouldLimitRatePerSessionWithRetryHint() {
+        config.setSessionRateLimit(new McpRateLimit(1, 2));
+
+        controller.admit(1, "s1", "tools/call");
+        controller.admit(2, "s1", "tools/list");
+        McpRejectedException rejected = rejection(() -> controller.admit(3, "s1", "tools/call"));
+
+        assertThat(rejected.getErrorCode()).isEqualTo(McpErrorCode.RATE_LIMITED);
+        assertThat(rejected.getRequestId()).isEqualTo(3);
+        assertThat(rejected.getRetryAfter()).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(1));
+        // Other sessions have their own bucket
+        controller.admit(4, "s2", "tools/call");
+    }
+
+    @Test
+    void shouldLimitRatePerMethod() {
+        config.setMethodRateLimits(Map.of("tools/call", new McpRateLimit(0.5, 1)));
+
+        controller.admit(1, "s1", "tools/call");
+        assertThat(rejection(() -> controller.admit(2, "s1", "tools/call")).getMessage())
+                .contains("tools/call");
+        controller.admit(3, "s1", "tools/list");
+    }
+
+    @Test
+    void shouldNotTakeSessionTokenForRequestRejectedByMethodLimit() {
+        config.setSessionRateLimit(new McpRateLimit(0.001, 2));
+        config.setMethodRateLimits(Map.of("tools/call", new McpRateLimit(0.001, 1)));
+
+        controller.admit(1, "s1", "tools/call");
+        rejection(() -> controller.admit(2, "s1", "tools/call"));
+
+        controller.admit(3, "s1", "ping");
+        assertThat(rejection(() -> controller.admit(4, "s1", "ping")).getMessage())
+                .startsWith("Session");
+    }
+
+    @Test
+    void shouldShareOneBucketBetweenUnknownSessions() {
+        config.setSessionRateLimit(new McpRateLimit(0.001, 1));
+        when(controller.sessionManager.findSession("forged-1")).thenReturn(null);
+        when(controller.sessionManager.findSession("forged-2")).thenReturn(null);
+
+        controller.admit(1, "forged-1", "ping");
+        rejection(() -> controller.admit(2, "forged-2", "ping"));
+
+        assertThat(controller.bucketCount()).isEqualTo(1);
+        controller.admit(3, "s1", "ping");
+    }
+
+    @Test
+    void shouldApplyLimitChangedAtRuntime() {
+        config.setSessionRateLimit(new McpRateLimit(0.001, 1));
+        controller.admit(1, "s1", "ping");
+        rejection(() -> controller.admit(2, "s1", "ping"));
+
+        config.setSessionRateLimit(null);
+
+        controller.admit(3, "s1", "ping");
+    }
+
+    @Test
+    void shouldCapConcurrentRequests() {
+        config.setMaxConcurrentRequests(2);
+        config.setOverloadRetryAfter(Duration.ofMillis(300));
+
+        Runnable first = controller.admit(1, "s1", "tools/call");
+        controller.admit(2, "s2", "tools/call");
+        McpRejectedException rejected = rejection(() -> controller.admit(3, "s3", "tools/call"));
+
+        assertThat(rejected.getErrorCode()).isEqualTo(McpErrorCode.SERVER_OVERLOADED);
+        assertThat(rejected.getRetryAfter()).isEqualTo(Duration.ofMillis(300));
+
+        first.run();
+        first.run();
+        assertThat(controller.inFlight()).isEqualTo(1);
+        controller.admit(4, "s3", "tools/call");
+    }
+
+    @Test
+    void shouldShedLoadWhenExecutorQueueIsDeep() {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        try {
+            config.setExecutor(pool);
+            config.setShedQueueDepth(2);
+            pool.execute(() -> sleep(500));
+            pool.execute(() -> {});
+            controller.admit(1, "s1", "tools/call");
+            pool.execute(() -> {});
+
+            assertThat(controller.queueDepth()).isEqualTo(2);
+            assertThatThrownBy(() -> controller.admit(2, "s1", "tools/call"))
+                    .isInstanceOf(McpRejectedException.class)
+                    .hasMessageContaining("overloaded");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldDropRefilledBuckets() {
+        config.setSessionRateLimit(new McpRateLimit(1000, 1));
+        controller.admit(1, "s1", "ping");
+        controller.admit(2, "s2", "ping");
+        assertThat(controller.bucketCount()).isEqualTo(2);
+
+        sleep(10);
+        controller.sweep();
+
+        assertThat(controller.bucketCount()).isZero();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
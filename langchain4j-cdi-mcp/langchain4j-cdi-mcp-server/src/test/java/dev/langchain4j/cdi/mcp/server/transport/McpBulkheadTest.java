@@ -0,0 +1,56 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+class McpBulkheadTest {
+
+    @Test
+    void shouldGrantFreeSlotsImmediately() {
+        McpBulkhead bulkhead = new McpBulkhead(2, 1);
+
+        assertThat(bulkhead.acquire()).isDone();
+        assertThat(bulkhead.acquire()).isDone();
+        assertThat(bulkhead.active()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldQueueThenRejectWhenQueueIsFull() {
+        McpBulkhead bulkhead = new McpBulkhead(1, 1);
+        bulkhead.acquire();
+
+        CompletableFuture<Void> waiting = bulkhead.acquire();
+
+        assertThat(waiting).isNotDone();
+        assertThat(bulkhead.acquire()).isNull();
+        assertThat(bulkhead.queued()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldHandReleasedSlotToOldestWaiter() {
+        McpBulkhead bulkhead = new McpBulkhead(1, 2);
+        bulkhead.acquire();
+        CompletableFuture<Void> first = bulkhead.acquire();
+        CompletableFuture<Void> second = bulkhead.acquire();
+
+        assertThat(bulkhead.release()).isSameAs(first);
+        assertThat(bulkhead.active()).isEqualTo(1);
+        assertThat(bulkhead.release()).isSameAs(second);
+        assertThat(bulkhead.release()).isNull();
+        assertThat(bulkhead.idle()).isTrue();
+    }
+
+    @Test
+    void shouldAbandonOnlyPendingSlots() {
+        McpBulkhead bulkhead = new McpBulkhead(1, 1);
+        CompletableFuture<Void> granted = bulkhead.acquire();
+        CompletableFuture<Void> waiting = bulkhead.acquire();
+
+        assertThat(bulkhead.abandon(granted)).isFalse();
+        assertThat(bulkhead.abandon(waiting)).isTrue();
+        assertThat(bulkhead.release()).isNull();
+        assertThat(bulkhead.idle()).isTrue();
+    }
+}
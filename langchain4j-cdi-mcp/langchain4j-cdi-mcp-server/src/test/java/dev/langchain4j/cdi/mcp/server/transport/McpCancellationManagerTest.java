@@ -3,6 +3,7 @@ package dev.langchain4j.cdi.mcp.server.transport;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 
 class McpCancellationManagerTest {
@@ -35,4 +36,74 @@ class McpCancellationManagerTest {
         manager.cancel("req-1");
         assertThat(flag.get()).isFalse();
     }
+
+    @Test
+    void shouldRunCancelActionOnce() {
+        McpCancellationManager manager = new McpCancellationManager();
+        AtomicInteger runs = new AtomicInteger();
+        manager.register("req-1");
+        manager.onCancel("req-1", runs::incrementAndGet);
+
+        manager.cancel("req-1");
+        manager.cancel("req-1");
+
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void shouldRunCancelActionImmediatelyWhenAlreadyCancelled() {
+        McpCancellationManager manager = new McpCancellationManager();
+        AtomicInteger runs = new AtomicInteger();
+        manager.register("req-1");
+        manager.cancel("req-1");
+
+        manager.onCancel("req-1", runs::incrementAndGet);
+
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void shouldNotRunCancelActionAfterUnregister() {
+        McpCancellationManager manager = new McpCancellationManager();
+        AtomicInteger runs = new AtomicInteger();
+        manager.register("req-1");
+        manager.onCancel("req-1", runs::incrementAndGet);
+        manager.unregister("req-1");
+
+        manager.cancel("req-1");
+
+        assertThat(runs).hasValue(0);
+    }
+
+    @Test
+    void shouldKeepRequestsOfSessionsApart() {
+        McpCancellationManager manager = new McpCancellationManager();
+        AtomicBoolean first = manager.register("session-1", 1L);
+        AtomicBoolean second = manager.register("session-2", 1L);
+
+        manager.cancel("session-2", 1L);
+
+        assertThat(first.get()).isFalse();
+        assertThat(second.get()).isTrue();
+
+        manager.unregister("session-2", 1L);
+        manager.cancel("session-1", 1L);
+        assertThat(first.get()).isTrue();
+    }
+
+    @Test
+    void shouldRunEveryCancelActionOfRequest() {
+        McpCancellationManager manager = new McpCancellationManager();
+        AtomicInteger runs = new AtomicInteger();
+        McpCancellationFlag flag = manager.register("session-1", "req-1");
+        manager.onCancel("session-1", "req-1", runs::incrementAndGet);
+        flag.onCancel(() -> {
+            throw new IllegalStateException("boom");
+        });
+        flag.onCancel(runs::incrementAndGet);
+
+        manager.cancel("session-1", "req-1");
+
+        assertThat(runs).hasValue(2);
+    }
 }
@@ -0,0 +1,286 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import dev.langchain4j.cdi.mcp.server.api.CdiCancellation;
+import dev.langchain4j.cdi.mcp.server.api.CdiSampling;
+import dev.langchain4j.cdi.mcp.server.api.McpRequestContext;
+import dev.langchain4j.cdi.mcp.server.error.McpRejectedException;
+import dev.langchain4j.cdi.mcp.server.logging.McpLogger;
+import dev.langchain4j.cdi.mcp.server.protocol.McpJsonCodec;
+import dev.langchain4j.cdi.mcp.server.registry.McpBeanInvoker;
+import dev.langchain4j.cdi.mcp.server.registry.McpCompletionRegistry;
+import dev.langchain4j.cdi.mcp.server.registry.McpPromptRegistry;
+import dev.langchain4j.cdi.mcp.server.registry.McpResourceRegistry;
+import dev.langchain4j.cdi.mcp.server.registry.McpToolDescriptor;
+import dev.langchain4j.cdi.mcp.server.registry.McpToolInvoker;
+import dev.langchain4j.cdi.mcp.server.registry.McpToolRegistry;
+import jakarta.enterprise.inject.Instance;
+import jakarta.json.JsonObject;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.RuntimeDelegate;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mcp_java.annotations.tools.Tool;
+
+class McpEndpointTest {
+
+    private Instance<McpServerConfig> configInstance;
+    private McpSessionManager sessionManager;
+    private McpToolRegistry toolRegistry;
+    private McpToolInvoker toolInvoker;
+    private McpServerScheduler scheduler;
+    private McpTaskExecutor taskExecutor;
+    private McpToolExecutor toolExecutor;
+    private McpEndpoint endpoint;
+    private final CountDownLatch invoked = new CountDownLatch(1);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        RuntimeDelegate runtime = mock(RuntimeDelegate.class);
+        when(runtime.createResponseBuilder()).thenAnswer(call -> mock(Response.ResponseBuilder.class, RETURNS_SELF));
+        RuntimeDelegate.setInstance(runtime);
+
+        configInstance = mock(Instance.class);
+        McpAdmissionController admissionController = mock(McpAdmissionController.class);
+        when(admissionController.admit(any(), any(), anyString())).thenReturn(() -> {});
+
+        sessionManager = mock(McpSessionManager.class);
+        toolRegistry = mock(McpToolRegistry.class);
+        toolInvoker = mock(McpToolInvoker.class);
+        scheduler = new McpServerScheduler();
+        taskExecutor = new McpTaskExecutor();
+        toolExecutor = new McpToolExecutor();
+        toolExecutor.configInstance = configInstance;
+        toolExecutor.taskExecutor = taskExecutor;
+        toolExecutor.scheduler = scheduler;
+        endpoint = endpoint(admissionController);
+    }
+
+    private McpEndpoint endpoint(McpAdmissionController admissionController) {
+        return new McpEndpoint(
+                toolRegistry,
+                mock(McpResourceRegistry.class),
+                mock(McpPromptRegistry.class),
+                mock(McpCompletionRegistry.class),
+                sessionManager,
+                toolInvoker,
+                mock(McpBeanInvoker.class),
+                mock(McpNotificationBroadcaster.class),
+                mock(McpLogger.class),
+                mock(McpResourceSubscriptionManager.class),
+                mock(McpServerRequestManager.class),
+                mock(McpRootsManager.class),
+                new McpCancellationManager(),
+                mock(McpProgressReporter.class),
+                new McpJsonCodec(),
+                taskExecutor,
+                toolExecutor,
+                admissionController,
+                new McpServerListeners(),
+                configInstance);
+    }
+
+    @AfterEach
+    void tearDown() {
+        toolExecutor.shutdown();
+        taskExecutor.shutdown();
+        scheduler.shutdown();
+        RuntimeDelegate.setInstance(null);
+    }
+
+    private void deploy(String name, Object callResult) throws Exception {
+        deploy(name, ctx -> callResult);
+    }
+
+    /** Deploys a tool whose method runs {@code method} with the request context of the call. */
+    private void deploy(String name, Function<McpRequestContext, Object> method) throws Exception {
+        McpToolDescriptor tool = McpToolDescriptor.fromMethod(Tools.class, Tools.class.getMethod(name));
+        when(toolRegistry.findTool(name)).thenReturn(Optional.of(tool));
+        when(toolInvoker.invoke(
+                        any(),
+                        any(McpToolDescriptor.class),
+                        any(JsonObject.class),
+                        any(McpRequestContext.class),
+                        any()))
+                .thenAnswer(call -> {
+                    invoked.countDown();
+                    return method.apply(call.getArgument(3));
+                });
+    }
+
+    private CompletionStage<Response> post(String json) {
+        return endpoint.handlePost(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)),
+                "s1",
+                MediaType.APPLICATION_JSON,
+                null,
+                null);
+    }
+
+    private CompletionStage<Response> callTool(int id, String name) {
+        return post("{\"jsonrpc\":\"2.0\",\"id\":" + id + ",\"method\":\"tools/call\",\"params\":{\"name\":\"" + name
+                + "\",\"arguments\":{}}}");
+    }
+
+    private void cancel(int id) {
+        post("{\"jsonrpc\":\"2.0\",\"method\":\"notifications/cancelled\",\"params\":{\"requestId\":" + id + "}}");
+    }
+
+    @Test
+    void shouldCancelPublisherSubscriptionOnCancelledNotification() throws Exception {
+        CountDownLatch subscribed = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        Flow.Publisher<String> publisher = subscriber -> {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {}
+
+                @Override
+                public void cancel() {
+                    cancelled.countDown();
+                }
+            });
+            subscribed.countDown();
+        };
+        deploy("stream", publisher);
+
+        CompletionStage<Response> response = callTool(7, "stream");
+        assertThat(subscribed.await(5, TimeUnit.SECONDS)).isTrue();
+
+        cancel(7);
+
+        assertThat(cancelled.await(5, TimeUnit.SECONDS)).isTrue();
+        response.toCompletableFuture().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldCancelToolFutureOnCancelledNotification() throws Exception {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        deploy("async", future);
+
+        CompletionStage<Response> response = callTool(8, "async");
+        assertThat(invoked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        cancel(8);
+
+        response.toCompletableFuture().get(5, TimeUnit.SECONDS);
+        // The tool's future is cancelled by the tool thread once the method returned
+        CountDownLatch done = new CountDownLatch(1);
+        future.whenComplete((value, error) -> done.countDown());
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(future).isCancelled();
+    }
+
+    @Test
+    void shouldInterruptBlockingToolOnCancelledNotification() throws Exception {
+        CompletableFuture<Boolean> interrupted = new CompletableFuture<>();
+        deploy("blocking", ctx -> {
+            try {
+                new CountDownLatch(1).await();
+                interrupted.complete(false);
+            } catch (InterruptedException e) {
+                interrupted.complete(true);
+            }
+            return "done";
+        });
+
+        CompletionStage<Response> response = callTool(9, "blocking");
+        assertThat(invoked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        cancel(9);
+
+        assertThat(interrupted.get(5, TimeUnit.SECONDS)).isTrue();
+        response.toCompletableFuture().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldWithdrawSamplingRequestOfCancelledTool() throws Exception {
+        CompletableFuture<JsonObject> clientAnswer = new CompletableFuture<>();
+        McpSamplingManager samplingManager = mock(McpSamplingManager.class);
+        when(samplingManager.createMessageAsync(any(), any(), any(), anyInt(), any()))
+                .thenReturn(clientAnswer);
+        CompletableFuture<Boolean> interrupted = new CompletableFuture<>();
+        deploy("blocking", ctx -> {
+            CdiSampling sampling = new CdiSampling(
+                    mock(McpSession.class), samplingManager, ctx.sessionId(), new CdiCancellation(ctx.cancelledFlag()));
+            Object answer = sampling.requestBuilder().build().sendAndAwait();
+            interrupted.complete(Thread.currentThread().isInterrupted());
+            return answer;
+        });
+
+        CompletionStage<Response> response = callTool(10, "blocking");
+        assertThat(invoked.await(5, TimeUnit.SECONDS)).isTrue();
+
+        cancel(10);
+
+        assertThat(interrupted.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(clientAnswer).isCancelled();
+        response.toCompletableFuture().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldRateLimitToolCallsSentWithoutId() throws Exception {
+        McpServerConfig config = new McpServerConfig();
+        config.setSessionRateLimit(new McpRateLimit(0.001, 1));
+        when(configInstance.isResolvable()).thenReturn(true);
+        when(configInstance.get()).thenReturn(config);
+        McpAdmissionController admissionController = new McpAdmissionController();
+        admissionController.configInstance = configInstance;
+        admissionController.taskExecutor = taskExecutor;
+        admissionController.toolExecutor = toolExecutor;
+        admissionController.scheduler = scheduler;
+        admissionController.sessionManager = sessionManager;
+        when(sessionManager.findSession("s1")).thenReturn(mock(McpSession.class));
+        endpoint = endpoint(admissionController);
+        deploy("blocking", "done");
+        String withoutId = "{\"jsonrpc\":\"2.0\",\"method\":\"tools/call\",\"params\":{\"name\":\"blocking\"}}";
+        String nullId =
+                "{\"jsonrpc\":\"2.0\",\"id\":null,\"method\":\"tools/call\",\"params\":{\"name\":\"blocking\"}}";
+
+        post(withoutId).toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertThatThrownBy(() -> post(withoutId)).isInstanceOf(McpRejectedException.class);
+        assertThatThrownBy(() -> post(nullId)).isInstanceOf(McpRejectedException.class);
+        // Notifications are still let through
+        cancel(1);
+        admissionController.shutdown();
+    }
+
+    static class Tools {
+
+        @Tool(description = "Streams items")
+        public Flow.Publisher<String> stream() {
+            return null;
+        }
+
+        @Tool(description = "Completes later")
+        public CompletableFuture<String> async() {
+            return null;
+        }
+
+        @Tool(description = "Blocks its thread")
+        public String blocking() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class McpExpiryWheelTest {
+
+    private static final long TICK = 10;
+
+    private final Map<String, Long> deadlines = new HashMap<>();
+    private final List<String> expired = new ArrayList<>();
+
+    private long deadline(String item) {
+        return deadlines.getOrDefault(item, Long.MIN_VALUE);
+    }
+
+    private void schedule(McpExpiryWheel<String> wheel, String item, long deadline) {
+        deadlines.put(item, deadline);
+        wheel.schedule(item, deadline);
+    }
+
+    @Test
+    void shouldExpireItemsOnceTheirDeadlinePassed() {
+        McpExpiryWheel<String> wheel = new McpExpiryWheel<>(TICK, 8, 0);
+        schedule(wheel, "a", 25);
+        schedule(wheel, "b", 55);
+
+        wheel.advance(20, this::deadline, expired::add);
+        assertThat(expired).isEmpty();
+
+        wheel.advance(30, this::deadline, expired::add);
+        assertThat(expired).containsExactly("a");
+
+        wheel.advance(60, this::deadline, expired::add);
+        assertThat(expired).containsExactly("a", "b");
+    }
+
+    @Test
+    void shouldFollowExtendedDeadlines() {
+        McpExpiryWheel<String> wheel = new McpExpiryWheel<>(TICK, 8, 0);
+        schedule(wheel, "a", 25);
+
+        deadlines.put("a", 45L);
+        wheel.advance(30, this::deadline, expired::add);
+        assertThat(expired).isEmpty();
+
+        wheel.advance(50, this::deadline, expired::add);
+        assertThat(expired).containsExactly("a");
+    }
+
+    @Test
+    void shouldHandleDeadlinesBeyondOneRevolution() {
+        McpExpiryWheel<String> wheel = new McpExpiryWheel<>(TICK, 4, 0);
+        schedule(wheel, "far", 125);
+
+        wheel.advance(50, this::deadline, expired::add);
+        wheel.advance(100, this::deadline, expired::add);
+        assertThat(expired).isEmpty();
+
+        wheel.advance(130, this::deadline, expired::add);
+        assertThat(expired).containsExactly("far");
+    }
+
+    @Test
+    void shouldCatchUpAfterLongPause() {
+        McpExpiryWheel<String> wheel = new McpExpiryWheel<>(TICK, 4, 0);
+        schedule(wheel, "a", 15);
+        schedule(wheel, "b", 35);
+
+        wheel.advance(1_000, this::deadline, expired::add);
+
+        assertThat(expired).containsExactlyInAnyOrder("a", "b");
+    }
+
+    @Test
+    void shouldDropItemsRemovedElsewhere() {
+        McpExpiryWheel<String> wheel = new McpExpiryWheel<>(TICK, 8, 0);
+        schedule(wheel, "a", 15);
+        deadlines.remove("a");
+
+        wheel.advance(100, this::deadline, expired::add);
+
+        assertThat(expired).isEmpty();
+        assertThat(wheel.pollEarliest(this::deadline)).isNull();
+    }
+
+    @Test
+    void shouldPollEarliestDeadline() {
+        McpExpiryWheel<String> wheel = new McpExpiryWheel<>(TICK, 4, 0);
+        schedule(wheel, "late", 95);
+        schedule(wheel, "touched", 12);
+        schedule(wheel, "early", 18);
+        schedule(wheel, "middle", 31);
+        deadlines.put("touched", 70L);
+
+        assertThat(wheel.pollEarliest(this::deadline)).isEqualTo("early");
+        assertThat(wheel.pollEarliest(this::deadline)).isEqualTo("middle");
+        assertThat(wheel.pollEarliest(this::deadline)).isEqualTo("touched");
+        assertThat(wheel.pollEarliest(this::deadline)).isEqualTo("late");
+        assertThat(wheel.pollEarliest(this::deadline)).isNull();
+    }
+}
@@ -0,0 +1,75 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class McpFileSessionStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private static McpSessionState state(String id, Instant lastAccessedAt) {
+        return new McpSessionState(
+                id, lastAccessedAt, lastAccessedAt, true, null, null, Set.of("file:///a"), List.of());
+    }
+
+    @Test
+    void shouldSaveAndLoad() {
+        McpFileSessionStore store = new McpFileSessionStore(directory);
+        McpSessionState state = state("s-1", Instant.ofEpochMilli(10));
+
+        store.save(state);
+
+        assertThat(new McpFileSessionStore(directory).load("s-1")).isEqualTo(state);
+        assertThat(store.isLocal()).isFalse();
+    }
+
+    @Test
+    void shouldReplaceExistingState() {
+        McpFileSessionStore store = new McpFileSessionStore(directory);
+        store.save(state("s-1", Instant.ofEpochMilli(10)));
+
+        store.save(state("s-1", Instant.ofEpochMilli(20)));
+
+        assertThat(store.load("s-1").lastAccessedAt()).isEqualTo(Instant.ofEpochMilli(20));
+    }
+
+    @Test
+    void shouldReturnNullForUnknownOrInvalidIds() {
+        McpFileSessionStore store = new McpFileSessionStore(directory);
+
+        assertThat(store.load("missing")).isNull();
+        assertThat(store.load("../etc/passwd")).isNull();
+        assertThat(store.load(null)).isNull();
+    }
+
+    @Test
+    void shouldDelete() {
+        McpFileSessionStore store = new McpFileSessionStore(directory);
+        store.save(state("s-1", Instant.ofEpochMilli(10)));
+
+        store.delete("s-1");
+
+        assertThat(store.load("s-1")).isNull();
+    }
+
+    @Test
+    void shouldRemoveExpiredSessionsOnly() throws Exception {
+        McpFileSessionStore store = new McpFileSessionStore(directory);
+        store.save(state("old", Instant.ofEpochMilli(10)));
+        store.save(state("fresh", Instant.ofEpochMilli(1_000)));
+        Files.writeString(directory.resolve("garbage.session"), "not a session");
+
+        List<String> removed = store.removeExpired(Instant.ofEpochMilli(500));
+
+        assertThat(removed).containsExactly("old");
+        assertThat(store.load("fresh")).isNotNull();
+    }
+}
@@ -4,6 +4,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import dev.langchain4j.cdi.mcp.server.protocol.JsonRpcNotification;
 import java.io.ByteArrayOutputStream;
+import java.util.ArrayDeque;
+import java.util.Queue;
 import org.junit.jupiter.api.Test;
 
 class McpNotificationBroadcasterTest {
@@ -65,4 +67,105 @@ class McpNotificationBroadcasterTest {
         broadcaster.broadcast(JsonRpcNotification.toolsListChanged());
         assertThat(broadcaster.connectedStreamCount()).isEqualTo(0);
     }
+
+    @Test
+    void shouldSendKeepAliveCommentAndDropDeadPeers() {
+        McpNotificationBroadcaster broadcaster = new McpNotificationBroadcaster();
+        ByteArrayOutputStream alive = new ByteArrayOutputStream();
+        java.io.OutputStream dead = new java.io.OutputStream() {
+            @Override
+            public void write(int b) throws java.io.IOException {
+                throw new java.io.IOException("peer gone");
+            }
+        };
+        broadcaster.registerStream("alive", alive);
+        broadcaster.registerStream("dead", dead);
+
+        broadcaster.sendKeepAlive();
+
+        assertThat(alive.toString()).isEqualTo(": keep-alive\n\n");
+        assertThat(broadcaster.connectedStreamCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCloseReplacedStream() {
+        McpNotificationBroadcaster broadcaster = new McpNotificationBroadcaster();
+        McpEventStream first = new OutputStreamEventStream(new ByteArrayOutputStream());
+        McpEventStream second = new OutputStreamEventStream(new ByteArrayOutputStream());
+
+        broadcaster.registerStream("s1", first);
+        broadcaster.registerStream("s1", second);
+
+        assertThat(first.isClosed()).isTrue();
+        assertThat(second.isClosed()).isFalse();
+        assertThat(broadcaster.connectedStreamCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCloseStreamOnUnregister() {
+        McpNotificationBroadcaster broadcaster = new McpNotificationBroadcaster();
+        McpEventStream stream = new OutputStreamEventStream(new ByteArrayOutputStream());
+        broadcaster.registerStream("s1", stream);
+
+        broadcaster.unregisterStream("s1");
+
+        assertThat(stream.isClosed()).isTrue();
+    }
+
+    @Test
+    void shouldSendToSingleSession() {
+        McpNotificationBroadcaster broadcaster = new McpNotificationBroadcaster();
+        ByteArrayOutputStream out1 = new ByteArrayOutputStream();
+        ByteArrayOutputStream out2 = new ByteArrayOutputStream();
+        broadcaster.registerStream("s1", out1);
+        broadcaster.registerStream("s2", out2);
+
+        broadcaster.sendToSession("s2", JsonRpcNotification.promptsListChanged());
+
+        assertThat(out1.toString()).isEmpty();
+        assertThat(out2.toString()).startsWith("event: message\ndata: {").endsWith("}\n\n");
+    }
+
+    @Test
+    void shouldTellWhetherAnyConnectedSessionPassesFilter() {
+        McpNotificationBroadcaster broadcaster = new McpNotificationBroadcaster();
+        broadcaster.registerStream("s1", new ByteArrayOutputStream());
+
+        assertThat(broadcaster.anyConnected("s1"::equals)).isTrue();
+        assertThat(broadcaster.anyConnected("s2"::equals)).isFalse();
+    }
+
+    @Test
+    void shouldBroadcastOnlyToSessionsPassingFilter() {
+        McpNotificationBroadcaster broadcaster = new McpNotificationBroadcaster();
+        ByteArrayOutputStream out1 = new ByteArrayOutputStream();
+        ByteArrayOutputStream out2 = new ByteArrayOutputStream();
+        broadcaster.registerStream("s1", out1);
+        broadcaster.registerStream("s2", out2);
+
+        broadcaster.broadcast(JsonRpcNotification.promptsListChanged(), "s1"::equals);
+
+        assertThat(out1.toString()).contains("notifications/prompts/list_changed");
+        assertThat(out2.toString()).isEmpty();
+    }
+
+    @Test
+    void shouldReportQueueDepthUntilWriterRuns() {
+        Queue<Runnable> drains = new ArrayDeque<>();
+        McpNotificationBroadcaster broadcaster = new McpNotificationBroadcaster(drains::add);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        broadcaster.registerStream("s1", out);
+
+        broadcaster.broadcast(JsonRpcNotification.toolsListChanged());
+        broadcaster.broadcast(JsonRpcNotification.promptsListChanged());
+
+        assertThat(out.toString()).isEmpty();
+        assertThat(broadcaster.queueDepth("s1")).isEqualTo(2);
+        assertThat(broadcaster.queuedEventCount()).isEqualTo(2);
+
+        drains.poll().run();
+
+        assertThat(broadcaster.queueDepth("s1")).isZero();
+        assertThat(out.toString()).contains("tools/list_changed").contains("prompts/list_changed");
+    }
 }
@@ -1,11 +1,19 @@
 package dev.langchain4j.cdi.mcp.server.transport;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import dev.langchain4j.cdi.mcp.server.protocol.JsonRpcNotification;
+import jakarta.enterprise.inject.Instance;
 import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 class McpProgressReporterTest {
 
@@ -22,12 +30,47 @@ class McpProgressReporterTest {
     }
 
     @Test
-    void shouldBroadcastProgressWhenTokenPresent() {
+    void shouldDropProgressForUnownedToken() {
         when(broadcaster.connectedStreamCount()).thenReturn(1);
 
         reporter.reportProgress("token-123", 50.0, 100.0);
+        reporter.reportProgress("s1", "token-123", 50.0, 100.0, null);
 
-        verify(broadcaster).broadcast(any());
+        verify(broadcaster, never()).broadcast(any());
+        verify(broadcaster, never()).sendToSession(any(), any());
+    }
+
+    @Test
+    void shouldDropProgressForTokenOwnedBySeveralSessions() {
+        reporter.begin("s1", "tok");
+        reporter.begin("s2", "tok");
+
+        reporter.reportProgress("tok", 1.0, 10.0);
+
+        verify(broadcaster, never()).sendToSession(any(), any());
+    }
+
+    @Test
+    void shouldSendToRemainingOwnerOnceOtherSessionCompletes() {
+        useProgressInterval(Duration.ZERO);
+        reporter.begin("s1", "tok");
+        reporter.begin("s2", "tok");
+        reporter.complete("s1", "tok");
+
+        reporter.reportProgress("tok", 1.0, 10.0);
+
+        verify(broadcaster).sendToSession(eq("s2"), any(JsonRpcNotification.class));
+        verify(broadcaster, never()).sendToSession(eq("s1"), any(JsonRpcNotification.class));
+    }
+
+    @Test
+    void shouldDropProgressAfterCompletion() {
+        reporter.begin("s1", "tok");
+        reporter.complete("s1", "tok");
+
+        reporter.reportProgress("s1", "tok", 1.0, 10.0, null);
+
+        verify(broadcaster, never()).sendToSession(any(), any());
     }
 
     @Test
@@ -45,4 +88,90 @@ class McpProgressReporterTest {
 
         verify(broadcaster, never()).broadcast(any());
     }
+
+    @SuppressWarnings("unchecked")
+    private void useProgressInterval(Duration interval) {
+        Instance<McpServerConfig> configInstance = mock(Instance.class);
+        when(configInstance.isResolvable()).thenReturn(true);
+        when(configInstance.get())
+                .thenReturn(McpServerConfig.builder().progressInterval(interval).build());
+        reporter.configInstance = configInstance;
+    }
+
+    private List<Object> sentProgressValues(String sessionId, int times) {
+        ArgumentCaptor<JsonRpcNotification> captor = ArgumentCaptor.forClass(JsonRpcNotification.class);
+        verify(broadcaster, times(times)).sendToSession(eq(sessionId), captor.capture());
+        return captor.getAllValues().stream()
+                .<Object>map(n -> ((Map<?, ?>) n.getParams()).get("progress"))
+                .toList();
+    }
+
+    @Test
+    void shouldSendOnlyToOwningSession() {
+        reporter.begin("s1", "tok");
+
+        reporter.reportProgress("tok", 1.0, 10.0);
+
+        verify(broadcaster).sendToSession(eq("s1"), any());
+        verify(broadcaster, never()).broadcast(any());
+        reporter.complete("s1", "tok");
+    }
+
+    @Test
+    void shouldKeepSameTokenOfDifferentSessionsApart() {
+        useProgressInterval(Duration.ZERO);
+        reporter.begin("s1", "tok");
+        reporter.begin("s2", "tok");
+
+        reporter.reportProgress("s2", "tok", 1.0, 10.0, null);
+
+        verify(broadcaster).sendToSession(eq("s2"), any());
+        verify(broadcaster, never()).sendToSession(eq("s1"), any());
+    }
+
+    @Test
+    void shouldThrottleAndFlushLatestValueOnCompletion() {
+        useProgressInterval(Duration.ofHours(1));
+        reporter.begin("s1", "tok");
+
+        reporter.reportProgress("s1", "tok", 1.0, 0, null);
+        reporter.reportProgress("s1", "tok", 2.0, 0, null);
+        reporter.reportProgress("s1", "tok", 3.0, 0, null);
+        sentProgressValues("s1", 1);
+
+        reporter.complete("s1", "tok");
+
+        assertThat(sentProgressValues("s1", 2)).containsExactly(1.0, 3.0);
+    }
+
+    @Test
+    void shouldAlwaysSendFinalValueImmediately() {
+        useProgressInterval(Duration.ofHours(1));
+        reporter.begin("s1", "tok");
+
+        reporter.reportProgress("s1", "tok", 1.0, 10.0, null);
+        reporter.reportProgress("s1", "tok", 5.0, 10.0, null);
+        reporter.reportProgress("s1", "tok", 10.0, 10.0, null);
+
+        assertThat(sentProgressValues("s1", 2)).containsExactly(1.0, 10.0);
+        reporter.complete("s1", "tok");
+        sentProgressValues("s1", 2);
+    }
+
+    @Test
+    void shouldFlushHeldBackValueFromScheduler() throws Exception {
+        useProgressInterval(Duration.ofMillis(20));
+        reporter.scheduler = new McpServerScheduler();
+        try {
+            reporter.begin("s1", "tok");
+
+            reporter.reportProgress("s1", "tok", 1.0, 0, null);
+            reporter.reportProgress("s1", "tok", 2.0, 0, null);
+
+            verify(broadcaster, timeout(2000).times(2)).sendToSession(eq("s1"), any());
+            assertThat(sentProgressValues("s1", 2)).containsExactly(1.0, 2.0);
+        } finally {
+            reporter.scheduler.shutdown();
+        }
+    }
 }
@@ -0,0 +1,98 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class McpPublisherCollectorTest {
+
+    @Test
+    void shouldCollectItemsInOrderAndReportEach() throws Exception {
+        List<String> reported = new CopyOnWriteArrayList<>();
+        CompletableFuture<List<Object>> result;
+        try (SubmissionPublisher<String> publisher = new SubmissionPublisher<>()) {
+            result = McpPublisherCollector.collect(publisher, 0, (item, count) -> reported.add(count + ":" + item));
+            publisher.submit("a");
+            publisher.submit("b");
+            publisher.submit("c");
+        }
+
+        assertThat(result.get(5, TimeUnit.SECONDS)).containsExactly("a", "b", "c");
+        assertThat(reported).containsExactly("1:a", "2:b", "3:c");
+    }
+
+    @Test
+    void shouldFailWhenPublisherFails() {
+        SubmissionPublisher<String> publisher = new SubmissionPublisher<>();
+        CompletableFuture<List<Object>> result = McpPublisherCollector.collect(publisher, 0, (item, count) -> {});
+
+        publisher.closeExceptionally(new IllegalStateException("stream broken"));
+
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseMessage("stream broken");
+    }
+
+    @Test
+    void shouldRequestOneItemAtATimeAndCancelSubscription() {
+        AtomicLong requested = new AtomicLong();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Flow.Publisher<String> publisher = subscriber -> subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                requested.addAndGet(n);
+            }
+
+            @Override
+            public void cancel() {
+                cancelled.set(true);
+            }
+        });
+
+        CompletableFuture<List<Object>> result = McpPublisherCollector.collect(publisher, 0, (item, count) -> {});
+        assertThat(requested).hasValue(1);
+
+        result.cancel(true);
+        assertThat(cancelled).isTrue();
+    }
+
+    @Test
+    void shouldFailAndCancelSubscriptionPastMaxItems() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        List<Flow.Subscriber<? super String>> subscribers = new CopyOnWriteArrayList<>();
+        Flow.Publisher<String> publisher = subscriber -> {
+            subscribers.add(subscriber);
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {}
+
+                @Override
+                public void cancel() {
+                    cancelled.set(true);
+                }
+            });
+        };
+
+        CompletableFuture<List<Object>> result = McpPublisherCollector.collect(publisher, 2, (item, count) -> {});
+        subscribers.get(0).onNext("a");
+        subscribers.get(0).onNext("b");
+        assertThat(result).isNotDone();
+
+        subscribers.get(0).onNext("c");
+
+        assertThat(cancelled).isTrue();
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasRootCauseMessage("Publisher emitted more than 2 items");
+    }
+}
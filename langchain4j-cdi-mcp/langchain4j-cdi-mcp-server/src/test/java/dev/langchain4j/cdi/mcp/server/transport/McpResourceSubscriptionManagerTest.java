@@ -2,6 +2,7 @@ package dev.langchain4j.cdi.mcp.server.transport;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 
 class McpResourceSubscriptionManagerTest {
@@ -37,4 +38,70 @@ class McpResourceSubscriptionManagerTest {
         assertThat(manager.getSubscribedSessions("config://app")).isEmpty();
         assertThat(manager.getSubscriptions("session-1")).isEmpty();
     }
+
+    @Test
+    void shouldMatchPrefixSubscriptions() {
+        McpResourceSubscriptionManager manager = new McpResourceSubscriptionManager();
+        manager.subscribe("session-1", "booking://counters/*");
+        manager.subscribe("session-2", "booking://*");
+        manager.subscribe("session-3", "booking://counters/paris");
+
+        assertThat(manager.getSubscribedSessions("booking://counters/paris"))
+                .containsExactlyInAnyOrder("session-1", "session-2", "session-3");
+        assertThat(manager.getSubscribedSessions("booking://rooms/1")).containsExactly("session-2");
+        assertThat(manager.getSubscribedSessions("config://app")).isEmpty();
+    }
+
+    @Test
+    void shouldMatchTemplateSubscriptions() {
+        McpResourceSubscriptionManager manager = new McpResourceSubscriptionManager();
+        manager.subscribe("session-1", "booking://counters/{city}/seats");
+        manager.subscribe("session-2", "file:///{+path}");
+
+        assertThat(manager.getSubscribedSessions("booking://counters/paris/seats"))
+                .containsExactly("session-1");
+        assertThat(manager.getSubscribedSessions("booking://counters/paris/rooms"))
+                .isEmpty();
+        assertThat(manager.getSubscribedSessions("booking://counters/a/b/seats"))
+                .isEmpty();
+        assertThat(manager.getSubscribedSessions("file:///var/log/app.log")).containsExactly("session-2");
+    }
+
+    @Test
+    void shouldNotifySessionOnceWhenSeveralSubscriptionsMatch() {
+        McpResourceSubscriptionManager manager = new McpResourceSubscriptionManager();
+        manager.subscribe("session-1", "booking://counters/paris");
+        manager.subscribe("session-1", "booking://counters/*");
+        manager.subscribe("session-1", "booking://{kind}/paris");
+
+        assertThat(manager.getSubscribedSessions("booking://counters/paris")).containsExactly("session-1");
+    }
+
+    @Test
+    void shouldUnindexWildcardSubscriptions() {
+        McpResourceSubscriptionManager manager = new McpResourceSubscriptionManager();
+        manager.subscribe("session-1", "booking://counters/*");
+        manager.subscribe("session-2", "booking://counters/*");
+        manager.unsubscribe("session-1", "booking://counters/*");
+
+        assertThat(manager.getSubscribedSessions("booking://counters/paris")).containsExactly("session-2");
+
+        manager.removeSession("session-2");
+
+        assertThat(manager.getSubscribedSessions("booking://counters/paris")).isEmpty();
+    }
+
+    @Test
+    void shouldReindexRestoredSession() {
+        McpResourceSubscriptionManager manager = new McpResourceSubscriptionManager();
+        manager.subscribe("session-1", "config://app");
+        manager.subscribe("session-1", "data://status");
+
+        manager.restoreSession("session-1", Set.of("data://status", "booking://*"));
+
+        assertThat(manager.getSubscriptions("session-1")).containsExactlyInAnyOrder("data://status", "booking://*");
+        assertThat(manager.getSubscribedSessions("config://app")).isEmpty();
+        assertThat(manager.getSubscribedSessions("data://status")).containsExactly("session-1");
+        assertThat(manager.getSubscribedSessions("booking://counters")).containsExactly("session-1");
+    }
 }
@@ -0,0 +1,229 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import dev.langchain4j.cdi.mcp.server.error.McpErrorCode;
+import dev.langchain4j.cdi.mcp.server.error.McpToolNotFoundException;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.Test;
+
+class McpServerListenersTest {
+
+    @Test
+    void shouldBeDisabledWithoutEnabledListeners() {
+        McpServerListener disabled = mock(McpServerListener.class);
+        when(disabled.isEnabled()).thenReturn(false);
+        StreamingOutput output = out -> {};
+        McpEventStream stream = mock(McpEventStream.class);
+
+        McpServerListeners listeners = new McpServerListeners(disabled);
+
+        assertThat(listeners.isEnabled()).isFalse();
+        assertThat(new McpServerListeners().isEnabled()).isFalse();
+        assertThat(listeners.observe(output)).isSameAs(output);
+        assertThat(listeners.observe(stream)).isSameAs(stream);
+    }
+
+    @Test
+    void shouldReportRequestsWithTheirErrorCode() {
+        McpServerListener listener = enabledListener();
+        McpServerListeners listeners = new McpServerListeners(listener);
+        long start = System.nanoTime();
+
+        listeners.requestCompleted("tools/list", start, null);
+        listeners.requestCompleted(
+                "tools/call", start, new CompletionException(new McpToolNotFoundException(1, "missing")));
+        listeners.requestCompleted("prompts/get", start, new IllegalStateException("boom"));
+
+        verify(listener).onRequest(eq("tools/list"), anyLong(), eq(null));
+        verify(listener).onRequest(eq("tools/call"), anyLong(), eq(McpErrorCode.TOOL_NOT_FOUND));
+        verify(listener).onRequest(eq("prompts/get"), anyLong(), eq(McpErrorCode.INTERNAL_ERROR));
+    }
+
+    @Test
+    void shouldKeepNotifyingWhenAListenerFails() {
+        McpServerListener failing = enabledListener();
+        doThrow(new IllegalStateException("boom")).when(failing).onToolCall(eq("add"), anyLong(), eq(null));
+        McpServerListener other = enabledListener();
+        McpServerListeners listeners = new McpServerListeners(failing, other);
+
+        listeners.toolCallCompleted("add", System.nanoTime(), null);
+
+        verify(other).onToolCall(eq("add"), anyLong(), eq(null));
+    }
+
+    @Test
+    void shouldCountBytesOfResponseBodies() throws Exception {
+        McpServerListener listener = enabledListener();
+        McpServerListeners listeners = new McpServerListeners(listener);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        listeners
+                .observe(body -> {
+                    body.write("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+                    body.write('\n');
+                })
+                .write(out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"id\":1}\n");
+        verify(listener).onBytesWritten(9, false);
+    }
+
+    @Test
+    void shouldCountBytesOfStreamedMessagesOnly() throws Exception {
+        McpServerListener listener = enabledListener();
+        McpEventStream stream = mock(McpEventStream.class);
+        McpEventStream observed = new McpServerListeners(listener).observe(stream);
+
+        observed.sendMessage(new byte[12]);
+        observed.sendComment("keep-alive");
+
+        verify(stream).sendMessage(new byte[12]);
+        verify(stream).sendComment("keep-alive");
+        verify(listener).onBytesWritten(12, true);
+    }
+
+    @Test
+    void shouldNotCountFailedSends() throws Exception {
+        McpServerListener listener = enabledListener();
+        McpEventStream stream = mock(McpEventStream.class);
+        doThrow(new IOException("gone")).when(stream).sendMessage(new byte[3]);
+        McpEventStream observed = new McpServerListeners(listener).observe(stream);
+
+        assertThatThrownBy(() -> observed.sendMessage(new byte[3])).isInstanceOf(IOException.class);
+
+        verify(listener, never()).onBytesWritten(anyLong(), eq(true));
+    }
+
+    @Test
+    void shouldParentSpansOfEachListenerToItsOwnSpans() {
+        List<String> events = new ArrayList<>();
+        McpServerListeners listeners =
+                new McpServerListeners(new TracingListener("a", events), new TracingListener("b", events));
+
+        McpSpan request = listeners.startRequest("tools/call", 1, "session-1", "add", Map.of());
+        McpSpan invocation = listeners.startInvocation(request, Calculator.class.getDeclaredMethods()[0]);
+        McpSpan client;
+        try (McpSpan.Scope scope = invocation.makeCurrent()) {
+            assertThat(listeners.current()).isSameAs(invocation);
+            client = listeners.startClientRequest("sampling/createMessage", "session-1", new HashMap<>());
+        }
+        assertThat(listeners.current()).isSameAs(McpSpan.NOOP);
+        request.queued(5);
+        client.end(null);
+        invocation.end(null);
+        request.end(new McpToolNotFoundException(1, "add"));
+
+        assertThat(events)
+                .containsExactly(
+                        "a start tools/call add",
+                        "b start tools/call add",
+                        "a start invoke under tools/call",
+                        "b start invoke under tools/call",
+                        "a enter invoke",
+                        "b enter invoke",
+                        "a start sampling/createMessage under invoke",
+                        "b start sampling/createMessage under invoke",
+                        "b exit invoke",
+                        "a exit invoke",
+                        "a queued tools/call 5",
+                        "b queued tools/call 5",
+                        "a end sampling/createMessage null",
+                        "b end sampling/createMessage null",
+                        "a end invoke null",
+                        "b end invoke null",
+                        "a end tools/call TOOL_NOT_FOUND",
+                        "b end tools/call TOOL_NOT_FOUND");
+    }
+
+    @Test
+    void shouldNotTraceWhenNoListenerStartsSpans() {
+        McpServerListeners listeners = new McpServerListeners(enabledListener());
+
+        assertThat(listeners.startRequest("ping", 1, null, null, Map.of())).isSameAs(McpSpan.NOOP);
+        assertThat(listeners.startInvocation(null, Calculator.class.getDeclaredMethods()[0]))
+                .isSameAs(McpSpan.NOOP);
+        assertThat(new McpServerListeners()
+                        .startInvocation(null, Calculator.class.getDeclaredMethods()[0]))
+                .isSameAs(McpSpan.NOOP);
+    }
+
+    private static McpServerListener enabledListener() {
+        McpServerListener listener = mock(McpServerListener.class);
+        when(listener.isEnabled()).thenReturn(true);
+        return listener;
+    }
+
+    static class Calculator {
+
+        int add(int a, int b) {
+            return a + b;
+        }
+    }
+
+    /** Records its calls, naming each span after its method and, for requests, its target. */
+    private record TracingListener(String name, List<String> events) implements McpServerListener {
+
+        @Override
+        public McpSpan startRequest(
+                String method, Object requestId, String sessionId, String target, Map<String, String> carrier) {
+            events.add(name + " start " + method + " " + target);
+            return new Span(method);
+        }
+
+        @Override
+        public McpSpan startInvocation(McpSpan parent, Method method) {
+            events.add(name + " start invoke under " + ((Span) parent).label);
+            return new Span("invoke");
+        }
+
+        @Override
+        public McpSpan startClientRequest(
+                McpSpan parent, String method, String sessionId, Map<String, String> carrier) {
+            events.add(name + " start " + method + " under " + ((Span) parent).label);
+            return new Span(method);
+        }
+
+        private final class Span implements McpSpan {
+
+            private final String label;
+
+            Span(String label) {
+                this.label = label;
+            }
+
+            @Override
+            public Scope makeCurrent() {
+                events.add(name + " enter " + label);
+                return () -> events.add(name + " exit " + label);
+            }
+
+            @Override
+            public void queued(long waitNanos) {
+                events.add(name + " queued " + label + " " + waitNanos);
+            }
+
+            @Override
+            public void end(Throwable error) {
+                events.add(name + " end " + label + " " + McpErrorCode.of(error));
+            }
+        }
+    }
+}
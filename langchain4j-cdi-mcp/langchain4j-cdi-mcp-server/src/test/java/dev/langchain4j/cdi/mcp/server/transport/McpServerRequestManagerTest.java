@@ -1,22 +1,36 @@
 package dev.langchain4j.cdi.mcp.server.transport;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import dev.langchain4j.cdi.mcp.server.error.McpErrorCode;
+import dev.langchain4j.cdi.mcp.server.error.McpException;
+import dev.langchain4j.cdi.mcp.server.protocol.JsonRpcServerRequest;
+import jakarta.enterprise.inject.Instance;
 import jakarta.json.Json;
 import jakarta.json.JsonObject;
 import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
 class McpServerRequestManagerTest {
 
     McpServerRequestManager manager;
     McpNotificationBroadcaster broadcaster;
+    McpServerScheduler scheduler;
 
     @BeforeEach
     void setup() throws Exception {
@@ -25,6 +39,21 @@ class McpServerRequestManagerTest {
         Field field = McpServerRequestManager.class.getDeclaredField("broadcaster");
         field.setAccessible(true);
         field.set(manager, broadcaster);
+        scheduler = new McpServerScheduler();
+        manager.scheduler = scheduler;
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void configure(McpServerConfig config) {
+        Instance<McpServerConfig> configInstance = mock(Instance.class);
+        when(configInstance.isResolvable()).thenReturn(true);
+        when(configInstance.get()).thenReturn(config);
+        manager.configInstance = configInstance;
     }
 
     @Test
@@ -79,4 +108,102 @@ class McpServerRequestManagerTest {
     void shouldTrackPendingRequests() {
         assertThat(manager.pendingRequestCount()).isZero();
     }
+
+    @Test
+    void shouldCompleteAsyncRequestWhenClientAnswers() throws Exception {
+        CompletableFuture<JsonObject> response = manager.sendRequestAsync(
+                        "session-1", "roots/list", null, Duration.ofSeconds(5))
+                .toCompletableFuture();
+
+        assertThat(response).isNotDone();
+        assertThat(manager.pendingRequestCount("session-1")).isEqualTo(1);
+
+        JsonObject result = Json.createObjectBuilder().add("ok", true).build();
+        assertThat(manager.handleResponse("session-1", "server-1", result)).isTrue();
+
+        assertThat(response.get(1, TimeUnit.SECONDS)).isEqualTo(result);
+        assertThat(manager.pendingRequestCount()).isZero();
+        assertThat(manager.pendingRequestCount("session-1")).isZero();
+    }
+
+    @Test
+    void shouldFailAsyncRequestOnTimeout() {
+        CompletableFuture<JsonObject> response = manager.sendRequestAsync(
+                        "session-1", "sampling/createMessage", null, Duration.ofMillis(50))
+                .toCompletableFuture();
+
+        assertThatThrownBy(() -> response.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(manager.pendingRequestCount()).isZero();
+    }
+
+    @Test
+    void shouldIgnoreResponseFromAnotherSession() {
+        CompletableFuture<JsonObject> response = manager.sendRequestAsync(
+                        "session-1", "roots/list", null, Duration.ofSeconds(5))
+                .toCompletableFuture();
+
+        assertThat(manager.handleResponse("session-2", "server-1", JsonObject.EMPTY_JSON_OBJECT))
+                .isFalse();
+        assertThat(response).isNotDone();
+
+        response.cancel(true);
+        assertThat(manager.pendingRequestCount()).isZero();
+    }
+
+    @Test
+    void shouldRejectRequestsOverSessionLimit() {
+        configure(
+                McpServerConfig.builder().maxPendingServerRequestsPerSession(2).build());
+
+        manager.sendRequestAsync("session-1", "roots/list", null, Duration.ofSeconds(5));
+        manager.sendRequestAsync("session-1", "roots/list", null, Duration.ofSeconds(5));
+        CompletableFuture<JsonObject> rejected = manager.sendRequestAsync(
+                        "session-1", "roots/list", null, Duration.ofSeconds(5))
+                .toCompletableFuture();
+
+        assertThat(rejected).isCompletedExceptionally();
+        assertThatThrownBy(rejected::join)
+                .hasCauseInstanceOf(McpException.class)
+                .cause()
+                .extracting(e -> ((McpException) e).getErrorCode())
+                .isEqualTo(McpErrorCode.SERVER_OVERLOADED);
+        assertThat(manager.sendRequestAsync("session-2", "roots/list", null, Duration.ofSeconds(5)))
+                .isNotDone();
+
+        manager.handleResponse("session-1", "server-1", JsonObject.EMPTY_JSON_OBJECT);
+        assertThat(manager.sendRequestAsync("session-1", "roots/list", null, Duration.ofSeconds(5)))
+                .isNotDone();
+        assertThat(manager.pendingRequestCount("session-1")).isEqualTo(2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldTraceRequestAndPropagateContextInMeta() {
+        McpSpan span = mock(McpSpan.class);
+        McpServerListener listener = new McpServerListener() {
+            @Override
+            public McpSpan startClientRequest(
+                    McpSpan parent, String method, String sessionId, Map<String, String> carrier) {
+                carrier.put("traceparent", "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01");
+                return span;
+            }
+        };
+        manager.listeners = new McpServerListeners(listener);
+
+        manager.sendRequestAsync("session-1", "sampling/createMessage", Map.of("maxTokens", 10), Duration.ofSeconds(5));
+
+        ArgumentCaptor<JsonRpcServerRequest> sent = ArgumentCaptor.forClass(JsonRpcServerRequest.class);
+        verify(broadcaster).sendToSession(eq("session-1"), sent.capture());
+        Map<String, Object> params = (Map<String, Object>) sent.getValue().getParams();
+        assertThat(params)
+                .containsEntry("maxTokens", 10)
+                .containsEntry(
+                        "_meta", Map.of("traceparent", "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01"));
+        verify(span, never()).end(any());
+
+        manager.handleResponse("session-1", sent.getValue().getId(), JsonObject.EMPTY_JSON_OBJECT);
+        verify(span).end(null);
+    }
 }
@@ -4,9 +4,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import dev.langchain4j.cdi.mcp.server.error.McpSessionException;
+import jakarta.enterprise.inject.Instance;
 import java.lang.reflect.Field;
 import java.time.Duration;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 
 class McpSessionManagerEnhancedTest {
 
@@ -88,4 +90,61 @@ class McpSessionManagerEnhancedTest {
             manager.shutdown();
         }
     }
+
+    @SuppressWarnings("unchecked")
+    private static McpSessionManager createManager(McpServerConfig config) throws Exception {
+        McpSessionManager manager = new McpSessionManager();
+        setField(manager, "subscriptionManager", new McpResourceSubscriptionManager());
+        setField(manager, "rootsManager", new McpRootsManager());
+        Instance<McpServerConfig> configInstance = Mockito.mock(Instance.class);
+        Mockito.when(configInstance.isResolvable()).thenReturn(true);
+        Mockito.when(configInstance.get()).thenReturn(config);
+        manager.configInstance = configInstance;
+        return manager;
+    }
+
+    @Test
+    void shouldTakeTimeoutFromConfig() throws Exception {
+        McpSessionManager manager = createManager(McpServerConfig.builder()
+                .sessionTimeout(Duration.ofMillis(50))
+                .sessionCleanupInterval(Duration.ofMillis(10))
+                .build());
+        manager.scheduler = new McpServerScheduler();
+        try {
+            String sessionId = manager.createSession(null);
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (manager.activeSessionCount() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertThat(manager.activeSessionCount()).isZero();
+            assertThatThrownBy(() -> manager.requireSession("req", sessionId)).isInstanceOf(McpSessionException.class);
+        } finally {
+            manager.shutdown();
+            manager.scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedSessionAboveMaximum() throws Exception {
+        McpSessionManager manager =
+                createManager(McpServerConfig.builder().maxSessions(2).build());
+        try {
+            String first = manager.createSession(null);
+            Thread.sleep(2);
+            String second = manager.createSession(null);
+            Thread.sleep(2);
+            manager.requireSession("req", first); // first is now the most recently used
+
+            String third = manager.createSession(null);
+
+            assertThat(manager.activeSessionCount()).isEqualTo(2);
+            assertThat(manager.requireSession("req", first)).isNotNull();
+            assertThat(manager.requireSession("req", third)).isNotNull();
+            assertThatThrownBy(() -> manager.requireSession("req", second)).isInstanceOf(McpSessionException.class);
+        } finally {
+            manager.shutdown();
+        }
+    }
 }
@@ -0,0 +1,114 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.langchain4j.cdi.mcp.server.error.McpSessionException;
+import dev.langchain4j.cdi.mcp.server.logging.McpLogLevel;
+import jakarta.enterprise.inject.Instance;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+/** Two managers sharing a file store stand in for two server nodes behind a load balancer. */
+class McpSessionManagerStoreTest {
+
+    @TempDir
+    Path directory;
+
+    McpSessionManager nodeA;
+    McpSessionManager nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = createNode(Duration.ZERO);
+        nodeB = createNode(Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.shutdown();
+        nodeB.shutdown();
+    }
+
+    @SuppressWarnings("unchecked")
+    private McpSessionManager createNode(Duration cacheTtl) {
+        McpSessionManager manager = new McpSessionManager(Duration.ofMinutes(30), new McpFileSessionStore(directory));
+        manager.subscriptionManager = new McpResourceSubscriptionManager();
+        manager.rootsManager = new McpRootsManager();
+        Instance<McpServerConfig> configInstance = Mockito.mock(Instance.class);
+        Mockito.when(configInstance.isResolvable()).thenReturn(true);
+        Mockito.when(configInstance.get())
+                .thenReturn(McpServerConfig.builder().sessionCacheTtl(cacheTtl).build());
+        manager.configInstance = configInstance;
+        return manager;
+    }
+
+    @Test
+    void shouldServeSessionCreatedOnAnotherNode() {
+        String sessionId = nodeA.createSession(null);
+
+        McpSession session = nodeB.requireSession("req-1", sessionId);
+
+        assertThat(session.getId()).isEqualTo(sessionId);
+        assertThat(nodeB.activeSessionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldShareSessionStateBetweenNodes() {
+        String sessionId = nodeA.createSession(null);
+        McpSession onA = nodeA.requireSession("req-1", sessionId);
+        onA.markInitialized();
+        onA.setLogLevel(McpLogLevel.error);
+        nodeA.subscriptionManager.subscribe(sessionId, "file:///data.txt");
+        nodeA.persist(sessionId);
+
+        McpSession onB = nodeB.requireSession("req-2", sessionId);
+
+        assertThat(onB.isInitialized()).isTrue();
+        assertThat(onB.getLogLevel()).isEqualTo(McpLogLevel.error);
+        assertThat(nodeB.subscriptionManager.getSubscriptions(sessionId)).containsExactly("file:///data.txt");
+    }
+
+    @Test
+    void shouldRefreshCachedSessionAfterTtl() {
+        String sessionId = nodeA.createSession(null);
+        McpSession onB = nodeB.requireSession("req-1", sessionId);
+
+        nodeA.requireSession("req-2", sessionId).setLogLevel(McpLogLevel.debug);
+        nodeA.persist(sessionId);
+        nodeB.requireSession("req-3", sessionId);
+
+        assertThat(onB.getLogLevel()).isEqualTo(McpLogLevel.debug);
+    }
+
+    @Test
+    void shouldNotHitStoreWithinTtl() {
+        McpSessionManager cachingNode = createNode(Duration.ofHours(1));
+        try {
+            String sessionId = nodeA.createSession(null);
+            cachingNode.requireSession("req-1", sessionId);
+
+            nodeA.terminateSession(sessionId);
+
+            assertThat(cachingNode.requireSession("req-2", sessionId)).isNotNull();
+        } finally {
+            cachingNode.shutdown();
+        }
+    }
+
+    @Test
+    void shouldRejectSessionTerminatedOnAnotherNode() {
+        String sessionId = nodeA.createSession(null);
+        nodeB.requireSession("req-1", sessionId);
+
+        nodeA.terminateSession(sessionId);
+
+        assertThatThrownBy(() -> nodeB.requireSession("req-2", sessionId)).isInstanceOf(McpSessionException.class);
+        assertThat(nodeB.activeSessionCount()).isZero();
+    }
+}
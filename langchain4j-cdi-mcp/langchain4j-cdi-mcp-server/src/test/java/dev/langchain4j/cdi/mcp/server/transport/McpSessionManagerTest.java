@@ -2,6 +2,10 @@ package dev.langchain4j.cdi.mcp.server.transport;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 import dev.langchain4j.cdi.mcp.server.error.McpSessionException;
 import java.lang.reflect.Field;
@@ -52,6 +56,20 @@ class McpSessionManagerTest {
         assertThatThrownBy(() -> manager.requireSession("req-1", "unknown-id")).isInstanceOf(McpSessionException.class);
     }
 
+    @Test
+    void shouldNotCopySessionStateIntoLocalStore() throws Exception {
+        McpInMemorySessionStore store = spy(new McpInMemorySessionStore());
+        McpSessionManager local = new McpSessionManager(null, store);
+        setField(local, "subscriptionManager", new McpResourceSubscriptionManager());
+        setField(local, "rootsManager", new McpRootsManager());
+
+        String sessionId = local.createSession(null);
+        local.persist(sessionId);
+
+        assertThat(local.requireSession("req-1", sessionId).getId()).isEqualTo(sessionId);
+        verify(store, never()).save(any());
+    }
+
     @Test
     void shouldTerminateSession() {
         String sessionId = manager.createSession(null);
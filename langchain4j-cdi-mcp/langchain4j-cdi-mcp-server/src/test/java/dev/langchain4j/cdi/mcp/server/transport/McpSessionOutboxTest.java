@@ -0,0 +1,303 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.Test;
+
+class McpSessionOutboxTest {
+
+    private final Queue<Runnable> pendingDrains = new ArrayDeque<>();
+    private final LongAdder dropped = new LongAdder();
+    private final RecordingStream stream = new RecordingStream();
+    private final AtomicBoolean closedCallback = new AtomicBoolean();
+
+    private McpSessionOutbox outbox(int capacity, McpOverflowPolicy policy) {
+        return new McpSessionOutbox(
+                "session-1", stream, capacity, policy, pendingDrains::add, dropped, o -> closedCallback.set(true));
+    }
+
+    private static byte[] json(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void runDrains() {
+        Runnable drain;
+        while ((drain = pendingDrains.poll()) != null) {
+            drain.run();
+        }
+    }
+
+    @Test
+    void shouldQueueWithoutWritingOnCallerThread() {
+        McpSessionOutbox outbox = outbox(8, McpOverflowPolicy.DROP_OLDEST);
+
+        outbox.offerMessage(json("a"), null);
+        outbox.offerMessage(json("b"), null);
+
+        assertThat(stream.written).isEmpty();
+        assertThat(outbox.depth()).isEqualTo(2);
+        assertThat(pendingDrains).hasSize(1);
+
+        runDrains();
+
+        assertThat(stream.written).containsExactly("a", "b");
+        assertThat(outbox.depth()).isZero();
+    }
+
+    @Test
+    void shouldDropOldestWhenFull() {
+        McpSessionOutbox outbox = outbox(2, McpOverflowPolicy.DROP_OLDEST);
+
+        outbox.offerMessage(json("a"), null);
+        outbox.offerMessage(json("b"), null);
+        outbox.offerMessage(json("c"), null);
+        runDrains();
+
+        assertThat(stream.written).containsExactly("b", "c");
+        assertThat(dropped.sum()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReplaceEventWithSameCoalescingKey() {
+        McpSessionOutbox outbox = outbox(2, McpOverflowPolicy.COALESCE);
+
+        outbox.offerMessage(json("tools-1"), "notifications/tools/list_changed");
+        outbox.offerMessage(json("log"), null);
+        outbox.offerMessage(json("tools-2"), "notifications/tools/list_changed");
+        runDrains();
+
+        assertThat(stream.written).containsExactly("log", "tools-2");
+        assertThat(dropped.sum()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFallBackToDropOldestWhenNothingCoalesces() {
+        McpSessionOutbox outbox = outbox(2, McpOverflowPolicy.COALESCE);
+
+        outbox.offerMessage(json("a"), null);
+        outbox.offerMessage(json("b"), null);
+        outbox.offerMessage(json("c"), "key");
+        runDrains();
+
+        assertThat(stream.written).containsExactly("b", "c");
+    }
+
+    @Test
+    void shouldDisconnectWhenFull() {
+        McpSessionOutbox outbox = outbox(2, McpOverflowPolicy.DISCONNECT);
+
+        outbox.offerMessage(json("a"), null);
+        outbox.offerMessage(json("b"), null);
+        boolean accepted = outbox.offerMessage(json("c"), null);
+
+        assertThat(accepted).isFalse();
+        assertThat(outbox.isClosed()).isTrue();
+        assertThat(stream.closed).isTrue();
+        assertThat(closedCallback).isTrue();
+        assertThat(dropped.sum()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldCloseWhenWriteFails() {
+        McpSessionOutbox outbox = outbox(8, McpOverflowPolicy.DROP_OLDEST);
+        stream.failWrites = true;
+
+        outbox.offerMessage(json("a"), null);
+        outbox.offerMessage(json("b"), null);
+        runDrains();
+
+        assertThat(outbox.isClosed()).isTrue();
+        assertThat(closedCallback).isTrue();
+        assertThat(outbox.offerMessage(json("c"), null)).isFalse();
+        assertThat(dropped.sum()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldSkipKeepAliveWhenEventsArePending() {
+        McpSessionOutbox outbox = outbox(8, McpOverflowPolicy.DROP_OLDEST);
+
+        outbox.offerMessage(json("a"), null);
+        outbox.offerKeepAlive("keep-alive");
+        runDrains();
+        outbox.offerKeepAlive("keep-alive");
+        runDrains();
+
+        assertThat(stream.written).containsExactly("a", ": keep-alive");
+    }
+
+    @Test
+    void shouldWriteNextEventOnlyOnceThePreviousIsAccepted() {
+        AsyncStream async = new AsyncStream();
+        McpSessionOutbox outbox = new McpSessionOutbox(
+                "session-1", async, 8, McpOverflowPolicy.DROP_OLDEST, pendingDrains::add, dropped, o -> {});
+
+        outbox.offerMessage(json("a"), null);
+        outbox.offerMessage(json("b"), null);
+        runDrains();
+
+        assertThat(async.sent).containsExactly("a");
+        assertThat(outbox.depth()).isEqualTo(1);
+
+        async.pending.poll().complete(null);
+        runDrains();
+
+        assertThat(async.sent).containsExactly("a", "b");
+        assertThat(outbox.depth()).isZero();
+    }
+
+    @Test
+    void shouldCloseWhenAsyncSendFails() {
+        AsyncStream async = new AsyncStream();
+        McpSessionOutbox outbox = new McpSessionOutbox(
+                "session-1", async, 8, McpOverflowPolicy.DROP_OLDEST, pendingDrains::add, dropped, o -> {});
+
+        outbox.offerMessage(json("a"), null);
+        outbox.offerMessage(json("b"), null);
+        runDrains();
+        async.pending.poll().completeExceptionally(new IOException("broken pipe"));
+
+        assertThat(outbox.isClosed()).isTrue();
+        assertThat(async.sent).containsExactly("a");
+        assertThat(dropped.sum()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldUseSingleWriterUnderConcurrentProducers() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            McpSessionOutbox outbox = new McpSessionOutbox(
+                    "session-1", stream, 10_000, McpOverflowPolicy.DROP_OLDEST, executor, dropped, o -> {});
+            int producers = 4;
+            int perProducer = 500;
+            CountDownLatch start = new CountDownLatch(1);
+            CountDownLatch done = new CountDownLatch(producers);
+            for (int p = 0; p < producers; p++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        for (int i = 0; i < perProducer; i++) {
+                            outbox.offerMessage(json("x"), null);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            start.countDown();
+            assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (stream.written.size() < producers * perProducer && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+
+            assertThat(stream.written).hasSize(producers * perProducer);
+            assertThat(stream.maxConcurrentWriters.get()).isEqualTo(1);
+            assertThat(dropped.sum()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /** A stream whose sends complete only when the test completes them, like a slow SSE sink. */
+    private static final class AsyncStream implements McpEventStream {
+
+        final List<String> sent = new CopyOnWriteArrayList<>();
+        final Queue<CompletableFuture<Void>> pending = new ArrayDeque<>();
+        volatile boolean closed;
+
+        @Override
+        public void sendMessage(byte[] json) {
+            sendMessageAsync(json);
+        }
+
+        @Override
+        public void sendComment(String comment) {
+            sendCommentAsync(comment);
+        }
+
+        @Override
+        public CompletionStage<Void> sendMessageAsync(byte[] json) {
+            sent.add(new String(json, StandardCharsets.UTF_8));
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            pending.add(future);
+            return future;
+        }
+
+        @Override
+        public CompletionStage<Void> sendCommentAsync(String comment) {
+            return sendMessageAsync(json(": " + comment));
+        }
+
+        @Override
+        public boolean isBlocking() {
+            return false;
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static final class RecordingStream implements McpEventStream {
+
+        final List<String> written = new CopyOnWriteArrayList<>();
+        final AtomicInteger activeWriters = new AtomicInteger();
+        final AtomicInteger maxConcurrentWriters = new AtomicInteger();
+        volatile boolean failWrites;
+        volatile boolean closed;
+
+        @Override
+        public void sendMessage(byte[] json) throws IOException {
+            write(new String(json, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void sendComment(String comment) throws IOException {
+            write(": " + comment);
+        }
+
+        private void write(String value) throws IOException {
+            if (failWrites) {
+                throw new IOException("broken pipe");
+            }
+            int active = activeWriters.incrementAndGet();
+            maxConcurrentWriters.accumulateAndGet(active, Math::max);
+            written.add(value);
+            activeWriters.decrementAndGet();
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
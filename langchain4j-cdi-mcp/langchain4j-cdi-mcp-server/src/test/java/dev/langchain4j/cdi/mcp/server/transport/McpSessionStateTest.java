@@ -0,0 +1,69 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.langchain4j.cdi.mcp.server.logging.McpLogLevel;
+import jakarta.json.Json;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.mcp_java.model.roots.Root;
+
+class McpSessionStateTest {
+
+    @Test
+    void shouldRoundTripFullState() {
+        McpSessionState state = new McpSessionState(
+                "session-1",
+                Instant.ofEpochMilli(1_000),
+                Instant.ofEpochMilli(2_000),
+                true,
+                Json.createObjectBuilder()
+                        .add("protocolVersion", "2025-03-26")
+                        .add("capabilities", Json.createObjectBuilder().add("roots", Json.createObjectBuilder()))
+                        .build(),
+                McpLogLevel.warning,
+                Set.of("file:///a.txt", "file:///bé.txt"),
+                List.of(Root.of("file:///home", "Home")));
+
+        McpSessionState decoded = McpSessionState.fromBytes(state.toBytes());
+
+        assertThat(decoded).isEqualTo(state);
+    }
+
+    @Test
+    void shouldRoundTripMinimalState() {
+        McpSessionState state = new McpSessionState(
+                "session-2", Instant.ofEpochMilli(5), Instant.ofEpochMilli(5), false, null, null, null, null);
+
+        McpSessionState decoded = McpSessionState.fromBytes(state.toBytes());
+
+        assertThat(decoded).isEqualTo(state);
+        assertThat(decoded.subscriptions()).isEmpty();
+        assertThat(decoded.roots()).isEmpty();
+    }
+
+    @Test
+    void shouldBeCompact() {
+        McpSessionState state = new McpSessionState(
+                "0b1e5e7c-5c1f-4d3c-9a55-3a0f3b1c2d4e",
+                Instant.now(),
+                Instant.now(),
+                true,
+                null,
+                McpLogLevel.info,
+                Set.of(),
+                List.of());
+
+        assertThat(state.toBytes()).hasSizeLessThan(80);
+    }
+
+    @Test
+    void shouldRejectUnknownVersion() {
+        assertThatThrownBy(() -> McpSessionState.fromBytes(new byte[] {9}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("version");
+    }
+}
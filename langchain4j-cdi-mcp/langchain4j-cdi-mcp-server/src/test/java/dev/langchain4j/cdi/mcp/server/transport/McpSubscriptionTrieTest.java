@@ -0,0 +1,61 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class McpSubscriptionTrieTest {
+
+    private static List<String> subscribers(McpSubscriptionTrie trie, String uri) {
+        List<String> sessions = new ArrayList<>();
+        trie.collect(uri, sessions::add);
+        return sessions;
+    }
+
+    @Test
+    void shouldPruneNodesLeftEmpty() {
+        McpSubscriptionTrie trie = new McpSubscriptionTrie();
+        trie.add("booking://counters/*", "s1");
+        trie.add("booking://cars/{id}", "s2");
+        int nodes = trie.nodeCount();
+
+        trie.remove("booking://counters/*", "s1");
+
+        assertThat(trie.nodeCount()).isEqualTo(nodes - "ounters/".length());
+        assertThat(subscribers(trie, "booking://cars/42")).containsExactly("s2");
+
+        trie.remove("booking://cars/{id}", "s2");
+
+        assertThat(trie.nodeCount()).isZero();
+        assertThat(trie.isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldKeepNodesOfRemainingSubscriptions() {
+        McpSubscriptionTrie trie = new McpSubscriptionTrie();
+        trie.add("booking://*", "s1");
+        trie.add("booking://counters/*", "s1");
+        trie.add("booking://counters/*", "s2");
+
+        trie.remove("booking://counters/*", "s1");
+        trie.remove("booking://*", "s1");
+
+        assertThat(trie.nodeCount()).isEqualTo("booking://counters/".length());
+        assertThat(subscribers(trie, "booking://counters/paris")).containsExactly("s2");
+        assertThat(subscribers(trie, "booking://cars/42")).isEmpty();
+    }
+
+    @Test
+    void shouldIgnoreRemovalOfUnknownSubscription() {
+        McpSubscriptionTrie trie = new McpSubscriptionTrie();
+        trie.add("booking://counters/*", "s1");
+
+        trie.remove("booking://cars/*", "s1");
+        trie.remove("booking://counters/*", "s2");
+
+        assertThat(trie.nodeCount()).isEqualTo("booking://counters/".length());
+        assertThat(subscribers(trie, "booking://counters/paris")).containsExactly("s1");
+    }
+}
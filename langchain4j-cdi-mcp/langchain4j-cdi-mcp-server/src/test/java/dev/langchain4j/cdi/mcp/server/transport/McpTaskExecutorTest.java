@@ -0,0 +1,51 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import jakarta.enterprise.inject.Instance;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class McpTaskExecutorTest {
+
+    private final McpTaskExecutor taskExecutor = new McpTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        taskExecutor.shutdown();
+    }
+
+    @Test
+    void shouldRunTasksOnDefaultWorkerPool() throws Exception {
+        String threadName = CompletableFuture.supplyAsync(
+                        () -> Thread.currentThread().getName(), taskExecutor.executor())
+                .get(5, TimeUnit.SECONDS);
+
+        assertThat(threadName).startsWith("mcp-worker-");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldUseConfiguredExecutor() {
+        Executor direct = Runnable::run;
+        Instance<McpServerConfig> configInstance = mock(Instance.class);
+        when(configInstance.isResolvable()).thenReturn(true);
+        when(configInstance.get())
+                .thenReturn(McpServerConfig.builder().executor(direct).build());
+        taskExecutor.configInstance = configInstance;
+
+        assertThat(taskExecutor.executor()).isSameAs(direct);
+    }
+
+    @Test
+    void shouldRunTaskUnchangedWithoutCdiContainer() {
+        Runnable task = () -> {};
+
+        assertThat(taskExecutor.withRequestContext(task)).isSameAs(task);
+    }
+}
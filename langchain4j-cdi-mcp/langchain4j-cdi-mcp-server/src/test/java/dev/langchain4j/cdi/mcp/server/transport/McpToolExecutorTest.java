@@ -0,0 +1,245 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import dev.langchain4j.cdi.mcp.server.api.ToolConcurrency;
+import dev.langchain4j.cdi.mcp.server.error.McpErrorCode;
+import dev.langchain4j.cdi.mcp.server.error.McpException;
+import dev.langchain4j.cdi.mcp.server.registry.McpToolDescriptor;
+import jakarta.enterprise.inject.Instance;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mcp_java.annotations.tools.Tool;
+
+class McpToolExecutorTest {
+
+    private McpToolExecutor toolExecutor;
+    private McpServerScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new McpServerScheduler();
+        toolExecutor = new McpToolExecutor();
+        toolExecutor.taskExecutor = new McpTaskExecutor();
+        toolExecutor.scheduler = scheduler;
+    }
+
+    @AfterEach
+    void tearDown() {
+        toolExecutor.shutdown();
+        toolExecutor.taskExecutor.shutdown();
+        scheduler.shutdown();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void configure(McpServerConfig config) {
+        Instance<McpServerConfig> configInstance = mock(Instance.class);
+        when(configInstance.isResolvable()).thenReturn(true);
+        when(configInstance.get()).thenReturn(config);
+        toolExecutor.configInstance = configInstance;
+    }
+
+    private static McpToolDescriptor tool(String method) throws Exception {
+        return McpToolDescriptor.fromMethod(Tools.class, Tools.class.getMethod(method));
+    }
+
+    private static McpErrorCode errorCode(CompletableFuture<?> future) {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            return e.getCause() instanceof McpException mcp ? mcp.getErrorCode() : null;
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+        return null;
+    }
+
+    @Test
+    void shouldRunCallOnToolExecutor() throws Exception {
+        configure(McpServerConfig.builder()
+                .toolExecutor(task -> new Thread(task, "tool-thread").start())
+                .build());
+
+        CompletableFuture<String> result = toolExecutor.submit(
+                1,
+                tool("plain"),
+                "s1",
+                () -> CompletableFuture.completedFuture(Thread.currentThread().getName()));
+
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("tool-thread");
+    }
+
+    @Test
+    void shouldRejectCallsBeyondToolLimitAndQueue() throws Exception {
+        configure(McpServerConfig.builder().toolExecutor(Runnable::run).build());
+        McpToolDescriptor limited = tool("limited");
+        CompletableFuture<String> running = new CompletableFuture<>();
+
+        CompletableFuture<String> first = toolExecutor.submit(1, limited, "s1", () -> running);
+        CompletableFuture<String> queued =
+                toolExecutor.submit(2, limited, "s2", () -> CompletableFuture.completedFuture("second"));
+        CompletableFuture<String> rejected =
+                toolExecutor.submit(3, limited, "s3", () -> CompletableFuture.completedFuture("third"));
+
+        assertThat(errorCode(rejected)).isEqualTo(McpErrorCode.SERVER_OVERLOADED);
+        assertThat(queued).isNotDone();
+
+        running.complete("first");
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+    }
+
+    @Test
+    void shouldRejectQueuedCallAfterDeadline() throws Exception {
+        configure(McpServerConfig.builder()
+                .toolExecutor(Runnable::run)
+                .maxConcurrentToolCallsPerSession(1)
+                .toolQueueTimeout(Duration.ofMillis(50))
+                .build());
+        McpToolDescriptor plain = tool("plain");
+        CompletableFuture<String> running = new CompletableFuture<>();
+
+        toolExecutor.submit(1, plain, "s1", () -> running);
+        CompletableFuture<String> queued =
+                toolExecutor.submit(2, plain, "s1", () -> CompletableFuture.completedFuture("late"));
+        CompletableFuture<String> otherSession =
+                toolExecutor.submit(3, plain, "s2", () -> CompletableFuture.completedFuture("other"));
+
+        assertThat(otherSession.get(5, TimeUnit.SECONDS)).isEqualTo("other");
+        assertThat(errorCode(queued)).isEqualTo(McpErrorCode.SERVER_OVERLOADED);
+
+        running.complete("done");
+        assertThat(toolExecutor
+                        .submit(4, plain, "s1", () -> CompletableFuture.completedFuture("again"))
+                        .get(5, TimeUnit.SECONDS))
+                .isEqualTo("again");
+    }
+
+    @Test
+    void shouldNotHoldToolSlotWhileWaitingForSession() throws Exception {
+        configure(McpServerConfig.builder()
+                .toolExecutor(Runnable::run)
+                .maxConcurrentToolCallsPerSession(1)
+                .build());
+        McpToolDescriptor limited = tool("limited");
+        CompletableFuture<String> running = new CompletableFuture<>();
+
+        toolExecutor.submit(1, tool("plain"), "s1", () -> running);
+        CompletableFuture<String> waitingForSession =
+                toolExecutor.submit(2, limited, "s1", () -> CompletableFuture.completedFuture("later"));
+        CompletableFuture<String> otherSession =
+                toolExecutor.submit(3, limited, "s2", () -> CompletableFuture.completedFuture("other"));
+
+        assertThat(otherSession.get(5, TimeUnit.SECONDS)).isEqualTo("other");
+        assertThat(waitingForSession).isNotDone();
+
+        running.complete("done");
+        assertThat(waitingForSession.get(5, TimeUnit.SECONDS)).isEqualTo("later");
+    }
+
+    @Test
+    void shouldWithdrawCancelledCallFromQueue() throws Exception {
+        configure(McpServerConfig.builder()
+                .toolExecutor(Runnable::run)
+                .maxConcurrentToolCallsPerSession(1)
+                .maxQueuedToolCalls(1)
+                .build());
+        McpToolDescriptor limited = tool("limited");
+        CompletableFuture<String> running = new CompletableFuture<>();
+
+        toolExecutor.submit(1, limited, "s1", () -> running);
+        CompletableFuture<String> queuedForTool =
+                toolExecutor.submit(2, limited, "s2", () -> CompletableFuture.completedFuture("tool"));
+        CompletableFuture<String> queuedForSession =
+                toolExecutor.submit(3, tool("plain"), "s1", () -> CompletableFuture.completedFuture("session"));
+        assertThat(toolExecutor.queueDepth()).isEqualTo(2);
+
+        queuedForTool.cancel(true);
+        queuedForSession.cancel(true);
+
+        assertThat(toolExecutor.queueDepth()).isZero();
+        CompletableFuture<String> next =
+                toolExecutor.submit(4, limited, "s3", () -> CompletableFuture.completedFuture("next"));
+        assertThat(next).isNotDone();
+        running.complete("done");
+        assertThat(next.get(5, TimeUnit.SECONDS)).isEqualTo("next");
+    }
+
+    @Test
+    void shouldReleaseSlotWhenCallFails() throws Exception {
+        configure(McpServerConfig.builder().toolExecutor(Runnable::run).build());
+        McpToolDescriptor limited = tool("limited");
+
+        CompletableFuture<String> failed = toolExecutor.submit(1, limited, "s1", () -> {
+            throw new McpException(1, McpErrorCode.INVALID_PARAMS, "bad");
+        });
+
+        assertThat(errorCode(failed)).isEqualTo(McpErrorCode.INVALID_PARAMS);
+        assertThat(toolExecutor
+                        .submit(2, limited, "s1", () -> CompletableFuture.completedFuture("ok"))
+                        .get(5, TimeUnit.SECONDS))
+                .isEqualTo("ok");
+    }
+
+    @Test
+    void shouldCancelRunningStage() throws Exception {
+        configure(McpServerConfig.builder().toolExecutor(Runnable::run).build());
+        CompletableFuture<String> running = new CompletableFuture<>();
+
+        CompletableFuture<String> result = toolExecutor.submit(1, tool("plain"), "s1", () -> running);
+        result.cancel(true);
+
+        assertThat(running).isCancelled();
+    }
+
+    @Test
+    void shouldInterruptBlockingToolWhenCancelled() throws Exception {
+        configure(McpServerConfig.builder()
+                .toolExecutor(task -> new Thread(task, "tool-thread").start())
+                .build());
+        McpToolDescriptor limited = tool("limited");
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Boolean> interrupted = new CompletableFuture<>();
+
+        CompletableFuture<String> result = toolExecutor.submit(1, limited, "s1", () -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await();
+                interrupted.complete(false);
+            } catch (InterruptedException e) {
+                interrupted.complete(true);
+            }
+            return CompletableFuture.completedFuture("done");
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        result.cancel(true);
+
+        assertThat(interrupted.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(toolExecutor
+                        .submit(2, limited, "s1", () -> CompletableFuture.completedFuture("next"))
+                        .get(5, TimeUnit.SECONDS))
+                .isEqualTo("next");
+    }
+
+    public static class Tools {
+
+        @Tool(description = "Unlimited")
+        public String plain() {
+            return "plain";
+        }
+
+        @Tool(description = "One call at a time")
+        @ToolConcurrency(maxConcurrent = 1, maxQueued = 1, queueTimeoutMillis = 0)
+        public String limited() {
+            return "limited";
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package dev.langchain4j.cdi.mcp.server.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.ws.rs.sse.OutboundSseEvent;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SseSinkEventStreamTest {
+
+    private SseEventSink sink;
+    private OutboundSseEvent.Builder builder;
+    private SseSinkEventStream stream;
+
+    @BeforeEach
+    void setUp() {
+        sink = mock(SseEventSink.class);
+        Sse sse = mock(Sse.class);
+        builder = mock(OutboundSseEvent.Builder.class, RETURNS_SELF);
+        when(builder.build()).thenReturn(mock(OutboundSseEvent.class));
+        when(sse.newEventBuilder()).thenReturn(builder);
+        stream = new SseSinkEventStream("session-1", sink, sse);
+    }
+
+    @Test
+    void shouldSendMessageEventWithoutBlocking() throws IOException {
+        when(sink.send(any())).thenReturn(new CompletableFuture<>());
+        byte[] json = "{}".getBytes();
+
+        stream.sendMessage(json);
+
+        verify(builder).name("message");
+        verify(builder).data(byte[].class, json);
+        verify(sink).send(any());
+        assertThat(stream.isClosed()).isFalse();
+    }
+
+    @Test
+    void shouldCloseWhenAsyncSendFails() throws IOException {
+        when(sink.send(any())).thenReturn(CompletableFuture.failedFuture(new IOException("broken pipe")));
+
+        stream.sendComment("keep-alive");
+
+        assertThat(stream.isClosed()).isTrue();
+        verify(sink).close();
+        assertThatThrownBy(() -> stream.sendComment("keep-alive")).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void shouldCompleteAsyncSendWhenSinkAcceptsEvent() {
+        CompletableFuture<Object> accepted = new CompletableFuture<>();
+        when(sink.send(any())).thenAnswer(invocation -> accepted);
+
+        CompletableFuture<Void> sent = stream.sendMessageAsync("{}".getBytes()).toCompletableFuture();
+
+        assertThat(sent).isNotDone();
+        accepted.complete(null);
+        assertThat(sent).isCompleted();
+        assertThat(stream.isBlocking()).isFalse();
+    }
+
+    @Test
+    void shouldReportClosedSink() {
+        when(sink.isClosed()).thenReturn(true);
+
+        assertThat(stream.isClosed()).isTrue();
+    }
+}
@@ -0,0 +1,269 @@
+package dev.langchain4j.cdi.mcp.telemetry;
+
+import dev.langchain4j.cdi.mcp.server.error.McpErrorCode;
+import dev.langchain4j.cdi.mcp.server.registry.McpInvocationPlan;
+import dev.langchain4j.cdi.mcp.server.registry.McpResourceDescriptor;
+import dev.langchain4j.cdi.mcp.server.registry.McpResourceRegistry;
+import dev.langchain4j.cdi.mcp.server.registry.McpResourceTemplateDescriptor;
+import dev.langchain4j.cdi.mcp.server.registry.McpResultCache;
+import dev.langchain4j.cdi.mcp.server.registry.McpToolDescriptor;
+import dev.langchain4j.cdi.mcp.server.registry.McpToolRegistry;
+import dev.langchain4j.cdi.mcp.server.transport.McpAdmissionController;
+import dev.langchain4j.cdi.mcp.server.transport.McpNotificationBroadcaster;
+import dev.langchain4j.cdi.mcp.server.transport.McpServerListener;
+import dev.langchain4j.cdi.mcp.server.transport.McpServerRequestManager;
+import dev.langchain4j.cdi.mcp.server.transport.McpSessionManager;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.ObservableLongMeasurement;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
+import java.util.function.ToLongFunction;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Records the metrics of the MCP server with the injected OpenTelemetry {@link Meter}: the duration of each JSON-RPC
+ * method and tool call, errors by {@link McpErrorCode}, bytes written to clients, and the current number of in-flight
+ * requests, sessions, SSE streams, queued events and pending server-to-client requests. The hits, misses and evictions
+ * of each {@code @CachedResult} cache are reported by tool or resource.
+ *
+ * <p>Attributes are limited to values the server defines: method names it routes, names of registered tools and error
+ * codes. With {@code mcp.telemetry.metrics.enabled=false} or {@code otel.sdk.disabled=true} the listener reports itself
+ * disabled, and the server then takes no measurements at all.
+ */
+@ApplicationScoped
+public class McpMetricsListener implements McpServerListener {
+
+    private static final String METRIC_OPERATION_DURATION_NAME = "mcp.server.operation.duration";
+    private static final String METRIC_TOOL_DURATION_NAME = "mcp.server.tool.duration";
+    private static final String METRIC_ERRORS_NAME = "mcp.server.errors";
+    private static final String METRIC_BYTES_WRITTEN_NAME = "mcp.server.bytes.written";
+
+    private static final AttributeKey<String> METHOD = AttributeKey.stringKey("mcp.method.name");
+    private static final AttributeKey<String> TOOL = AttributeKey.stringKey("gen_ai.tool.name");
+    private static final AttributeKey<String> RESOURCE = AttributeKey.stringKey("mcp.resource.uri");
+    private static final AttributeKey<String> ERROR_TYPE = AttributeKey.stringKey("error.type");
+    private static final AttributeKey<Long> ERROR_CODE = AttributeKey.longKey("rpc.jsonrpc.error_code");
+    private static final AttributeKey<String> CHANNEL = AttributeKey.stringKey("mcp.channel");
+    // Stands for methods the server does not route, as OpenTelemetry does for unknown HTTP methods
+    private static final String OTHER_METHOD = "_OTHER";
+    private static final Attributes RESPONSE_CHANNEL = Attributes.of(CHANNEL, "response");
+    private static final Attributes STREAM_CHANNEL = Attributes.of(CHANNEL, "stream");
+    private static final List<Double> DURATION_BUCKETS =
+            List.of(0.001, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1.0, 2.5, 5.0, 10.0, 30.0, 60.0);
+
+    @Inject
+    Meter meter;
+
+    @Inject
+    McpSessionManager sessionManager;
+
+    @Inject
+    McpNotificationBroadcaster broadcaster;
+
+    @Inject
+    McpServerRequestManager serverRequestManager;
+
+    @Inject
+    McpAdmissionController admissionController;
+
+    @Inject
+    McpToolRegistry toolRegistry;
+
+    @Inject
+    McpResourceRegistry resourceRegistry;
+
+    @Inject
+    @ConfigProperty(name = "mcp.telemetry.metrics.enabled", defaultValue = "true")
+    boolean metricsEnabled;
+
+    @Inject
+    @ConfigProperty(name = "otel.sdk.disabled", defaultValue = "false")
+    boolean sdkDisabled;
+
+    private DoubleHistogram operationDuration;
+    private DoubleHistogram toolDuration;
+    private LongCounter errors;
+    private LongCounter bytesWritten;
+    private final List<AutoCloseable> observers = new ArrayList<>();
+    // Bounded by the routed methods and registered tools
+    private final Map<String, Attributes> methodAttributes = new ConcurrentHashMap<>();
+    private final Map<String, Attributes> toolAttributes = new ConcurrentHashMap<>();
+    private final Map<String, Attributes> resourceAttributes = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        if (!isEnabled()) {
+            return;
+        }
+        operationDuration = meter.histogramBuilder(METRIC_OPERATION_DURATION_NAME)
+                .setDescription("Duration of the JSON-RPC requests handled by the MCP server")
+                .setExplicitBucketBoundariesAdvice(DURATION_BUCKETS)
+                .setUnit("s")
+                .build();
+        toolDuration = meter.histogramBuilder(METRIC_TOOL_DURATION_NAME)
+                .setDescription("Duration of MCP tool calls, queue wait included")
+                .setExplicitBucketBoundariesAdvice(DURATION_BUCKETS)
+                .setUnit("s")
+                .build();
+        errors = meter.counterBuilder(METRIC_ERRORS_NAME)
+                .setDescription("JSON-RPC requests answered with an error, by error code")
+                .setUnit("{error}")
+                .build();
+        bytesWritten = meter.counterBuilder(METRIC_BYTES_WRITTEN_NAME)
+                .setDescription("Bytes written to MCP clients, in response bodies and over SSE streams")
+                .setUnit("By")
+                .build();
+
+        observe(
+                "mcp.server.requests.active",
+                "Requests admitted and not completed yet",
+                "{request}",
+                admissionController::inFlight);
+        observe(
+                "mcp.server.executor.queue.depth",
+                "Tasks queued on the batch and tool executors",
+                "{task}",
+                admissionController::queueDepth);
+        observe("mcp.server.sessions.active", "Open MCP sessions", "{session}", sessionManager::activeSessionCount);
+        observe(
+                "mcp.server.streams.active",
+                "Connected server-to-client SSE streams",
+                "{stream}",
+                broadcaster::connectedStreamCount);
+        observe(
+                "mcp.server.outbound.queue.depth",
+                "Events waiting in the outbound queues of all SSE streams",
+                "{event}",
+                broadcaster::queuedEventCount);
+        observe(
+                "mcp.server.client_requests.pending",
+                "Server-to-client requests awaiting an answer",
+                "{request}",
+                serverRequestManager::pendingRequestCount);
+        observers.add(meter.counterBuilder("mcp.server.outbound.dropped")
+                .setDescription("Events dropped by the outbound queues of SSE streams")
+                .setUnit("{event}")
+                .buildWithCallback(measurement -> measurement.record(broadcaster.droppedEventCount())));
+        observeCaches("mcp.server.cache.hits", "Calls answered from a result cache", McpResultCache::hitCount);
+        observeCaches(
+                "mcp.server.cache.misses",
+                "Calls of a cached method not found in its cache",
+                McpResultCache::missCount);
+        observeCaches(
+                "mcp.server.cache.evictions",
+                "Results evicted from a full result cache",
+                McpResultCache::evictionCount);
+    }
+
+    /** A counter of every result cache of the registered tools, resources and resource templates. */
+    private void observeCaches(String name, String description, ToLongFunction<McpResultCache> count) {
+        observers.add(meter.counterBuilder(name)
+                .setDescription(description)
+                .setUnit("{call}")
+                .buildWithCallback(measurement -> {
+                    for (McpToolDescriptor tool : toolRegistry.listTools()) {
+                        record(measurement, tool.getInvocationPlan(), count, toolAttributes(tool.getName()));
+                    }
+                    for (McpResourceDescriptor resource : resourceRegistry.listResources()) {
+                        record(measurement, resource.getInvocationPlan(), count, resourceAttributes(resource.getUri()));
+                    }
+                    for (McpResourceTemplateDescriptor template : resourceRegistry.listTemplates()) {
+                        record(
+                                measurement,
+                                template.getInvocationPlan(),
+                                count,
+                                resourceAttributes(template.getUriTemplate()));
+                    }
+                }));
+    }
+
+    private static void record(
+            ObservableLongMeasurement measurement,
+            McpInvocationPlan plan,
+            ToLongFunction<McpResultCache> count,
+            Attributes attributes) {
+        McpResultCache cache = plan != null ? plan.getResultCache() : null;
+        if (cache != null) {
+            measurement.record(count.applyAsLong(cache), attributes);
+        }
+    }
+
+    private void observe(String name, String description, String unit, IntSupplier value) {
+        observers.add(meter.upDownCounterBuilder(name)
+                .setDescription(description)
+                .setUnit(unit)
+                .buildWithCallback(measurement -> measurement.record(value.getAsInt())));
+    }
+
+    @PreDestroy
+    void close() {
+        for (AutoCloseable observer : observers) {
+            try {
+                observer.close();
+            } catch (Exception e) {
+                // The meter is going away as well
+            }
+        }
+        observers.clear();
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return metricsEnabled && !sdkDisabled;
+    }
+
+    @Override
+    public void onRequest(String method, long durationNanos, McpErrorCode errorCode) {
+        String name = method != null ? method : OTHER_METHOD;
+        Attributes attributes = methodAttributes.computeIfAbsent(name, key -> Attributes.of(METHOD, key));
+        if (errorCode != null) {
+            attributes = withError(attributes, errorCode);
+            errors.add(1, attributes);
+        }
+        operationDuration.record(seconds(durationNanos), attributes);
+    }
+
+    @Override
+    public void onToolCall(String toolName, long durationNanos, McpErrorCode errorCode) {
+        Attributes attributes = toolAttributes(toolName);
+        if (errorCode != null) {
+            attributes = withError(attributes, errorCode);
+        }
+        toolDuration.record(seconds(durationNanos), attributes);
+    }
+
+    private Attributes toolAttributes(String toolName) {
+        return toolAttributes.computeIfAbsent(toolName, key -> Attributes.of(TOOL, key));
+    }
+
+    private Attributes resourceAttributes(String uri) {
+        return resourceAttributes.computeIfAbsent(uri, key -> Attributes.of(RESOURCE, key));
+    }
+
+    @Override
+    public void onBytesWritten(long bytes, boolean stream) {
+        bytesWritten.add(bytes, stream ? STREAM_CHANNEL : RESPONSE_CHANNEL);
+    }
+
+    private static Attributes withError(Attributes attributes, McpErrorCode errorCode) {
+        return attributes.toBuilder()
+                .put(ERROR_TYPE, errorCode.name())
+                .put(ERROR_CODE, (long) errorCode.getCode())
+                .build();
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1_000_000_000.0;
+    }
+}
@@ -0,0 +1,202 @@
+package dev.langchain4j.cdi.mcp.telemetry;
+
+import dev.langchain4j.cdi.mcp.server.error.McpErrorCode;
+import dev.langchain4j.cdi.mcp.server.transport.McpServerListener;
+import dev.langchain4j.cdi.mcp.server.transport.McpSpan;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanBuilder;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Traces the MCP server with the injected OpenTelemetry {@link Tracer}. Each JSON-RPC request gets a server span, named
+ * after its method and, for {@code tools/call} and {@code prompts/get}, its target. Tool, resource, prompt and
+ * completion methods run in a child span, which is current while they run so the application's own spans, such as
+ * those of a chat model call, join the trace. Requests sent to the client, such as sampling or elicitation, get a client
+ * span whose context is propagated in {@code params._meta}.
+ *
+ * <p>The parent of a request span is the W3C trace context the client sent in {@code params._meta}, or else in the
+ * {@code traceparent} header; a span the runtime already started for the HTTP request of the same trace is kept as the
+ * parent. The time a tool call waited for an executor thread is recorded on its request span, next to the time it then
+ * took to run.
+ *
+ * <p>With {@code mcp.telemetry.tracing.enabled=false} or {@code otel.sdk.disabled=true} the listener reports itself
+ * disabled.
+ */
+@ApplicationScoped
+public class McpTracingListener implements McpServerListener {
+
+    private static final AttributeKey<String> METHOD = AttributeKey.stringKey("mcp.method.name");
+    private static final AttributeKey<String> REQUEST_ID = AttributeKey.stringKey("jsonrpc.request.id");
+    private static final AttributeKey<String> SESSION_ID = AttributeKey.stringKey("mcp.session.id");
+    private static final AttributeKey<String> TOOL = AttributeKey.stringKey("gen_ai.tool.name");
+    private static final AttributeKey<String> PROMPT = AttributeKey.stringKey("gen_ai.prompt.name");
+    private static final AttributeKey<String> RESOURCE_URI = AttributeKey.stringKey("mcp.resource.uri");
+    private static final AttributeKey<String> CODE_NAMESPACE = AttributeKey.stringKey("code.namespace");
+    private static final AttributeKey<String> CODE_FUNCTION = AttributeKey.stringKey("code.function");
+    private static final AttributeKey<Double> QUEUE_WAIT = AttributeKey.doubleKey("mcp.queue.wait.duration");
+    private static final AttributeKey<Double> EXECUTION = AttributeKey.doubleKey("mcp.execution.duration");
+    private static final AttributeKey<String> ERROR_TYPE = AttributeKey.stringKey("error.type");
+    private static final AttributeKey<Long> ERROR_CODE = AttributeKey.longKey("rpc.jsonrpc.error_code");
+    private static final String OTHER_METHOD = "_OTHER";
+
+    private static final TextMapGetter<Map<String, String>> GETTER = new TextMapGetter<>() {
+        @Override
+        public Iterable<String> keys(Map<String, String> carrier) {
+            return carrier.keySet();
+        }
+
+        @Override
+        public String get(Map<String, String> carrier, String key) {
+            return carrier != null ? carrier.get(key) : null;
+        }
+    };
+
+    @Inject
+    Tracer tracer;
+
+    @Inject
+    @ConfigProperty(name = "mcp.telemetry.tracing.enabled", defaultValue = "true")
+    boolean tracingEnabled;
+
+    @Inject
+    @ConfigProperty(name = "otel.sdk.disabled", defaultValue = "false")
+    boolean sdkDisabled;
+
+    @Override
+    public boolean isEnabled() {
+        return tracingEnabled && !sdkDisabled;
+    }
+
+    @Override
+    public McpSpan startRequest(
+            String method, Object requestId, String sessionId, String target, Map<String, String> carrier) {
+        String name = method != null ? method : OTHER_METHOD;
+        boolean named = target != null && ("tools/call".equals(method) || "prompts/get".equals(method));
+        SpanBuilder builder = tracer.spanBuilder(named ? name + " " + target : name)
+                .setParent(parent(carrier))
+                .setSpanKind(SpanKind.SERVER)
+                .setAttribute(METHOD, name);
+        if (requestId != null) {
+            builder.setAttribute(REQUEST_ID, requestId.toString());
+        }
+        if (sessionId != null) {
+            builder.setAttribute(SESSION_ID, sessionId);
+        }
+        if (target != null) {
+            switch (name) {
+                case "tools/call" -> builder.setAttribute(TOOL, target);
+                case "prompts/get" -> builder.setAttribute(PROMPT, target);
+                case "resources/read" -> builder.setAttribute(RESOURCE_URI, target);
+                default -> {
+                    // No other method has a target
+                }
+            }
+        }
+        return new TracedSpan(builder.startSpan());
+    }
+
+    @Override
+    public McpSpan startInvocation(McpSpan parent, Method method) {
+        String type = method.getDeclaringClass().getSimpleName();
+        Span span = tracer.spanBuilder(type + "." + method.getName())
+                .setParent(context(parent))
+                .setSpanKind(SpanKind.INTERNAL)
+                .setAttribute(CODE_NAMESPACE, method.getDeclaringClass().getName())
+                .setAttribute(CODE_FUNCTION, method.getName())
+                .startSpan();
+        return new TracedSpan(span);
+    }
+
+    @Override
+    public McpSpan startClientRequest(McpSpan parent, String method, String sessionId, Map<String, String> carrier) {
+        SpanBuilder builder = tracer.spanBuilder(method)
+                .setParent(context(parent))
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute(METHOD, method);
+        if (sessionId != null) {
+            builder.setAttribute(SESSION_ID, sessionId);
+        }
+        Span span = builder.startSpan();
+        W3CTraceContextPropagator.getInstance().inject(Context.current().with(span), carrier, Map::put);
+        return new TracedSpan(span);
+    }
+
+    /**
+     * The context sent by the client, unless the current span, typically the runtime's span of the HTTP request,
+     * already belongs to that trace.
+     */
+    private static Context parent(Map<String, String> carrier) {
+        Context current = Context.current();
+        if (carrier == null || carrier.isEmpty()) {
+            return current;
+        }
+        Context extracted = W3CTraceContextPropagator.getInstance().extract(current, carrier, GETTER);
+        SpanContext remote = Span.fromContext(extracted).getSpanContext();
+        SpanContext local = Span.fromContext(current).getSpanContext();
+        if (!remote.isValid() || (local.isValid() && local.getTraceId().equals(remote.getTraceId()))) {
+            return current;
+        }
+        return extracted;
+    }
+
+    private static Context context(McpSpan parent) {
+        return parent instanceof TracedSpan traced ? Context.current().with(traced.span) : Context.current();
+    }
+
+    private static final class TracedSpan implements McpSpan {
+
+        private final Span span;
+        private final long startNanos = System.nanoTime();
+        private volatile long waitNanos = -1;
+
+        TracedSpan(Span span) {
+            this.span = span;
+        }
+
+        @Override
+        public Scope makeCurrent() {
+            io.opentelemetry.context.Scope scope = span.makeCurrent();
+            return scope::close;
+        }
+
+        @Override
+        public void queued(long waitNanos) {
+            this.waitNanos = waitNanos;
+            span.setAttribute(QUEUE_WAIT, seconds(waitNanos));
+        }
+
+        @Override
+        public void end(Throwable error) {
+            if (waitNanos >= 0) {
+                span.setAttribute(EXECUTION, seconds(System.nanoTime() - startNanos - waitNanos));
+            }
+            if (error != null) {
+                Throwable cause =
+                        error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                McpErrorCode errorCode = McpErrorCode.of(cause);
+                span.setAttribute(ERROR_TYPE, errorCode.name());
+                span.setAttribute(ERROR_CODE, (long) errorCode.getCode());
+                span.setStatus(StatusCode.ERROR, String.valueOf(cause.getMessage()));
+                span.recordException(cause);
+            }
+            span.end();
+        }
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1_000_000_000.0;
+    }
+}